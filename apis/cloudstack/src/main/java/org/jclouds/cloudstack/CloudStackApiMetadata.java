@@ -15,6 +15,8 @@
  * limitations under the License.
  */
 package org.jclouds.cloudstack;
+import static org.jclouds.cloudstack.config.CloudStackProperties.ASYNC_JOB_POLL_MAX_PERIOD;
+import static org.jclouds.cloudstack.config.CloudStackProperties.ASYNC_JOB_POLL_MIN_PERIOD;
 import static org.jclouds.cloudstack.config.CloudStackProperties.AUTO_GENERATE_KEYPAIRS;
 import static org.jclouds.reflect.Reflection2.typeToken;
 
@@ -54,6 +56,8 @@ public class CloudStackApiMetadata extends BaseHttpApiMetadata<CloudStackApi> {
       properties.setProperty("jclouds.ssh.max-retries", "7");
       properties.setProperty("jclouds.ssh.retry-auth", "true");
       properties.setProperty(AUTO_GENERATE_KEYPAIRS, "false");
+      properties.setProperty(ASYNC_JOB_POLL_MIN_PERIOD, "1000");
+      properties.setProperty(ASYNC_JOB_POLL_MAX_PERIOD, "5000");
       return properties;
    }
 
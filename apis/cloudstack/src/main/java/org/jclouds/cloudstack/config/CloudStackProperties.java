@@ -46,6 +46,17 @@ public final class CloudStackProperties {
     */
    public static final String AUTO_GENERATE_KEYPAIRS = "jclouds.cloudstack.auto-generate-keypairs";
 
+   /**
+    * Shortest time in milliseconds between two polls of the async jobs being waited on.
+    */
+   public static final String ASYNC_JOB_POLL_MIN_PERIOD = "jclouds.cloudstack.async-job.poll-min-period";
+
+   /**
+    * Longest time in milliseconds between two polls of the async jobs being waited on. Within these
+    * bounds, polls are timed from how long jobs of the same command took to complete.
+    */
+   public static final String ASYNC_JOB_POLL_MAX_PERIOD = "jclouds.cloudstack.async-job.poll-max-period";
+
    private CloudStackProperties() {
       throw new AssertionError("intentionally unimplemented");
    }
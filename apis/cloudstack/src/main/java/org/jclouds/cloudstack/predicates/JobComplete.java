@@ -18,32 +18,58 @@ package org.jclouds.cloudstack.predicates;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
 import jakarta.annotation.Resource;
 import jakarta.inject.Singleton;
 
 import org.jclouds.cloudstack.AsyncJobException;
 import org.jclouds.cloudstack.CloudStackApi;
 import org.jclouds.cloudstack.domain.AsyncJob;
+import org.jclouds.cloudstack.strategy.AsyncJobTracker;
 import org.jclouds.logging.Logger;
 
 import com.google.common.base.Predicate;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.inject.Inject;
 
 /**
  * 
- * Tests to see if a job is in progress.
+ * Tests to see if a job is in progress. When constructed with an {@link AsyncJobTracker}, the status
+ * comes from the tracker's shared poll instead of a query per job. The tracker keeps polling a job
+ * for {@link #WAIT_LEASE_SECONDS} after it was last asked about, so jobs whose callers gave up
+ * waiting are dropped.
  */
 @Singleton
 public class JobComplete implements Predicate<String> {
 
+   /**
+    * seconds the tracker keeps waiting on a job after this predicate was last applied to it; well
+    * above the period callers retry the predicate with
+    */
+   public static final long WAIT_LEASE_SECONDS = 60;
+
    private final CloudStackApi client;
+   private final AsyncJobTracker tracker;
+   private final ConcurrentMap<String, ListenableFuture<AsyncJob<?>>> waiting = CacheBuilder.newBuilder()
+         .expireAfterWrite(WAIT_LEASE_SECONDS, TimeUnit.SECONDS).<String, ListenableFuture<AsyncJob<?>>> build()
+         .asMap();
 
    @Resource
    protected Logger logger = Logger.NULL;
 
-   @Inject
    public JobComplete(CloudStackApi client) {
       this.client = client;
+      this.tracker = null;
+   }
+
+   @Inject
+   public JobComplete(CloudStackApi client, AsyncJobTracker tracker) {
+      this.client = client;
+      this.tracker = checkNotNull(tracker, "tracker");
    }
 
    public boolean apply(String jobId) {
@@ -62,6 +88,19 @@ public class JobComplete implements Predicate<String> {
    }
 
    private AsyncJob<?> refresh(String jobId) {
+      if (tracker != null) {
+         ListenableFuture<AsyncJob<?>> previous = waiting.get(jobId);
+         if (previous != null && previous.isDone() && !previous.isCancelled()) {
+            waiting.remove(jobId, previous);
+            return Futures.getUnchecked(previous);
+         }
+         // renews the lease, waiting on the new future before giving up the previous one
+         ListenableFuture<AsyncJob<?>> tracked = tracker.track(jobId, WAIT_LEASE_SECONDS, TimeUnit.SECONDS);
+         previous = waiting.put(jobId, tracked);
+         if (previous != null)
+            previous.cancel(false);
+         return null;
+      }
       return client.getAsyncJobApi().getAsyncJob(jobId);
    }
 }
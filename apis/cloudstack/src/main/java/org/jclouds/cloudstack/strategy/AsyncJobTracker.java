@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.cloudstack.strategy;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.jclouds.cloudstack.config.CloudStackProperties.ASYNC_JOB_POLL_MAX_PERIOD;
+import static org.jclouds.cloudstack.config.CloudStackProperties.ASYNC_JOB_POLL_MIN_PERIOD;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.Resource;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import org.jclouds.Constants;
+import org.jclouds.cloudstack.CloudStackApi;
+import org.jclouds.cloudstack.domain.AsyncJob;
+import org.jclouds.cloudstack.options.ListAsyncJobsOptions;
+import org.jclouds.compute.reference.ComputeServiceConstants;
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.logging.Logger;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.math.LongMath;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Waits on async jobs by listing the jobs of the account, rather than querying each job on its own.
+ * <p/>
+ * However many jobs are tracked, one {@code listAsyncJobs} call is made per poll, and the future of
+ * every tracked job the listing shows as finished is completed from it. Jobs missing from the
+ * listing are queried individually. Polls are spaced between
+ * {@link org.jclouds.cloudstack.config.CloudStackProperties#ASYNC_JOB_POLL_MIN_PERIOD} and
+ * {@link org.jclouds.cloudstack.config.CloudStackProperties#ASYNC_JOB_POLL_MAX_PERIOD}, waiting for
+ * the time jobs of the same command have been observed to take, and backing off for jobs whose
+ * duration is not known yet. The scheduler only times the polls; they run on the user executor.
+ * <p/>
+ * Each call to {@link #track} adds a waiter with its own future. A job is polled for as long as it
+ * has waiters, and dropped once every waiter has cancelled its future or passed its deadline.
+ */
+@Singleton
+public class AsyncJobTracker {
+
+   /**
+    * how far before the first tracked job the listing starts, allowing for clock skew
+    */
+   private static final long LISTING_SLACK_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+   @Resource
+   @Named(ComputeServiceConstants.COMPUTE_LOGGER)
+   protected Logger logger = Logger.NULL;
+
+   private final CloudStackApi client;
+   private final ScheduledExecutorService scheduler;
+   private final Executor userExecutor;
+   private final long minPeriod;
+   private final long maxPeriod;
+   private final Ticker ticker;
+
+   // guarded by this
+   private final Map<String, TrackedJob> tracked = Maps.newLinkedHashMap();
+   private final Map<String, Long> expectedDurations = Maps.newHashMap();
+   private ScheduledFuture<?> nextPoll;
+
+   @Inject
+   public AsyncJobTracker(CloudStackApi client,
+         @Named(Constants.PROPERTY_SCHEDULER_THREADS) ScheduledExecutorService scheduler,
+         @Named(Constants.PROPERTY_USER_THREADS) ListeningExecutorService userExecutor,
+         @Named(ASYNC_JOB_POLL_MIN_PERIOD) long minPeriod, @Named(ASYNC_JOB_POLL_MAX_PERIOD) long maxPeriod) {
+      this(client, scheduler, userExecutor, minPeriod, maxPeriod, Ticker.systemTicker());
+   }
+
+   @VisibleForTesting
+   AsyncJobTracker(CloudStackApi client, ScheduledExecutorService scheduler, Executor userExecutor,
+         long minPeriod, long maxPeriod, Ticker ticker) {
+      checkArgument(minPeriod > 0, "minPeriod must be positive");
+      checkArgument(maxPeriod >= minPeriod, "maxPeriod must not be less than minPeriod");
+      this.client = checkNotNull(client, "client");
+      this.scheduler = checkNotNull(scheduler, "scheduler");
+      this.userExecutor = checkNotNull(userExecutor, "userExecutor");
+      this.minPeriod = minPeriod;
+      this.maxPeriod = maxPeriod;
+      this.ticker = checkNotNull(ticker, "ticker");
+   }
+
+   /**
+    * Waits on the job until its future is cancelled.
+    * 
+    * @return a future holding the job once it has succeeded or failed, or null if the job could not
+    *         be found; cancelling it stops waiting without affecting other waiters of the job
+    */
+   public ListenableFuture<AsyncJob<?>> track(String jobId) {
+      return track(jobId, Long.MAX_VALUE);
+   }
+
+   /**
+    * Waits on the job for at most the timeout, after which the returned future is cancelled.
+    * 
+    * @see #track(String)
+    */
+   public ListenableFuture<AsyncJob<?>> track(String jobId, long timeout, TimeUnit unit) {
+      checkArgument(timeout >= 0, "timeout must be non-negative");
+      return track(jobId, LongMath.saturatedAdd(nowMillis(), unit.toMillis(timeout)));
+   }
+
+   private ListenableFuture<AsyncJob<?>> track(String jobId, long deadline) {
+      checkNotNull(jobId, "jobId");
+      final TrackedJob job;
+      final Waiter waiter;
+      synchronized (this) {
+         TrackedJob existing = tracked.get(jobId);
+         if (existing == null) {
+            existing = new TrackedJob(jobId, nowMillis(), System.currentTimeMillis());
+            tracked.put(jobId, existing);
+            scheduleNextPoll();
+         }
+         job = existing;
+         waiter = new Waiter(Futures.nonCancellationPropagating(job.future), deadline);
+         job.waiters.add(waiter);
+      }
+      waiter.future.addListener(new Runnable() {
+         @Override
+         public void run() {
+            if (waiter.future.isCancelled())
+               stopWaiting(job, waiter);
+         }
+      }, MoreExecutors.directExecutor());
+      return waiter.future;
+   }
+
+   private synchronized void stopWaiting(TrackedJob job, Waiter waiter) {
+      job.waiters.remove(waiter);
+      if (job.waiters.isEmpty() && tracked.remove(job.id, job)) {
+         logger.trace("<< no longer waiting on job(%s)", job.id);
+      }
+   }
+
+   @VisibleForTesting
+   void poll() {
+      List<Waiter> expired = Lists.newArrayList();
+      synchronized (this) {
+         nextPoll = null;
+         long now = nowMillis();
+         for (TrackedJob job : tracked.values()) {
+            for (Waiter waiter : job.waiters) {
+               if (now >= waiter.deadline)
+                  expired.add(waiter);
+            }
+         }
+      }
+      // drops jobs left without waiters
+      for (Waiter waiter : expired) {
+         waiter.future.cancel(false);
+      }
+      ImmutableList<TrackedJob> toCheck;
+      synchronized (this) {
+         toCheck = ImmutableList.copyOf(tracked.values());
+      }
+      try {
+         if (toCheck.isEmpty())
+            return;
+         long since = Long.MAX_VALUE;
+         for (TrackedJob job : toCheck) {
+            since = Math.min(since, job.trackedAt);
+         }
+         Map<String, AsyncJob<?>> listed = Maps.newHashMap();
+         for (AsyncJob<?> job : client.getAsyncJobApi().listAsyncJobs(
+               ListAsyncJobsOptions.Builder.startDate(new Date(since - LISTING_SLACK_MILLIS)))) {
+            listed.put(job.getId(), job);
+         }
+         logger.trace("<< listed %d async jobs while waiting on %d", listed.size(), toCheck.size());
+         for (TrackedJob job : toCheck) {
+            AsyncJob<?> current = listed.get(job.id);
+            if (current == null)
+               current = client.getAsyncJobApi().getAsyncJob(job.id);
+            if (current == null || current.hasSucceed() || current.hasFailed()) {
+               complete(job, current);
+            } else {
+               job.cmd = current.getCmd();
+            }
+         }
+      } catch (RuntimeException e) {
+         logger.warn(e, "error polling %d async jobs", toCheck.size());
+      } finally {
+         synchronized (this) {
+            scheduleNextPoll();
+         }
+      }
+   }
+
+   private void complete(TrackedJob job, @Nullable AsyncJob<?> result) {
+      synchronized (this) {
+         tracked.remove(job.id, job);
+         if (result != null && result.getCmd() != null) {
+            long took = nowMillis() - job.started;
+            Long expected = expectedDurations.get(result.getCmd());
+            // weigh in the latest duration without forgetting earlier ones
+            expectedDurations.put(result.getCmd(), expected == null ? took : (3 * expected + took) / 4);
+         }
+      }
+      logger.trace("<< job(%s) completed with status(%s)", job.id, result != null ? result.getStatus() : "NOT_FOUND");
+      job.future.set(result);
+   }
+
+   // guarded by this
+   private void scheduleNextPoll() {
+      if (tracked.isEmpty() || nextPoll != null)
+         return;
+      nextPoll = scheduler.schedule(new Runnable() {
+         @Override
+         public void run() {
+            submitPoll();
+         }
+      }, nextPollDelay(), TimeUnit.MILLISECONDS);
+   }
+
+   private void submitPoll() {
+      try {
+         userExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+               poll();
+            }
+         });
+      } catch (RejectedExecutionException e) {
+         logger.warn(e, "<< user executor rejected polling async jobs");
+         synchronized (this) {
+            nextPoll = null;
+         }
+      }
+   }
+
+   /**
+    * the soonest any tracked job is expected to finish, or a quarter of the time waited so far for
+    * jobs taking longer than expected or of unknown duration.
+    */
+   @VisibleForTesting
+   synchronized long nextPollDelay() {
+      long now = nowMillis();
+      long delay = maxPeriod;
+      for (TrackedJob job : tracked.values()) {
+         long elapsed = now - job.started;
+         Long expected = job.cmd != null ? expectedDurations.get(job.cmd) : null;
+         delay = Math.min(delay, expected != null && expected > elapsed ? expected - elapsed : elapsed / 4);
+      }
+      return Math.max(minPeriod, delay);
+   }
+
+   private long nowMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(ticker.read());
+   }
+
+   private static final class TrackedJob {
+      private final String id;
+      private final long started;
+      private final long trackedAt;
+      private final SettableFuture<AsyncJob<?>> future = SettableFuture.create();
+      // guarded by the tracker
+      private final List<Waiter> waiters = Lists.newArrayList();
+      private volatile String cmd;
+
+      private TrackedJob(String id, long started, long trackedAt) {
+         this.id = id;
+         this.started = started;
+         this.trackedAt = trackedAt;
+      }
+   }
+
+   private static final class Waiter {
+      private final ListenableFuture<AsyncJob<?>> future;
+      private final long deadline;
+
+      private Waiter(ListenableFuture<AsyncJob<?>> future, long deadline) {
+         this.future = future;
+         this.deadline = deadline;
+      }
+   }
+}
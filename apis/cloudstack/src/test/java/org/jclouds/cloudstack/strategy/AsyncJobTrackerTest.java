@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.cloudstack.strategy;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.cloudstack.CloudStackApi;
+import org.jclouds.cloudstack.domain.AsyncJob;
+import org.jclouds.cloudstack.domain.AsyncJob.ResultCode;
+import org.jclouds.cloudstack.domain.AsyncJob.Status;
+import org.jclouds.cloudstack.features.AsyncJobApi;
+import org.jclouds.cloudstack.options.ListAsyncJobsOptions;
+import org.jclouds.cloudstack.predicates.JobComplete;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+@Test(groups = "unit", singleThreaded = true, testName = "AsyncJobTrackerTest")
+public class AsyncJobTrackerTest {
+
+   private static final String DEPLOY = "org.apache.cloudstack.api.command.user.vm.DeployVMCmd";
+
+   CloudStackApi client;
+   AsyncJobApi asyncJobClient;
+   ScheduledExecutorService scheduler;
+   FakeTicker ticker;
+
+   @BeforeMethod
+   public void setUp() {
+      client = createMock(CloudStackApi.class);
+      asyncJobClient = createMock(AsyncJobApi.class);
+      scheduler = createNiceMock(ScheduledExecutorService.class);
+      ticker = new FakeTicker();
+
+      expect(client.getAsyncJobApi()).andReturn(asyncJobClient).anyTimes();
+   }
+
+   public void testCompletesJobsFromOneListing() throws Exception {
+      expect(asyncJobClient.listAsyncJobs(anyObject(ListAsyncJobsOptions.class))).andReturn(
+            ImmutableSet.<AsyncJob<?>> of(job("1", Status.SUCCEEDED), job("2", Status.FAILED), job("3", Status.IN_PROGRESS)));
+
+      replay(client, asyncJobClient, scheduler);
+      AsyncJobTracker tracker = new AsyncJobTracker(client, scheduler, MoreExecutors.directExecutor(), 1000, 5000,
+            ticker);
+      ListenableFuture<AsyncJob<?>> first = tracker.track("1");
+      ListenableFuture<AsyncJob<?>> second = tracker.track("2");
+      ListenableFuture<AsyncJob<?>> firstAgain = tracker.track("1");
+
+      tracker.poll();
+      assertTrue(first.get().hasSucceed());
+      assertSame(firstAgain.get(), first.get());
+      assertTrue(second.get().hasFailed());
+      verify(client, asyncJobClient);
+   }
+
+   public void testQueriesJobsMissingFromListing() throws Exception {
+      expect(asyncJobClient.listAsyncJobs(anyObject(ListAsyncJobsOptions.class))).andReturn(
+            ImmutableSet.<AsyncJob<?>> of(job("1", Status.IN_PROGRESS)));
+      expect((Object) asyncJobClient.getAsyncJob("2")).andReturn(job("2", Status.SUCCEEDED));
+      expect((Object) asyncJobClient.getAsyncJob("3")).andReturn(null);
+
+      replay(client, asyncJobClient, scheduler);
+      AsyncJobTracker tracker = new AsyncJobTracker(client, scheduler, MoreExecutors.directExecutor(), 1000, 5000,
+            ticker);
+      ListenableFuture<AsyncJob<?>> inProgress = tracker.track("1");
+      ListenableFuture<AsyncJob<?>> missing = tracker.track("2");
+      ListenableFuture<AsyncJob<?>> unknown = tracker.track("3");
+
+      tracker.poll();
+      assertFalse(inProgress.isDone());
+      assertTrue(missing.get().hasSucceed());
+      assertNull(unknown.get());
+      verify(client, asyncJobClient);
+   }
+
+   public void testPollDelayFollowsObservedDurations() throws Exception {
+      expect(asyncJobClient.listAsyncJobs(anyObject(ListAsyncJobsOptions.class))).andReturn(
+            ImmutableSet.<AsyncJob<?>> of(job("1", Status.SUCCEEDED)));
+      expect(asyncJobClient.listAsyncJobs(anyObject(ListAsyncJobsOptions.class))).andReturn(
+            ImmutableSet.<AsyncJob<?>> of(job("2", Status.IN_PROGRESS)));
+
+      replay(client, asyncJobClient, scheduler);
+      AsyncJobTracker tracker = new AsyncJobTracker(client, scheduler, MoreExecutors.directExecutor(), 1000, 60000,
+            ticker);
+      tracker.track("1");
+      assertEquals(tracker.nextPollDelay(), 1000);
+
+      // unknown duration: back off with the time waited so far
+      ticker.advance(40, TimeUnit.SECONDS);
+      assertEquals(tracker.nextPollDelay(), 10000);
+      tracker.poll();
+
+      // deployments were seen to take 40 seconds
+      tracker.track("2");
+      tracker.poll();
+      ticker.advance(10, TimeUnit.SECONDS);
+      assertEquals(tracker.nextPollDelay(), 30000);
+
+      // overdue: back off again
+      ticker.advance(50, TimeUnit.SECONDS);
+      assertEquals(tracker.nextPollDelay(), 15000);
+      verify(client, asyncJobClient);
+   }
+
+   public void testPollsOnUserExecutor() throws Exception {
+      expect(asyncJobClient.listAsyncJobs(anyObject(ListAsyncJobsOptions.class))).andReturn(
+            ImmutableSet.<AsyncJob<?>> of(job("1", Status.SUCCEEDED)));
+
+      replay(client, asyncJobClient);
+      final BlockingQueue<Runnable> submitted = new LinkedBlockingQueue<Runnable>();
+      ScheduledExecutorService realScheduler = Executors.newSingleThreadScheduledExecutor();
+      try {
+         AsyncJobTracker tracker = new AsyncJobTracker(client, realScheduler, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+               submitted.add(command);
+            }
+         }, 1, 1, ticker);
+         ListenableFuture<AsyncJob<?>> future = tracker.track("1");
+
+         Runnable poll = submitted.poll(10, TimeUnit.SECONDS);
+         assertFalse(future.isDone());
+         poll.run();
+         assertTrue(future.get().hasSucceed());
+      } finally {
+         realScheduler.shutdownNow();
+      }
+      verify(client, asyncJobClient);
+   }
+
+   public void testDropsJobOnceLastWaiterCancels() {
+      expect(asyncJobClient.listAsyncJobs(anyObject(ListAsyncJobsOptions.class))).andReturn(
+            ImmutableSet.<AsyncJob<?>> of(job("1", Status.IN_PROGRESS)));
+
+      replay(client, asyncJobClient, scheduler);
+      AsyncJobTracker tracker = new AsyncJobTracker(client, scheduler, MoreExecutors.directExecutor(), 1000, 5000,
+            ticker);
+      ListenableFuture<AsyncJob<?>> first = tracker.track("1");
+      ListenableFuture<AsyncJob<?>> second = tracker.track("1");
+
+      assertTrue(first.cancel(false));
+      tracker.poll();
+      assertFalse(second.isDone());
+
+      assertTrue(second.cancel(false));
+      // nobody waits on the job any more, so it is not listed again
+      tracker.poll();
+      verify(client, asyncJobClient);
+   }
+
+   public void testDropsJobOnceWaitersTimeOut() {
+      replay(client, asyncJobClient, scheduler);
+      AsyncJobTracker tracker = new AsyncJobTracker(client, scheduler, MoreExecutors.directExecutor(), 1000, 5000,
+            ticker);
+      ListenableFuture<AsyncJob<?>> future = tracker.track("1", 10, TimeUnit.SECONDS);
+
+      ticker.advance(10, TimeUnit.SECONDS);
+      tracker.poll();
+      assertTrue(future.isCancelled());
+      verify(client, asyncJobClient);
+   }
+
+   public void testJobCompleteKeepsWaitingWhileAsked() {
+      expect(asyncJobClient.listAsyncJobs(anyObject(ListAsyncJobsOptions.class))).andReturn(
+            ImmutableSet.<AsyncJob<?>> of(job("1", Status.SUCCEEDED)));
+
+      replay(client, asyncJobClient, scheduler);
+      AsyncJobTracker tracker = new AsyncJobTracker(client, scheduler, MoreExecutors.directExecutor(), 1000, 5000,
+            ticker);
+      JobComplete jobComplete = new JobComplete(client, tracker);
+      assertFalse(jobComplete.apply("1"));
+
+      // each check renews the wait, so the job outlives the first lease
+      ticker.advance(JobComplete.WAIT_LEASE_SECONDS - 1, TimeUnit.SECONDS);
+      assertFalse(jobComplete.apply("1"));
+      ticker.advance(JobComplete.WAIT_LEASE_SECONDS - 1, TimeUnit.SECONDS);
+      tracker.poll();
+      assertTrue(jobComplete.apply("1"));
+      verify(client, asyncJobClient);
+   }
+
+   public void testJobCompleteGivesUpWhenNoLongerAsked() {
+      replay(client, asyncJobClient, scheduler);
+      AsyncJobTracker tracker = new AsyncJobTracker(client, scheduler, MoreExecutors.directExecutor(), 1000, 5000,
+            ticker);
+      assertFalse(new JobComplete(client, tracker).apply("1"));
+
+      ticker.advance(JobComplete.WAIT_LEASE_SECONDS, TimeUnit.SECONDS);
+      tracker.poll();
+      verify(client, asyncJobClient);
+   }
+
+   private static AsyncJob<?> job(String id, Status status) {
+      return AsyncJob.builder().id(id).cmd(DEPLOY).status(status)
+            .resultCode(status == Status.FAILED ? ResultCode.FAIL : ResultCode.SUCCESS).build();
+   }
+
+   private static class FakeTicker extends Ticker {
+      private long nanos;
+
+      void advance(long duration, TimeUnit unit) {
+         nanos += unit.toNanos(duration);
+      }
+
+      @Override
+      public long read() {
+         return nanos;
+      }
+   }
+}
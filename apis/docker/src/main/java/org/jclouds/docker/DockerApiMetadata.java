@@ -39,6 +39,17 @@ public class DockerApiMetadata extends BaseHttpApiMetadata<DockerApi> {
 
     public static final String DOCKER_CA_CERT_PATH = "docker.cacert.path";
     public static final String DOCKER_CA_CERT_DATA = "docker.cacert.data";
+    /**
+     * milliseconds a container inspected while listing nodes is reused, as long as the listing still
+     * reports the container in the same state. The listing does not report health status,
+     * network settings and other fields only the inspection returns, so these can be stale
+     * for up to this long. Defaults to 0, which disables the cache.
+     */
+    public static final String DOCKER_INSPECT_CACHE_TTL = "docker.inspect.cache-ttl";
+    /**
+     * maximum number of containers or images inspected at the same time while listing.
+     */
+    public static final String DOCKER_INSPECT_MAX_PARALLEL = "docker.inspect.max-parallel";
 
    @Override
    public Builder toBuilder() {
@@ -60,6 +71,8 @@ public class DockerApiMetadata extends BaseHttpApiMetadata<DockerApi> {
       properties.setProperty(TEMPLATE, "osFamily=UBUNTU,os64Bit=true");
       properties.setProperty(DOCKER_CA_CERT_PATH, "");
       properties.setProperty(DOCKER_CA_CERT_DATA, "");
+      properties.setProperty(DOCKER_INSPECT_CACHE_TTL, "0");
+      properties.setProperty(DOCKER_INSPECT_MAX_PARALLEL, "10");
       return properties;
    }
 
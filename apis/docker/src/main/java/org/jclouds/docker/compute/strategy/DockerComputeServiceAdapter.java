@@ -18,10 +18,17 @@ package org.jclouds.docker.compute.strategy;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Iterables.find;
+import static org.jclouds.docker.DockerApiMetadata.DOCKER_INSPECT_CACHE_TTL;
+import static org.jclouds.docker.DockerApiMetadata.DOCKER_INSPECT_MAX_PARALLEL;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import jakarta.annotation.Resource;
@@ -30,7 +37,12 @@ import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
 import com.google.common.base.Charsets;
+import com.google.common.base.Function;
+import com.google.common.base.MoreObjects;
 import com.google.common.base.Predicate;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -38,7 +50,13 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
+import org.jclouds.Constants;
 import org.jclouds.compute.ComputeServiceAdapter;
 import org.jclouds.compute.domain.Hardware;
 import org.jclouds.compute.domain.HardwareBuilder;
@@ -93,10 +111,27 @@ public class DockerComputeServiceAdapter implements
    protected Logger logger = Logger.NULL;
 
    private final DockerApi api;
+   private final ListeningExecutorService userExecutor;
+   private final int maxParallelInspects;
+   // keyed by container id and the state reported when listing it
+   private final Cache<Map.Entry<String, String>, Container> inspectedContainers;
+   // image details never change for an image id, so they are kept while the image is listed
+   private final Map<String, Image> inspectedImages = Maps.newConcurrentMap();
 
-   @Inject
    public DockerComputeServiceAdapter(DockerApi api) {
+      this(api, MoreExecutors.newDirectExecutorService(), 0, 1);
+   }
+
+   @Inject
+   public DockerComputeServiceAdapter(DockerApi api,
+         @Named(Constants.PROPERTY_USER_THREADS) ListeningExecutorService userExecutor,
+         @Named(DOCKER_INSPECT_CACHE_TTL) long inspectCacheTtl,
+         @Named(DOCKER_INSPECT_MAX_PARALLEL) int maxParallelInspects) {
       this.api = checkNotNull(api, "api");
+      this.userExecutor = checkNotNull(userExecutor, "userExecutor");
+      this.maxParallelInspects = maxParallelInspects;
+      this.inspectedContainers = CacheBuilder.newBuilder().expireAfterWrite(inspectCacheTtl, TimeUnit.MILLISECONDS)
+            .build();
    }
 
    @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -248,16 +283,34 @@ public class DockerComputeServiceAdapter implements
 
    /**
     * Method based on {@link org.jclouds.docker.features.ImageApi#listImages()}. It retrieves additional
-    * information by inspecting each image.
+    * information by inspecting each image not seen by a previous listing.
     *
     * @see org.jclouds.compute.ComputeServiceAdapter#listImages()
     */
    @Override
    public Set<Image> listImages() {
+      List<ImageSummary> imageSummaries = api.getImageApi().listImages();
+      Set<String> listed = Sets.newHashSet();
+      Set<String> toInspect = Sets.newLinkedHashSet();
+      for (ImageSummary imageSummary : imageSummaries) {
+         listed.add(imageSummary.id());
+         if (!inspectedImages.containsKey(imageSummary.id()))
+            toInspect.add(imageSummary.id());
+      }
+      inspectedImages.putAll(inspect(toInspect, new Function<String, Image>() {
+         @Override
+         public Image apply(String id) {
+            return api.getImageApi().inspectImage(id);
+         }
+      }));
+      inspectedImages.keySet().retainAll(listed);
+
       Set<Image> images = Sets.newHashSet();
-      for (ImageSummary imageSummary : api.getImageApi().listImages()) {
-         // less efficient than just listImages but returns richer json that needs repoTags coming from listImages
-         Image inspected = api.getImageApi().inspectImage(imageSummary.id());
+      for (ImageSummary imageSummary : imageSummaries) {
+         // richer json than just listImages, but needs repoTags coming from listImages
+         Image inspected = inspectedImages.get(imageSummary.id());
+         if (inspected == null)
+            continue; // removed since listed
          inspected = Image.create(inspected.id(), inspected.author(), inspected.comment(), inspected.config(),
                     inspected.containerConfig(), inspected.parent(), inspected.created(), inspected.container(),
                  inspected.dockerVersion(), inspected.architecture(), inspected.os(), inspected.size(),
@@ -288,23 +341,93 @@ public class DockerComputeServiceAdapter implements
       return find(listImages(), createPredicateMatchingRepoTags(imageIdOrName), null);
    }
 
+   /**
+    * Inspects the listed containers, as the summaries lack the config, state and network settings
+    * nodes are built from. Containers inspected within {@link org.jclouds.docker.DockerApiMetadata#DOCKER_INSPECT_CACHE_TTL}
+    * are reused as long as they are listed in the same state, so fields only the inspection returns,
+    * such as the health status, may be that old.
+    */
    @Override
    public Iterable<Container> listNodes() {
       Set<Container> containers = Sets.newHashSet();
+      Map<String, Map.Entry<String, String>> toInspect = Maps.newLinkedHashMap();
       for (ContainerSummary containerSummary : api.getContainerApi().listContainers(ListContainerOptions.Builder.all(true))) {
-         // less efficient than just listNodes but returns richer json
-         containers.add(api.getContainerApi().inspectContainer(containerSummary.id()));
+         // older daemons only report the human readable status
+         Map.Entry<String, String> key = Maps.immutableEntry(containerSummary.id(),
+               MoreObjects.firstNonNull(containerSummary.state(), containerSummary.status()));
+         Container cached = inspectedContainers.getIfPresent(key);
+         if (cached != null) {
+            containers.add(cached);
+         } else {
+            toInspect.put(containerSummary.id(), key);
+         }
+      }
+      for (Map.Entry<String, Container> inspected : inspect(toInspect.keySet(), inspectContainer()).entrySet()) {
+         inspectedContainers.put(toInspect.get(inspected.getKey()), inspected.getValue());
+         containers.add(inspected.getValue());
       }
       return containers;
    }
 
    @Override
    public Iterable<Container> listNodesByIds(final Iterable<String> ids) {
-      Set<Container> containers = Sets.newHashSet();
-      for (String id : ids) {
-         containers.add(api.getContainerApi().inspectContainer(id));
+      return ImmutableSet.copyOf(inspect(ImmutableSet.copyOf(ids), inspectContainer()).values());
+   }
+
+   private Function<String, Container> inspectContainer() {
+      return new Function<String, Container>() {
+         @Override
+         public Container apply(String id) {
+            return api.getContainerApi().inspectContainer(id);
+         }
+      };
+   }
+
+   /**
+    * Inspects the items on the calling thread and the user executor, at most {@link org.jclouds.docker.DockerApiMetadata#DOCKER_INSPECT_MAX_PARALLEL}
+    * at a time.
+    *
+    * @return the inspected items by id, leaving out items which no longer exist
+    */
+   private <T> Map<String, T> inspect(Collection<String> ids, final Function<String, T> inspector) {
+      final Map<String, T> inspected = Maps.newConcurrentMap();
+      final Queue<String> remaining = new ConcurrentLinkedQueue<String>(ids);
+      Runnable worker = new Runnable() {
+         @Override
+         public void run() {
+            for (String id = remaining.poll(); id != null; id = remaining.poll()) {
+               T item = inspector.apply(id);
+               if (item != null)
+                  inspected.put(id, item);
+            }
+         }
+      };
+      int workers = Math.min(maxParallelInspects, ids.size());
+      // the calling thread is one of the workers, so only the others go to the user executor
+      List<ListenableFuture<?>> futures = Lists.newArrayListWithCapacity(Math.max(0, workers - 1));
+      for (int i = 1; i < workers; i++) {
+         futures.add(userExecutor.submit(worker));
+      }
+      try {
+         worker.run();
+      } catch (RuntimeException e) {
+         remaining.clear();
+         throw e;
+      }
+      try {
+         Futures.getUnchecked(Futures.allAsList(futures));
+      } catch (UncheckedExecutionException e) {
+         Throwables.throwIfUnchecked(e.getCause());
+         throw e;
+      }
+      return inspected;
+   }
+
+   private void forgetContainer(String id) {
+      for (Iterator<Map.Entry<String, String>> keys = inspectedContainers.asMap().keySet().iterator(); keys.hasNext();) {
+         if (keys.next().getKey().equals(id))
+            keys.remove();
       }
-      return containers;
    }
 
    @Override
@@ -321,22 +444,26 @@ public class DockerComputeServiceAdapter implements
    public void destroyNode(String id) {
       traceContainerLogs(id);
       api.getContainerApi().removeContainer(id, RemoveContainerOptions.Builder.force(true));
+      forgetContainer(id);
    }
 
    @Override
    public void rebootNode(String id) {
       api.getContainerApi().stopContainer(id);
       api.getContainerApi().startContainer(id);
+      forgetContainer(id);
    }
 
    @Override
    public void resumeNode(String id) {
       api.getContainerApi().unpause(id);
+      forgetContainer(id);
    }
 
    @Override
    public void suspendNode(String id) {
       api.getContainerApi().pause(id);
+      forgetContainer(id);
    }
 
    protected static Predicate<Image> createPredicateMatchingRepoTags(final String imageIdOrName) {
@@ -19,6 +19,7 @@ package org.jclouds.docker.domain;
 import static org.jclouds.docker.internal.NullSafeCopies.copyOf;
 import java.util.List;
 
+import org.jclouds.javax.annotation.Nullable;
 import org.jclouds.json.SerializedNames;
 
 import com.google.auto.value.AutoValue;
@@ -41,12 +42,23 @@ public abstract class ContainerSummary {
 
    public abstract String status();
 
+   /**
+    * @return the container state, such as {@code running} or {@code exited}; only reported by daemons
+    *         supporting API 1.23 or later
+    */
+   @Nullable public abstract String state();
+
    ContainerSummary() {
    }
 
-   @SerializedNames({"Id", "Names", "Created", "Image", "Command", "Ports", "Status"})
    public static ContainerSummary create(String id, List<String> names, String created, String image, String command, List<Port> ports, String status) {
-      return new AutoValue_ContainerSummary(id, copyOf(names), created, image, command, copyOf(ports), status);
+      return create(id, names, created, image, command, ports, status, null);
+   }
+
+   @SerializedNames({"Id", "Names", "Created", "Image", "Command", "Ports", "Status", "State"})
+   public static ContainerSummary create(String id, List<String> names, String created, String image, String command, List<Port> ports, String status,
+         String state) {
+      return new AutoValue_ContainerSummary(id, copyOf(names), created, image, command, copyOf(ports), status, state);
    }
 
 }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.docker.compute.strategy;
+
+import static org.testng.Assert.assertEquals;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import org.jclouds.docker.DockerApi;
+import org.jclouds.docker.config.DockerParserModule;
+import org.jclouds.docker.internal.BaseDockerMockTest;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Mock tests for the listing methods of {@link DockerComputeServiceAdapter}.
+ */
+@Test(groups = "unit", testName = "DockerComputeServiceAdapterMockTest")
+public class DockerComputeServiceAdapterMockTest extends BaseDockerMockTest {
+
+   public void testListNodesReusesInspectedContainers() throws Exception {
+      MockWebServer server = mockWebServer(
+            new MockResponse().setBody(payloadFromResource("/containers.json")),
+            new MockResponse().setBody(payloadFromResource("/container.json")),
+            new MockResponse().setBody(payloadFromResource("/container.json")),
+            new MockResponse().setBody(payloadFromResource("/containers.json")));
+      DockerApi api = api(DockerApi.class, server.url("/").toString(), new DockerParserModule());
+      DockerComputeServiceAdapter adapter = new DockerComputeServiceAdapter(api,
+            MoreExecutors.newDirectExecutorService(), 60000, 1);
+      try {
+         assertEquals(Iterables.size(adapter.listNodes()), 1);
+         assertEquals(Iterables.size(adapter.listNodes()), 1);
+         assertSent(server, "GET", "/containers/json?all=true");
+         assertSent(server, "GET", "/containers/6d35806c1bd2b25cd92bba2d2c2c5169dc2156f53ab45c2b62d76e2d2fee14a9/json");
+         assertSent(server, "GET", "/containers/6d35806c1bd2b25cd92bba2d2c2c5169dc2156f53ab45c2b62d76e2d2fee14a2/json");
+         assertSent(server, "GET", "/containers/json?all=true");
+         assertEquals(server.getRequestCount(), 4);
+      } finally {
+         server.shutdown();
+      }
+   }
+
+   public void testListNodesWithoutCacheInspectsEachTime() throws Exception {
+      MockWebServer server = mockWebServer(
+            new MockResponse().setBody(payloadFromResource("/containers.json")),
+            new MockResponse().setBody(payloadFromResource("/container.json")),
+            new MockResponse().setBody(payloadFromResource("/container.json")),
+            new MockResponse().setBody(payloadFromResource("/containers.json")),
+            new MockResponse().setBody(payloadFromResource("/container.json")),
+            new MockResponse().setBody(payloadFromResource("/container.json")));
+      DockerApi api = api(DockerApi.class, server.url("/").toString(), new DockerParserModule());
+      DockerComputeServiceAdapter adapter = new DockerComputeServiceAdapter(api);
+      try {
+         adapter.listNodes();
+         adapter.listNodes();
+         assertEquals(server.getRequestCount(), 6);
+      } finally {
+         server.shutdown();
+      }
+   }
+
+   public void testListImagesInspectsOnlyNewImages() throws Exception {
+      MockWebServer server = mockWebServer(
+            new MockResponse().setBody(payloadFromResource("/images.json")),
+            new MockResponse().setBody(payloadFromResource("/image.json")),
+            new MockResponse().setBody(payloadFromResource("/image.json")),
+            new MockResponse().setBody(payloadFromResource("/image.json")),
+            new MockResponse().setBody(payloadFromResource("/image.json")),
+            new MockResponse().setBody(payloadFromResource("/images.json")));
+      DockerApi api = api(DockerApi.class, server.url("/").toString(), new DockerParserModule());
+      DockerComputeServiceAdapter adapter = new DockerComputeServiceAdapter(api,
+            MoreExecutors.newDirectExecutorService(), 60000, 4);
+      try {
+         assertEquals(adapter.listImages().size(), adapter.listImages().size());
+         assertEquals(server.getRequestCount(), 6);
+      } finally {
+         server.shutdown();
+      }
+   }
+}
@@ -27,6 +27,12 @@ public final class FilesystemConstants {
     /** Specify if the Content-Type of a file should be autodetected if it is not set */
     public static final String PROPERTY_AUTO_DETECT_CONTENT_TYPE = "jclouds.filesystem.auto-detect-content-type";
 
+    /**
+     * Specify if blob metadata should be kept in a persistent index next to each container, so that it is read without
+     * xattrs and without hashing the content of files
+     */
+    public static final String PROPERTY_METADATA_INDEX = "jclouds.filesystem.metadata-index";
+
     private FilesystemConstants() {
         throw new AssertionError("intentionally unimplemented");
     }
@@ -0,0 +1,391 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.filesystem.strategy.internal;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+import org.jclouds.util.Closeables2;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Persistent index of blob metadata, one per container, so that metadata reads do not depend on user xattrs and never
+ * hash the content of a file.
+ * <p/>
+ * Each container index is an append-only log of checksummed records, stored next to the container directory. It is
+ * read once, when the container is first accessed, and compacted when it holds many more records than live entries.
+ * A torn record at the end of the log, left by a crash, is discarded when the log is read. Entries are only trusted
+ * while the size and modification time of the file they describe are unchanged, so a lost or stale record costs a
+ * recomputation, never a wrong answer. For the same reason appends are not synced to disk, only compactions and
+ * {@link #close()} are: the records written since then may be lost on a power failure.
+ * <p/>
+ * A file modified less than {@link #MTIME_GRANULARITY_MILLIS} ago could be modified again without its modification
+ * time changing, so it is not indexed until it is older than that.
+ */
+final class FilesystemMetadataIndex {
+   private static final String SUFFIX = ".metadata-index";
+   private static final byte PUT = 1;
+   private static final byte REMOVE = 2;
+   private static final int MIN_RECORDS_TO_COMPACT = 1024;
+   /** The coarsest modification time resolution of common file systems (FAT). */
+   static final long MTIME_GRANULARITY_MILLIS = 2000;
+
+   private final File baseDirectory;
+   private final ConcurrentMap<String, ContainerIndex> containers = new ConcurrentHashMap<String, ContainerIndex>();
+
+   FilesystemMetadataIndex(File baseDirectory) {
+      this.baseDirectory = checkNotNull(baseDirectory, "baseDirectory");
+   }
+
+   /**
+    * @return the entry of the blob, if it still describes {@code file}, or null
+    */
+   Entry get(String container, String key, File file) throws IOException {
+      Entry entry = container(container).entries.get(key);
+      if (entry == null || entry.size != file.length() || entry.lastModified != file.lastModified()) {
+         return null;
+      }
+      return entry;
+   }
+
+   /**
+    * Indexes the entry, unless its file was modified too recently for its modification time to reveal the next change.
+    */
+   void put(String container, String key, Entry entry) throws IOException {
+      if (System.currentTimeMillis() - entry.lastModified < MTIME_GRANULARITY_MILLIS) {
+         return;
+      }
+      container(container).append(PUT, key, entry);
+   }
+
+   void remove(String container, String key) throws IOException {
+      ContainerIndex index = container(container);
+      if (index.entries.containsKey(key)) {
+         index.append(REMOVE, key, null);
+      }
+   }
+
+   /**
+    * Forgets every entry of the container and deletes its log.
+    */
+   synchronized void delete(String container) throws IOException {
+      ContainerIndex index = containers.remove(container);
+      if (index != null) {
+         index.close();
+      }
+      Files.deleteIfExists(logFile(container).toPath());
+   }
+
+   /**
+    * Closes the log of every container. A container accessed afterwards is read again from its log.
+    */
+   synchronized void close() throws IOException {
+      IOException failure = null;
+      for (ContainerIndex index : containers.values()) {
+         try {
+            index.close();
+         } catch (IOException ioe) {
+            failure = ioe;
+         }
+      }
+      containers.clear();
+      if (failure != null) {
+         throw failure;
+      }
+   }
+
+   private synchronized ContainerIndex container(String container) throws IOException {
+      ContainerIndex index = containers.get(container);
+      if (index == null) {
+         index = new ContainerIndex(logFile(container));
+         containers.put(container, index);
+      }
+      return index;
+   }
+
+   private File logFile(String container) {
+      return new File(baseDirectory, "." + container + SUFFIX);
+   }
+
+   private static final class ContainerIndex {
+      private final File log;
+      private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+      private FileOutputStream out;
+      private int records;
+
+      ContainerIndex(File log) throws IOException {
+         this.log = log;
+         load();
+         out = new FileOutputStream(log, true);
+      }
+
+      private void load() throws IOException {
+         long length = log.length();
+         long valid = 0;
+         DataInputStream in;
+         try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(log)));
+         } catch (FileNotFoundException fnfe) {
+            return;
+         }
+         try {
+            for (;;) {
+               int recordLength = in.readInt();
+               if (recordLength < 0 || recordLength > length - valid - 4) {
+                  break;
+               }
+               byte[] record = new byte[recordLength];
+               in.readFully(record);
+               if (in.readLong() != checksum(record)) {
+                  break;
+               }
+               apply(record);
+               records++;
+               valid += 4 + recordLength + 8;
+            }
+         } catch (EOFException eof) {
+            // end of log, possibly with a partial record
+         } finally {
+            Closeables2.closeQuietly(in);
+         }
+         if (valid < length) {
+            RandomAccessFile file = new RandomAccessFile(log, "rw");
+            try {
+               file.setLength(valid);
+            } finally {
+               file.close();
+            }
+         }
+      }
+
+      private void apply(byte[] record) throws IOException {
+         DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+         byte op = in.readByte();
+         String key = readString(in);
+         if (op == PUT) {
+            entries.put(key, Entry.read(in));
+         } else {
+            entries.remove(key);
+         }
+      }
+
+      synchronized void append(byte op, String key, Entry entry) throws IOException {
+         ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+         DataOutputStream record = new DataOutputStream(bytes);
+         record.writeByte(op);
+         writeString(record, key);
+         if (entry != null) {
+            entry.write(record);
+         }
+         record.flush();
+         write(out, bytes.toByteArray());
+         out.flush();
+         records++;
+         if (entry != null) {
+            entries.put(key, entry);
+         } else {
+            entries.remove(key);
+         }
+         if (records > MIN_RECORDS_TO_COMPACT && records > 2 * entries.size()) {
+            compact();
+         }
+      }
+
+      /**
+       * Rewrites the log with one record per live entry, and atomically replaces the old one.
+       */
+      private void compact() throws IOException {
+         File tmp = new File(log.getPath() + ".tmp");
+         FileOutputStream compacted = new FileOutputStream(tmp);
+         try {
+            OutputStream buffered = new BufferedOutputStream(compacted);
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+               ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+               DataOutputStream record = new DataOutputStream(bytes);
+               record.writeByte(PUT);
+               writeString(record, entry.getKey());
+               entry.getValue().write(record);
+               record.flush();
+               write(buffered, bytes.toByteArray());
+            }
+            buffered.flush();
+            compacted.getFD().sync();
+         } finally {
+            compacted.close();
+         }
+         out.close();
+         try {
+            Files.move(tmp.toPath(), log.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                  StandardCopyOption.REPLACE_EXISTING);
+            records = entries.size();
+         } catch (IOException ioe) {
+            // keep appending to the old log, which still holds every record
+            Files.deleteIfExists(tmp.toPath());
+            throw ioe;
+         } finally {
+            out = new FileOutputStream(log, true);
+         }
+      }
+
+      synchronized void close() throws IOException {
+         try {
+            out.getFD().sync();
+         } finally {
+            out.close();
+         }
+      }
+
+      private static void write(OutputStream out, byte[] record) throws IOException {
+         DataOutputStream data = new DataOutputStream(out);
+         data.writeInt(record.length);
+         data.write(record);
+         data.writeLong(checksum(record));
+      }
+
+      private static long checksum(byte[] record) {
+         CRC32 crc = new CRC32();
+         crc.update(record, 0, record.length);
+         return crc.getValue();
+      }
+   }
+
+   /**
+    * Metadata of a blob, as stored in its xattrs, along with the size and modification time of its file.
+    */
+   static final class Entry {
+      final long size;
+      final long lastModified;
+      final byte[] contentMD5;
+      final String eTag;
+      final String contentType;
+      final String cacheControl;
+      final String contentDisposition;
+      final String contentEncoding;
+      final String contentLanguage;
+      final Long expires;
+      final String tier;
+      final Map<String, String> userMetadata;
+
+      Entry(long size, long lastModified, byte[] contentMD5, String eTag, String contentType, String cacheControl,
+            String contentDisposition, String contentEncoding, String contentLanguage, Long expires, String tier,
+            Map<String, String> userMetadata) {
+         this.size = size;
+         this.lastModified = lastModified;
+         this.contentMD5 = contentMD5;
+         this.eTag = eTag;
+         this.contentType = contentType;
+         this.cacheControl = cacheControl;
+         this.contentDisposition = contentDisposition;
+         this.contentEncoding = contentEncoding;
+         this.contentLanguage = contentLanguage;
+         this.expires = expires;
+         this.tier = tier;
+         this.userMetadata = ImmutableMap.copyOf(userMetadata);
+      }
+
+      private void write(DataOutputStream out) throws IOException {
+         out.writeLong(size);
+         out.writeLong(lastModified);
+         out.writeInt(contentMD5 == null ? -1 : contentMD5.length);
+         if (contentMD5 != null) {
+            out.write(contentMD5);
+         }
+         writeString(out, eTag);
+         writeString(out, contentType);
+         writeString(out, cacheControl);
+         writeString(out, contentDisposition);
+         writeString(out, contentEncoding);
+         writeString(out, contentLanguage);
+         out.writeLong(expires == null ? Long.MIN_VALUE : expires);
+         writeString(out, tier);
+         out.writeInt(userMetadata.size());
+         for (Map.Entry<String, String> entry : userMetadata.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+         }
+      }
+
+      private static Entry read(DataInputStream in) throws IOException {
+         long size = in.readLong();
+         long lastModified = in.readLong();
+         int md5Length = in.readInt();
+         byte[] contentMD5 = null;
+         if (md5Length >= 0) {
+            contentMD5 = new byte[md5Length];
+            in.readFully(contentMD5);
+         }
+         String eTag = readString(in);
+         String contentType = readString(in);
+         String cacheControl = readString(in);
+         String contentDisposition = readString(in);
+         String contentEncoding = readString(in);
+         String contentLanguage = readString(in);
+         long expires = in.readLong();
+         String tier = readString(in);
+         int userMetadataSize = in.readInt();
+         ImmutableMap.Builder<String, String> userMetadata = ImmutableMap.builder();
+         for (int i = 0; i < userMetadataSize; i++) {
+            userMetadata.put(readString(in), readString(in));
+         }
+         return new Entry(size, lastModified, contentMD5, eTag, contentType, cacheControl, contentDisposition,
+               contentEncoding, contentLanguage, expires == Long.MIN_VALUE ? null : expires, tier,
+               userMetadata.build());
+      }
+   }
+
+   private static void writeString(DataOutputStream out, String value) throws IOException {
+      if (value == null) {
+         out.writeInt(-1);
+         return;
+      }
+      byte[] bytes = value.getBytes(UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+   }
+
+   private static String readString(DataInputStream in) throws IOException {
+      int length = in.readInt();
+      if (length < 0) {
+         return null;
+      }
+      byte[] bytes = new byte[length];
+      in.readFully(bytes);
+      return new String(bytes, UTF_8);
+   }
+}
@@ -50,13 +50,19 @@ import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.Resource;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -92,11 +98,12 @@ import org.jclouds.rest.annotations.ParamValidators;
 import com.google.common.base.Function;
 import com.google.common.base.Supplier;
 import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Sets;
+import com.google.common.collect.Maps;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.Hashing;
 import com.google.common.hash.HashingInputStream;
@@ -135,11 +142,13 @@ public class FilesystemStorageStrategyImpl implements LocalStorageStrategy {
    protected final FilesystemContainerNameValidator filesystemContainerNameValidator;
    protected final FilesystemBlobKeyValidator filesystemBlobKeyValidator;
    private final Supplier<Location> defaultLocation;
+   private final FilesystemMetadataIndex metadataIndex;
 
    @Inject
    protected FilesystemStorageStrategyImpl(Provider<BlobBuilder> blobBuilders,
          @Named(FilesystemConstants.PROPERTY_BASEDIR) String baseDir,
          @Named(FilesystemConstants.PROPERTY_AUTO_DETECT_CONTENT_TYPE) boolean autoDetectContentType,
+         @Named(FilesystemConstants.PROPERTY_METADATA_INDEX) boolean metadataIndex,
          FilesystemContainerNameValidator filesystemContainerNameValidator,
          FilesystemBlobKeyValidator filesystemBlobKeyValidator,
          Supplier<Location> defaultLocation) {
@@ -150,6 +159,29 @@ public class FilesystemStorageStrategyImpl implements LocalStorageStrategy {
             "filesystem container name validator");
       this.filesystemBlobKeyValidator = checkNotNull(filesystemBlobKeyValidator, "filesystem blob key validator");
       this.defaultLocation = defaultLocation;
+      this.metadataIndex = metadataIndex ? new FilesystemMetadataIndex(new File(baseDir)) : null;
+   }
+
+   protected FilesystemStorageStrategyImpl(Provider<BlobBuilder> blobBuilders, String baseDir,
+         boolean autoDetectContentType, FilesystemContainerNameValidator filesystemContainerNameValidator,
+         FilesystemBlobKeyValidator filesystemBlobKeyValidator, Supplier<Location> defaultLocation) {
+      this(blobBuilders, baseDir, autoDetectContentType, false, filesystemContainerNameValidator,
+            filesystemBlobKeyValidator, defaultLocation);
+   }
+
+   /**
+    * Closes the metadata index logs, if any.
+    */
+   @PreDestroy
+   public void close() {
+      if (metadataIndex == null) {
+         return;
+      }
+      try {
+         metadataIndex.close();
+      } catch (IOException e) {
+         logger.warn(e, "Could not close the metadata index");
+      }
    }
 
    @Override
@@ -254,6 +286,7 @@ public class FilesystemStorageStrategyImpl implements LocalStorageStrategy {
          return;
       }
       deleteDirectory(container, null);
+      removeIndexEntries(container, null);
    }
 
    @Override
@@ -269,6 +302,9 @@ public class FilesystemStorageStrategyImpl implements LocalStorageStrategy {
       String normalizedOptsPath = normalize(optsPrefix);
       String basePath = buildPathStartingFromBaseDir(container, normalizedOptsPath);
       filesystemBlobKeyValidator.validate(basePath);
+      if (optsPrefix.isEmpty() && options.isRecursive()) {
+         removeIndexEntries(container, null);
+      }
       try {
          File object = new File(basePath);
          if (object.isFile()) {
@@ -352,12 +388,21 @@ public class FilesystemStorageStrategyImpl implements LocalStorageStrategy {
     */
    @Override
    public Iterable<String> getBlobKeysInsideContainer(String container, String prefix, String delimiter) throws IOException {
+      return ImmutableList.copyOf(getBlobKeysInsideContainer(container, prefix, delimiter, null));
+   }
+
+   /**
+    * Walks the container depth-first, listing each directory in key order. Subtrees that sort entirely before the
+    * marker, or outside the prefix, are skipped without being read.
+    */
+   @Override
+   public Iterator<String> getBlobKeysInsideContainer(String container, String prefix, String delimiter,
+         String marker) throws IOException {
       filesystemContainerNameValidator.validate(container);
       // check if container exists
       // TODO maybe an error is more appropriate
-      Set<String> blobNames = Sets.newHashSet();
       if (!containerExists(container)) {
-         return blobNames;
+         return Collections.emptyIterator();
       }
 
       File containerFile = openFolder(container);
@@ -370,13 +415,12 @@ public class FilesystemStorageStrategyImpl implements LocalStorageStrategy {
          }
       }
 
-      populateBlobKeysInContainer(containerFile, blobNames, prefix, delimiter, new Function<String, String>() {
+      return new SortedBlobKeyIterator(containerFile, prefix, delimiter, marker, new Function<String, String>() {
          @Override
          public String apply(String string) {
             return denormalize(string.substring(containerPathLength));
          }
       });
-      return blobNames;
    }
 
    @Override
@@ -403,6 +447,12 @@ public class FilesystemStorageStrategyImpl implements LocalStorageStrategy {
       } else {
          byteSource = Files.asByteSource(file);
       }
+      FilesystemMetadataIndex.Entry indexed = null;
+      long size = file.length();
+      long lastModified = file.lastModified();
+      if (!isDirectory) {
+         indexed = getIndexEntry(container, key, file);
+      }
       try {
          String cacheControl = null;
          String contentDisposition = null;
@@ -415,8 +465,25 @@ public class FilesystemStorageStrategyImpl implements LocalStorageStrategy {
          Tier tier = Tier.STANDARD;
          ImmutableMap.Builder<String, String> userMetadata = ImmutableMap.builder();
 
-         UserDefinedFileAttributeView view = getUserDefinedFileAttributeView(file.toPath());
-         if (view != null) {
+         UserDefinedFileAttributeView view = indexed != null ? null : getUserDefinedFileAttributeView(file.toPath());
+         if (indexed != null) {
+            contentType = indexed.contentType;
+            if (contentType == null && autoDetectContentType) {
+               contentType = probeContentType(file.toPath());
+            }
+            builder.payload(byteSource)
+               .cacheControl(indexed.cacheControl)
+               .contentDisposition(indexed.contentDisposition)
+               .contentEncoding(indexed.contentEncoding)
+               .contentLanguage(indexed.contentLanguage)
+               .contentLength(indexed.size)
+               .contentMD5(indexed.contentMD5 == null ? null : HashCode.fromBytes(indexed.contentMD5))
+               .eTag(indexed.eTag)
+               .contentType(contentType)
+               .expires(indexed.expires == null ? null : new Date(indexed.expires))
+               .tier(Tier.valueOf(indexed.tier))
+               .userMetadata(indexed.userMetadata);
+         } else if (view != null) {
             try {
                Set<String> attributes = ImmutableSet.copyOf(view.list());
 
@@ -492,9 +559,60 @@ public class FilesystemStorageStrategyImpl implements LocalStorageStrategy {
       blob.getMetadata().setSize(file.length());
       if (blob.getPayload().getContentMetadata().getContentMD5() != null)
          blob.getMetadata().setETag(base16().lowerCase().encode(blob.getPayload().getContentMetadata().getContentMD5()));
+      if (!isDirectory && indexed == null) {
+         ContentMetadata metadata = blob.getPayload().getContentMetadata();
+         byte[] contentMD5 = metadata.getContentMD5();
+         putIndexEntry(container, key, size, lastModified, blob, contentMD5,
+               contentMD5 == null ? blob.getMetadata().getETag() : null);
+      }
       return blob;
    }
 
+   private FilesystemMetadataIndex.Entry getIndexEntry(String container, String key, File file) {
+      if (metadataIndex == null) {
+         return null;
+      }
+      try {
+         return metadataIndex.get(container, key, file);
+      } catch (IOException e) {
+         logger.warn(e, "Could not read the metadata index of container %s", container);
+         return null;
+      }
+   }
+
+   private void putIndexEntry(String container, String key, long size, long lastModified, Blob blob,
+         byte[] contentMD5, String eTag) {
+      if (metadataIndex == null) {
+         return;
+      }
+      ContentMetadata metadata = blob.getMetadata().getContentMetadata();
+      Date expires = metadata.getExpires();
+      try {
+         metadataIndex.put(container, key, new FilesystemMetadataIndex.Entry(size, lastModified, contentMD5, eTag,
+               metadata.getContentType(), metadata.getCacheControl(), metadata.getContentDisposition(),
+               metadata.getContentEncoding(), metadata.getContentLanguage(),
+               expires == null ? null : expires.getTime(), blob.getMetadata().getTier().toString(),
+               blob.getMetadata().getUserMetadata()));
+      } catch (IOException e) {
+         logger.warn(e, "Could not update the metadata index of container %s", container);
+      }
+   }
+
+   private void removeIndexEntries(String container, String key) {
+      if (metadataIndex == null) {
+         return;
+      }
+      try {
+         if (key == null) {
+            metadataIndex.delete(container);
+         } else {
+            metadataIndex.remove(container, key);
+         }
+      } catch (IOException e) {
+         logger.warn(e, "Could not update the metadata index of container %s", container);
+      }
+   }
+
    private void writeCommonMetadataAttr(UserDefinedFileAttributeView view, Blob blob) throws IOException {
       ContentMetadata metadata = blob.getMetadata().getContentMetadata();
       writeStringAttributeIfPresent(view, XATTR_CACHE_CONTROL, metadata.getCacheControl());
@@ -612,6 +730,8 @@ public class FilesystemStorageStrategyImpl implements LocalStorageStrategy {
 
          move(tmpPath, outputFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
          tmpFile = null;
+         putIndexEntry(containerName, blobKey, outputFile.length(), outputFile.lastModified(), blob,
+               isMpu ? null : eTag, isMpu ? new String(eTag, US_ASCII) : null);
 
          return base16().lowerCase().encode(eTag);
       } finally {
@@ -636,6 +756,7 @@ public class FilesystemStorageStrategyImpl implements LocalStorageStrategy {
       String fileName = buildPathStartingFromBaseDir(container, blobKey);
       logger.debug("Deleting blob %s", fileName);
       File fileToBeDeleted = new File(fileName);
+      removeIndexEntries(container, blobKey);
 
       if (fileToBeDeleted.isDirectory()) {
          try {
@@ -994,33 +1115,105 @@ public class FilesystemStorageStrategyImpl implements LocalStorageStrategy {
       return folder;
    }
 
-   private static void populateBlobKeysInContainer(File directory, Set<String> blobNames,
-         String prefix, String delimiter, Function<String, String> function) {
-      File[] children = directory.listFiles();
-      if (children == null) {
-         return;
+   private static final class SortedBlobKeyIterator extends AbstractIterator<String> {
+      private final String prefix;
+      private final String delimiter;
+      private final String marker;
+      private final Function<String, String> function;
+      private final Deque<Iterator<Map.Entry<String, File>>> directories =
+            new ArrayDeque<Iterator<Map.Entry<String, File>>>();
+
+      SortedBlobKeyIterator(File directory, String prefix, String delimiter, String marker,
+            Function<String, String> function) {
+         this.prefix = prefix;
+         this.delimiter = delimiter;
+         this.marker = marker;
+         this.function = function;
+         directories.push(listSorted(directory));
       }
-      for (File child : children) {
-         String fullPath = function.apply(child.getAbsolutePath());
-         if (child.isFile()) {
-            if (prefix != null && !fullPath.startsWith(prefix)) {
+
+      @Override
+      protected String computeNext() {
+         while (!directories.isEmpty()) {
+            Iterator<Map.Entry<String, File>> children = directories.peek();
+            if (!children.hasNext()) {
+               directories.pop();
                continue;
             }
-            blobNames.add(fullPath);
-         } else if (child.isDirectory()) {
+            Map.Entry<String, File> child = children.next();
+            String key = child.getKey();
+            if (child.getValue() != null) {
+               // Skip recursion if the delimiter tells us not to return children.
+               if (delimiter == null || !delimiter.equals("/")) {
+                  directories.push(listSorted(child.getValue()));
+               }
+            }
+            if (marker == null || key.compareTo(marker) > 0) {
+               return key;
+            }
+         }
+         return endOfData();
+      }
+
+      /**
+       * Returns the children of a directory keyed by blob key, with the directories mapped to their file so they
+       * can be descended into. Directory keys end with the separator, so that they sort before their contents.
+       * <p>
+       * Only the names are sorted up front; each child is stat'ed when the iteration reaches it. A file's key is
+       * its path and a directory's key is its path plus the separator, so the path is a lower bound of either and
+       * a child need not be stat'ed until every key below its path has been returned.
+       */
+      private Iterator<Map.Entry<String, File>> listSorted(final File directory) {
+         String[] names = directory.list();
+         if (names == null) {
+            return Collections.emptyIterator();
+         }
+         final TreeMap<String, String> candidates = Maps.newTreeMap();
+         for (String name : names) {
+            String fullPath = function.apply(new File(directory, name).getAbsolutePath());
+            String directoryKey = fullPath + File.separator;
             // Consider a prefix /a/b/c but we have only descended to path /a.
             // We need to match the path against the prefix to continue
             // matching down to /a/b.
             if (prefix != null && !fullPath.startsWith(prefix) && !prefix.startsWith(fullPath + "/")) {
                continue;
             }
-            blobNames.add(fullPath + File.separator); // TODO: undo if failures
-            // Skip recursion if the delimiter tells us not to return children.
-            if (delimiter != null && delimiter.equals("/")) {
+            // Neither the file nor anything below the directory can come after the marker.
+            if (marker != null && marker.compareTo(directoryKey) > 0 && !marker.startsWith(directoryKey)) {
                continue;
             }
-            populateBlobKeysInContainer(child, blobNames, prefix, delimiter, function);
+            candidates.put(fullPath, name);
          }
+         return new AbstractIterator<Map.Entry<String, File>>() {
+            private final Iterator<Map.Entry<String, String>> paths = candidates.entrySet().iterator();
+            private final TreeMap<String, File> pendingDirectories = Maps.newTreeMap();
+            private Map.Entry<String, String> nextPath;
+
+            @Override
+            protected Map.Entry<String, File> computeNext() {
+               while (true) {
+                  if (nextPath == null && paths.hasNext()) {
+                     nextPath = paths.next();
+                  }
+                  if (nextPath == null) {
+                     return pendingDirectories.isEmpty() ? endOfData() : pendingDirectories.pollFirstEntry();
+                  }
+                  String fullPath = nextPath.getKey();
+                  if (!pendingDirectories.isEmpty() && pendingDirectories.firstKey().compareTo(fullPath) < 0) {
+                     return pendingDirectories.pollFirstEntry();
+                  }
+                  File child = new File(directory, nextPath.getValue());
+                  nextPath = null;
+                  if (child.isFile()) {
+                     if (prefix == null || fullPath.startsWith(prefix)) {
+                        return Maps.immutableEntry(fullPath, null);
+                     }
+                  } else if (child.isDirectory()) {
+                     pendingDirectories.put(fullPath + File.separator, child); // TODO: undo if failures
+                  }
+               }
+            }
+         };
       }
    }
 
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.filesystem.strategy.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.jclouds.filesystem.util.Utils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+
+@Test(groups = "unit", testName = "FilesystemMetadataIndexTest", singleThreaded = true)
+public class FilesystemMetadataIndexTest {
+   private static final String CONTAINER = "container";
+
+   private File baseDirectory;
+   private File blobFile;
+
+   @BeforeMethod
+   protected void setUp() throws IOException {
+      baseDirectory = Files.createTempDir();
+      blobFile = new File(baseDirectory, CONTAINER + File.separator + "blob");
+      Files.createParentDirs(blobFile);
+      Files.write(new byte[] { 1, 2, 3 }, blobFile);
+      // old enough for a change to show in its modification time
+      blobFile.setLastModified(System.currentTimeMillis() - 10 * FilesystemMetadataIndex.MTIME_GRANULARITY_MILLIS);
+   }
+
+   @AfterMethod
+   protected void tearDown() throws IOException {
+      Utils.deleteRecursively(baseDirectory);
+   }
+
+   public void testEntriesSurviveReopen() throws IOException {
+      new FilesystemMetadataIndex(baseDirectory).put(CONTAINER, "blob", entryFor(blobFile));
+
+      FilesystemMetadataIndex.Entry entry = new FilesystemMetadataIndex(baseDirectory).get(CONTAINER, "blob",
+            blobFile);
+      assertNotNull(entry);
+      assertEquals(entry.size, 3);
+      assertEquals(entry.contentType, "application/octet-stream");
+      assertEquals(entry.userMetadata, ImmutableMap.of("key", "value"));
+   }
+
+   public void testEntryIgnoredWhenFileChanges() throws IOException {
+      FilesystemMetadataIndex index = new FilesystemMetadataIndex(baseDirectory);
+      index.put(CONTAINER, "blob", entryFor(blobFile));
+
+      Files.write(new byte[] { 1, 2, 3, 4 }, blobFile);
+      assertNull(index.get(CONTAINER, "blob", blobFile));
+   }
+
+   public void testRecentlyModifiedFileIsNotIndexed() throws IOException {
+      Files.write(new byte[] { 4, 5, 6 }, blobFile);
+      FilesystemMetadataIndex index = new FilesystemMetadataIndex(baseDirectory);
+      index.put(CONTAINER, "blob", entryFor(blobFile));
+      assertNull(index.get(CONTAINER, "blob", blobFile));
+   }
+
+   public void testRemovedEntriesStayRemoved() throws IOException {
+      FilesystemMetadataIndex index = new FilesystemMetadataIndex(baseDirectory);
+      index.put(CONTAINER, "blob", entryFor(blobFile));
+      index.remove(CONTAINER, "blob");
+      assertNull(index.get(CONTAINER, "blob", blobFile));
+
+      assertNull(new FilesystemMetadataIndex(baseDirectory).get(CONTAINER, "blob", blobFile));
+   }
+
+   public void testTornRecordIsDiscarded() throws IOException {
+      new FilesystemMetadataIndex(baseDirectory).put(CONTAINER, "blob", entryFor(blobFile));
+      File log = new File(baseDirectory, "." + CONTAINER + ".metadata-index");
+      long length = log.length();
+      FileOutputStream out = new FileOutputStream(log, true);
+      try {
+         out.write(new byte[] { 0, 0, 1, 0, 42 });
+      } finally {
+         out.close();
+      }
+
+      assertNotNull(new FilesystemMetadataIndex(baseDirectory).get(CONTAINER, "blob", blobFile));
+      assertEquals(log.length(), length);
+   }
+
+   private static FilesystemMetadataIndex.Entry entryFor(File file) {
+      return new FilesystemMetadataIndex.Entry(file.length(), file.lastModified(), new byte[16], null,
+            "application/octet-stream", null, null, null, null, null, "STANDARD", ImmutableMap.of("key", "value"));
+   }
+}
@@ -57,6 +57,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -102,6 +103,16 @@ public class FilesystemStorageStrategyImplTest {
       TestUtils.createResources();
    }
 
+   private static FilesystemStorageStrategyImpl newIndexedStorageStrategy() {
+      return new FilesystemStorageStrategyImpl(new Provider<BlobBuilder>() {
+         @Override
+         public BlobBuilder get() {
+            return new BlobBuilderImpl();
+         }
+      }, TestUtils.TARGET_BASE_DIR, false, true, new FilesystemContainerNameValidatorImpl(),
+            new FilesystemBlobKeyValidatorImpl(), defaultLocation);
+   }
+
    @AfterMethod
    protected void tearDown() throws IOException {
       TestUtils.cleanDirectoryContent(TestUtils.TARGET_BASE_DIR);
@@ -624,6 +635,18 @@ public class FilesystemStorageStrategyImplTest {
       }
    }
 
+   public void testGetBlobKeysInsideContainerAfterMarker() throws IOException {
+      storageStrategy.createContainer(CONTAINER_NAME);
+      TestUtils.createBlobsInContainer(CONTAINER_NAME, "a-b", "a.txt", "a/x", "a/y/z", "a0", "b");
+
+      assertEquals(Lists.newArrayList(storageStrategy.getBlobKeysInsideContainer(CONTAINER_NAME, null, null, null)),
+            ImmutableList.of("a-b", "a.txt", "a" + FS, "a/x", "a/y" + FS, "a/y/z", "a0", "b"));
+      assertEquals(Lists.newArrayList(storageStrategy.getBlobKeysInsideContainer(CONTAINER_NAME, null, null, "a/x")),
+            ImmutableList.of("a/y" + FS, "a/y/z", "a0", "b"));
+      assertEquals(Lists.newArrayList(storageStrategy.getBlobKeysInsideContainer(CONTAINER_NAME, "a/", "/", "a/x")),
+            ImmutableList.of("a/y" + FS));
+   }
+
    public void testCountsBlob() {
       storageStrategy.countBlobs(CONTAINER_NAME, ListContainerOptions.NONE);
    }
@@ -672,6 +695,44 @@ public class FilesystemStorageStrategyImplTest {
       assertFalse(blob.getMetadata().getUserMetadata().containsKey("key1"));
    }
 
+   @Test(dataProvider = "ignoreOnMacOSX")
+   public void testMetadataIndexFollowsFiles() throws Exception {
+      FilesystemStorageStrategyImpl indexed = newIndexedStorageStrategy();
+      String kept = TestUtils.createRandomBlobKey("indexed-", ".img");
+      String removed = TestUtils.createRandomBlobKey("indexed-", ".img");
+      indexed.putBlob(CONTAINER_NAME, new BlobBuilderImpl()
+            .name(kept)
+            .payload(randomByteSource().slice(0, 1024))
+            .userMetadata(ImmutableMap.of("key1", "value1"))
+            .build());
+      indexed.putBlob(CONTAINER_NAME, new BlobBuilderImpl()
+            .name(removed)
+            .payload(randomByteSource().slice(0, 1024))
+            .build());
+      indexed.removeBlob(CONTAINER_NAME, removed);
+      indexed.putBlob(CONTAINER_NAME, new BlobBuilderImpl()
+            .name(kept)
+            .payload(randomByteSource().slice(0, 512))
+            .userMetadata(ImmutableMap.of("key2", "value2"))
+            .build());
+      indexed.close();
+
+      // a new index reads the log back
+      indexed = newIndexedStorageStrategy();
+      Blob blob = indexed.getBlob(CONTAINER_NAME, kept);
+      assertEquals(blob.getMetadata().getUserMetadata(), ImmutableMap.of("key2", "value2"));
+      assertEquals(blob.getMetadata().getContentMetadata().getContentLength(), Long.valueOf(512));
+      assertFalse(indexed.blobExists(CONTAINER_NAME, removed));
+      assertEquals(indexed.getBlob(CONTAINER_NAME, removed), null);
+
+      // a file changed behind the index is read from disk
+      File file = new File(TARGET_CONTAINER_NAME, kept);
+      randomByteSource().slice(0, 256).copyTo(Files.asByteSink(file));
+      blob = indexed.getBlob(CONTAINER_NAME, kept);
+      assertEquals(blob.getMetadata().getContentMetadata().getContentLength(), Long.valueOf(256));
+      indexed.close();
+   }
+
    @Test
    public void testPutIncorrectContentLength() throws Exception {
       Blob blob = new BlobBuilderImpl()
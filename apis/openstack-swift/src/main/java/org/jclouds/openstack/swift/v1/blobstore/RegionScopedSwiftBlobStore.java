@@ -28,8 +28,6 @@ import static org.jclouds.openstack.swift.v1.options.PutOptions.Builder.metadata
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.io.RandomAccessFile;
 import java.lang.reflect.Method;
 import java.nio.MappedByteBuffer;
@@ -43,7 +41,6 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import jakarta.annotation.Resource;
 import jakarta.inject.Inject;
@@ -68,13 +65,16 @@ import org.jclouds.blobstore.domain.internal.BlobBuilderImpl;
 import org.jclouds.blobstore.domain.internal.BlobImpl;
 import org.jclouds.blobstore.domain.internal.PageSetImpl;
 import org.jclouds.blobstore.functions.BlobToHttpGetOptions;
+import org.jclouds.blobstore.internal.BlobRuntimeException;
 import org.jclouds.blobstore.options.CopyOptions;
 import org.jclouds.blobstore.options.CreateContainerOptions;
 import org.jclouds.blobstore.options.GetOptions;
 import org.jclouds.blobstore.options.ListContainerOptions;
 import org.jclouds.blobstore.options.PutOptions;
+import org.jclouds.blobstore.reference.BlobStoreConstants;
 import org.jclouds.blobstore.strategy.ClearListStrategy;
-import org.jclouds.blobstore.strategy.internal.MultipartUploadSlicingAlgorithm;
+import org.jclouds.blobstore.strategy.PartSizingStrategy;
+import org.jclouds.blobstore.strategy.internal.ParallelRangeDownloader;
 import org.jclouds.collect.Memoized;
 import org.jclouds.domain.Location;
 import org.jclouds.io.ContentMetadata;
@@ -404,19 +404,32 @@ public class RegionScopedSwiftBlobStore implements BlobStore {
    /**
     * Delete multiple single-part objects.  Note that this does not remove the
     * subobjects of a multi-part upload.
+    *
+    * @throws BlobRuntimeException naming the objects the bulk delete reported
+    *         it could not delete, once all requests are sent
     */
    @Override
    public void removeBlobs(String container, Iterable<String> names) {
       BulkApi bulkApi = api.getBulkApi(regionId);
-      for (List<String> partition : Iterables.partition(names, 1000)) {
+      Map<String, String> errors = Maps.newLinkedHashMap();
+      for (List<String> partition : Iterables.partition(names, getMaximumNumberOfBlobsPerRemove())) {
          ImmutableList.Builder<String> builder = ImmutableList.builder();
          for (String name : partition) {
             builder.add(container + "/" + name);
          }
-         bulkApi.bulkDelete(builder.build());
+         errors.putAll(bulkApi.bulkDelete(builder.build()).getErrors());
+      }
+      if (!errors.isEmpty()) {
+         throw new BlobRuntimeException(String.format("could not delete %d objects from %s: %s", errors.size(),
+               container, Iterables.limit(errors.entrySet(), 10)));
       }
    }
 
+   @Override
+   public int getMaximumNumberOfBlobsPerRemove() {
+      return 1000;
+   }
+
    @Override
    public BlobAccess getBlobAccess(String container, String name) {
       return BlobAccess.PRIVATE;
@@ -618,6 +631,13 @@ public class RegionScopedSwiftBlobStore implements BlobStore {
    @Named(Constants.PROPERTY_MAX_RETRIES)
    protected int retryCountLimit = 5;
 
+   @com.google.inject.Inject
+   protected PartSizingStrategy partSizingStrategy;
+
+   @com.google.inject.Inject(optional = true)
+   @Named(BlobStoreConstants.PROPERTY_BLOBSTORE_DOWNLOAD_PARALLELISM)
+   protected int downloadParallelism = ParallelRangeDownloader.DEFAULT_PARALLELISM;
+
    /**
     * Upload using a user-provided executor, or the jclouds userExecutor
     *
@@ -641,9 +661,8 @@ public class RegionScopedSwiftBlobStore implements BlobStore {
 
       long contentLength = checkNotNull(blob.getMetadata().getContentMetadata().getContentLength(),
             "must provide content-length to use multi-part upload");
-      MultipartUploadSlicingAlgorithm algorithm = new MultipartUploadSlicingAlgorithm(
-            getMinimumMultipartPartSize(), getMaximumMultipartPartSize(), getMaximumNumberOfParts());
-      long partSize = algorithm.calculateChunkSize(contentLength);
+      long partSize = partSizingStrategy.partSize(contentLength, getMinimumMultipartPartSize(),
+            getMaximumMultipartPartSize(), getMaximumNumberOfParts());
       MultipartUpload mpu = initiateMultipartUpload(container, blob.getMetadata(), partSize, overrides);
       int partNumber = 0;
 
@@ -669,7 +688,11 @@ public class RegionScopedSwiftBlobStore implements BlobStore {
 
       @Override
       public MultipartPart call() {
-         return uploadMultipartPart(mpu, partNumber, payload);
+         long start = System.nanoTime();
+         MultipartPart part = uploadMultipartPart(mpu, partNumber, payload);
+         Long size = payload.getContentMetadata().getContentLength();
+         partSizingStrategy.partUploaded(size == null ? 0 : size, System.nanoTime() - start);
+         return part;
       }
    }
 
@@ -810,118 +833,15 @@ public class RegionScopedSwiftBlobStore implements BlobStore {
       return streamBlob(container, name, userExecutor);
    }
 
+   /**
+    * Streams the blob as ranges of {@link #getMinimumMultipartPartSize()} bytes, of which at most
+    * {@link BlobStoreConstants#PROPERTY_BLOBSTORE_DOWNLOAD_PARALLELISM} are fetched ahead of the reader.
+    */
    @Beta
    @Override
    public InputStream streamBlob(final String container, final String name, final ExecutorService executor) {
-
-      final ListeningExecutorService listeningExecutor = MoreExecutors.listeningDecorator(executor);
-      // User will receive the Input end of the piped stream
-      final PipedOutputStream output;
-      final PipedInputStream input;
-      try {
-         output = new PipedOutputStream();
-         input = new PipedInputStream(output,
-               getMinimumMultipartPartSize() * 5 > Integer.MAX_VALUE ?
-                     Integer.MAX_VALUE : (int) getMinimumMultipartPartSize() * 5);
-      } catch (IOException e) {
-         throw new RuntimeException(e);
-      }
-
-      // The total length of the file to download is needed to determine ranges
-      // It has to be obtainable without downloading the whole file
-      final long contentLength = api
-            .getObjectApi(regionId, container)
-            .getWithoutBody(name)
-            .getPayload()
-            .getContentMetadata()
-            .getContentLength();
-
-      // Determine download buffer size, smaller means less memory usage; larger is faster as long as threads are saturated
-      final long partSize = getMinimumMultipartPartSize();
-
-      // Used to communicate between the producer and consumer threads
-      final LinkedBlockingQueue<ListenableFuture<byte[]>> results = new LinkedBlockingQueue<ListenableFuture<byte[]>>();
-
-      listeningExecutor.submit(new Runnable() {
-         @Override
-         public void run() {
-            ListenableFuture<byte[]> result;
-            long from;
-            try {
-               for (from = 0; from < contentLength; from = from + partSize) {
-                  logger.debug(Thread.currentThread() + " writing to output");
-                  result = results.take();
-                  if (result == null) {
-                     output.close();
-                     input.close();
-                     throw new RuntimeException("Error downloading file part to stream");
-                  }
-                  output.write(result.get());
-               }
-            } catch (Exception e) {
-               logger.debug(e.toString());
-               // Close pipe so client is notified of an exception
-               Closeables2.closeQuietly(input);
-               throw new RuntimeException(e);
-            } finally {
-               // Finished writing results to stream
-               Closeables2.closeQuietly(output);
-            }
-         }
-      });
-
-      listeningExecutor.submit(new Runnable() {
-         @Override
-         public void run() {
-            long from;
-            long to;
-            // Loop through ranges within the file
-            for (from = 0; from < contentLength; from = from + partSize) {
-               to = (from + partSize >= contentLength) ? contentLength - 1 : from + partSize - 1;
-               BlobStreamDownloader b = new BlobStreamDownloader(container, name, from, to);
-               results.add(listeningExecutor.submit(b));
-            }
-         }
-      });
-      return input;
-   }
-
-   private final class BlobStreamDownloader implements Callable<byte[]> {
-      String containerName;
-      String objectName;
-      private final long begin;
-      private final long end;
-
-      BlobStreamDownloader(String containerName, String objectName, long begin, long end) {
-         this.containerName = containerName;
-         this.objectName = objectName;
-         this.begin = begin;
-         this.end = end;
-      }
-
-      @Override
-      public byte[] call() {
-         IOException lastException = null;
-         for (int retry = 0; retry < retryCountLimit; retry++) {
-            try {
-               long time = System.nanoTime();
-               SwiftObject object = api.getObjectApi(regionId, containerName)
-                     .get(objectName, org.jclouds.http.options.GetOptions.Builder.range(begin, end));
-               byte[] downloadedBlock;
-               InputStream is = object.getPayload().openStream();
-               try {
-                  downloadedBlock = ByteStreams.toByteArray(is);
-               } finally {
-                  Closeables.closeQuietly(is);
-               }
-               return downloadedBlock;
-            } catch (IOException e) {
-               logger.debug(e.toString());
-               lastException = e;
-               continue;
-            }
-         }
-         throw new RuntimeException("After " + retryCountLimit + " retries: " + lastException);
-      }
+      // like downloadBlob, make retryCountLimit attempts in all
+      return new ParallelRangeDownloader(this, getMinimumMultipartPartSize(), downloadParallelism,
+            retryCountLimit - 1).streamBlob(container, name, executor);
    }
 }
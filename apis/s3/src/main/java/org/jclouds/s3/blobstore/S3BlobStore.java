@@ -41,6 +41,7 @@ import org.jclouds.blobstore.domain.PageSet;
 import org.jclouds.blobstore.domain.StorageMetadata;
 import org.jclouds.blobstore.functions.BlobToHttpGetOptions;
 import org.jclouds.blobstore.internal.BaseBlobStore;
+import org.jclouds.blobstore.internal.BlobRuntimeException;
 import org.jclouds.blobstore.options.CopyOptions;
 import org.jclouds.blobstore.options.CreateContainerOptions;
 import org.jclouds.blobstore.options.ListContainerOptions;
@@ -65,6 +66,7 @@ import org.jclouds.s3.domain.AccessControlList.GroupGranteeURI;
 import org.jclouds.s3.domain.AccessControlList.Permission;
 import org.jclouds.s3.domain.BucketMetadata;
 import org.jclouds.s3.domain.CannedAccessPolicy;
+import org.jclouds.s3.domain.DeleteResult;
 import org.jclouds.s3.domain.ListMultipartUploadResponse;
 import org.jclouds.s3.domain.ListMultipartUploadsResponse;
 import org.jclouds.s3.options.CopyObjectOptions;
@@ -79,6 +81,7 @@ import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 
 @Singleton
 public class S3BlobStore extends BaseBlobStore {
@@ -335,13 +338,29 @@ public class S3BlobStore extends BaseBlobStore {
       sync.deleteObject(container, key);
    }
 
+   /**
+    * This implementation invokes {@link S3Client#deleteObjects} with up to 1000 keys at a time
+    *
+    * @throws BlobRuntimeException
+    *            naming the keys S3 reported it could not delete, once all requests are sent
+    */
    @Override
    public void removeBlobs(String container, Iterable<String> keys) {
-      for (List<String> partition : Iterables.partition(keys, 1000)) {
-         sync.deleteObjects(container, partition);
+      Map<String, DeleteResult.Error> errors = Maps.newLinkedHashMap();
+      for (List<String> partition : Iterables.partition(keys, getMaximumNumberOfBlobsPerRemove())) {
+         errors.putAll(sync.deleteObjects(container, partition).getErrors());
+      }
+      if (!errors.isEmpty()) {
+         throw new BlobRuntimeException(String.format("could not delete %d keys from %s: %s", errors.size(),
+               container, Iterables.limit(errors.entrySet(), 10)));
       }
    }
 
+   @Override
+   public int getMaximumNumberOfBlobsPerRemove() {
+      return 1000;
+   }
+
    @Override
    public BlobAccess getBlobAccess(String container, String name) {
       AccessControlList acl = sync.getObjectACL(container, name);
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.benchmarks;
+
+import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
+
+import java.io.Closeable;
+import java.util.Map;
+
+import jakarta.inject.Named;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+
+import org.jclouds.rest.annotations.Headers;
+import org.jclouds.rest.annotations.Payload;
+import org.jclouds.rest.annotations.PayloadParam;
+import org.jclouds.rest.annotations.QueryParams;
+
+/**
+ * A small api with the annotations commonly found on provider apis.
+ */
+@Headers(keys = "X-Api-Version", values = "2")
+public interface BenchmarkApi extends Closeable {
+
+   @Named("item:get")
+   @GET
+   @Path("/containers/{container}/items/{item}")
+   @Consumes(APPLICATION_JSON)
+   @QueryParams(keys = "format", values = "json")
+   Map<String, Object> getItem(@PathParam("container") String container, @PathParam("item") String item,
+         @QueryParam("fields") String fields, @HeaderParam("X-Request-Id") String requestId);
+
+   @Named("item:put")
+   @PUT
+   @Path("/containers/{container}/items/{item}")
+   @Produces(APPLICATION_JSON)
+   @Payload("%7B\"name\":\"{name}\",\"size\":{size}%7D")
+   void putItem(@PathParam("container") String container, @PathParam("item") String item,
+         @PayloadParam("name") String name, @PayloadParam("size") long size);
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.date.DateService;
+import org.jclouds.date.internal.JavaTimeDateService;
+import org.jclouds.date.internal.SimpleDateFormatDateService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures formatting and parsing of the date formats found in request headers and response
+ * bodies, for each {@link DateService} implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DateServiceBenchmark {
+
+   @Param({ "javatime", "simpledateformat" })
+   public String implementation;
+
+   private DateService dateService;
+   private final Date date = new Date(1705314030123L);
+
+   @Setup
+   public void setUp() {
+      dateService = "javatime".equals(implementation) ? new JavaTimeDateService()
+            : new SimpleDateFormatDateService();
+   }
+
+   @Benchmark
+   public String formatIso8601() {
+      return dateService.iso8601DateFormat(date);
+   }
+
+   @Benchmark
+   public Date parseIso8601() {
+      return dateService.iso8601DateParse("2024-01-15T10:20:30.123Z");
+   }
+
+   @Benchmark
+   public String formatRfc822() {
+      return dateService.rfc822DateFormat(date);
+   }
+
+   @Benchmark
+   public Date parseRfc822() {
+      return dateService.rfc822DateParse("Mon, 15 Jan 2024 10:20:30 GMT");
+   }
+
+   @Benchmark
+   public Date parseRfc1123() {
+      return dateService.rfc1123DateParse("Mon, 15 Jan 2024 10:20:30 GMT");
+   }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.io.Payload;
+import org.jclouds.io.PayloadSlicer;
+import org.jclouds.io.Payloads;
+import org.jclouds.io.internal.BasePayloadSlicer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * Measures slicing a payload into multipart upload parts and reading every part, for repeatable
+ * and one-shot payloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PayloadSlicerBenchmark {
+
+   private static final int PAYLOAD_SIZE = 32 * 1024 * 1024;
+
+   @Param({ "1048576", "8388608" })
+   public long partSize;
+
+   private final PayloadSlicer slicer = new BasePayloadSlicer();
+   private byte[] data;
+
+   @Setup
+   public void setUp() {
+      data = new byte[PAYLOAD_SIZE];
+   }
+
+   @Benchmark
+   public long sliceByteArray() throws IOException {
+      return readSlices(Payloads.newByteArrayPayload(data));
+   }
+
+   @Benchmark
+   public long sliceInputStream() throws IOException {
+      return readSlices(Payloads.newInputStreamPayload(new ByteArrayInputStream(data)));
+   }
+
+   private long readSlices(Payload payload) throws IOException {
+      payload.getContentMetadata().setContentLength((long) data.length);
+      long read = 0;
+      for (Payload part : slicer.slice(payload, partSize)) {
+         InputStream in = part.openStream();
+         try {
+            read += ByteStreams.exhaust(in);
+         } finally {
+            in.close();
+         }
+      }
+      return read;
+   }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpResponse;
+import org.jclouds.http.functions.ParseJson;
+import org.jclouds.http.functions.ParseSax;
+import org.jclouds.io.Payload;
+import org.jclouds.io.Payloads;
+import org.jclouds.json.Json;
+import org.jclouds.logging.config.NullLoggingModule;
+import org.jclouds.s3.S3ApiMetadata;
+import org.jclouds.s3.domain.ListBucketResponse;
+import org.jclouds.s3.xml.ListBucketHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.TypeLiteral;
+
+/**
+ * Measures the parsing of an S3 bucket listing with {@link ParseSax} and of the equivalent json
+ * document with {@link ParseJson}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ResponseParsingBenchmark {
+
+   @Param({ "10", "1000" })
+   public int keys;
+
+   private final StubHttpCommandExecutorService executor = new StubHttpCommandExecutorService();
+   private Injector injector;
+   private HttpRequest request;
+   private byte[] xml;
+   private byte[] json;
+   private ParseJson<Map<String, List<Map<String, Object>>>> parseJson;
+
+   @Setup
+   public void setUp() {
+      injector = ContextBuilder.newBuilder(new S3ApiMetadata())
+            .credentials("identity", "credential")
+            .modules(ImmutableSet.<Module>of(new StubHttpModule(executor), new NullLoggingModule()))
+            .buildInjector();
+      request = HttpRequest.builder().method("GET").endpoint("https://bucket.s3.amazonaws.com/").build();
+      parseJson = new ParseJson<Map<String, List<Map<String, Object>>>>(injector.getInstance(Json.class),
+            new TypeLiteral<Map<String, List<Map<String, Object>>>>() {
+            });
+
+      StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+            .append("<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">")
+            .append("<Name>bucket</Name><Prefix></Prefix><Marker></Marker><MaxKeys>1000</MaxKeys>")
+            .append("<IsTruncated>false</IsTruncated>");
+      StringBuilder json = new StringBuilder("{\"contents\":[");
+      for (int i = 0; i < keys; i++) {
+         xml.append("<Contents><Key>objects/object-").append(i).append("</Key>")
+               .append("<LastModified>2024-01-15T10:20:30.000Z</LastModified>")
+               .append("<ETag>&quot;9b2cf535f27731c974343645a3985328&quot;</ETag>")
+               .append("<Size>").append(i * 1024L).append("</Size>")
+               .append("<Owner><ID>75aa57f09aa0c8caeab4f8c24e99d10f8e7faeebf76c078efc7c6caea54ba06a</ID>")
+               .append("<DisplayName>owner</DisplayName></Owner>")
+               .append("<StorageClass>STANDARD</StorageClass></Contents>");
+         if (i > 0)
+            json.append(',');
+         json.append("{\"key\":\"objects/object-").append(i).append("\",")
+               .append("\"lastModified\":\"2024-01-15T10:20:30.000Z\",")
+               .append("\"eTag\":\"9b2cf535f27731c974343645a3985328\",")
+               .append("\"size\":").append(i * 1024L).append(",")
+               .append("\"owner\":{\"id\":\"75aa57f09aa0c8caeab4f8c24e99d10f8e7faeebf76c078efc7c6caea54ba06a\",")
+               .append("\"displayName\":\"owner\"},\"storageClass\":\"STANDARD\"}");
+      }
+      this.xml = xml.append("</ListBucketResult>").toString().getBytes(UTF_8);
+      this.json = json.append("]}").toString().getBytes(UTF_8);
+   }
+
+   @Benchmark
+   public ListBucketResponse parseSax() {
+      ParseSax<ListBucketResponse> parser = injector.getInstance(ParseSax.Factory.class).create(
+            injector.getInstance(ListBucketHandler.class));
+      parser.setContext(request);
+      return parser.apply(response(xml, "application/xml"));
+   }
+
+   @Benchmark
+   public Map<String, List<Map<String, Object>>> parseJson() {
+      return parseJson.apply(response(json, "application/json"));
+   }
+
+   private static HttpResponse response(byte[] body, String contentType) {
+      Payload payload = Payloads.newByteArrayPayload(body);
+      payload.getContentMetadata().setContentType(contentType);
+      return HttpResponse.builder().statusCode(200).payload(payload).build();
+   }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jclouds.providers.AnonymousProviderMetadata.forApiOnEndpoint;
+import static org.jclouds.reflect.Reflection2.method;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.logging.config.NullLoggingModule;
+import org.jclouds.reflect.Invocation;
+import org.jclouds.rest.internal.InvokeHttpMethod;
+import org.jclouds.rest.internal.RestAnnotationProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+
+/**
+ * Measures the cost of turning an api call into a request, and of a whole call against a stub
+ * {@link org.jclouds.http.HttpCommandExecutorService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RestPipelineBenchmark {
+
+   private static final String ITEM = "{\"name\":\"report.csv\",\"size\":1024,\"tags\":[\"finance\",\"2024\"]}";
+
+   private final StubHttpCommandExecutorService executor = new StubHttpCommandExecutorService();
+   private BenchmarkApi api;
+   private RestAnnotationProcessor processor;
+   private InvokeHttpMethod invokeHttpMethod;
+   private Invocation getItem;
+   private Invocation putItem;
+
+   @Setup
+   public void setUp() {
+      executor.respondWith(ITEM.getBytes(UTF_8), "application/json");
+      Injector injector = ContextBuilder.newBuilder(forApiOnEndpoint(BenchmarkApi.class, "http://localhost:8080"))
+            .modules(ImmutableSet.<Module>of(new StubHttpModule(executor), new NullLoggingModule()))
+            .buildInjector();
+      api = injector.getInstance(BenchmarkApi.class);
+      processor = injector.getInstance(RestAnnotationProcessor.class);
+      invokeHttpMethod = injector.getInstance(InvokeHttpMethod.class);
+      getItem = Invocation.create(
+            method(BenchmarkApi.class, "getItem", String.class, String.class, String.class, String.class),
+            ImmutableList.<Object>of("reports", "2024/report.csv", "name,size", "a1b2c3"));
+      putItem = Invocation.create(
+            method(BenchmarkApi.class, "putItem", String.class, String.class, String.class, long.class),
+            ImmutableList.<Object>of("reports", "2024/report.csv", "report.csv", 1024L));
+   }
+
+   @TearDown
+   public void tearDown() throws IOException {
+      api.close();
+   }
+
+   @Benchmark
+   public Object createGetRequest() {
+      return processor.apply(getItem);
+   }
+
+   @Benchmark
+   public Object createPutRequest() {
+      return processor.apply(putItem);
+   }
+
+   @Benchmark
+   public Object invokeHttpMethod() {
+      return invokeHttpMethod.apply(getItem);
+   }
+
+   @Benchmark
+   public Map<String, Object> invokeApi() {
+      return api.getItem("reports", "2024/report.csv", "name,size", "a1b2c3");
+   }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.util.Strings2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Measures the string helpers used to build every request path and query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class Strings2Benchmark {
+
+   private static final String TEMPLATE = "/v2/{tenant}/containers/{container}/items/{item}?marker={marker}";
+   private static final Map<String, String> TOKENS = ImmutableMap.of("tenant", "1234567890", "container",
+         "reports", "item", "2024/q1/report.csv", "marker", "object-0999");
+
+   private static final String PLAIN = "objects/object-0999.txt";
+   private static final String RESERVED = "reports/2024 q1/résumé & notes (final)+v2.txt";
+
+   @Benchmark
+   public String replaceTokens() {
+      return Strings2.replaceTokens(TEMPLATE, TOKENS);
+   }
+
+   @Benchmark
+   public String urlEncodePlain() {
+      return Strings2.urlEncode(PLAIN, '/');
+   }
+
+   @Benchmark
+   public String urlEncodeReserved() {
+      return Strings2.urlEncode(RESERVED, '/');
+   }
+}
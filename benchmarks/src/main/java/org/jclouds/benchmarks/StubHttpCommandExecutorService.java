@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.benchmarks;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jclouds.http.HttpCommand;
+import org.jclouds.http.HttpCommandExecutorService;
+import org.jclouds.http.HttpResponse;
+import org.jclouds.io.Payload;
+import org.jclouds.io.Payloads;
+
+/**
+ * Answers every command with the same canned response, without any I/O, so that benchmarks only
+ * measure the work jclouds does around the request.
+ */
+public class StubHttpCommandExecutorService implements HttpCommandExecutorService {
+
+   private final AtomicLong invocations = new AtomicLong();
+   private volatile byte[] body = new byte[0];
+   private volatile String contentType = "application/octet-stream";
+
+   /**
+    * Sets the body returned with every subsequent response.
+    */
+   public void respondWith(byte[] body, String contentType) {
+      this.body = checkNotNull(body, "body");
+      this.contentType = checkNotNull(contentType, "contentType");
+   }
+
+   @Override
+   public HttpResponse invoke(HttpCommand command) {
+      invocations.incrementAndGet();
+      Payload payload = Payloads.newByteArrayPayload(body);
+      payload.getContentMetadata().setContentType(contentType);
+      return HttpResponse.builder().statusCode(200).message("OK").payload(payload).build();
+   }
+
+   public long getInvocations() {
+      return invocations.get();
+   }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.benchmarks;
+
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+
+import org.jclouds.concurrent.config.ConfiguresExecutorService;
+import org.jclouds.concurrent.config.ExecutorServiceModule;
+import org.jclouds.http.HttpCommandExecutorService;
+import org.jclouds.http.config.ConfiguresHttpCommandExecutorService;
+
+import com.google.inject.AbstractModule;
+
+/**
+ * Replaces the HTTP driver of a context with a {@link StubHttpCommandExecutorService} and runs
+ * commands on the calling thread.
+ */
+@ConfiguresHttpCommandExecutorService
+@ConfiguresExecutorService
+public class StubHttpModule extends AbstractModule {
+
+   private final StubHttpCommandExecutorService executor;
+
+   public StubHttpModule(StubHttpCommandExecutorService executor) {
+      this.executor = executor;
+   }
+
+   @Override
+   protected void configure() {
+      install(new ExecutorServiceModule(newDirectExecutorService()));
+      bind(HttpCommandExecutorService.class).toInstance(executor);
+   }
+}
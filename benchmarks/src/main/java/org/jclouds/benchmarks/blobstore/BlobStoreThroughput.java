@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.benchmarks.blobstore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.jclouds.blobstore.options.ListContainerOptions.Builder.maxResults;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.blobstore.BlobStore;
+import org.jclouds.blobstore.BlobStoreContext;
+import org.jclouds.blobstore.domain.Blob;
+import org.jclouds.blobstore.domain.PageSet;
+import org.jclouds.blobstore.domain.StorageMetadata;
+import org.jclouds.blobstore.options.ListContainerOptions;
+import org.jclouds.blobstore.options.PutOptions;
+import org.jclouds.filesystem.reference.FilesystemConstants;
+import org.jclouds.logging.config.NullLoggingModule;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
+import com.google.inject.Module;
+
+/**
+ * Measures put, get, list and delete throughput and latency of any {@link BlobStoreContext},
+ * sweeping object sizes, concurrency and {@link PutOptions#multipart()}.
+ * <p>
+ * Runs against the {@code transient} and {@code filesystem} providers by default. Any other
+ * blobstore, for example {@code s3} or {@code openstack-swift} pointed at a local stand-in, is
+ * measured by setting {@code benchmark.providers} and {@code benchmark.endpoint},
+ * {@code benchmark.identity} and {@code benchmark.credential}. System properties starting with
+ * {@code jclouds.} are passed to every context as overrides.
+ * <p>
+ * The sweep is configured with comma-separated system properties:
+ * <ul>
+ * <li>{@code benchmark.sizes}: object sizes, with an optional k or m suffix, default
+ * {@code 1k,1m,16m}</li>
+ * <li>{@code benchmark.concurrency}: worker threads, default {@code 1,8,32}</li>
+ * <li>{@code benchmark.multipart}: default {@code false,true}</li>
+ * <li>{@code benchmark.operations}: puts, gets and deletes per run, default {@code 200}</li>
+ * </ul>
+ * Allocation rates only account for the worker threads, not for the threads jclouds uses
+ * internally, such as those uploading the parts of a multipart upload.
+ */
+public final class BlobStoreThroughput {
+
+   private static final Splitter COMMA = Splitter.on(',').trimResults().omitEmptyStrings();
+
+   private final BlobStore blobStore;
+   private final String provider;
+   private final int operations;
+   private final com.sun.management.ThreadMXBean threads =
+         (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+   BlobStoreThroughput(BlobStore blobStore, String provider, int operations) {
+      this.blobStore = blobStore;
+      this.provider = provider;
+      this.operations = operations;
+   }
+
+   public static void main(String[] args) throws Exception {
+      List<String> providers = COMMA.splitToList(System.getProperty("benchmark.providers", "transient,filesystem"));
+      List<String> sizes = COMMA.splitToList(System.getProperty("benchmark.sizes", "1k,1m,16m"));
+      List<String> concurrencies = COMMA.splitToList(System.getProperty("benchmark.concurrency", "1,8,32"));
+      List<String> multiparts = COMMA.splitToList(System.getProperty("benchmark.multipart", "false,true"));
+      int operations = Integer.parseInt(System.getProperty("benchmark.operations", "200"));
+
+      for (String provider : providers) {
+         BlobStoreContext context = createContext(provider);
+         try {
+            BlobStoreThroughput benchmark = new BlobStoreThroughput(context.getBlobStore(), provider, operations);
+            for (String size : sizes) {
+               for (String concurrency : concurrencies) {
+                  for (String multipart : multiparts) {
+                     benchmark.run(parseSize(size), Integer.parseInt(concurrency), Boolean.parseBoolean(multipart));
+                  }
+               }
+            }
+         } finally {
+            context.close();
+         }
+      }
+   }
+
+   private static BlobStoreContext createContext(String provider) throws IOException {
+      Properties overrides = new Properties();
+      for (Map.Entry<Object, Object> property : System.getProperties().entrySet()) {
+         if (property.getKey().toString().startsWith("jclouds."))
+            overrides.put(property.getKey(), property.getValue());
+      }
+      if ("filesystem".equals(provider) && !overrides.containsKey(FilesystemConstants.PROPERTY_BASEDIR)) {
+         File basedir = Files.createTempDirectory("jclouds-benchmark").toFile();
+         basedir.deleteOnExit();
+         overrides.setProperty(FilesystemConstants.PROPERTY_BASEDIR, basedir.getAbsolutePath());
+      }
+      ContextBuilder builder = ContextBuilder.newBuilder(provider)
+            .overrides(overrides)
+            .modules(ImmutableSet.<Module>of(new NullLoggingModule()));
+      String endpoint = System.getProperty("benchmark.endpoint");
+      if (endpoint != null)
+         builder.endpoint(endpoint);
+      String identity = System.getProperty("benchmark.identity");
+      if (identity != null)
+         builder.credentials(identity, System.getProperty("benchmark.credential", ""));
+      return builder.buildView(BlobStoreContext.class);
+   }
+
+   static long parseSize(String size) {
+      String lower = size.toLowerCase();
+      if (lower.endsWith("k"))
+         return Long.parseLong(lower.substring(0, lower.length() - 1)) * 1024;
+      if (lower.endsWith("m"))
+         return Long.parseLong(lower.substring(0, lower.length() - 1)) * 1024 * 1024;
+      return Long.parseLong(lower);
+   }
+
+   void run(final long size, int concurrency, boolean multipart) throws InterruptedException, ExecutionException {
+      checkArgument(size <= Integer.MAX_VALUE, "size must fit in a byte array: %s", size);
+      final String container = "benchmark-" + Long.toHexString(System.nanoTime());
+      final ByteSource content = ByteSource.wrap(new byte[(int) size]);
+      final PutOptions putOptions = multipart ? PutOptions.Builder.multipart() : PutOptions.NONE;
+
+      System.out.printf("provider=%s size=%d concurrency=%d multipart=%s%n", provider, size, concurrency, multipart);
+      System.out.println(OperationStats.header());
+      blobStore.createContainerInLocation(null, container);
+      ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+      try {
+         System.out.println(phase(workers, concurrency, "put", operations, new Operation() {
+            @Override
+            public long run(int index) {
+               Blob blob = blobStore.blobBuilder(name(index)).payload(content).contentLength(size).build();
+               blobStore.putBlob(container, blob, putOptions);
+               return size;
+            }
+         }));
+         System.out.println(phase(workers, concurrency, "get", operations, new Operation() {
+            @Override
+            public long run(int index) throws IOException {
+               InputStream in = blobStore.getBlob(container, name(index)).getPayload().openStream();
+               try {
+                  return ByteStreams.exhaust(in);
+               } finally {
+                  in.close();
+               }
+            }
+         }));
+         System.out.println(phase(workers, concurrency, "list", Math.max(1, operations / 10), new Operation() {
+            @Override
+            public long run(int index) {
+               ListContainerOptions options = maxResults(1000);
+               for (;;) {
+                  PageSet<? extends StorageMetadata> page = blobStore.list(container, options);
+                  if (page.getNextMarker() == null)
+                     return 0;
+                  options = maxResults(1000).afterMarker(page.getNextMarker());
+               }
+            }
+         }));
+         System.out.println(phase(workers, concurrency, "delete", operations, new Operation() {
+            @Override
+            public long run(int index) {
+               blobStore.removeBlob(container, name(index));
+               return 0;
+            }
+         }));
+      } finally {
+         workers.shutdownNow();
+         blobStore.deleteContainer(container);
+      }
+      System.out.println();
+   }
+
+   private OperationStats phase(ExecutorService workers, int concurrency, String name, final int count,
+         final Operation operation) throws InterruptedException, ExecutionException {
+      final OperationStats stats = new OperationStats(name);
+      final AtomicInteger next = new AtomicInteger();
+      ImmutableList.Builder<Future<Void>> futures = ImmutableList.builder();
+      long start = System.nanoTime();
+      for (int i = 0; i < concurrency; i++) {
+         futures.add(workers.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               long thread = Thread.currentThread().getId();
+               long allocated = threads.getThreadAllocatedBytes(thread);
+               for (int index = next.getAndIncrement(); index < count; index = next.getAndIncrement()) {
+                  long begin = System.nanoTime();
+                  long bytes = operation.run(index);
+                  stats.record(System.nanoTime() - begin, bytes);
+               }
+               stats.addAllocatedBytes(threads.getThreadAllocatedBytes(thread) - allocated);
+               return null;
+            }
+         }));
+      }
+      for (Future<Void> future : futures.build()) {
+         future.get();
+      }
+      stats.setElapsedNanos(System.nanoTime() - start);
+      return stats;
+   }
+
+   private static String name(int index) {
+      return "blob-" + index;
+   }
+
+   private interface Operation {
+      /** Runs the operation on the blob with the given index and returns the payload bytes transferred. */
+      long run(int index) throws Exception;
+   }
+}
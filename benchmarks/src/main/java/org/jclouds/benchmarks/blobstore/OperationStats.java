@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.benchmarks.blobstore;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Latencies, bytes and allocations recorded by the workers of one phase of a
+ * {@link BlobStoreThroughput} run.
+ */
+final class OperationStats {
+
+   private final String operation;
+   private long[] latencies = new long[1024];
+   private int count;
+   private long bytes;
+   private long allocatedBytes;
+   private long elapsedNanos;
+
+   OperationStats(String operation) {
+      this.operation = operation;
+   }
+
+   synchronized void record(long latencyNanos, long transferredBytes) {
+      if (count == latencies.length)
+         latencies = Arrays.copyOf(latencies, count * 2);
+      latencies[count++] = latencyNanos;
+      bytes += transferredBytes;
+   }
+
+   synchronized void addAllocatedBytes(long allocated) {
+      allocatedBytes += allocated;
+   }
+
+   synchronized void setElapsedNanos(long elapsedNanos) {
+      this.elapsedNanos = elapsedNanos;
+   }
+
+   synchronized int getCount() {
+      return count;
+   }
+
+   static String header() {
+      return String.format(Locale.ROOT, "%-8s %10s %8s %10s %10s %10s %10s %12s", "op", "ops", "ops/s", "MB/s",
+            "p50 ms", "p99 ms", "max ms", "alloc MB/s");
+   }
+
+   @Override
+   public synchronized String toString() {
+      long[] sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      double seconds = elapsedNanos / 1e9;
+      return String.format(Locale.ROOT, "%-8s %10d %8.1f %10.2f %10.3f %10.3f %10.3f %12.1f", operation, count,
+            count / seconds, bytes / seconds / (1024 * 1024), millis(percentile(sorted, 0.50)),
+            millis(percentile(sorted, 0.99)), millis(percentile(sorted, 1.0)),
+            allocatedBytes / seconds / (1024 * 1024));
+   }
+
+   private static long percentile(long[] sorted, double percentile) {
+      if (sorted.length == 0)
+         return 0;
+      int index = (int) Math.ceil(percentile * sorted.length) - 1;
+      return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+   }
+
+   private static double millis(long nanos) {
+      return nanos / 1e6;
+   }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jclouds.providers.AnonymousProviderMetadata.forApiOnEndpoint;
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.logging.config.NullLoggingModule;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Module;
+
+@Test(groups = "unit", testName = "StubHttpModuleTest")
+public class StubHttpModuleTest {
+
+   public void testContextBuildsAndAnswersFromStub() throws IOException {
+      StubHttpCommandExecutorService executor = new StubHttpCommandExecutorService();
+      executor.respondWith("{\"name\":\"report.csv\"}".getBytes(UTF_8), "application/json");
+      BenchmarkApi api = ContextBuilder.newBuilder(forApiOnEndpoint(BenchmarkApi.class, "http://localhost:8080"))
+            .modules(ImmutableSet.<Module>of(new StubHttpModule(executor), new NullLoggingModule()))
+            .buildApi(BenchmarkApi.class);
+      try {
+         Map<String, Object> item = api.getItem("reports", "2024/report.csv", "name", "a1b2c3");
+         assertEquals(item.get("name"), "report.csv");
+         assertEquals(executor.getInvocations(), 1);
+      } finally {
+         api.close();
+      }
+   }
+}
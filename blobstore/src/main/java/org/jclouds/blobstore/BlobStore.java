@@ -321,9 +321,20 @@ public interface BlobStore {
     *           fully qualified names relative to the container.
     * @throws ContainerNotFoundException
     *            if the container doesn't exist
+    * @throws org.jclouds.blobstore.internal.BlobRuntimeException
+    *            if a bulk delete reports blobs it could not delete; the other blobs are deleted
     */
    void removeBlobs(String container, Iterable<String> names);
 
+   /**
+    * @return the number of blobs {@link #removeBlobs} deletes in a single request, or 1 if it
+    *         issues one request per blob
+    */
+   @Beta
+   default int getMaximumNumberOfBlobsPerRemove() {
+      return 1;
+   }
+
    @Beta
    BlobAccess getBlobAccess(String container, String name);
 
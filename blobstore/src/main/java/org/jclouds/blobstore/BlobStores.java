@@ -17,6 +17,7 @@
 package org.jclouds.blobstore;
 
 import java.util.Iterator;
+import java.util.concurrent.Callable;
 
 import org.jclouds.blobstore.domain.PageSet;
 import org.jclouds.blobstore.domain.StorageMetadata;
@@ -24,7 +25,13 @@ import org.jclouds.blobstore.options.ListAllOptions;
 import org.jclouds.blobstore.options.ListContainerOptions;
 
 import com.google.common.annotations.Beta;
+import com.google.common.base.Throwables;
 import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 /**
  * Utilities for using Blob Stores.
@@ -50,6 +57,11 @@ public class BlobStores {
     * Note that if listAllOptions.isEager, then the first page will be fetched
     * immediately and cached. Repeatedly iterating will not re-fetch (and thus
     * will not refresh) the first page.
+    * 
+    * If listAllOptions has a prefetch executor, each page is listed in the
+    * background while the previous one is iterated over, so that no more than
+    * two pages are held in memory and the latency of listing overlaps with
+    * the processing of the results.
     *  
     * @throws ContainerNotFoundException If listAllOptions.isEager and container cannot be found
     */
@@ -57,6 +69,8 @@ public class BlobStores {
    public static Iterable<StorageMetadata> listAll(final BlobStore blobStore, final String container,
             final ListContainerOptions containerOptions, final ListAllOptions listAllOptions) {
       final boolean eager = listAllOptions.isEager();
+      final ListeningExecutorService prefetchExecutor = listAllOptions.getPrefetchExecutor() == null ? null
+            : MoreExecutors.listeningDecorator(listAllOptions.getPrefetchExecutor());
       final PageSet<? extends StorageMetadata> firstList;
       final String firstMarker;
 
@@ -73,6 +87,7 @@ public class BlobStores {
             return new AbstractIterator<StorageMetadata>() {
                private Iterator<? extends StorageMetadata> iterator;
                private String marker;
+               private ListenableFuture<PageSet<? extends StorageMetadata>> nextList;
 
                public StorageMetadata computeNext() {
                   while (true) {
@@ -81,11 +96,15 @@ public class BlobStores {
                         if (eager && marker == null) {
                            list = firstList;
                            marker = firstMarker;
+                        } else if (nextList != null) {
+                           list = getPrefetched(nextList);
+                           marker = list.getNextMarker();
                         } else {
                            ListContainerOptions nextOptions = marker == null ? containerOptions : containerOptions.clone().afterMarker(marker);
                            list = blobStore.list(container, nextOptions);
                            marker = list.getNextMarker();
                         }
+                        nextList = prefetchExecutor != null && marker != null ? prefetch(marker) : null;
                         iterator = list.iterator();
                      }
                      if (iterator.hasNext()) {
@@ -97,9 +116,29 @@ public class BlobStores {
                      iterator = null;
                   }
                }
+
+               private ListenableFuture<PageSet<? extends StorageMetadata>> prefetch(String marker) {
+                  final ListContainerOptions nextOptions = containerOptions.clone().afterMarker(marker);
+                  return prefetchExecutor.submit(new Callable<PageSet<? extends StorageMetadata>>() {
+                     @Override
+                     public PageSet<? extends StorageMetadata> call() {
+                        return blobStore.list(container, nextOptions);
+                     }
+                  });
+               }
             };
          }
       };
    }
 
+   private static PageSet<? extends StorageMetadata> getPrefetched(
+         ListenableFuture<PageSet<? extends StorageMetadata>> list) {
+      try {
+         return Futures.getUnchecked(list);
+      } catch (UncheckedExecutionException e) {
+         // rethrow what BlobStore.list would have thrown, such as ContainerNotFoundException
+         Throwables.throwIfUnchecked(e.getCause());
+         throw e;
+      }
+   }
 }
@@ -18,6 +18,7 @@ package org.jclouds.blobstore;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Iterator;
 
 import org.jclouds.blobstore.domain.Blob;
 import org.jclouds.blobstore.domain.BlobAccess;
@@ -100,6 +101,21 @@ public interface LocalStorageStrategy {
      */
     Iterable<String> getBlobKeysInsideContainer(String container, String prefix, String delimiter) throws IOException;
 
+    /**
+     * Returns the blob keys inside a container in lexicographic order, starting after the given marker. Keys are
+     * produced as the iterator advances, so reading a page of keys costs in proportion to the page, not to the
+     * container.
+     *
+     * @param container
+     * @param prefix if not null, only keys starting with it are returned
+     * @param delimiter if "/", keys below a directory are not returned
+     * @param marker if not null, only keys greater than it are returned
+     * @return
+     * @throws IOException
+     */
+    Iterator<String> getBlobKeysInsideContainer(String container, String prefix, String delimiter, String marker)
+          throws IOException;
+
     /**
      * Load the blob with the given key belonging to the container with the given
      * name. There must exist a resource on the file system whose complete name
@@ -22,7 +22,9 @@ import static com.google.common.io.BaseEncoding.base16;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -159,6 +161,22 @@ public class TransientStorageStrategy implements LocalStorageStrategy {
       return blobs.subMap(prefix, /*fromInclusive=*/ true, lastPrefix, /*toInclusive=*/ false).keySet();
    }
 
+   @Override
+   public Iterator<String> getBlobKeysInsideContainer(final String containerName, String prefix, String delimiter,
+         String marker) {
+      ConcurrentSkipListMap<String, Blob> blobs = containerToBlobs.get(containerName);
+      if (prefix == null) {
+         return marker == null ? blobs.keySet().iterator() : blobs.tailMap(marker, false).keySet().iterator();
+      }
+      String lastPrefix = prefix + (char) 65535;
+      if (marker == null || marker.compareTo(prefix) < 0) {
+         return blobs.subMap(prefix, true, lastPrefix, false).keySet().iterator();
+      } else if (marker.compareTo(lastPrefix) >= 0) {
+         return Collections.emptyIterator();
+      }
+      return blobs.subMap(marker, false, lastPrefix, false).keySet().iterator();
+   }
+
    @Override
    public Blob getBlob(final String containerName, final String blobName) {
       Map<String, Blob> map = containerToBlobs.get(containerName);
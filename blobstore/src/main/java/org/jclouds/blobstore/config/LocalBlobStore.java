@@ -21,10 +21,8 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Throwables.getCausalChain;
 import static com.google.common.base.Throwables.propagate;
 import static com.google.common.collect.Iterables.size;
-import static com.google.common.collect.Iterables.transform;
-import static com.google.common.collect.Iterables.tryFind;
-import static com.google.common.collect.Sets.filter;
 import static com.google.common.collect.Sets.newTreeSet;
+import static org.jclouds.Constants.PROPERTY_USER_THREADS;
 import static org.jclouds.blobstore.options.ListContainerOptions.Builder.recursive;
 
 import java.io.File;
@@ -43,6 +41,7 @@ import java.util.concurrent.ExecutorService;
 
 import jakarta.annotation.Resource;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
 import com.google.common.hash.Hasher;
@@ -73,6 +72,8 @@ import org.jclouds.blobstore.options.CreateContainerOptions;
 import org.jclouds.blobstore.options.GetOptions;
 import org.jclouds.blobstore.options.ListContainerOptions;
 import org.jclouds.blobstore.options.PutOptions;
+import org.jclouds.blobstore.reference.BlobStoreConstants;
+import org.jclouds.blobstore.strategy.internal.ParallelRangeDownloader;
 import org.jclouds.blobstore.util.BlobStoreUtils;
 import org.jclouds.blobstore.util.BlobUtils;
 import org.jclouds.collect.Memoized;
@@ -91,18 +92,20 @@ import org.jclouds.logging.Logger;
 import org.jclouds.util.Closeables2;
 
 import com.google.common.base.Function;
-import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.google.common.base.Strings;
 import com.google.common.base.Supplier;
 import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
 import com.google.common.io.BaseEncoding;
 import com.google.common.io.ByteSource;
 import com.google.common.net.HttpHeaders;
+import com.google.common.util.concurrent.ListeningExecutorService;
 
 @Singleton
 public final class LocalBlobStore implements BlobStore {
@@ -118,6 +121,18 @@ public final class LocalBlobStore implements BlobStore {
    private final Blob.Factory blobFactory;
    private final LocalStorageStrategy storageStrategy;
 
+   @com.google.inject.Inject
+   @Named(PROPERTY_USER_THREADS)
+   ListeningExecutorService userExecutor;
+
+   @com.google.inject.Inject(optional = true)
+   @Named(BlobStoreConstants.PROPERTY_BLOBSTORE_DOWNLOAD_PART_SIZE)
+   long downloadPartSize = ParallelRangeDownloader.DEFAULT_PART_SIZE;
+
+   @com.google.inject.Inject(optional = true)
+   @Named(BlobStoreConstants.PROPERTY_BLOBSTORE_DOWNLOAD_PARALLELISM)
+   int downloadParallelism = ParallelRangeDownloader.DEFAULT_PARALLELISM;
+
    @Inject
    LocalBlobStore(BlobStoreContext context,
          BlobUtils blobUtils,
@@ -234,139 +249,148 @@ public final class LocalBlobStore implements BlobStore {
       if (!storageStrategy.containerExists(containerName))
          throw cnfe(containerName);
 
-      // Loading blobs from container
-      Iterable<String> blobBelongingToContainer = null;
+      // Keys are filtered and grouped into common prefixes in the order the strategy returns them, so only the
+      // metadata of the blobs on the requested page is loaded
+      String prefix = options.getPrefix();
+      Predicate<String> keyFilter = Predicates.alwaysTrue();
+      String commonPrefix = null;
+      String delimiter = null;
+      if (options.getDir() != null && !options.getDir().isEmpty()) {
+         final String dirPrefix = options.getDir().endsWith("/") ? options.getDir() : options.getDir() + "/";
+         keyFilter = new Predicate<String>() {
+            public boolean apply(String key) {
+               return key.replace(File.separatorChar, '/').startsWith(dirPrefix)
+                     && !key.replace(File.separatorChar, '/').equals(dirPrefix);
+            }
+         };
+         prefix = dirPrefix;
+         if (!options.isRecursive()) {
+            commonPrefix = dirPrefix;
+            delimiter = storageStrategy.getSeparator();
+         }
+      } else if (!Strings.isNullOrEmpty(prefix)) {
+         final String keyPrefix = prefix;
+         keyFilter = new Predicate<String>() {
+            public boolean apply(String key) {
+               return key.replace(File.separatorChar, '/').startsWith(keyPrefix);
+            }
+         };
+         if (options.getDelimiter() != null || !options.isRecursive()) {
+            commonPrefix = prefix;
+            delimiter = options.getDelimiter() == null ? storageStrategy.getSeparator() : options.getDelimiter();
+         }
+      } else if (!options.isRecursive() || (options.getDelimiter() != null)) {
+         delimiter = options.getDelimiter() == null ? storageStrategy.getSeparator() : options.getDelimiter();
+      }
+      if (Strings.isNullOrEmpty(delimiter)) {
+         delimiter = null;
+      }
+
+      Iterator<String> keys = null;
       try {
-         blobBelongingToContainer = storageStrategy.getBlobKeysInsideContainer(containerName, options.getPrefix(), options.getDelimiter());
+         keys = storageStrategy.getBlobKeysInsideContainer(containerName, prefix, delimiter, options.getMarker());
       } catch (IOException e) {
          logger.error(e, "An error occurred loading blobs contained into container %s", containerName);
          propagate(e);
       }
 
-      SortedSet<StorageMetadata> contents = newTreeSet(FluentIterable.from(blobBelongingToContainer)
-            .transform(new Function<String, StorageMetadata>() {
-               @Override
-               public StorageMetadata apply(String key) {
-                  Blob oldBlob = loadBlob(containerName, key);
-                  if (oldBlob == null) {
-                     return null;
-                  }
-                  checkState(oldBlob.getMetadata() != null, "blob " + containerName + "/" + key + " has no metadata");
-                  MutableBlobMetadata md = BlobStoreUtils.copy(oldBlob.getMetadata());
-                  md.setSize(oldBlob.getMetadata().getSize());
-                  return md;
-               }
-            })
-            .filter(Predicates.<StorageMetadata>notNull()));
-
+      Iterator<StorageMetadata> entries = new ListingIterator(containerName, keys, keyFilter, commonPrefix, delimiter,
+            options.getMarker());
+      int maxResults = options.getMaxResults() != null ? options.getMaxResults() : 1000;
+      SortedSet<StorageMetadata> contents = newTreeSet();
+      Iterators.addAll(contents, Iterators.limit(entries, maxResults));
       String marker = null;
-      if (options != null) {
-         if (options.getDir() != null && !options.getDir().isEmpty()) {
-            contents = filterDirectory(contents, options);
-         } else if (!Strings.isNullOrEmpty(options.getPrefix())) {
-            contents = filterPrefix(contents, options);
-         } else if (!options.isRecursive() || (options.getDelimiter() != null)) {
-            String delimiter = options.getDelimiter() == null ? storageStrategy.getSeparator() : options.getDelimiter();
-            contents = extractCommonPrefixes(contents, delimiter, null);
-         }
-
-         if (options.getMarker() != null) {
-            final String finalMarker = options.getMarker();
-            String delimiter = storageStrategy.getSeparator();
-            Optional<StorageMetadata> lastMarkerMetadata = tryFind(contents, new Predicate<StorageMetadata>() {
-               public boolean apply(StorageMetadata metadata) {
-                  return metadata.getName().compareTo(finalMarker) > 0;
-               }
-            });
-            if (lastMarkerMetadata.isPresent()) {
-               contents = contents.tailSet(lastMarkerMetadata.get());
-            } else {
-               // marker is after last key or container is empty
-               contents.clear();
-            }
-         }
-
-         int maxResults = options.getMaxResults() != null ? options.getMaxResults() : 1000;
-         if (!contents.isEmpty()) {
-            StorageMetadata lastElement = contents.last();
-            contents = newTreeSet(Iterables.limit(contents, maxResults));
-            if (maxResults != 0 && !contents.contains(lastElement)) {
-               // Partial listing
-               lastElement = contents.last();
-               marker = lastElement.getName();
-            }
-         }
+      if (maxResults != 0 && entries.hasNext()) {
+         // Partial listing
+         marker = contents.last().getName();
+      }
 
-         // trim metadata, if the response isn't supposed to be detailed.
-         if (!options.isDetailed()) {
-            for (StorageMetadata md : contents) {
-               md.getUserMetadata().clear();
-            }
+      // trim metadata, if the response isn't supposed to be detailed.
+      if (!options.isDetailed()) {
+         for (StorageMetadata md : contents) {
+            md.getUserMetadata().clear();
          }
       }
 
       return new PageSetImpl<StorageMetadata>(contents, marker);
    }
 
-   private SortedSet<StorageMetadata> filterDirectory(SortedSet<StorageMetadata> contents, ListContainerOptions
-           options) {
-      String prefix = options.getDir();
-      final String dirPrefix = prefix.endsWith("/") ?
-              prefix :
-              prefix + "/";
-      contents = newTreeSet(filter(contents, new Predicate<StorageMetadata>() {
-         public boolean apply(StorageMetadata o) {
-            return o != null
-                    && o.getName().replace(File.separatorChar, '/').startsWith(dirPrefix)
-                    && !o.getName().replace(File.separatorChar, '/').equals(dirPrefix);
-         }
-      }));
-
-      if (!options.isRecursive()) {
-         return extractCommonPrefixes(contents, storageStrategy.getSeparator(), dirPrefix);
+   /**
+    * Turns sorted keys into the entries of a listing: blobs, whose metadata is loaded as they are reached, and the
+    * common prefixes of the keys that contain the delimiter.
+    */
+   private final class ListingIterator extends AbstractIterator<StorageMetadata> {
+      private final String containerName;
+      private final Iterator<String> keys;
+      private final Predicate<String> keyFilter;
+      private final DelimiterFilter delimiterFilter;
+      private final CommonPrefixes commonPrefixes;
+      private final String commonPrefix;
+      private final String delimiter;
+      private final String marker;
+      private String lastName;
+
+      ListingIterator(String containerName, Iterator<String> keys, Predicate<String> keyFilter, String commonPrefix,
+            String delimiter, String marker) {
+         this.containerName = containerName;
+         this.keys = keys;
+         this.keyFilter = keyFilter;
+         this.commonPrefix = commonPrefix;
+         this.delimiter = delimiter;
+         this.marker = marker;
+         this.delimiterFilter = delimiter == null ? null : new DelimiterFilter(commonPrefix, delimiter);
+         this.commonPrefixes = delimiter == null ? null : new CommonPrefixes(commonPrefix, delimiter);
       }
 
-      return contents;
-   }
-
-   private SortedSet<StorageMetadata> filterPrefix(SortedSet<StorageMetadata> contents, final ListContainerOptions
-                                                   options) {
-      contents = newTreeSet(filter(contents, new Predicate<StorageMetadata>() {
-         public boolean apply(StorageMetadata o) {
-            return o != null && o.getName().replace(File.separatorChar, '/').startsWith(options.getPrefix());
+      @Override
+      protected StorageMetadata computeNext() {
+         while (keys.hasNext()) {
+            String key = keys.next();
+            if (!keyFilter.apply(key)) {
+               continue;
+            }
+            String name = key;
+            boolean isBlob = true;
+            if (delimiter != null && !delimiterFilter.apply(key)) {
+               String common = commonPrefixes.apply(key);
+               if (common.equals(CommonPrefixes.NO_PREFIX)) {
+                  continue;
+               }
+               // keys sharing a common prefix are adjacent, and a blob named like the prefix sorts first
+               name = (commonPrefix != null ? commonPrefix + common : common) + delimiter;
+               isBlob = false;
+            }
+            if (name.equals(lastName) || (marker != null && name.compareTo(marker) <= 0)) {
+               continue;
+            }
+            StorageMetadata md;
+            if (isBlob) {
+               md = loadMetadata(containerName, key);
+               if (md == null) {
+                  continue;
+               }
+            } else {
+               MutableStorageMetadata relativePath = new MutableStorageMetadataImpl();
+               relativePath.setType(StorageType.RELATIVE_PATH);
+               relativePath.setName(name);
+               md = relativePath;
+            }
+            lastName = name;
+            return md;
          }
-      }));
-
-      if (options.getDelimiter() != null || !options.isRecursive()) {
-          String delimiter = options.getDelimiter() == null ? storageStrategy.getSeparator() : options.getDelimiter();
-          return extractCommonPrefixes(contents, delimiter, options.getPrefix());
+         return endOfData();
       }
-
-      return contents;
    }
 
-   private SortedSet<StorageMetadata> extractCommonPrefixes(SortedSet<StorageMetadata> contents, String delimiter,
-                                                            String prefix) {
-      if (Strings.isNullOrEmpty(delimiter)) {
-         return contents;
-      }
-      SortedSet<String> commonPrefixes = newTreeSet(
-              transform(contents, new CommonPrefixes(prefix, delimiter)));
-      commonPrefixes.remove(CommonPrefixes.NO_PREFIX);
-
-      contents = newTreeSet(filter(contents, new DelimiterFilter(prefix, delimiter)));
-
-      for (String o : commonPrefixes) {
-         MutableStorageMetadata md = new MutableStorageMetadataImpl();
-         md.setType(StorageType.RELATIVE_PATH);
-
-         if (prefix != null) {
-            o = prefix + o;
-         }
-         md.setName(o + delimiter);
-         contents.add(md);
+   private StorageMetadata loadMetadata(String containerName, String key) {
+      Blob oldBlob = loadBlob(containerName, key);
+      if (oldBlob == null) {
+         return null;
       }
-      return contents;
+      checkState(oldBlob.getMetadata() != null, "blob " + containerName + "/" + key + " has no metadata");
+      MutableBlobMetadata md = BlobStoreUtils.copy(oldBlob.getMetadata());
+      md.setSize(oldBlob.getMetadata().getSize());
+      return md;
    }
 
    private ContainerNotFoundException cnfe(final String name) {
@@ -459,7 +483,7 @@ public final class LocalBlobStore implements BlobStore {
       return storageStrategy.getBlob(container, key);
    }
 
-   private static class DelimiterFilter implements Predicate<StorageMetadata> {
+   private static class DelimiterFilter implements Predicate<String> {
       private final String prefix;
       private final String delimiter;
 
@@ -468,8 +492,7 @@ public final class LocalBlobStore implements BlobStore {
          this.delimiter = delimiter;
       }
 
-      public boolean apply(StorageMetadata metadata) {
-         String name = metadata.getName();
+      public boolean apply(String name) {
          if (prefix == null || prefix.isEmpty()) {
             return name.indexOf(delimiter) == -1 || name.indexOf(delimiter) == name.length() - delimiter.length();
          }
@@ -485,7 +508,7 @@ public final class LocalBlobStore implements BlobStore {
       }
    }
 
-   private static class CommonPrefixes implements Function<StorageMetadata, String> {
+   private static class CommonPrefixes implements Function<String, String> {
       private final String prefix;
       private final String delimiter;
       public static final String NO_PREFIX = "NO_PREFIX";
@@ -495,8 +518,7 @@ public final class LocalBlobStore implements BlobStore {
          this.delimiter = delimiter;
       }
 
-      public String apply(StorageMetadata metadata) {
-         String working = metadata.getName();
+      public String apply(String working) {
          if (prefix != null) {
             if (working.startsWith(prefix)) {
                working = working.substring(prefix.length());
@@ -962,22 +984,26 @@ public final class LocalBlobStore implements BlobStore {
 
    @Override
    public void downloadBlob(String container, String name, File destination) {
-      throw new UnsupportedOperationException();
+      downloadBlob(container, name, destination, userExecutor);
    }
 
    @Override
    public void downloadBlob(String container, String name, File destination, ExecutorService executor) {
-      throw new UnsupportedOperationException();
+      rangeDownloader().downloadBlob(container, name, destination, executor);
    }
 
    @Override
    public InputStream streamBlob(String container, String name) {
-      throw new UnsupportedOperationException();
+      return streamBlob(container, name, userExecutor);
    }
 
    @Override
    public InputStream streamBlob(String container, String name, ExecutorService executor) {
-      throw new UnsupportedOperationException();
+      return rangeDownloader().streamBlob(container, name, executor);
+   }
+
+   private ParallelRangeDownloader rangeDownloader() {
+      return new ParallelRangeDownloader(this, downloadPartSize, downloadParallelism, 0);
    }
 
    private static String maybeQuoteETag(String eTag) {
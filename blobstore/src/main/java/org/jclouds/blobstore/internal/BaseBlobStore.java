@@ -18,6 +18,7 @@ package org.jclouds.blobstore.internal;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static org.jclouds.Constants.PROPERTY_MAX_RETRIES;
 import static org.jclouds.Constants.PROPERTY_USER_THREADS;
 import static org.jclouds.blobstore.options.ListContainerOptions.Builder.recursive;
 import static org.jclouds.util.Predicates2.retry;
@@ -30,8 +31,12 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.inject.Named;
 
@@ -48,7 +53,9 @@ import org.jclouds.blobstore.domain.StorageMetadata;
 import org.jclouds.blobstore.options.CopyOptions;
 import org.jclouds.blobstore.options.ListContainerOptions;
 import org.jclouds.blobstore.options.PutOptions;
-import org.jclouds.blobstore.strategy.internal.MultipartUploadSlicingAlgorithm;
+import org.jclouds.blobstore.reference.BlobStoreConstants;
+import org.jclouds.blobstore.strategy.PartSizingStrategy;
+import org.jclouds.blobstore.strategy.internal.ParallelRangeDownloader;
 import org.jclouds.blobstore.util.BlobUtils;
 import org.jclouds.collect.Memoized;
 import org.jclouds.domain.Location;
@@ -67,11 +74,16 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Predicate;
 import com.google.common.base.Supplier;
 import com.google.common.base.Throwables;
+import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public abstract class BaseBlobStore implements BlobStore {
+   private static final long MAX_BUFFERED_PART_SIZE = Integer.MAX_VALUE - 8;
 
    protected final BlobStoreContext context;
    protected final BlobUtils blobUtils;
@@ -333,6 +345,15 @@ public abstract class BaseBlobStore implements BlobStore {
    @VisibleForTesting
    ListeningExecutorService userExecutor;
 
+   @com.google.inject.Inject
+   @VisibleForTesting
+   PartSizingStrategy partSizingStrategy;
+
+   @com.google.inject.Inject(optional = true)
+   @Named(BlobStoreConstants.PROPERTY_BLOBSTORE_MPU_PART_BUFFERS)
+   @VisibleForTesting
+   int mpuPartBuffers = 0;
+
    /**
     * Upload using a user-provided executor, or the jclouds userExecutor
     *
@@ -355,8 +376,8 @@ public abstract class BaseBlobStore implements BlobStore {
       ArrayList<ListenableFuture<MultipartPart>> parts = new ArrayList<ListenableFuture<MultipartPart>>();
       MultipartUpload mpu = initiateMultipartUpload(container, blob.getMetadata(), overrides);
       // Cannot slice InputStream Payload since slice and close mutate the
-      // underlying stream.  Also issue synchronous uploads to avoid buffering
-      // arbitrary amounts of data in-memory.
+      // underlying stream.  Instead read parts ahead into a bounded number of
+      // buffers, or issue synchronous uploads if parts are too large to buffer.
       Payload payload = blob.getPayload();
       boolean repeatable = blob.getPayload().isRepeatable();
       if (!repeatable) {
@@ -376,43 +397,168 @@ public abstract class BaseBlobStore implements BlobStore {
 
       try {
          long contentLength = blob.getMetadata().getContentMetadata().getContentLength();
-         // TODO: inject MultipartUploadSlicingAlgorithm to override default part size
-         MultipartUploadSlicingAlgorithm algorithm = new MultipartUploadSlicingAlgorithm(
-               getMinimumMultipartPartSize(), getMaximumMultipartPartSize(), getMaximumNumberOfParts());
-         long partSize = algorithm.calculateChunkSize(contentLength);
+         long partSize = partSizingStrategy.partSize(contentLength, getMinimumMultipartPartSize(),
+               getMaximumMultipartPartSize(), getMaximumNumberOfParts());
+         checkState(partSize > 0, "part size must be positive: %s", partSize);
+         PartUploader uploader = new PartUploader(mpu, payload, repeatable, executor, partSize,
+               partSizingStrategy.parallelism(contentLength, partSize));
          int partNumber = 1;
-         while (partNumber <= algorithm.getParts()) {
-            Payload slice = slicer.slice(payload, algorithm.getCopied(), partSize);
-            BlobUploader b = new BlobUploader(mpu, partNumber++, slice);
-            parts.add(repeatable ? executor.submit(b) : Futures.immediateFuture(b.call()));
-            algorithm.addCopied(partSize);
-         }
-         if (algorithm.getRemaining() != 0) {
-            Payload slice = slicer.slice(payload, algorithm.getCopied(), algorithm.getRemaining());
-            BlobUploader b = new BlobUploader(mpu, partNumber, slice);
-            parts.add(repeatable ? executor.submit(b) : Futures.immediateFuture(b.call()));
+         for (long offset = 0; offset < contentLength; offset += partSize) {
+            parts.add(uploader.upload(partNumber++, offset, Math.min(partSize, contentLength - offset)));
          }
          return completeMultipartUpload(mpu, Futures.getUnchecked(Futures.allAsList(parts)));
+      } catch (IOException ioe) {
+         abortMultipartUpload(mpu);
+         throw new RuntimeException(ioe);
       } catch (RuntimeException re) {
          abortMultipartUpload(mpu);
          throw re;
       }
    }
 
+   /**
+    * Uploads the parts of a multipart upload, at most {@code parallelism} of them at once when it is positive.
+    * <p/>
+    * Parts of a stream, which cannot be sliced, are read ahead into a fixed number of part-sized buffers: reading a
+    * part waits for a free buffer, and a buffer is freed when the upload of its part completes. Parts too large to be
+    * buffered are uploaded one at a time, from the calling thread.
+    */
+   private final class PartUploader {
+      private final MultipartUpload mpu;
+      private final Payload payload;
+      private final boolean repeatable;
+      private final ListeningExecutorService executor;
+      private final Semaphore permits;
+      private final int maxBuffers;
+      private final int bufferSize;
+      private final BlockingQueue<byte[]> buffers;
+      private int allocated;
+      private volatile RuntimeException failure;
+
+      PartUploader(MultipartUpload mpu, Payload payload, boolean repeatable, ListeningExecutorService executor,
+            long partSize, int parallelism) {
+         this.mpu = mpu;
+         this.payload = payload;
+         this.repeatable = repeatable;
+         this.executor = executor;
+         this.permits = repeatable && parallelism > 0 ? new Semaphore(parallelism) : null;
+         if (!repeatable && mpuPartBuffers > 0 && partSize <= MAX_BUFFERED_PART_SIZE) {
+            this.maxBuffers = parallelism > 0 ? Math.min(parallelism, mpuPartBuffers) : mpuPartBuffers;
+            this.bufferSize = (int) partSize;
+            this.buffers = new ArrayBlockingQueue<byte[]>(maxBuffers);
+         } else {
+            this.maxBuffers = 0;
+            this.bufferSize = 0;
+            this.buffers = null;
+         }
+      }
+
+      ListenableFuture<MultipartPart> upload(int partNumber, long offset, long length) throws IOException {
+         // stop reading the payload as soon as a part failed
+         if (failure != null) {
+            throw failure;
+         }
+         if (repeatable) {
+            acquirePermit();
+            return track(executor.submit(new BlobUploader(mpu, partNumber, slicer.slice(payload, offset, length),
+                  length)), null);
+         } else if (buffers != null) {
+            byte[] buffer = takeBuffer();
+            try {
+               ByteStreams.readFully(payload.openStream(), buffer, 0, (int) length);
+            } catch (IOException ioe) {
+               buffers.offer(buffer);
+               throw ioe;
+            }
+            Payload slice = Payloads.newByteSourcePayload(ByteSource.wrap(buffer).slice(0, length));
+            slice.getContentMetadata().setContentLength(length);
+            return track(executor.submit(new BlobUploader(mpu, partNumber, slice, length)), buffer);
+         } else {
+            BlobUploader b = new BlobUploader(mpu, partNumber, slicer.slice(payload, offset, length), length);
+            return Futures.immediateFuture(b.call());
+         }
+      }
+
+      private ListenableFuture<MultipartPart> track(ListenableFuture<MultipartPart> part, final byte[] buffer) {
+         Futures.addCallback(part, new FutureCallback<MultipartPart>() {
+            @Override
+            public void onSuccess(MultipartPart result) {
+               release();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+               failure = t instanceof RuntimeException ? (RuntimeException) t : new RuntimeException(t);
+               release();
+            }
+
+            private void release() {
+               if (buffer != null) {
+                  buffers.offer(buffer);
+               } else if (permits != null) {
+                  permits.release();
+               }
+            }
+         }, MoreExecutors.directExecutor());
+         return part;
+      }
+
+      private void acquirePermit() {
+         if (permits == null) {
+            return;
+         }
+         try {
+            while (!permits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+               if (failure != null) {
+                  throw failure;
+               }
+            }
+         } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ie);
+         }
+      }
+
+      private byte[] takeBuffer() {
+         byte[] buffer = buffers.poll();
+         if (buffer == null && allocated < maxBuffers) {
+            allocated++;
+            return new byte[bufferSize];
+         }
+         try {
+            while (buffer == null) {
+               if (failure != null) {
+                  throw failure;
+               }
+               buffer = buffers.poll(100, TimeUnit.MILLISECONDS);
+            }
+         } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ie);
+         }
+         return buffer;
+      }
+   }
+
    private final class BlobUploader implements Callable<MultipartPart> {
       private final MultipartUpload mpu;
       private final int partNumber;
       private final Payload payload;
+      private final long size;
 
-      BlobUploader(MultipartUpload mpu, int partNumber, Payload payload) {
+      BlobUploader(MultipartUpload mpu, int partNumber, Payload payload, long size) {
          this.mpu = mpu;
          this.partNumber = partNumber;
          this.payload = payload;
+         this.size = size;
       }
 
       @Override
       public MultipartPart call() {
-         return uploadMultipartPart(mpu, partNumber, payload);
+         long start = System.nanoTime();
+         MultipartPart part = uploadMultipartPart(mpu, partNumber, payload);
+         partSizingStrategy.partUploaded(size, System.nanoTime() - start);
+         return part;
       }
    }
 
@@ -430,23 +576,50 @@ public abstract class BaseBlobStore implements BlobStore {
       return eTag;
    }
 
+   @com.google.inject.Inject(optional = true)
+   @Named(BlobStoreConstants.PROPERTY_BLOBSTORE_DOWNLOAD_PART_SIZE)
+   @VisibleForTesting
+   long downloadPartSize = ParallelRangeDownloader.DEFAULT_PART_SIZE;
+
+   @com.google.inject.Inject(optional = true)
+   @Named(BlobStoreConstants.PROPERTY_BLOBSTORE_DOWNLOAD_PARALLELISM)
+   @VisibleForTesting
+   int downloadParallelism = ParallelRangeDownloader.DEFAULT_PARALLELISM;
+
+   @com.google.inject.Inject(optional = true)
+   @Named(PROPERTY_MAX_RETRIES)
+   @VisibleForTesting
+   int downloadMaxRetries = 5;
+
+   /**
+    * Downloads the blob as ranges of {@link BlobStoreConstants#PROPERTY_BLOBSTORE_DOWNLOAD_PART_SIZE}, fetched
+    * concurrently with {@link #getBlob(String, String, org.jclouds.blobstore.options.GetOptions)}.
+    */
    @Override
    public void downloadBlob(String container, String name, File destination) {
-      throw new UnsupportedOperationException("Operation not supported yet");
+      downloadBlob(container, name, destination, userExecutor);
    }
 
    @Override
    public void downloadBlob(String container, String name, File destination, ExecutorService executor) {
-      throw new UnsupportedOperationException("Operation not supported yet");
+      rangeDownloader().downloadBlob(container, name, destination, executor);
    }
 
+   /**
+    * Streams the blob as ranges of {@link BlobStoreConstants#PROPERTY_BLOBSTORE_DOWNLOAD_PART_SIZE}, fetched ahead of
+    * the reader with {@link #getBlob(String, String, org.jclouds.blobstore.options.GetOptions)}.
+    */
    @Override
    public InputStream streamBlob(String container, String name) {
-      throw new UnsupportedOperationException("Operation not supported yet");
+      return streamBlob(container, name, userExecutor);
    }
 
    @Override
    public InputStream streamBlob(String container, String name, ExecutorService executor) {
-      throw new UnsupportedOperationException("Operation not supported yet");
+      return rangeDownloader().streamBlob(container, name, executor);
+   }
+
+   private ParallelRangeDownloader rangeDownloader() {
+      return new ParallelRangeDownloader(this, downloadPartSize, downloadParallelism, downloadMaxRetries);
    }
 }
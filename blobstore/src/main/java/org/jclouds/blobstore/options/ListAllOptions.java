@@ -16,6 +16,8 @@
  */
 package org.jclouds.blobstore.options;
 
+import java.util.concurrent.ExecutorService;
+
 import com.google.common.annotations.Beta;
 import com.google.common.base.Objects;
 
@@ -32,6 +34,7 @@ public class ListAllOptions implements Cloneable {
    public static final ImmutableListAllOptions NONE = new ImmutableListAllOptions(new ListAllOptions());
 
    private boolean eager = false;
+   private ExecutorService prefetchExecutor;
 
    public ListAllOptions() {
    }
@@ -40,6 +43,11 @@ public class ListAllOptions implements Cloneable {
       this.eager = eagerness;
    }
 
+   ListAllOptions(boolean eagerness, ExecutorService prefetchExecutor) {
+      this.eager = eagerness;
+      this.prefetchExecutor = prefetchExecutor;
+   }
+
    public static class ImmutableListAllOptions extends ListAllOptions {
       private final ListAllOptions delegate;
 
@@ -56,6 +64,16 @@ public class ListAllOptions implements Cloneable {
       public ListAllOptions eager(boolean val) {
          throw new UnsupportedOperationException();
       }
+
+      @Override
+      public ExecutorService getPrefetchExecutor() {
+         return delegate.getPrefetchExecutor();
+      }
+
+      @Override
+      public ListAllOptions prefetch(ExecutorService executor) {
+         throw new UnsupportedOperationException();
+      }
    }
 
    public boolean isEager() {
@@ -71,6 +89,19 @@ public class ListAllOptions implements Cloneable {
       return this;
    }
 
+   public ExecutorService getPrefetchExecutor() {
+      return prefetchExecutor;
+   }
+
+   /**
+    * Lists the next page on the given executor as soon as a page is received, so that listing the next page overlaps
+    * with iterating over the current one. At most one page ahead of the iteration is listed.
+    */
+   public ListAllOptions prefetch(ExecutorService executor) {
+      this.prefetchExecutor = executor;
+      return this;
+   }
+
    public static class Builder {
       /**
        * @see ListAllOptions#eager(boolean)
@@ -79,21 +110,29 @@ public class ListAllOptions implements Cloneable {
          ListAllOptions options = new ListAllOptions();
          return options.eager(eager);
       }
+
+      /**
+       * @see ListAllOptions#prefetch(ExecutorService)
+       */
+      public static ListAllOptions prefetch(ExecutorService executor) {
+         ListAllOptions options = new ListAllOptions();
+         return options.prefetch(executor);
+      }
    }
 
    @Override
    public ListAllOptions clone() {
-      return new ListAllOptions(isEager());
+      return new ListAllOptions(isEager(), getPrefetchExecutor());
    }
 
    @Override
    public String toString() {
-      return "[eager=" + eager + "]";
+      return "[eager=" + eager + ", prefetchExecutor=" + prefetchExecutor + "]";
    }
 
    @Override
    public int hashCode() {
-      return Objects.hashCode(eager);
+      return Objects.hashCode(eager, prefetchExecutor);
    }
 
    @Override
@@ -105,6 +144,6 @@ public class ListAllOptions implements Cloneable {
       if (getClass() != obj.getClass())
          return false;
       ListAllOptions other = (ListAllOptions) obj;
-      return eager == other.eager;
+      return eager == other.eager && Objects.equal(prefetchExecutor, other.prefetchExecutor);
    }
 }
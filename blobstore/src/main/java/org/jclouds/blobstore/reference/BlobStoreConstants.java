@@ -53,6 +53,30 @@ public final class BlobStoreConstants {
     */
    public static final String PROPERTY_USER_METADATA_PREFIX = "jclouds.blobstore.metaprefix";
 
+   /**
+    * Size of the byte ranges that {@code downloadBlob} and {@code streamBlob} fetch concurrently.
+    */
+   public static final String PROPERTY_BLOBSTORE_DOWNLOAD_PART_SIZE = "jclouds.blobstore.download.parts.size";
+
+   /**
+    * Maximum number of byte ranges of a blob that {@code downloadBlob} and {@code streamBlob} fetch at once.
+    */
+   public static final String PROPERTY_BLOBSTORE_DOWNLOAD_PARALLELISM = "jclouds.blobstore.download.parallelism";
+
+   /**
+    * Number of part-sized buffers into which a multipart upload of a non-repeatable payload reads ahead, and so the
+    * number of its parts uploaded at once. Each upload may hold this many parts in memory, so size it against the part
+    * size and the number of concurrent uploads. Defaults to 0, which uploads such parts one at a time, without
+    * buffering.
+    */
+   public static final String PROPERTY_BLOBSTORE_MPU_PART_BUFFERS = "jclouds.mpu.parts.buffers";
+
+   /**
+    * Number of parts of an object which {@link org.jclouds.blobstore.strategy.internal.AdaptivePartSizingStrategy}
+    * uploads at once, and so the minimum number of parts it splits an object in.
+    */
+   public static final String PROPERTY_BLOBSTORE_MPU_PARALLELISM = "jclouds.mpu.parallelism";
+
    public static final String BLOBSTORE_LOGGER = "jclouds.blobstore";
    public static final String DIRECTORY_BLOB_SUFFIX = "/";
 
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.blobstore.strategy;
+
+import org.jclouds.blobstore.strategy.internal.SlicingAlgorithmPartSizingStrategy;
+
+import com.google.inject.ImplementedBy;
+
+/**
+ * Decides how a multipart upload slices an object into parts, and how many of them it uploads at once.
+ */
+@ImplementedBy(SlicingAlgorithmPartSizingStrategy.class)
+public interface PartSizingStrategy {
+
+   /**
+    * @return the size of every part of an object of {@code length} bytes, except the last one which holds the
+    *         remaining bytes
+    */
+   long partSize(long length, long minimumPartSize, long maximumPartSize, int maximumNumberOfParts);
+
+   /**
+    * @return how many parts of an object of {@code length} bytes to upload at once, or 0 to upload as many as the
+    *         executor allows
+    */
+   int parallelism(long length, long partSize);
+
+   /**
+    * Called once a part of {@code size} bytes was uploaded in {@code nanos} nanoseconds.
+    */
+   void partUploaded(long size, long nanos);
+}
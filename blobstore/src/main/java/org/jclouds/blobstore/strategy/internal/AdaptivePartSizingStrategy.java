@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.blobstore.strategy.internal;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import org.jclouds.blobstore.reference.BlobStoreConstants;
+import org.jclouds.blobstore.strategy.PartSizingStrategy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
+
+/**
+ * Sizes parts from the throughput measured on the parts uploaded earlier in the same context.
+ * <p/>
+ * Large objects get parts which take about {@code jclouds.mpu.parts.duration} milliseconds each to upload, to keep the
+ * number of requests down, while smaller objects are split in at least {@code jclouds.mpu.parallelism} parts so that
+ * they are uploaded in parallel. Both are bounded by the part size and number of parts the provider supports. Until a
+ * part was uploaded, the throughput is taken to be that of a {@code jclouds.mpu.parts.size} part per duration.
+ * <p/>
+ * Bind it in a module passed to the context to use it instead of the default strategy:
+ * <pre>
+ * bind(PartSizingStrategy.class).to(AdaptivePartSizingStrategy.class);
+ * </pre>
+ */
+@Singleton
+public class AdaptivePartSizingStrategy implements PartSizingStrategy {
+   @VisibleForTesting
+   static final long DEFAULT_PART_DURATION = 10000;
+
+   @VisibleForTesting
+   static final int DEFAULT_PARALLELISM = 8;
+
+   /** weight of the latest part in the average throughput */
+   private static final double SMOOTHING = 0.2;
+
+   @Inject(optional = true)
+   @Named("jclouds.mpu.parts.size")
+   @VisibleForTesting
+   long initialPartSize = MultipartUploadSlicingAlgorithm.DEFAULT_PART_SIZE;
+
+   @Inject(optional = true)
+   @Named("jclouds.mpu.parts.duration")
+   @VisibleForTesting
+   long partDuration = DEFAULT_PART_DURATION;
+
+   @Inject(optional = true)
+   @Named(BlobStoreConstants.PROPERTY_BLOBSTORE_MPU_PARALLELISM)
+   @VisibleForTesting
+   int parallelism = DEFAULT_PARALLELISM;
+
+   // bytes per millisecond of a single part, or 0 until a part was uploaded
+   private double throughput;
+
+   @Override
+   public long partSize(long length, long minimumPartSize, long maximumPartSize, int maximumNumberOfParts) {
+      double measured = getThroughput();
+      long partSize = measured > 0 ? (long) (measured * partDuration) : initialPartSize;
+      partSize = Math.min(partSize, divideRoundingUp(length, parallelism));
+      partSize = Math.max(partSize, minimumPartSize);
+      partSize = Math.min(partSize, maximumPartSize);
+      return Math.max(partSize, divideRoundingUp(length, maximumNumberOfParts));
+   }
+
+   @Override
+   public int parallelism(long length, long partSize) {
+      return (int) Math.max(1, Math.min(parallelism, divideRoundingUp(length, partSize)));
+   }
+
+   @Override
+   public synchronized void partUploaded(long size, long nanos) {
+      if (size <= 0 || nanos <= 0) {
+         return;
+      }
+      double latest = size / (nanos / 1e6);
+      throughput = throughput == 0 ? latest : SMOOTHING * latest + (1 - SMOOTHING) * throughput;
+   }
+
+   @VisibleForTesting
+   synchronized double getThroughput() {
+      return throughput;
+   }
+
+   private static long divideRoundingUp(long dividend, long divisor) {
+      return (dividend + divisor - 1) / divisor;
+   }
+}
@@ -20,6 +20,7 @@ import static org.jclouds.blobstore.options.ListContainerOptions.Builder.recursi
 
 import java.util.HashSet;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Semaphore;
@@ -45,6 +46,7 @@ import org.jclouds.http.handlers.BackoffLimitedRetryHandler;
 import org.jclouds.logging.Logger;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -175,31 +177,16 @@ public class DeleteAllKeysInList implements ClearListStrategy, ClearContainerStr
       return listing;
    }
 
-   private ListenableFuture<Void> deleteDirectory(final ListContainerOptions options,
-         final String containerName, final String dirName) {
-      ListenableFuture<Void> blobDelFuture;
-
-      if (options.isRecursive()) {
-         blobDelFuture = executorService.submit(new Callable<Void>() {
-            @Override
-            public Void call() {
-               blobStore.deleteDirectory(containerName, dirName);
-               return null;
-            }
-         });
-      } else {
-         blobDelFuture = null;
-      }
-
-      return blobDelFuture;
-   }
-
    /**
     * Delete the blobs from a given PageSet. The PageSet may contain blobs or
     * directories. If there are directories, they are expected to be empty.
     *
-    * The logic of acquiring a semaphore, submitting a callable to the
-    * executorService and releasing the semaphore resides here.
+    * When the blob store can remove several blobs in one request, blobs are
+    * grouped into batches of {@link BlobStore#getMaximumNumberOfBlobsPerRemove}
+    * names and each batch is deleted by a single
+    * {@link BlobStore#removeBlobs} task. Batches are submitted without waiting
+    * for earlier ones, so up to {@code maxParallelDeletes} of them stay in
+    * flight while the next page is listed.
     *
     * @param containerName
     *           The container from which the objects are listed.
@@ -224,80 +211,111 @@ public class DeleteAllKeysInList implements ClearListStrategy, ClearContainerStr
          final AtomicBoolean deleteFailure,
          final Set<ListenableFuture<Void>> outstandingFutures)
          throws TimeoutException {
+      int batchSize = Math.max(1, blobStore.getMaximumNumberOfBlobsPerRemove());
+      List<String> batch = Lists.newArrayListWithCapacity(Math.min(batchSize, 1000));
       for (final StorageMetadata md : listing) {
          final String fullPath = parentIsFolder(options, md) ? options.getDir()
                + "/" + md.getName() : md.getName();
 
-         // Attempt to acquire a semaphore within the time limit. At least
-         // one outstanding future should complete within this period for the
-         // semaphore to be acquired.
-         try {
-            if (!semaphore.tryAcquire(maxTime, TimeUnit.MILLISECONDS)) {
-               throw new TimeoutException("Timeout waiting for semaphore");
-            }
-         } catch (InterruptedException ie) {
-            logger.debug("Interrupted while deleting blobs");
-            Thread.currentThread().interrupt();
-         }
-
-         final ListenableFuture<Void> blobDelFuture;
          switch (md.getType()) {
          case FOLDER:
          case BLOB:
-            blobDelFuture = executorService.submit(new Callable<Void>() {
-               @Override
-               public Void call() {
-                  blobStore.removeBlob(containerName, fullPath);
-                  return null;
+            if (batchSize == 1) {
+               submitDelete(new Callable<Void>() {
+                  @Override
+                  public Void call() {
+                     blobStore.removeBlob(containerName, fullPath);
+                     return null;
+                  }
+               }, semaphore, deleteFailure, outstandingFutures);
+            } else {
+               batch.add(fullPath);
+               if (batch.size() >= batchSize) {
+                  submitBatchDelete(containerName, batch, semaphore, deleteFailure, outstandingFutures);
+                  batch = Lists.newArrayListWithCapacity(Math.min(batchSize, 1000));
                }
-            });
+            }
             break;
          case RELATIVE_PATH:
-            blobDelFuture = deleteDirectory(options, containerName,
-                  md.getName());
+            if (options.isRecursive()) {
+               submitDelete(new Callable<Void>() {
+                  @Override
+                  public Void call() {
+                     blobStore.deleteDirectory(containerName, md.getName());
+                     return null;
+                  }
+               }, semaphore, deleteFailure, outstandingFutures);
+            }
             break;
          case CONTAINER:
             throw new IllegalArgumentException("Container type not supported");
          default:
-            blobDelFuture = null;
+            break;
          }
+      }
+      if (!batch.isEmpty()) {
+         submitBatchDelete(containerName, batch, semaphore, deleteFailure, outstandingFutures);
+      }
+   }
 
-         // If a future to delete a blob/directory actually got created above,
-         // keep a reference of that in the outstandingFutures list. This is
-         // useful in case of a timeout exception. All outstanding futures can
-         // then be cancelled.
-         if (blobDelFuture != null) {
-            outstandingFutures.add(blobDelFuture);
-
-            // Add a callback to release the semaphore. This is required for
-            // other threads waiting to acquire a semaphore above to make
-            // progress.
-            Futures.addCallback(blobDelFuture, new FutureCallback<Object>() {
-               @Override
-               public void onSuccess(final Object o) {
-                  outstandingFutures.remove(blobDelFuture);
-                  semaphore.release();
-               }
+   private void submitBatchDelete(final String containerName, final List<String> names,
+         final Semaphore semaphore, final AtomicBoolean deleteFailure,
+         final Set<ListenableFuture<Void>> outstandingFutures) throws TimeoutException {
+      submitDelete(new Callable<Void>() {
+         @Override
+         public Void call() {
+            blobStore.removeBlobs(containerName, names);
+            return null;
+         }
+      }, semaphore, deleteFailure, outstandingFutures);
+   }
 
-               @Override
-               public void onFailure(final Throwable t) {
-                  // Make a note the fact that some blob/directory could not be
-                  // deleted successfully. This is used for retrying later.
-                  deleteFailure.set(true);
-                  outstandingFutures.remove(blobDelFuture);
-                  semaphore.release();
-               }
-            }, MoreExecutors.directExecutor());
-         } else {
-            // It is possible above to acquire a semaphore but not submit any
-            // task to the executorService. For e.g. if the listing contains
-            // an object of type 'FOLDER' and the ListContianerOptions are *not*
-            // recursive. In this case, there is no blobDelFuture and therefore
-            // no FutureCallback to release the semaphore. This semaphore is
-            // released here.
-            semaphore.release();
+   /**
+    * Acquires a semaphore permit, submits the delete to the executorService
+    * and releases the permit when the delete completes.
+    */
+   private void submitDelete(Callable<Void> delete, final Semaphore semaphore,
+         final AtomicBoolean deleteFailure,
+         final Set<ListenableFuture<Void>> outstandingFutures)
+         throws TimeoutException {
+      // Attempt to acquire a semaphore within the time limit. At least
+      // one outstanding future should complete within this period for the
+      // semaphore to be acquired.
+      try {
+         if (!semaphore.tryAcquire(maxTime, TimeUnit.MILLISECONDS)) {
+            throw new TimeoutException("Timeout waiting for semaphore");
          }
+      } catch (InterruptedException ie) {
+         logger.debug("Interrupted while deleting blobs");
+         Thread.currentThread().interrupt();
       }
+
+      final ListenableFuture<Void> blobDelFuture = executorService.submit(delete);
+
+      // Keep a reference of the future in the outstandingFutures list. This
+      // is useful in case of a timeout exception. All outstanding futures can
+      // then be cancelled.
+      outstandingFutures.add(blobDelFuture);
+
+      // Add a callback to release the semaphore. This is required for
+      // other threads waiting to acquire a semaphore above to make
+      // progress.
+      Futures.addCallback(blobDelFuture, new FutureCallback<Object>() {
+         @Override
+         public void onSuccess(final Object o) {
+            outstandingFutures.remove(blobDelFuture);
+            semaphore.release();
+         }
+
+         @Override
+         public void onFailure(final Throwable t) {
+            // Make a note the fact that some blob/directory could not be
+            // deleted successfully. This is used for retrying later.
+            deleteFailure.set(true);
+            outstandingFutures.remove(blobDelFuture);
+            semaphore.release();
+         }
+      }, MoreExecutors.directExecutor());
    }
 
    /**
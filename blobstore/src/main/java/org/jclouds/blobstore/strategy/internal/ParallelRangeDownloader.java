@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.blobstore.strategy.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.jclouds.blobstore.options.GetOptions.Builder.range;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jclouds.blobstore.BlobStore;
+import org.jclouds.blobstore.KeyNotFoundException;
+import org.jclouds.blobstore.domain.Blob;
+import org.jclouds.blobstore.domain.BlobMetadata;
+import org.jclouds.util.Closeables2;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Downloads a blob as a sequence of byte ranges, fetched concurrently with
+ * {@link BlobStore#getBlob(String, String, org.jclouds.blobstore.options.GetOptions)}.
+ * <p/>
+ * {@link #downloadBlob} writes each range at its offset of a temporary file, which replaces the destination once every
+ * range is written. {@link #streamBlob} returns the ranges in order, while at most {@code parallelism} ranges ahead of
+ * the reader are fetched or held in memory, in a pool of reused buffers. A range which fails is fetched again, up to
+ * {@code maxRetries} times.
+ */
+public final class ParallelRangeDownloader {
+   public static final long DEFAULT_PART_SIZE = 8L * 1024 * 1024;
+   public static final int DEFAULT_PARALLELISM = 4;
+
+   private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+   private final BlobStore blobStore;
+   private final long partSize;
+   private final int parallelism;
+   private final int maxRetries;
+
+   public ParallelRangeDownloader(BlobStore blobStore, long partSize, int parallelism, int maxRetries) {
+      checkArgument(partSize > 0, "partSize must be positive");
+      checkArgument(parallelism > 0, "parallelism must be positive");
+      this.blobStore = checkNotNull(blobStore, "blobStore");
+      this.partSize = partSize;
+      this.parallelism = parallelism;
+      this.maxRetries = Math.max(0, maxRetries);
+   }
+
+   public void downloadBlob(final String container, final String name, File destination, ExecutorService executor) {
+      final long contentLength = getContentLength(container, name);
+      ListeningExecutorService listeningExecutor = MoreExecutors.listeningDecorator(executor);
+
+      File tempFile = new File(destination.getPath() + "." + System.nanoTime() + ".tmp");
+      try {
+         final FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE_NEW,
+               StandardOpenOption.WRITE);
+         try {
+            // each worker takes the next range until none is left, so that no more than parallelism ranges are
+            // requested at once whatever the size of the executor
+            final AtomicLong nextOffset = new AtomicLong();
+            long parts = (contentLength + partSize - 1) / partSize;
+            List<ListenableFuture<Void>> workers = new ArrayList<ListenableFuture<Void>>();
+            for (long i = 0; i < Math.min(parts, parallelism); i++) {
+               workers.add(listeningExecutor.submit(new Callable<Void>() {
+                  @Override
+                  public Void call() throws IOException {
+                     for (long from = nextOffset.getAndAdd(partSize); from < contentLength;
+                           from = nextOffset.getAndAdd(partSize)) {
+                        long to = Math.min(from + partSize, contentLength) - 1;
+                        writeRange(container, name, from, to, channel);
+                     }
+                     return null;
+                  }
+               }));
+            }
+            ListenableFuture<List<Void>> all = Futures.allAsList(workers);
+            try {
+               Futures.getUnchecked(all);
+            } catch (RuntimeException re) {
+               all.cancel(true);
+               throw re;
+            }
+            channel.force(true);
+         } finally {
+            channel.close();
+         }
+         Files.move(tempFile.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException ioe) {
+         throw new RuntimeException(ioe);
+      } finally {
+         tempFile.delete();
+      }
+   }
+
+   public InputStream streamBlob(String container, String name, ExecutorService executor) {
+      checkArgument(partSize <= Integer.MAX_VALUE, "partSize must fit in an array to stream a blob");
+      long contentLength = getContentLength(container, name);
+      return new RangeInputStream(container, name, contentLength, MoreExecutors.listeningDecorator(executor));
+   }
+
+   private long getContentLength(String container, String name) {
+      BlobMetadata metadata = blobStore.blobMetadata(container, name);
+      if (metadata == null) {
+         throw new KeyNotFoundException(container, name, "while downloading blob");
+      }
+      Long contentLength = metadata.getContentMetadata().getContentLength();
+      return contentLength == null ? metadata.getSize() : contentLength;
+   }
+
+   private InputStream openRange(String container, String name, long from, long to) throws IOException {
+      Blob blob = blobStore.getBlob(container, name, range(from, to));
+      if (blob == null) {
+         throw new KeyNotFoundException(container, name, "while downloading range " + from + "-" + to);
+      }
+      return blob.getPayload().openStream();
+   }
+
+   private void writeRange(String container, String name, long from, long to, FileChannel channel)
+         throws IOException {
+      IOException lastException = null;
+      for (int attempt = 0; attempt <= maxRetries; attempt++) {
+         InputStream is = null;
+         try {
+            is = openRange(container, name, from, to);
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            long position = from;
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+               if (position + read > to + 1) {
+                  throw new IOException("Received more than range " + from + "-" + to);
+               }
+               ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+               while (byteBuffer.hasRemaining()) {
+                  position += channel.write(byteBuffer, position);
+               }
+            }
+            if (position != to + 1) {
+               throw new IOException("Received " + (position - from) + " bytes of range " + from + "-" + to);
+            }
+            return;
+         } catch (IOException ioe) {
+            if (ioe instanceof InterruptedIOException) {
+               throw ioe;
+            }
+            lastException = ioe;
+         } finally {
+            Closeables2.closeQuietly(is);
+         }
+      }
+      throw new IOException("After " + (maxRetries + 1) + " attempts to download range " + from + "-" + to,
+            lastException);
+   }
+
+   /**
+    * Reads the range into the first {@code to - from + 1} bytes of {@code buffer}.
+    */
+   private void readRange(String container, String name, long from, long to, byte[] buffer) throws IOException {
+      IOException lastException = null;
+      for (int attempt = 0; attempt <= maxRetries; attempt++) {
+         InputStream is = null;
+         try {
+            is = openRange(container, name, from, to);
+            ByteStreams.readFully(is, buffer, 0, (int) (to - from + 1));
+            if (is.read() != -1) {
+               throw new IOException("Received more than range " + from + "-" + to);
+            }
+            return;
+         } catch (IOException ioe) {
+            if (ioe instanceof InterruptedIOException) {
+               throw ioe;
+            }
+            lastException = ioe;
+         } finally {
+            Closeables2.closeQuietly(is);
+         }
+      }
+      throw new IOException("After " + (maxRetries + 1) + " attempts to download range " + from + "-" + to,
+            lastException);
+   }
+
+   /**
+    * Returns the ranges in order. When a range is consumed, the next range not yet requested is, so that the window of
+    * outstanding ranges stays {@code parallelism} wide; closing the stream cancels the ranges still in flight.
+    * <p/>
+    * Ranges are read into buffers which return to a pool once consumed, so a stream allocates at most
+    * {@code parallelism + 1} buffers however large the blob is.
+    */
+   private final class RangeInputStream extends InputStream {
+      private final String container;
+      private final String name;
+      private final long contentLength;
+      private final ListeningExecutorService executor;
+      private final Deque<ListenableFuture<Range>> window = new ArrayDeque<ListenableFuture<Range>>();
+      private final Queue<byte[]> buffers = new ConcurrentLinkedQueue<byte[]>();
+      private long nextOffset;
+      private Range current;
+      private int position;
+      private boolean closed;
+
+      RangeInputStream(String container, String name, long contentLength, ListeningExecutorService executor) {
+         this.container = container;
+         this.name = name;
+         this.contentLength = contentLength;
+         this.executor = executor;
+         fill();
+      }
+
+      private void fill() {
+         while (window.size() < parallelism && nextOffset < contentLength) {
+            final long from = nextOffset;
+            final long to = Math.min(from + partSize, contentLength) - 1;
+            nextOffset = to + 1;
+            window.add(executor.submit(new Callable<Range>() {
+               @Override
+               public Range call() throws IOException {
+                  int length = (int) (to - from + 1);
+                  byte[] buffer = buffers.poll();
+                  if (buffer == null || buffer.length < length) {
+                     buffer = new byte[length];
+                  }
+                  try {
+                     readRange(container, name, from, to, buffer);
+                  } catch (IOException ioe) {
+                     buffers.offer(buffer);
+                     throw ioe;
+                  }
+                  return new Range(buffer, length);
+               }
+            }));
+         }
+      }
+
+      /**
+       * @return false at the end of the blob
+       */
+      private boolean advance() throws IOException {
+         if (closed) {
+            throw new IOException("Stream closed");
+         }
+         while (current == null || position == current.length) {
+            if (current != null) {
+               buffers.offer(current.buffer);
+               current = null;
+            }
+            ListenableFuture<Range> head = window.poll();
+            if (head == null) {
+               return false;
+            }
+            try {
+               current = head.get();
+            } catch (InterruptedException ie) {
+               Thread.currentThread().interrupt();
+               throw new InterruptedIOException();
+            } catch (ExecutionException ee) {
+               throw new IOException(ee.getCause());
+            }
+            // only now, so that at most parallelism ranges are requested while one is being consumed
+            fill();
+            position = 0;
+         }
+         return true;
+      }
+
+      @Override
+      public int read() throws IOException {
+         if (!advance()) {
+            return -1;
+         }
+         return current.buffer[position++] & 0xFF;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+         if (len == 0) {
+            return 0;
+         }
+         if (!advance()) {
+            return -1;
+         }
+         int count = Math.min(len, current.length - position);
+         System.arraycopy(current.buffer, position, b, off, count);
+         position += count;
+         return count;
+      }
+
+      @Override
+      public int available() throws IOException {
+         return current == null || closed ? 0 : current.length - position;
+      }
+
+      @Override
+      public void close() {
+         if (closed) {
+            return;
+         }
+         closed = true;
+         for (ListenableFuture<Range> future : window) {
+            future.cancel(true);
+         }
+         window.clear();
+         buffers.clear();
+         current = null;
+      }
+   }
+
+   private static final class Range {
+      private final byte[] buffer;
+      private final int length;
+
+      Range(byte[] buffer, int length) {
+         this.buffer = buffer;
+         this.length = length;
+      }
+   }
+}
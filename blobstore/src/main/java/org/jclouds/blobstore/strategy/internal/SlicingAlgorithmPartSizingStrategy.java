@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.blobstore.strategy.internal;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import org.jclouds.blobstore.strategy.PartSizingStrategy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
+
+/**
+ * Sizes parts with {@link MultipartUploadSlicingAlgorithm}, and leaves the number of parts uploaded at once to the
+ * executor.
+ */
+@Singleton
+public class SlicingAlgorithmPartSizingStrategy implements PartSizingStrategy {
+
+   @Inject(optional = true)
+   @Named("jclouds.mpu.parts.size")
+   @VisibleForTesting
+   long defaultPartSize = MultipartUploadSlicingAlgorithm.DEFAULT_PART_SIZE;
+
+   @Inject(optional = true)
+   @Named("jclouds.mpu.parts.magnitude")
+   @VisibleForTesting
+   int magnitudeBase = MultipartUploadSlicingAlgorithm.DEFAULT_MAGNITUDE_BASE;
+
+   @Override
+   public long partSize(long length, long minimumPartSize, long maximumPartSize, int maximumNumberOfParts) {
+      MultipartUploadSlicingAlgorithm algorithm = new MultipartUploadSlicingAlgorithm(minimumPartSize,
+            maximumPartSize, maximumNumberOfParts);
+      algorithm.defaultPartSize = defaultPartSize;
+      algorithm.magnitudeBase = magnitudeBase;
+      return algorithm.calculateChunkSize(length);
+   }
+
+   @Override
+   public int parallelism(long length, long partSize) {
+      return 0;
+   }
+
+   @Override
+   public void partUploaded(long size, long nanos) {
+   }
+}
@@ -201,6 +201,11 @@ public abstract class ForwardingBlobStore extends ForwardingObject
       delegate().removeBlobs(container, iterable);
    }
 
+   @Override
+   public int getMaximumNumberOfBlobsPerRemove() {
+      return delegate().getMaximumNumberOfBlobsPerRemove();
+   }
+
    @Override
    public BlobAccess getBlobAccess(String container, String name) {
       return delegate().getBlobAccess(container, name);
@@ -20,6 +20,8 @@ import static org.easymock.EasyMock.createMock;
 import static org.testng.Assert.assertEquals;
 
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.easymock.EasyMock;
 import org.jclouds.ContextBuilder;
@@ -84,7 +86,21 @@ public class BlobStoresTest {
       runListAllFromTransientBlobStore(true);
    }
 
+   @Test
+   public void testListAllFromTransientBlobStoreWithPrefetch() throws Exception {
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+         runListAllFromTransientBlobStore(ListAllOptions.Builder.prefetch(executor));
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
    private void runListAllFromTransientBlobStore(boolean eager) throws Exception {
+      runListAllFromTransientBlobStore(ListAllOptions.Builder.eager(eager));
+   }
+
+   private void runListAllFromTransientBlobStore(ListAllOptions listAllOptions) throws Exception {
       final int numTimesToIterate = 2;
       final int NUM_BLOBS = 31;
       ListContainerOptions containerOptions = ListContainerOptions.Builder.maxResults(10);
@@ -100,7 +116,6 @@ public class BlobStoresTest {
             expectedNames.add(blobName);
          }
 
-         ListAllOptions listAllOptions = ListAllOptions.Builder.eager(eager);
          Iterable<StorageMetadata> iterable = BlobStores.listAll(blobStore, containerName, containerOptions,
                   listAllOptions);
 
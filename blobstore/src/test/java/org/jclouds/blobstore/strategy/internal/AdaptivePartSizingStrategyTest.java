@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.blobstore.strategy.internal;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "AdaptivePartSizingStrategyTest")
+public final class AdaptivePartSizingStrategyTest {
+   private static final long MB = 1024 * 1024;
+   private static final long MIN_PART_SIZE = 5 * MB;
+   private static final long MAX_PART_SIZE = 5 * 1024 * MB;
+   private static final int MAX_NUMBER_OF_PARTS = 10 * 1000;
+
+   public void testInitialPartSizeForLargeObject() {
+      AdaptivePartSizingStrategy strategy = new AdaptivePartSizingStrategy();
+      long partSize = strategy.partSize(10 * 1024 * MB, MIN_PART_SIZE, MAX_PART_SIZE, MAX_NUMBER_OF_PARTS);
+      assertEquals(partSize, MultipartUploadSlicingAlgorithm.DEFAULT_PART_SIZE);
+      assertEquals(strategy.parallelism(10 * 1024 * MB, partSize), AdaptivePartSizingStrategy.DEFAULT_PARALLELISM);
+   }
+
+   public void testMediumObjectIsSplitForParallelism() {
+      AdaptivePartSizingStrategy strategy = new AdaptivePartSizingStrategy();
+      long partSize = strategy.partSize(80 * MB, MIN_PART_SIZE, MAX_PART_SIZE, MAX_NUMBER_OF_PARTS);
+      assertEquals(partSize, 10 * MB);
+      assertEquals(strategy.parallelism(80 * MB, partSize), 8);
+   }
+
+   public void testSmallObjectRespectsMinimumPartSize() {
+      AdaptivePartSizingStrategy strategy = new AdaptivePartSizingStrategy();
+      long partSize = strategy.partSize(12 * MB, MIN_PART_SIZE, MAX_PART_SIZE, MAX_NUMBER_OF_PARTS);
+      assertEquals(partSize, MIN_PART_SIZE);
+      assertEquals(strategy.parallelism(12 * MB, partSize), 3);
+   }
+
+   public void testPartSizeFollowsMeasuredThroughput() {
+      AdaptivePartSizingStrategy strategy = new AdaptivePartSizingStrategy();
+      // 100 MB in one second, so parts of a thousand MB take the default 10 seconds
+      strategy.partUploaded(100 * MB, TimeUnit.SECONDS.toNanos(1));
+      long partSize = strategy.partSize(100 * 1024 * MB, MIN_PART_SIZE, MAX_PART_SIZE, MAX_NUMBER_OF_PARTS);
+      assertEquals(partSize, 1000 * MB);
+   }
+
+   public void testPartSizeIsBoundedByProviderLimits() {
+      AdaptivePartSizingStrategy strategy = new AdaptivePartSizingStrategy();
+      strategy.partUploaded(1 * MB, TimeUnit.SECONDS.toNanos(10));
+      // slow uploads would ask for tiny parts, but no more than the maximum number of parts are allowed
+      long length = 100 * 1024 * MB;
+      long partSize = strategy.partSize(length, MIN_PART_SIZE, MAX_PART_SIZE, MAX_NUMBER_OF_PARTS);
+      assertEquals(partSize, (length + MAX_NUMBER_OF_PARTS - 1) / MAX_NUMBER_OF_PARTS);
+
+      strategy.partUploaded(1024 * 1024 * MB, TimeUnit.SECONDS.toNanos(1));
+      partSize = strategy.partSize(length * 100, MIN_PART_SIZE, MAX_PART_SIZE, MAX_NUMBER_OF_PARTS);
+      assertEquals(partSize, MAX_PART_SIZE);
+   }
+}
@@ -33,6 +33,7 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.easymock.EasyMock;
 import org.easymock.IMocksControl;
@@ -44,14 +45,17 @@ import org.jclouds.util.Closeables2;
 import org.jclouds.blobstore.domain.PageSet;
 import org.jclouds.blobstore.domain.StorageMetadata;
 import org.jclouds.blobstore.internal.BlobRuntimeException;
+import org.jclouds.blobstore.util.ForwardingBlobStore;
 import org.jclouds.http.handlers.BackoffLimitedRetryHandler;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.inject.Injector;
 
 @Test(testName = "DeleteAllKeysInListTest", singleThreaded = true)
@@ -214,6 +218,37 @@ public class DeleteAllKeysInListTest {
       assertTrue(deleteFailure.get());
    }
 
+   public void testExecuteBatchesRemoveBlobs() {
+      final int batchSize = 100;
+      final AtomicInteger removeBlobsCalls = new AtomicInteger();
+      BlobStore batchingBlobStore = new ForwardingBlobStore(blobstore) {
+         @Override
+         public void removeBlob(String container, String name) {
+            fail("expected blobs to be removed in batches");
+         }
+
+         @Override
+         public void removeBlobs(String container, Iterable<String> names) {
+            assertTrue(Iterables.size(names) <= batchSize, "batch too large: " + Iterables.size(names));
+            removeBlobsCalls.incrementAndGet();
+            super.removeBlobs(container, names);
+         }
+
+         @Override
+         public int getMaximumNumberOfBlobsPerRemove() {
+            return batchSize;
+         }
+      };
+      DeleteAllKeysInList batchingDeleter = new DeleteAllKeysInList(
+            MoreExecutors.newDirectExecutorService(), batchingBlobStore,
+            retryHandler, maxParallelDeletes);
+      batchingDeleter.execute(containerName,
+            ListContainerOptions.Builder.recursive());
+      assertEquals(blobstore.countBlobs(containerName), 0);
+      // 3333 blobs need at least 34 batches of 100.
+      assertTrue(removeBlobsCalls.get() >= 34, "removeBlobs calls: " + removeBlobsCalls.get());
+   }
+
    /**
     * Create a container "container" with 1111 blobs named "blob-%d".  Create a
     * subdirectory "directory" which contains 2222 more blobs named
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.blobstore.strategy.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.blobstore.BlobStore;
+import org.jclouds.blobstore.BlobStoreContext;
+import org.jclouds.blobstore.KeyNotFoundException;
+import org.jclouds.blobstore.domain.Blob;
+import org.jclouds.blobstore.options.GetOptions;
+import org.jclouds.blobstore.reference.BlobStoreConstants;
+import org.jclouds.blobstore.util.ForwardingBlobStore;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+
+@Test(groups = "unit", testName = "ParallelRangeDownloaderTest", singleThreaded = true)
+public class ParallelRangeDownloaderTest {
+   private static final String CONTAINER = "container";
+   private static final int PART_SIZE = 1000;
+
+   private BlobStoreContext context;
+   private BlobStore blobStore;
+   private ExecutorService executor;
+   private byte[] content;
+
+   @BeforeClass
+   protected void setUp() {
+      Properties overrides = new Properties();
+      overrides.setProperty(BlobStoreConstants.PROPERTY_BLOBSTORE_DOWNLOAD_PART_SIZE, String.valueOf(PART_SIZE));
+      overrides.setProperty(BlobStoreConstants.PROPERTY_BLOBSTORE_DOWNLOAD_PARALLELISM, "3");
+      context = ContextBuilder.newBuilder("transient").overrides(overrides).build(BlobStoreContext.class);
+      blobStore = context.getBlobStore();
+      executor = Executors.newFixedThreadPool(8);
+
+      content = new byte[10 * PART_SIZE + 7];
+      new Random(42).nextBytes(content);
+      blobStore.createContainerInLocation(null, CONTAINER);
+      blobStore.putBlob(CONTAINER, blobStore.blobBuilder("blob").payload(content).build());
+      blobStore.putBlob(CONTAINER, blobStore.blobBuilder("empty").payload(new byte[0]).build());
+   }
+
+   @AfterClass(alwaysRun = true)
+   protected void tearDown() {
+      executor.shutdownNow();
+      context.close();
+   }
+
+   public void testDownloadBlob() throws IOException {
+      File destination = File.createTempFile("blob", null);
+      try {
+         blobStore.downloadBlob(CONTAINER, "blob", destination, executor);
+         assertEquals(Files.toByteArray(destination), content);
+      } finally {
+         destination.delete();
+      }
+   }
+
+   public void testDownloadEmptyBlob() throws IOException {
+      File destination = File.createTempFile("blob", null);
+      try {
+         blobStore.downloadBlob(CONTAINER, "empty", destination, executor);
+         assertEquals(destination.length(), 0);
+      } finally {
+         destination.delete();
+      }
+   }
+
+   public void testStreamBlob() throws IOException {
+      InputStream is = blobStore.streamBlob(CONTAINER, "blob", executor);
+      try {
+         assertEquals(ByteStreams.toByteArray(is), content);
+      } finally {
+         is.close();
+      }
+   }
+
+   public void testCloseStreamBeforeEnd() throws IOException {
+      InputStream is = blobStore.streamBlob(CONTAINER, "blob", executor);
+      byte[] head = new byte[PART_SIZE + 1];
+      ByteStreams.readFully(is, head);
+      is.close();
+      for (int i = 0; i < head.length; i++) {
+         assertEquals(head[i], content[i]);
+      }
+   }
+
+   @Test(expectedExceptions = KeyNotFoundException.class)
+   public void testStreamMissingBlob() {
+      blobStore.streamBlob(CONTAINER, "missing", executor);
+   }
+
+   public void testFailedRangeIsRetriedMaxRetriesTimes() throws IOException {
+      final AtomicInteger requests = new AtomicInteger();
+      BlobStore truncating = new ForwardingBlobStore(blobStore) {
+         @Override
+         public Blob getBlob(String container, String name, GetOptions options) {
+            requests.incrementAndGet();
+            return blobBuilder(name).payload(new byte[1]).build();
+         }
+      };
+      InputStream is = new ParallelRangeDownloader(truncating, PART_SIZE, 1, 2).streamBlob(CONTAINER, "blob",
+            executor);
+      try {
+         is.read();
+         fail("expected IOException");
+      } catch (IOException expected) {
+         assertEquals(requests.get(), 3);
+      } finally {
+         is.close();
+      }
+   }
+}
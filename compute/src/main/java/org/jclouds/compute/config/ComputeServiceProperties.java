@@ -118,6 +118,42 @@ public final class ComputeServiceProperties {
     */
    public static final String SOCKET_FINDER_ALLOWED_INTERFACES = "jclouds.compute.socket-finder-allowed-interfaces";
 
+   /**
+    * milliseconds an authenticated ssh connection may sit unused in the per-node pool before it is
+    * closed. Defaults to 0, which disables pooling, so every disconnect closes the connection.
+    */
+   public static final String SSH_POOL_IDLE_TIMEOUT = "jclouds.ssh.pool.idle-timeout";
+
+   /**
+    * maximum number of idle ssh connections kept per node and login. Defaults to 2.
+    */
+   public static final String SSH_POOL_MAX_IDLE_PER_NODE = "jclouds.ssh.pool.max-idle-per-node";
+
+   /**
+    * milliseconds between ssh keepalive messages on open connections, so pooled connections are not
+    * dropped by the server or by NAT devices while idle. Defaults to 15000 when
+    * {@link #SSH_POOL_IDLE_TIMEOUT} turns pooling on, and to 0, which disables keepalives, otherwise.
+    */
+   public static final String SSH_KEEPALIVE_INTERVAL = "jclouds.ssh.keepalive-interval";
+
+   /**
+    * maximum number of node customizations and scripts the compute service runs at the same time
+    * across the provider. Defaults to 0, which is unbounded.
+    */
+   public static final String BOOTSTRAP_MAX_CONCURRENT = "jclouds.compute.bootstrap.max-concurrent";
+
+   /**
+    * maximum number of node customizations and scripts the compute service runs at the same time in
+    * a single location. Defaults to 0, which is unbounded.
+    */
+   public static final String BOOTSTRAP_MAX_PER_LOCATION = "jclouds.compute.bootstrap.max-per-location";
+
+   /**
+    * maximum number of node customizations and scripts the compute service runs at the same time for
+    * a single group. Defaults to 0, which is unbounded.
+    */
+   public static final String BOOTSTRAP_MAX_PER_GROUP = "jclouds.compute.bootstrap.max-per-group";
+
    private ComputeServiceProperties() {
       throw new AssertionError("intentionally unimplemented");
    }
@@ -16,6 +16,9 @@
  */
 package org.jclouds.compute.config;
 import static com.google.common.base.Predicates.not;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.jclouds.Constants.PROPERTY_SCHEDULER_THREADS;
+import static org.jclouds.Constants.PROPERTY_USER_THREADS;
 import static org.jclouds.compute.config.ComputeServiceProperties.TIMEOUT_IMAGE_AVAILABLE;
 import static org.jclouds.compute.config.ComputeServiceProperties.TIMEOUT_IMAGE_DELETED;
 import static org.jclouds.compute.config.ComputeServiceProperties.TIMEOUT_NODE_RUNNING;
@@ -23,7 +26,10 @@ import static org.jclouds.compute.config.ComputeServiceProperties.TIMEOUT_NODE_S
 import static org.jclouds.compute.config.ComputeServiceProperties.TIMEOUT_NODE_TERMINATED;
 import static org.jclouds.compute.config.ComputeServiceProperties.TIMEOUT_SCRIPT_COMPLETE;
 import static org.jclouds.util.Predicates2.retry;
+import static org.jclouds.util.Predicates2.retryAsync;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 
 import jakarta.inject.Named;
@@ -31,6 +37,7 @@ import jakarta.inject.Singleton;
 
 import org.jclouds.compute.domain.Image;
 import org.jclouds.compute.domain.NodeMetadata;
+import org.jclouds.compute.domain.NodeMetadata.Status;
 import org.jclouds.compute.functions.PollNodeRunning;
 import org.jclouds.compute.predicates.AtomicImageAvailable;
 import org.jclouds.compute.predicates.AtomicImageDeleted;
@@ -39,11 +46,15 @@ import org.jclouds.compute.predicates.AtomicNodeSuspended;
 import org.jclouds.compute.predicates.AtomicNodeTerminated;
 import org.jclouds.compute.predicates.ScriptStatusReturnsZero;
 import org.jclouds.compute.predicates.ScriptStatusReturnsZero.CommandUsingClient;
+import org.jclouds.compute.predicates.internal.NodeStatusPoller;
 import org.jclouds.compute.reference.ComputeServiceConstants.PollPeriod;
 import org.jclouds.compute.reference.ComputeServiceConstants.Timeouts;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.TypeLiteral;
@@ -54,17 +65,78 @@ public class ComputeServiceTimeoutsModule extends AbstractModule {
    @Provides
    @Singleton
    @Named(TIMEOUT_NODE_RUNNING)
-   protected final Predicate<AtomicReference<NodeMetadata>> provideNodeRunning(AtomicNodeRunning statusRunning, Timeouts timeouts,
-           PollPeriod period) {
-      return nodeRunning(statusRunning, timeouts, period);
+   protected final Predicate<AtomicReference<NodeMetadata>> provideNodeRunning(AtomicNodeRunning statusRunning,
+           NodeStatusPoller poller, Timeouts timeouts, PollPeriod period) {
+      if (overridesLegacyNodeRunning())
+         return nodeRunning(statusRunning, timeouts, period);
+      return nodeRunning(statusRunning, poller, timeouts, period);
    }
 
+   /**
+    * Waits on the shared {@link NodeStatusPoller}, so that nodes started together are refreshed together.
+    */
+   protected Predicate<AtomicReference<NodeMetadata>> nodeRunning(AtomicNodeRunning statusRunning,
+         NodeStatusPoller poller, Timeouts timeouts, PollPeriod period) {
+      return timeouts.nodeRunning == 0 ? statusRunning : poller.until(Status.RUNNING,
+            ImmutableSet.of(Status.ERROR, Status.TERMINATED), timeouts.nodeRunning);
+   }
+
+   /**
+    * @deprecated only called by {@link #provideNodeRunning} when a subclass overrides it, in which case nodes are
+    *             polled one by one. Override
+    *             {@link #nodeRunning(AtomicNodeRunning, NodeStatusPoller, Timeouts, PollPeriod)} instead.
+    */
+   @Deprecated
    protected Predicate<AtomicReference<NodeMetadata>> nodeRunning(AtomicNodeRunning statusRunning, Timeouts timeouts,
          PollPeriod period) {
       return timeouts.nodeRunning == 0 ? statusRunning : RetryablePredicateGuardingNull.create(statusRunning,
             timeouts.nodeRunning, period.pollInitialPeriod, period.pollMaxPeriod);
    }
 
+   /**
+    * Non-blocking form of the {@link #provideNodeRunning node running predicate}. When a subclass overrides either
+    * {@code nodeRunning} method, this applies the predicate it returns on the user executor.
+    */
+   @Provides
+   @Singleton
+   @Named(TIMEOUT_NODE_RUNNING)
+   protected final Function<AtomicReference<NodeMetadata>, ListenableFuture<Boolean>> provideNodeRunningAsync(
+         NodeStatusPoller poller, Timeouts timeouts,
+         @Named(TIMEOUT_NODE_RUNNING) final Predicate<AtomicReference<NodeMetadata>> nodeRunning,
+         @Named(PROPERTY_USER_THREADS) final ListeningExecutorService userExecutor) {
+      if (overridesLegacyNodeRunning() || overrides("nodeRunning", AtomicNodeRunning.class, NodeStatusPoller.class,
+            Timeouts.class, PollPeriod.class)) {
+         return new Function<AtomicReference<NodeMetadata>, ListenableFuture<Boolean>>() {
+            @Override
+            public ListenableFuture<Boolean> apply(final AtomicReference<NodeMetadata> input) {
+               return userExecutor.submit(new Callable<Boolean>() {
+                  @Override
+                  public Boolean call() {
+                     return nodeRunning.apply(input);
+                  }
+               });
+            }
+         };
+      }
+      return poller.untilAsync(Status.RUNNING, ImmutableSet.of(Status.ERROR, Status.TERMINATED), timeouts.nodeRunning);
+   }
+
+   private boolean overridesLegacyNodeRunning() {
+      return overrides("nodeRunning", AtomicNodeRunning.class, Timeouts.class, PollPeriod.class);
+   }
+
+   private boolean overrides(String name, Class<?>... parameterTypes) {
+      for (Class<?> type = getClass(); type != ComputeServiceTimeoutsModule.class; type = type.getSuperclass()) {
+         try {
+            type.getDeclaredMethod(name, parameterTypes);
+            return true;
+         } catch (NoSuchMethodException e) {
+            // look in the superclass
+         }
+      }
+      return false;
+   }
+
    @Provides
    @Singleton
    @Named(TIMEOUT_NODE_TERMINATED)
@@ -79,6 +151,16 @@ public class ComputeServiceTimeoutsModule extends AbstractModule {
             period.pollInitialPeriod, period.pollMaxPeriod);
    }
 
+   @Provides
+   @Singleton
+   @Named(TIMEOUT_NODE_TERMINATED)
+   protected final Function<AtomicReference<NodeMetadata>, ListenableFuture<Boolean>> provideServerTerminatedAsync(
+         AtomicNodeTerminated statusTerminated, Timeouts timeouts, PollPeriod period,
+         @Named(PROPERTY_SCHEDULER_THREADS) ScheduledExecutorService scheduler) {
+      return retryAsync(statusTerminated, timeouts.nodeTerminated, period.pollInitialPeriod, period.pollMaxPeriod,
+            MILLISECONDS, scheduler);
+   }
+
    @Provides
    @Singleton
    @Named(TIMEOUT_NODE_SUSPENDED)
@@ -122,6 +204,26 @@ public class ComputeServiceTimeoutsModule extends AbstractModule {
             period.pollInitialPeriod, period.pollMaxPeriod);
    }
 
+   @Provides
+   @Singleton
+   @Named(TIMEOUT_IMAGE_AVAILABLE)
+   protected final Function<AtomicReference<Image>, ListenableFuture<Boolean>> imageAvailableAsync(
+         AtomicImageAvailable statusAvailable, Timeouts timeouts, PollPeriod period,
+         @Named(PROPERTY_SCHEDULER_THREADS) ScheduledExecutorService scheduler) {
+      return retryAsync(statusAvailable, timeouts.imageAvailable, period.pollInitialPeriod, period.pollMaxPeriod,
+            MILLISECONDS, scheduler);
+   }
+
+   @Provides
+   @Singleton
+   @Named(TIMEOUT_IMAGE_DELETED)
+   protected final Function<AtomicReference<Image>, ListenableFuture<Boolean>> imageDeletedAsync(
+         AtomicImageDeleted statusDeleted, Timeouts timeouts, PollPeriod period,
+         @Named(PROPERTY_SCHEDULER_THREADS) ScheduledExecutorService scheduler) {
+      return retryAsync(statusDeleted, timeouts.imageDeleted, period.pollInitialPeriod, period.pollMaxPeriod,
+            MILLISECONDS, scheduler);
+   }
+
    @Override
    protected void configure() {
       bind(new TypeLiteral<Function<AtomicReference<NodeMetadata>, AtomicReference<NodeMetadata>>>() {
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.compute.events;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+/**
+ * Progress of the node customizations and scripts a compute service is running for a group.
+ * <p/>
+ * Posted whenever a task of the group is queued, started or finished, as long as one of the
+ * bootstrap limits in {@link org.jclouds.compute.config.ComputeServiceProperties} is set. Counts
+ * cover the tasks submitted since the group last had nothing queued or running.
+ */
+@Beta
+public class BootstrapProgress {
+   private final String group;
+   private final int queued;
+   private final int running;
+   private final int completed;
+   private final int failed;
+
+   public BootstrapProgress(String group, int queued, int running, int completed, int failed) {
+      this.group = checkNotNull(group, "group");
+      this.queued = queued;
+      this.running = running;
+      this.completed = completed;
+      this.failed = failed;
+   }
+
+   /**
+    * @return the group of the nodes, or an empty string for nodes without a group
+    */
+   public String getGroup() {
+      return group;
+   }
+
+   /**
+    * @return tasks waiting for a free slot
+    */
+   public int getQueued() {
+      return queued;
+   }
+
+   public int getRunning() {
+      return running;
+   }
+
+   public int getCompleted() {
+      return completed;
+   }
+
+   public int getFailed() {
+      return failed;
+   }
+
+   /**
+    * @return true if no task of the group is queued or running
+    */
+   public boolean isDone() {
+      return queued == 0 && running == 0;
+   }
+
+   @Override
+   public int hashCode() {
+      return Objects.hashCode(group, queued, running, completed, failed);
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (this == o)
+         return true;
+      if (!(o instanceof BootstrapProgress))
+         return false;
+      BootstrapProgress that = BootstrapProgress.class.cast(o);
+      return Objects.equal(this.group, that.group) && this.queued == that.queued && this.running == that.running
+            && this.completed == that.completed && this.failed == that.failed;
+   }
+
+   @Override
+   public String toString() {
+      return MoreObjects.toStringHelper(this).add("group", group).add("queued", queued).add("running", running)
+            .add("completed", completed).add("failed", failed).toString();
+   }
+}
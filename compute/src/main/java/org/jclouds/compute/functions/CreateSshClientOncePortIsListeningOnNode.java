@@ -32,6 +32,7 @@ import org.jclouds.compute.reference.ComputeServiceConstants.Timeouts;
 import org.jclouds.compute.util.OpenSocketFinder;
 import org.jclouds.logging.Logger;
 import org.jclouds.ssh.SshClient;
+import org.jclouds.ssh.internal.SshClientPool;
 
 import com.google.common.base.Function;
 import com.google.common.net.HostAndPort;
@@ -46,6 +47,9 @@ public class CreateSshClientOncePortIsListeningOnNode implements Function<NodeMe
    @Inject(optional = true)
    SshClient.Factory sshFactory;
 
+   @Inject(optional = true)
+   SshClientPool sshClientPool;
+
    private final OpenSocketFinder openSocketFinder;
 
    private final long timeoutMs;
@@ -65,6 +69,8 @@ public class CreateSshClientOncePortIsListeningOnNode implements Function<NodeMe
                .getCredentials().identity, node.getId());
       HostAndPort socket = openSocketFinder.findOpenSocketOnNode(node, node.getLoginPort(), 
                timeoutMs, TimeUnit.MILLISECONDS);
+      if (sshClientPool != null)
+         return sshClientPool.create(sshFactory, socket, node.getCredentials());
       return sshFactory.create(socket, node.getCredentials());
    }
 }
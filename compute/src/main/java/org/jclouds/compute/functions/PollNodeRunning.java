@@ -60,17 +60,8 @@ public class PollNodeRunning implements Function<AtomicReference<NodeMetadata>,
       NodeMetadata originalNode = node.get();
       try {
          Stopwatch stopwatch = Stopwatch.createStarted();
-         if (!nodeRunning.apply(node)) {
-            long timeWaited = stopwatch.elapsed(TimeUnit.MILLISECONDS);
-            if (node.get() == null) {
-               node.set(originalNode);
-               throw new IllegalStateException(format("api response for node(%s) was null", originalId));
-            } else {
-               throw new IllegalStateException(format(
-                     "node(%s) didn't achieve the status running; aborting after %d seconds with final status: %s",
-                     originalId, timeWaited / 1000, formatStatus(node.get())));
-            }
-         }
+         if (!nodeRunning.apply(node))
+            throw notRunning(originalNode, node, stopwatch.elapsed(TimeUnit.MILLISECONDS));
       } catch (IllegalStateException e) {
          if (node.get().getStatus() == Status.TERMINATED) {
             throw new IllegalStateException(format("node(%s) terminated", originalId));
@@ -80,4 +71,25 @@ public class PollNodeRunning implements Function<AtomicReference<NodeMetadata>,
       }
       return node;
    }
+
+   /**
+    * The exception {@link #apply} throws when the node running predicate returned false.
+    * 
+    * @param node
+    *           as last refreshed by the predicate; reset to {@code originalNode} if null
+    */
+   public static IllegalStateException notRunning(NodeMetadata originalNode, AtomicReference<NodeMetadata> node,
+         long millisWaited) {
+      String originalId = originalNode.getId();
+      boolean missing = node.get() == null;
+      if (missing)
+         node.set(originalNode);
+      if (node.get().getStatus() == Status.TERMINATED)
+         return new IllegalStateException(format("node(%s) terminated", originalId));
+      if (missing)
+         return new IllegalStateException(format("api response for node(%s) was null", originalId));
+      return new IllegalStateException(format(
+            "node(%s) didn't achieve the status running; aborting after %d seconds with final status: %s",
+            originalId, millisWaited / 1000, formatStatus(node.get())));
+   }
 }
@@ -137,6 +137,9 @@ public class BaseComputeService implements ComputeService {
    private final Optional<ImageExtension> imageExtension;
    private final Optional<SecurityGroupExtension> securityGroupExtension;
 
+   @Inject
+   private BootstrapScheduler bootstrapScheduler;
+
    @Inject
    protected BaseComputeService(ComputeServiceContext context, Map<String, Credentials> credentialStore,
             @Memoized Supplier<Set<? extends Image>> images,
@@ -571,8 +574,8 @@ public class BaseComputeService implements ComputeService {
             nodesMatchingFilterAndNotTerminatedExceptionIfNotFound(filter), runScript, options, badNodes);
       if (!Iterables.isEmpty(scriptRunners)) {
          for (RunScriptOnNode runner : scriptRunners) {
-            responses.put(runner.getNode(), userExecutor.submit(new RunScriptOnNodeAndAddToGoodMapOrPutExceptionIntoBadMap(
-                  runner, goodNodes, badNodes)));
+            responses.put(runner.getNode(), submitBootstrap(runner.getNode(),
+                  new RunScriptOnNodeAndAddToGoodMapOrPutExceptionIntoBadMap(runner, goodNodes, badNodes)));
          }
          try {
             exceptions = awaitCompletion(responses, userExecutor, null, logger, "runScriptOnNodesMatching(" + filter + ")");
@@ -720,11 +723,18 @@ public class BaseComputeService implements ComputeService {
       @Override
       public ListenableFuture<RunScriptOnNode> apply(NodeMetadata node) {
          node = updateNodeWithCredentialsIfPresent(node, options);
-         return userExecutor.submit(initScriptRunnerFactory.create(node, script, options, badNodes));
+         return submitBootstrap(node, initScriptRunnerFactory.create(node, script, options, badNodes));
       }
 
    }
 
+   /**
+    * runs bootstrap work for the node within the limits of the {@link BootstrapScheduler}.
+    */
+   private <T> ListenableFuture<T> submitBootstrap(NodeMetadata node, Callable<T> task) {
+      return bootstrapScheduler.submit(node.getLocation(), node.getGroup(), task);
+   }
+
    /**
     * {@inheritDoc}
     */
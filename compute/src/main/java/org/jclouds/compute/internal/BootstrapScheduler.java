@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.compute.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.jclouds.compute.config.ComputeServiceProperties.BOOTSTRAP_MAX_CONCURRENT;
+import static org.jclouds.compute.config.ComputeServiceProperties.BOOTSTRAP_MAX_PER_GROUP;
+import static org.jclouds.compute.config.ComputeServiceProperties.BOOTSTRAP_MAX_PER_LOCATION;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import jakarta.annotation.Resource;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import org.jclouds.Constants;
+import org.jclouds.compute.events.BootstrapProgress;
+import org.jclouds.compute.reference.ComputeServiceConstants;
+import org.jclouds.domain.Location;
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.logging.Logger;
+
+import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multiset;
+import com.google.common.eventbus.EventBus;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.inject.Inject;
+
+/**
+ * Runs node customizations and scripts fanned out by the compute service on the user executor,
+ * within the limits set by {@link org.jclouds.compute.config.ComputeServiceProperties#BOOTSTRAP_MAX_CONCURRENT},
+ * {@link org.jclouds.compute.config.ComputeServiceProperties#BOOTSTRAP_MAX_PER_LOCATION} and
+ * {@link org.jclouds.compute.config.ComputeServiceProperties#BOOTSTRAP_MAX_PER_GROUP}.
+ * <p/>
+ * Tasks over the limits wait here rather than in the user executor, so they hold no thread and
+ * status calls submitted directly to the user executor, such as node and init script polls, are
+ * never queued behind long-running scripts. Waiting tasks are started in turn across groups, so
+ * one large group does not hold back the others. {@link BootstrapProgress} events are posted to
+ * the {@link EventBus} as tasks are queued, started and finished.
+ * <p/>
+ * When none of the limits are set, the default, tasks go straight to the user executor and no
+ * events are posted.
+ */
+@Beta
+@Singleton
+public class BootstrapScheduler {
+
+   @Resource
+   @Named(ComputeServiceConstants.COMPUTE_LOGGER)
+   protected Logger logger = Logger.NULL;
+
+   @Inject(optional = true)
+   @Named(BOOTSTRAP_MAX_CONCURRENT)
+   private int maxConcurrent = 0;
+
+   @Inject(optional = true)
+   @Named(BOOTSTRAP_MAX_PER_LOCATION)
+   private int maxPerLocation = 0;
+
+   @Inject(optional = true)
+   @Named(BOOTSTRAP_MAX_PER_GROUP)
+   private int maxPerGroup = 0;
+
+   private final ListeningExecutorService userExecutor;
+   private final EventBus eventBus;
+
+   // guarded by queued
+   private final Map<String, Deque<Task<?>>> queued = Maps.newLinkedHashMap();
+   private final Map<String, Progress> progress = Maps.newHashMap();
+   private final Multiset<String> runningPerLocation = HashMultiset.create();
+   private final Multiset<String> runningPerGroup = HashMultiset.create();
+   private int running;
+
+   @Inject
+   public BootstrapScheduler(@Named(Constants.PROPERTY_USER_THREADS) ListeningExecutorService userExecutor,
+         EventBus eventBus) {
+      this.userExecutor = checkNotNull(userExecutor, "userExecutor");
+      this.eventBus = checkNotNull(eventBus, "eventBus");
+   }
+
+   @VisibleForTesting
+   BootstrapScheduler(ListeningExecutorService userExecutor, EventBus eventBus, int maxConcurrent,
+         int maxPerLocation, int maxPerGroup) {
+      this(userExecutor, eventBus);
+      checkArgument(maxConcurrent >= 0, "maxConcurrent must be non-negative");
+      checkArgument(maxPerLocation >= 0, "maxPerLocation must be non-negative");
+      checkArgument(maxPerGroup >= 0, "maxPerGroup must be non-negative");
+      this.maxConcurrent = maxConcurrent;
+      this.maxPerLocation = maxPerLocation;
+      this.maxPerGroup = maxPerGroup;
+   }
+
+   /**
+    * Runs the task on the user executor as soon as the limits for its location and group allow.
+    * Cancelling the returned future before the task starts removes it from the queue.
+    * 
+    * @param location
+    *           where the node is, or null if unknown
+    * @param group
+    *           group of the node, or null if it has none
+    */
+   public <T> ListenableFuture<T> submit(@Nullable Location location, @Nullable String group, Callable<T> task) {
+      checkNotNull(task, "task");
+      if (maxConcurrent == 0 && maxPerLocation == 0 && maxPerGroup == 0)
+         return userExecutor.submit(task);
+      Task<T> toQueue = new Task<T>(location == null ? "" : location.getId(), Strings.nullToEmpty(group), task);
+      BootstrapProgress event;
+      synchronized (queued) {
+         Deque<Task<?>> tasks = queued.get(toQueue.group);
+         if (tasks == null) {
+            tasks = new ArrayDeque<Task<?>>();
+            queued.put(toQueue.group, tasks);
+         }
+         tasks.add(toQueue);
+         event = progress(toQueue.group).queued().toEvent(toQueue.group);
+      }
+      eventBus.post(event);
+      dispatch();
+      return toQueue.future;
+   }
+
+   private void dispatch() {
+      List<Task<?>> ready = Lists.newArrayList();
+      List<BootstrapProgress> events = Lists.newArrayList();
+      synchronized (queued) {
+         boolean started = true;
+         while (started) {
+            started = false;
+            // one task per group on each pass, rotating started groups to the back
+            for (String group : ImmutableList.copyOf(queued.keySet())) {
+               if (maxConcurrent > 0 && running >= maxConcurrent)
+                  break;
+               Deque<Task<?>> tasks = queued.get(group);
+               Task<?> task = pollStartable(group, tasks, events);
+               if (tasks.isEmpty())
+                  queued.remove(group);
+               if (task == null)
+                  continue;
+               if (!tasks.isEmpty()) {
+                  queued.remove(group);
+                  queued.put(group, tasks);
+               }
+               running++;
+               runningPerLocation.add(task.location);
+               runningPerGroup.add(task.group);
+               events.add(progress(group).started().toEvent(group));
+               ready.add(task);
+               started = true;
+            }
+         }
+      }
+      for (BootstrapProgress event : events)
+         eventBus.post(event);
+      for (Task<?> task : ready)
+         task.start();
+   }
+
+   /**
+    * removes and returns the first task of the group which may start now, dropping tasks cancelled
+    * while queued.
+    */
+   private Task<?> pollStartable(String group, Deque<Task<?>> tasks, List<BootstrapProgress> events) {
+      if (maxPerGroup > 0 && runningPerGroup.count(group) >= maxPerGroup)
+         return null;
+      for (Iterator<Task<?>> it = tasks.iterator(); it.hasNext();) {
+         Task<?> task = it.next();
+         if (task.future.isCancelled()) {
+            it.remove();
+            events.add(progress(group).cancelled().toEvent(group));
+         } else if (maxPerLocation == 0 || runningPerLocation.count(task.location) < maxPerLocation) {
+            it.remove();
+            return task;
+         }
+      }
+      return null;
+   }
+
+   private void finished(Task<?> task, boolean failed) {
+      BootstrapProgress event;
+      synchronized (queued) {
+         running--;
+         runningPerLocation.remove(task.location);
+         runningPerGroup.remove(task.group);
+         event = progress(task.group).finished(failed).toEvent(task.group);
+      }
+      eventBus.post(event);
+      dispatch();
+   }
+
+   // guarded by queued; dropped once the group has nothing left to do
+   private Progress progress(String group) {
+      Progress current = progress.get(group);
+      if (current == null) {
+         current = new Progress();
+         progress.put(group, current);
+      }
+      return current;
+   }
+
+   private final class Progress {
+      private int queued;
+      private int running;
+      private int completed;
+      private int failed;
+
+      Progress queued() {
+         queued++;
+         return this;
+      }
+
+      Progress started() {
+         queued--;
+         running++;
+         return this;
+      }
+
+      Progress cancelled() {
+         queued--;
+         return this;
+      }
+
+      Progress finished(boolean failure) {
+         running--;
+         if (failure)
+            failed++;
+         else
+            completed++;
+         return this;
+      }
+
+      BootstrapProgress toEvent(String group) {
+         if (queued == 0 && running == 0)
+            progress.remove(group);
+         return new BootstrapProgress(group, queued, running, completed, failed);
+      }
+   }
+
+   private final class Task<T> {
+      private final String location;
+      private final String group;
+      private final Callable<T> delegate;
+      private final SettableFuture<T> future = SettableFuture.create();
+
+      private Task(String location, String group, Callable<T> delegate) {
+         this.location = location;
+         this.group = group;
+         this.delegate = delegate;
+      }
+
+      private void start() {
+         final ListenableFuture<T> submitted;
+         try {
+            submitted = userExecutor.submit(delegate);
+         } catch (RejectedExecutionException e) {
+            logger.warn(e, "<< user executor rejected task %s", delegate);
+            future.setException(e);
+            finished(this, true);
+            return;
+         }
+         future.setFuture(submitted);
+         submitted.addListener(new Runnable() {
+            @Override
+            public void run() {
+               finished(Task.this, !succeeded(submitted));
+            }
+         }, MoreExecutors.directExecutor());
+      }
+   }
+
+   private static boolean succeeded(ListenableFuture<?> future) {
+      try {
+         Futures.getDone(future);
+         return true;
+      } catch (ExecutionException e) {
+         return false;
+      } catch (CancellationException e) {
+         return false;
+      }
+   }
+}
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.compute.predicates.internal;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.jclouds.Constants.PROPERTY_SCHEDULER_THREADS;
+import static org.jclouds.compute.util.ComputeServiceUtils.formatStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.annotation.Resource;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import org.jclouds.compute.domain.NodeMetadata;
+import org.jclouds.compute.domain.NodeMetadata.Status;
+import org.jclouds.compute.reference.ComputeServiceConstants;
+import org.jclouds.compute.reference.ComputeServiceConstants.PollPeriod;
+import org.jclouds.compute.strategy.ListNodesStrategy;
+import org.jclouds.logging.Logger;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Waits for nodes to reach a status, refreshing all of the nodes waited on with a single
+ * {@link ListNodesStrategy#listNodesByIds} call per polling round, instead of one call per node.
+ * <p/>
+ * Rounds run on the scheduler, one at a time, for as long as a node is waited on. Their period starts at
+ * {@link PollPeriod#pollInitialPeriod} and grows by half at each round, up to {@link PollPeriod#pollMaxPeriod}.
+ */
+@Singleton
+public class NodeStatusPoller {
+
+   @Resource
+   @Named(ComputeServiceConstants.COMPUTE_LOGGER)
+   protected Logger logger = Logger.NULL;
+
+   private final ListNodesStrategy listNodesStrategy;
+   private final ScheduledExecutorService scheduler;
+   private final long initialPeriod;
+   private final long maxPeriod;
+
+   // guarded by this
+   private final List<Waiter> waiters = new ArrayList<Waiter>();
+   private boolean polling;
+   private long period;
+
+   @Inject
+   NodeStatusPoller(ListNodesStrategy listNodesStrategy,
+         @Named(PROPERTY_SCHEDULER_THREADS) ScheduledExecutorService scheduler, PollPeriod pollPeriod) {
+      this.listNodesStrategy = checkNotNull(listNodesStrategy, "listNodesStrategy");
+      this.scheduler = checkNotNull(scheduler, "scheduler");
+      this.initialPeriod = Math.max(1, pollPeriod.pollInitialPeriod);
+      this.maxPeriod = Math.max(initialPeriod, pollPeriod.pollMaxPeriod);
+   }
+
+   /**
+    * Polls the node until its status is {@code intended} or one of {@code invalids}, or until the timeout elapses.
+    * 
+    * @return a future of the node as last refreshed, whatever its status, or null if the last refresh did not find
+    *         it. A failed refresh is retried at the next round; the future fails if the timeout elapses while
+    *         refreshes are failing.
+    */
+   public ListenableFuture<NodeMetadata> await(NodeMetadata node, Status intended, Set<Status> invalids,
+         long timeout, TimeUnit unit) {
+      Waiter waiter = new Waiter(checkNotNull(node, "node"), checkNotNull(intended, "intended"), ImmutableSet
+            .copyOf(checkNotNull(invalids, "invalids")), System.nanoTime() + unit.toNanos(timeout));
+      if (waiter.isComplete(node)) {
+         waiter.future.set(node);
+         return waiter.future;
+      }
+      synchronized (this) {
+         waiters.add(waiter);
+         if (!polling) {
+            polling = true;
+            period = initialPeriod;
+            schedule(period);
+         }
+      }
+      return waiter.future;
+   }
+
+   /**
+    * {@link #await} in the shape of the predicates of {@link org.jclouds.compute.config.ComputeServiceTimeoutsModule}:
+    * the reference is set to the node as last refreshed, and the future holds true if its status is {@code intended}.
+    */
+   public Function<AtomicReference<NodeMetadata>, ListenableFuture<Boolean>> untilAsync(final Status intended,
+         final Set<Status> invalids, final long timeoutMillis) {
+      return new Function<AtomicReference<NodeMetadata>, ListenableFuture<Boolean>>() {
+         @Override
+         public ListenableFuture<Boolean> apply(final AtomicReference<NodeMetadata> input) {
+            NodeMetadata node = input.get();
+            if (node == null)
+               return Futures.immediateFuture(false);
+            return Futures.transform(await(node, intended, invalids, timeoutMillis, TimeUnit.MILLISECONDS),
+                  new Function<NodeMetadata, Boolean>() {
+                     @Override
+                     public Boolean apply(NodeMetadata node) {
+                        input.set(node);
+                        if (node != null && invalids.contains(node.getStatus()))
+                           logger.warn("node %s in location %s is in invalid status %s", node.getId(),
+                                 node.getLocation(), formatStatus(node));
+                        return node != null && node.getStatus() == intended;
+                     }
+                  }, MoreExecutors.directExecutor());
+         }
+
+         @Override
+         public String toString() {
+            return "untilAsync(" + intended + ")";
+         }
+      };
+   }
+
+   /**
+    * Blocking form of {@link #untilAsync}.
+    */
+   public Predicate<AtomicReference<NodeMetadata>> until(final Status intended, final Set<Status> invalids,
+         final long timeoutMillis) {
+      final Function<AtomicReference<NodeMetadata>, ListenableFuture<Boolean>> untilAsync = untilAsync(intended,
+            invalids, timeoutMillis);
+      return new Predicate<AtomicReference<NodeMetadata>>() {
+         @Override
+         public boolean apply(AtomicReference<NodeMetadata> input) {
+            ListenableFuture<Boolean> future = untilAsync.apply(input);
+            try {
+               return future.get();
+            } catch (InterruptedException e) {
+               future.cancel(true);
+               Thread.currentThread().interrupt();
+               return false;
+            } catch (ExecutionException e) {
+               throw Throwables.propagate(e.getCause());
+            }
+         }
+
+         @Override
+         public String toString() {
+            return "until(" + intended + ")";
+         }
+      };
+   }
+
+   private void schedule(long delay) {
+      scheduler.schedule(new Runnable() {
+         @Override
+         public void run() {
+            poll();
+         }
+      }, delay, TimeUnit.MILLISECONDS);
+   }
+
+   private void poll() {
+      List<Waiter> round;
+      synchronized (this) {
+         round = new ArrayList<Waiter>(waiters);
+      }
+      try {
+         refresh(round);
+      } finally {
+         synchronized (this) {
+            long nextDeadline = Long.MAX_VALUE;
+            for (Iterator<Waiter> it = waiters.iterator(); it.hasNext();) {
+               Waiter waiter = it.next();
+               if (waiter.future.isDone())
+                  it.remove();
+               else
+                  nextDeadline = Math.min(nextDeadline, waiter.deadline);
+            }
+            if (waiters.isEmpty()) {
+               polling = false;
+            } else {
+               period = Math.min(period * 3 / 2, maxPeriod);
+               long untilDeadline = TimeUnit.NANOSECONDS.toMillis(nextDeadline - System.nanoTime());
+               schedule(Math.max(0, Math.min(period, untilDeadline)));
+            }
+         }
+      }
+   }
+
+   private void refresh(List<Waiter> round) {
+      Set<String> ids = new LinkedHashSet<String>();
+      for (Waiter waiter : round) {
+         if (!waiter.future.isDone())
+            ids.add(waiter.id);
+      }
+      if (ids.isEmpty())
+         return;
+      Map<String, NodeMetadata> nodes = new HashMap<String, NodeMetadata>();
+      try {
+         logger.trace(">> refreshing status of %d nodes", ids.size());
+         for (NodeMetadata node : listNodesStrategy.listNodesByIds(ids)) {
+            nodes.put(node.getId(), node);
+         }
+      } catch (RuntimeException e) {
+         logger.warn(e, "error refreshing status of nodes %s", ids);
+         long now = System.nanoTime();
+         for (Waiter waiter : round) {
+            if (now - waiter.deadline >= 0)
+               waiter.future.setException(e);
+         }
+         return;
+      }
+      long now = System.nanoTime();
+      for (Waiter waiter : round) {
+         if (waiter.future.isDone())
+            continue;
+         NodeMetadata node = nodes.get(waiter.id);
+         if (node != null)
+            logger.trace("%s: looking for node state %s: currently: %s", waiter.id, waiter.intended,
+                  formatStatus(node));
+         if (waiter.isComplete(node) || now - waiter.deadline >= 0)
+            waiter.future.set(node);
+      }
+   }
+
+   private static final class Waiter {
+      private final String id;
+      private final Status intended;
+      private final Set<Status> invalids;
+      private final long deadline;
+      private final SettableFuture<NodeMetadata> future = SettableFuture.create();
+
+      Waiter(NodeMetadata node, Status intended, Set<Status> invalids, long deadline) {
+         this.id = checkNotNull(node.getId(), "id");
+         this.intended = intended;
+         this.invalids = invalids;
+         this.deadline = deadline;
+      }
+
+      boolean isComplete(NodeMetadata node) {
+         return node != null && (node.getStatus() == intended || invalids.contains(node.getStatus()));
+      }
+   }
+}
@@ -18,14 +18,18 @@ package org.jclouds.compute.strategy.impl;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Throwables.getRootCause;
 import static com.google.common.collect.Iterables.any;
 import static com.google.common.collect.Maps.newLinkedHashMap;
 import static com.google.common.collect.Sets.newLinkedHashSet;
+import static org.jclouds.compute.config.ComputeServiceProperties.TIMEOUT_NODE_RUNNING;
+import static org.jclouds.compute.functions.PollNodeRunning.notRunning;
 import static org.jclouds.compute.util.ComputeServiceUtils.formatStatus;
 
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import jakarta.annotation.Resource;
@@ -40,6 +44,7 @@ import org.jclouds.compute.domain.ComputeMetadata;
 import org.jclouds.compute.domain.NodeMetadata;
 import org.jclouds.compute.domain.Template;
 import org.jclouds.compute.functions.GroupNamingConvention;
+import org.jclouds.compute.internal.BootstrapScheduler;
 import org.jclouds.compute.reference.ComputeServiceConstants;
 import org.jclouds.compute.strategy.CreateNodeWithGroupEncodedIntoName;
 import org.jclouds.compute.strategy.CreateNodesInGroupThenAddToSet;
@@ -47,13 +52,17 @@ import org.jclouds.compute.strategy.CustomizeNodeAndAddToGoodMapOrPutExceptionIn
 import org.jclouds.compute.strategy.ListNodesStrategy;
 import org.jclouds.logging.Logger;
 
+import com.google.common.base.Function;
 import com.google.common.base.Predicate;
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 
 /**
  * creates futures that correlate to
@@ -98,6 +107,13 @@ public class CreateNodesWithGroupEncodedIntoNameThenAddToSet implements CreateNo
    protected final ListeningExecutorService userExecutor;
    protected final CustomizeNodeAndAddToGoodMapOrPutExceptionIntoBadMap.Factory customizeNodeAndAddToGoodMapOrPutExceptionIntoBadMapFactory;
 
+   @Inject
+   protected BootstrapScheduler bootstrapScheduler;
+
+   @Inject
+   @Named(TIMEOUT_NODE_RUNNING)
+   protected Function<AtomicReference<NodeMetadata>, ListenableFuture<Boolean>> nodeRunning;
+
    @Inject
    protected CreateNodesWithGroupEncodedIntoNameThenAddToSet(
             CreateNodeWithGroupEncodedIntoName addNodeWithGroupStrategy,
@@ -121,13 +137,79 @@ public class CreateNodesWithGroupEncodedIntoNameThenAddToSet implements CreateNo
             Map<NodeMetadata, Exception> badNodes, Multimap<NodeMetadata, CustomizationResponse> customizationResponses) {
       Map<String, ListenableFuture<Void>> responses = newLinkedHashMap();
       for (String name : getNextNames(group, template, count)) {
-         responses.put(name, Futures.transform(createNodeInGroupWithNameAndTemplate(group, name, template),
+         responses.put(name, customizeNodeOnceCreated(group, template,
+                  createNodeInGroupWithNameAndTemplate(group, name, template),
                   customizeNodeAndAddToGoodMapOrPutExceptionIntoBadMapFactory.create(template.getOptions(), goodNodes,
-                           badNodes, customizationResponses), userExecutor));
+                           badNodes, customizationResponses), badNodes));
       }
       return responses;
    }
 
+   /**
+    * Applies the customization once the node is created. When {@link BootstrapScheduler} limits are
+    * set, customizations wait for a free slot in the template location and the group rather than
+    * running all at once on the user executor.
+    * <p/>
+    * When the options block until the node is running, no thread is held while waiting: the
+    * customization is only submitted once the node is running, and nodes that do not get there are
+    * put into {@code badNodes} directly.
+    */
+   protected ListenableFuture<Void> customizeNodeOnceCreated(final String group, final Template template,
+            ListenableFuture<AtomicReference<NodeMetadata>> node,
+            final Function<AtomicReference<NodeMetadata>, Void> customization,
+            final Map<NodeMetadata, Exception> badNodes) {
+      return Futures.transformAsync(node, new AsyncFunction<AtomicReference<NodeMetadata>, Void>() {
+         @Override
+         public ListenableFuture<Void> apply(final AtomicReference<NodeMetadata> input) {
+            if (!template.getOptions().shouldBlockUntilRunning())
+               return customize(group, template, input, customization);
+            final NodeMetadata originalNode = input.get();
+            final Stopwatch stopwatch = Stopwatch.createStarted();
+            // null once the failure is put into badNodes
+            ListenableFuture<Boolean> running = Futures.catching(nodeRunning.apply(input), Exception.class,
+                     new Function<Exception, Boolean>() {
+                        @Override
+                        public Boolean apply(Exception e) {
+                           putIntoBadMap(originalNode, e, badNodes);
+                           return null;
+                        }
+                     }, MoreExecutors.directExecutor());
+            return Futures.transformAsync(running, new AsyncFunction<Boolean, Void>() {
+               @Override
+               public ListenableFuture<Void> apply(Boolean isRunning) {
+                  if (isRunning == null)
+                     return Futures.immediateFuture(null);
+                  if (isRunning)
+                     return customize(group, template, input, customization);
+                  Exception e = notRunning(originalNode, input, stopwatch.elapsed(TimeUnit.MILLISECONDS));
+                  putIntoBadMap(input.get(), e, badNodes);
+                  return Futures.immediateFuture(null);
+               }
+            }, MoreExecutors.directExecutor());
+         }
+      }, MoreExecutors.directExecutor());
+   }
+
+   private ListenableFuture<Void> customize(String group, Template template, final AtomicReference<NodeMetadata> node,
+            final Function<AtomicReference<NodeMetadata>, Void> customization) {
+      return bootstrapScheduler.submit(template.getLocation(), group, new Callable<Void>() {
+         @Override
+         public Void call() {
+            return customization.apply(node);
+         }
+
+         @Override
+         public String toString() {
+            return customization.toString();
+         }
+      });
+   }
+
+   private void putIntoBadMap(NodeMetadata node, Exception e, Map<NodeMetadata, Exception> badNodes) {
+      logger.error(e, "<< problem customizing node(%s): ", node.getId(), getRootCause(e).getMessage());
+      badNodes.put(node, e);
+   }
+
    /**
     * This calls logic necessary to create a node and convert it from its provider-specific object
     * to the jclouds {@link NodeMetadata} object. This call directly precedes customization, such as
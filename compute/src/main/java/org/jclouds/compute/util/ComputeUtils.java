@@ -23,39 +23,43 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 import jakarta.inject.Inject;
-import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
-import org.jclouds.Constants;
 import org.jclouds.compute.config.CustomizationResponse;
 import org.jclouds.compute.domain.NodeMetadata;
+import org.jclouds.compute.internal.BootstrapScheduler;
 import org.jclouds.compute.options.TemplateOptions;
 import org.jclouds.compute.strategy.CustomizeNodeAndAddToGoodMapOrPutExceptionIntoBadMap;
 
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
 
 @Singleton
 public class ComputeUtils {
    private final CustomizeNodeAndAddToGoodMapOrPutExceptionIntoBadMap.Factory customizeNodeAndAddToGoodMapOrPutExceptionIntoBadMapFactory;
-   private final ListeningExecutorService userExecutor;
+   private final BootstrapScheduler bootstrapScheduler;
 
    @Inject
    public ComputeUtils(
             CustomizeNodeAndAddToGoodMapOrPutExceptionIntoBadMap.Factory customizeNodeAndAddToGoodMapOrPutExceptionIntoBadMapFactory,
-            @Named(Constants.PROPERTY_USER_THREADS) ListeningExecutorService userExecutor) {
+            BootstrapScheduler bootstrapScheduler) {
       this.customizeNodeAndAddToGoodMapOrPutExceptionIntoBadMapFactory = customizeNodeAndAddToGoodMapOrPutExceptionIntoBadMapFactory;
-      this.userExecutor = userExecutor;
+      this.bootstrapScheduler = bootstrapScheduler;
    }
 
+   /**
+    * Customizes the nodes through the {@link BootstrapScheduler}, so that its limits per location and
+    * group apply as they do to nodes created by
+    * {@link org.jclouds.compute.strategy.impl.CreateNodesWithGroupEncodedIntoNameThenAddToSet}.
+    */
    public Map<?, ListenableFuture<Void>> customizeNodesAndAddToGoodMapOrPutExceptionIntoBadMap(TemplateOptions options,
             Iterable<NodeMetadata> runningNodes, Set<NodeMetadata> goodNodes, Map<NodeMetadata, Exception> badNodes,
             Multimap<NodeMetadata, CustomizationResponse> customizationResponses) {
       Map<NodeMetadata, ListenableFuture<Void>> responses = newLinkedHashMap();
       for (NodeMetadata node : runningNodes) {
-         responses.put(node, userExecutor.submit(customizeNodeAndAddToGoodMapOrPutExceptionIntoBadMapFactory.create(
-                  options, new AtomicReference<NodeMetadata>(node), goodNodes, badNodes, customizationResponses)));
+         responses.put(node, bootstrapScheduler.submit(node.getLocation(), node.getGroup(),
+                  customizeNodeAndAddToGoodMapOrPutExceptionIntoBadMapFactory.create(options,
+                           new AtomicReference<NodeMetadata>(node), goodNodes, badNodes, customizationResponses)));
       }
       return responses;
    }
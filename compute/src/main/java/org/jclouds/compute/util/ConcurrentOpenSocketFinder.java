@@ -20,15 +20,20 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Predicates.or;
 import static com.google.common.base.Throwables.propagate;
 import static com.google.common.util.concurrent.Atomics.newReference;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
 import static java.lang.String.format;
+import static org.jclouds.Constants.PROPERTY_SCHEDULER_THREADS;
 import static org.jclouds.Constants.PROPERTY_USER_THREADS;
 import static org.jclouds.compute.config.ComputeServiceProperties.TIMEOUT_NODE_RUNNING;
 import static org.jclouds.compute.config.ComputeServiceProperties.SOCKET_FINDER_ALLOWED_INTERFACES;
 import static org.jclouds.util.Predicates2.retry;
+import static org.jclouds.util.Predicates2.retryAsyncFunction;
 
 import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -48,6 +53,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.net.HostAndPort;
+import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
@@ -62,6 +68,7 @@ public class ConcurrentOpenSocketFinder implements OpenSocketFinder {
    private final SocketOpen socketTester;
    private final Predicate<AtomicReference<NodeMetadata>> nodeRunning;
    private final ListeningExecutorService userExecutor;
+   private final ScheduledExecutorService scheduler;
 
    @Inject(optional = true)
    @Named(SOCKET_FINDER_ALLOWED_INTERFACES)
@@ -71,21 +78,17 @@ public class ConcurrentOpenSocketFinder implements OpenSocketFinder {
    @VisibleForTesting
    ConcurrentOpenSocketFinder(SocketOpen socketTester,
          @Named(TIMEOUT_NODE_RUNNING) Predicate<AtomicReference<NodeMetadata>> nodeRunning,
-         @Named(PROPERTY_USER_THREADS) ListeningExecutorService userExecutor) {
+         @Named(PROPERTY_USER_THREADS) ListeningExecutorService userExecutor,
+         @Named(PROPERTY_SCHEDULER_THREADS) ScheduledExecutorService scheduler) {
       this.socketTester = checkNotNull(socketTester, "socketTester");
       this.nodeRunning = checkNotNull(nodeRunning, "nodeRunning");
       this.userExecutor = listeningDecorator(checkNotNull(userExecutor, "userExecutor"));
+      this.scheduler = checkNotNull(scheduler, "scheduler");
    }
 
    @Override
    public HostAndPort findOpenSocketOnNode(NodeMetadata node, final int port, long timeout, TimeUnit timeUnits) {
-      ImmutableSet<HostAndPort> sockets = checkNodeHasIps(node, allowedInterfaces).transform(new Function<String, HostAndPort>() {
-
-         @Override
-         public HostAndPort apply(String from) {
-            return HostAndPort.fromParts(from, port);
-         }
-      }).toSet();
+      ImmutableSet<HostAndPort> sockets = sockets(node, port);
 
       // Specify a retry period of 1s, expressed in the same time units.
       long period = timeUnits.convert(1, TimeUnit.SECONDS);
@@ -109,6 +112,63 @@ public class ConcurrentOpenSocketFinder implements OpenSocketFinder {
 
    }
 
+   /**
+    * Non-blocking form of {@link #findOpenSocketOnNode}: the sockets are checked on the user executor, at the same
+    * intervals, but no thread waits between checks or on the checks of other threads. The future fails with
+    * {@link NoSuchElementException} if no socket opened within the timeout.
+    */
+   public ListenableFuture<HostAndPort> findOpenSocketOnNodeAsync(NodeMetadata node, int port, final long timeout,
+         final TimeUnit timeUnits) {
+      final ImmutableSet<HostAndPort> sockets = sockets(node, port);
+      final String message = format("could not connect to any ip address port %d on node %s", port, node);
+      long period = timeUnits.convert(1, TimeUnit.SECONDS);
+
+      final AtomicReference<HostAndPort> result = newReference();
+      final Predicate<Iterable<HostAndPort>> noLongerRunning = throwISEIfNoLongerRunning(node);
+      AsyncFunction<Iterable<HostAndPort>, Boolean> findOrBreak = new AsyncFunction<Iterable<HostAndPort>, Boolean>() {
+         @Override
+         public ListenableFuture<Boolean> apply(final Iterable<HostAndPort> input) {
+            // the last check to complete decides, so that no thread blocks on the others
+            return Futures.whenAllComplete(checkSockets(input, result)).call(new Callable<Boolean>() {
+               @Override
+               public Boolean call() {
+                  return result.get() != null || noLongerRunning.apply(input);
+               }
+            }, userExecutor);
+         }
+
+         @Override
+         public String toString() {
+            return "setAndReturnTrueIfSocketFound() or " + noLongerRunning;
+         }
+      };
+
+      logger.debug(">> waiting on sockets %s for %d %s", sockets, timeout, timeUnits);
+      ListenableFuture<Boolean> passed = retryAsyncFunction(findOrBreak, timeout, period, period * 10L, timeUnits,
+            scheduler).apply(sockets);
+      return Futures.transform(passed, new Function<Boolean, HostAndPort>() {
+         @Override
+         public HostAndPort apply(Boolean passed) {
+            if (!passed) {
+               logger.warn("<< sockets %s didn't open after %d %s", sockets, timeout, timeUnits);
+               throw new NoSuchElementException(message);
+            }
+            logger.debug("<< socket %s opened", result);
+            return result.get();
+         }
+      }, directExecutor());
+   }
+
+   private ImmutableSet<HostAndPort> sockets(NodeMetadata node, final int port) {
+      return checkNodeHasIps(node, allowedInterfaces).transform(new Function<String, HostAndPort>() {
+
+         @Override
+         public HostAndPort apply(String from) {
+            return HostAndPort.fromParts(from, port);
+         }
+      }).toSet();
+   }
+
    @VisibleForTesting
    protected <T> Predicate<T> retryPredicate(Predicate<T> findOrBreak, long timeout, long period, TimeUnit timeUnits) {
       return retry(findOrBreak, timeout, period, timeUnits);
@@ -124,26 +184,7 @@ public class ConcurrentOpenSocketFinder implements OpenSocketFinder {
 
          @Override
          public boolean apply(Iterable<HostAndPort> input) {
-
-            Builder<ListenableFuture<?>> futures = ImmutableList.builder();
-            for (final HostAndPort socket : input) {
-               futures.add(userExecutor.submit(new Runnable() {
-
-                  @Override
-                  public void run() {
-                     try {
-                        if (socketTester.apply(socket)) {
-                           // only set if the this socket was found first
-                           reachableSocket.compareAndSet(null, socket);
-                        }
-                     } catch (RuntimeException e) {
-                        logger.warn(e, "Error checking reachability of ip:port %s", socket);
-                     }
-                  }
-
-               }));
-            }
-            blockOn(futures.build());
+            blockOn(checkSockets(input, reachableSocket));
             return reachableSocket.get() != null;
          }
 
@@ -154,6 +195,32 @@ public class ConcurrentOpenSocketFinder implements OpenSocketFinder {
       };
    }
 
+   /**
+    * Checks the sockets concurrently on the user executor, setting the reference to the first one found open.
+    */
+   private ImmutableList<ListenableFuture<?>> checkSockets(Iterable<HostAndPort> sockets,
+         final AtomicReference<HostAndPort> reachableSocket) {
+      Builder<ListenableFuture<?>> futures = ImmutableList.builder();
+      for (final HostAndPort socket : sockets) {
+         futures.add(userExecutor.submit(new Runnable() {
+
+            @Override
+            public void run() {
+               try {
+                  if (socketTester.apply(socket)) {
+                     // only set if the this socket was found first
+                     reachableSocket.compareAndSet(null, socket);
+                  }
+               } catch (RuntimeException e) {
+                  logger.warn(e, "Error checking reachability of ip:port %s", socket);
+               }
+            }
+
+         }));
+      }
+      return futures.build();
+   }
+
    /**
     * Add this via
     * {@code Predicates.or(condition, throwISEIfNoLongerRunning(node))} to
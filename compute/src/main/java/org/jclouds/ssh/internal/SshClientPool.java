@@ -0,0 +1,415 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.ssh.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.jclouds.Constants.PROPERTY_SCHEDULER_THREADS;
+import static org.jclouds.compute.config.ComputeServiceProperties.SSH_POOL_IDLE_TIMEOUT;
+import static org.jclouds.compute.config.ComputeServiceProperties.SSH_POOL_MAX_IDLE_PER_NODE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import org.jclouds.compute.domain.ExecChannel;
+import org.jclouds.compute.domain.ExecResponse;
+import org.jclouds.compute.reference.ComputeServiceConstants;
+import org.jclouds.domain.LoginCredentials;
+import org.jclouds.io.Payload;
+import org.jclouds.logging.Logger;
+import org.jclouds.ssh.SshClient;
+
+import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Objects;
+import com.google.common.base.Ticker;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.net.HostAndPort;
+import com.google.inject.Inject;
+
+/**
+ * Keeps authenticated ssh connections open between uses, so that running a script and then polling
+ * its status does not pay for a handshake and authentication on every call.
+ * <p/>
+ * Clients created through the pool lease a connected client of the underlying
+ * {@link SshClient.Factory} on {@link SshClient#connect() connect} (or on first use) and hand it
+ * back on {@link SshClient#disconnect() disconnect}. Driver clients are not thread safe, so a
+ * connection is only ever leased to one client at a time; exec and sftp channels of that client
+ * share the connection. Broken connections are dropped when returned, and connections left idle
+ * longer than {@link org.jclouds.compute.config.ComputeServiceProperties#SSH_POOL_IDLE_TIMEOUT}
+ * are closed.
+ * <p/>
+ * Pooling is off until {@link org.jclouds.compute.config.ComputeServiceProperties#SSH_POOL_IDLE_TIMEOUT}
+ * is set to a positive value; until then {@link #create} hands out plain clients of the factory.
+ */
+@Beta
+@Singleton
+public class SshClientPool {
+
+   @Resource
+   @Named(ComputeServiceConstants.COMPUTE_LOGGER)
+   protected Logger logger = Logger.NULL;
+
+   @Inject(optional = true)
+   @Named(SSH_POOL_IDLE_TIMEOUT)
+   private long idleTimeoutMillis = 0;
+
+   @Inject(optional = true)
+   @Named(SSH_POOL_MAX_IDLE_PER_NODE)
+   private int maxIdlePerNode = 2;
+
+   @Inject(optional = true)
+   @Named(PROPERTY_SCHEDULER_THREADS)
+   private ScheduledExecutorService scheduler;
+
+   private final Ticker ticker;
+   private final Map<Key, Deque<IdleClient>> idle = Maps.newHashMap();
+   private ScheduledFuture<?> evictor;
+   private boolean closed;
+
+   public SshClientPool() {
+      this(Ticker.systemTicker());
+   }
+
+   @VisibleForTesting
+   SshClientPool(long idleTimeoutMillis, int maxIdlePerNode, Ticker ticker) {
+      this(ticker);
+      checkArgument(idleTimeoutMillis >= 0, "idleTimeoutMillis must be non-negative");
+      checkArgument(maxIdlePerNode >= 0, "maxIdlePerNode must be non-negative");
+      this.idleTimeoutMillis = idleTimeoutMillis;
+      this.maxIdlePerNode = maxIdlePerNode;
+   }
+
+   private SshClientPool(Ticker ticker) {
+      this.ticker = checkNotNull(ticker, "ticker");
+   }
+
+   /**
+    * @return a client for the node which reuses pooled connections, or a plain client of the factory
+    *         if pooling is disabled
+    */
+   public SshClient create(SshClient.Factory factory, HostAndPort socket, LoginCredentials credentials) {
+      if (idleTimeoutMillis == 0 || maxIdlePerNode == 0) {
+         return factory.create(socket, credentials);
+      }
+      return new PooledSshClient(checkNotNull(factory, "factory"), new Key(socket, credentials));
+   }
+
+   /**
+    * Closes idle connections which have not been used within the idle timeout.
+    */
+   public void evictIdle() {
+      long now = ticker.read();
+      List<SshClient> expired = Lists.newArrayList();
+      synchronized (idle) {
+         for (Iterator<Deque<IdleClient>> nodes = idle.values().iterator(); nodes.hasNext();) {
+            Deque<IdleClient> clients = nodes.next();
+            for (Iterator<IdleClient> it = clients.iterator(); it.hasNext();) {
+               IdleClient client = it.next();
+               if (client.isExpired(now)) {
+                  it.remove();
+                  expired.add(client.client);
+               }
+            }
+            if (clients.isEmpty())
+               nodes.remove();
+         }
+      }
+      disconnectQuietly(expired);
+   }
+
+   @PreDestroy
+   public void close() {
+      List<SshClient> all = Lists.newArrayList();
+      synchronized (idle) {
+         closed = true;
+         if (evictor != null) {
+            evictor.cancel(false);
+            evictor = null;
+         }
+         for (Deque<IdleClient> clients : idle.values()) {
+            for (IdleClient client : clients)
+               all.add(client.client);
+         }
+         idle.clear();
+      }
+      disconnectQuietly(all);
+   }
+
+   @VisibleForTesting
+   int getIdleCount(HostAndPort socket, LoginCredentials credentials) {
+      synchronized (idle) {
+         Deque<IdleClient> clients = idle.get(new Key(socket, credentials));
+         return clients == null ? 0 : clients.size();
+      }
+   }
+
+   SshClient lease(SshClient.Factory factory, Key key) {
+      long now = ticker.read();
+      List<SshClient> stale = Lists.newArrayList();
+      SshClient leased = null;
+      synchronized (idle) {
+         Deque<IdleClient> clients = idle.get(key);
+         while (clients != null && !clients.isEmpty() && leased == null) {
+            // most recently used first; it is the least likely to have been dropped by the server
+            IdleClient client = clients.pollFirst();
+            if (client.isExpired(now) || !client.client.isConnected()) {
+               stale.add(client.client);
+            } else {
+               leased = client.client;
+            }
+         }
+         if (clients != null && clients.isEmpty())
+            idle.remove(key);
+      }
+      disconnectQuietly(stale);
+      if (leased != null) {
+         logger.trace("<< reusing ssh connection to %s", key);
+         return leased;
+      }
+      logger.trace(">> opening ssh connection to %s", key);
+      SshClient client = factory.create(key.socket, key.credentials);
+      client.connect();
+      return client;
+   }
+
+   void release(Key key, SshClient client) {
+      if (!client.isConnected()) {
+         disconnectQuietly(Lists.newArrayList(client));
+         return;
+      }
+      SshClient evicted = null;
+      synchronized (idle) {
+         if (closed) {
+            // connections handed back after the pool closed have nowhere to go
+            evicted = client;
+         } else {
+            Deque<IdleClient> clients = idle.get(key);
+            if (clients == null) {
+               clients = new ArrayDeque<IdleClient>();
+               idle.put(key, clients);
+            }
+            clients.addFirst(new IdleClient(client, ticker.read() + TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis)));
+            if (clients.size() > maxIdlePerNode)
+               evicted = clients.pollLast().client;
+            scheduleEvictor();
+         }
+      }
+      if (evicted != null)
+         disconnectQuietly(Lists.newArrayList(evicted));
+   }
+
+   private void scheduleEvictor() {
+      if (evictor != null || scheduler == null)
+         return;
+      long period = Math.max(1000, idleTimeoutMillis / 2);
+      evictor = scheduler.scheduleWithFixedDelay(new Runnable() {
+         @Override
+         public void run() {
+            evictIdle();
+         }
+      }, period, period, TimeUnit.MILLISECONDS);
+   }
+
+   private void disconnectQuietly(List<SshClient> clients) {
+      for (SshClient client : clients) {
+         try {
+            client.disconnect();
+         } catch (RuntimeException e) {
+            logger.debug("<< error closing ssh connection %s: %s", client, e.getMessage());
+         }
+      }
+   }
+
+   static final class Key {
+      private final HostAndPort socket;
+      private final LoginCredentials credentials;
+
+      Key(HostAndPort socket, LoginCredentials credentials) {
+         this.socket = checkNotNull(socket, "socket");
+         this.credentials = checkNotNull(credentials, "credentials");
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o)
+            return true;
+         if (!(o instanceof Key))
+            return false;
+         Key that = (Key) o;
+         return socket.equals(that.socket) && credentials.equals(that.credentials);
+      }
+
+      @Override
+      public int hashCode() {
+         return Objects.hashCode(socket, credentials);
+      }
+
+      @Override
+      public String toString() {
+         return credentials.getUser() + "@" + socket;
+      }
+   }
+
+   private static final class IdleClient {
+      private final SshClient client;
+      private final long expiresAt;
+
+      IdleClient(SshClient client, long expiresAt) {
+         this.client = client;
+         this.expiresAt = expiresAt;
+      }
+
+      boolean isExpired(long now) {
+         return now - expiresAt >= 0;
+      }
+   }
+
+   /**
+    * An {@link SshClient} which borrows its connection from the pool between {@link #connect()} and
+    * {@link #disconnect()}.
+    */
+   private final class PooledSshClient implements SshClient {
+      private final SshClient.Factory factory;
+      private final Key key;
+      private final List<ExecChannel> channels = Lists.newArrayList();
+      private SshClient leased;
+
+      PooledSshClient(SshClient.Factory factory, Key key) {
+         this.factory = factory;
+         this.key = key;
+      }
+
+      private synchronized SshClient leased() {
+         if (leased == null)
+            leased = lease(factory, key);
+         return leased;
+      }
+
+      @Override
+      public String getUsername() {
+         return key.credentials.getUser();
+      }
+
+      @Override
+      public String getHostAddress() {
+         return key.socket.getHost();
+      }
+
+      @Override
+      public void put(String path, Payload contents) {
+         leased().put(path, contents);
+      }
+
+      @Override
+      public Payload get(String path) {
+         return leased().get(path);
+      }
+
+      @Override
+      public ExecResponse exec(String command) {
+         return leased().exec(command);
+      }
+
+      @Override
+      public ExecChannel execChannel(String command) {
+         final ExecChannel channel = leased().execChannel(command);
+         ExecChannel tracked = new ExecChannel(channel.getInput(), channel.getOutput(), channel.getError(),
+               channel.getExitStatus(), new Closeable() {
+                  @Override
+                  public void close() throws IOException {
+                     synchronized (PooledSshClient.this) {
+                        if (!channels.remove(channel))
+                           return;
+                     }
+                     channel.close();
+                  }
+               });
+         synchronized (this) {
+            channels.add(channel);
+         }
+         return tracked;
+      }
+
+      @Override
+      public synchronized void connect() {
+         if (leased != null && !leased.isConnected()) {
+            disconnectQuietly(Lists.newArrayList(leased));
+            leased = null;
+         }
+         leased();
+      }
+
+      /**
+       * Closes exec channels left open, so the next lease of the connection does not share it with
+       * a running command, then returns the connection to the pool.
+       */
+      @Override
+      public synchronized void disconnect() {
+         boolean clean = true;
+         for (ExecChannel channel : channels) {
+            try {
+               channel.close();
+            } catch (IOException e) {
+               logger.debug("<< error closing exec channel on %s: %s", key, e.getMessage());
+               clean = false;
+            } catch (RuntimeException e) {
+               logger.debug("<< error closing exec channel on %s: %s", key, e.getMessage());
+               clean = false;
+            }
+         }
+         channels.clear();
+         if (leased != null) {
+            SshClient client = leased;
+            leased = null;
+            if (clean)
+               release(key, client);
+            else
+               disconnectQuietly(Lists.newArrayList(client));
+         }
+      }
+
+      @Override
+      public synchronized boolean isConnected() {
+         return leased != null && leased.isConnected();
+      }
+
+      @Override
+      public void put(String path, String contents) {
+         leased().put(path, contents);
+      }
+
+      @Override
+      public String toString() {
+         return "pooled(" + key + ")";
+      }
+   }
+}
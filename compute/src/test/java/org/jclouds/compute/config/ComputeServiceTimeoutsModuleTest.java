@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.compute.config;
+
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jclouds.compute.domain.NodeMetadata;
+import org.jclouds.compute.domain.NodeMetadata.Status;
+import org.jclouds.compute.domain.NodeMetadataBuilder;
+import org.jclouds.compute.predicates.AtomicNodeRunning;
+import org.jclouds.compute.reference.ComputeServiceConstants.PollPeriod;
+import org.jclouds.compute.reference.ComputeServiceConstants.Timeouts;
+import org.jclouds.compute.strategy.GetNodeMetadataStrategy;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Predicate;
+import com.google.common.util.concurrent.Atomics;
+
+@Test(groups = "unit", testName = "ComputeServiceTimeoutsModuleTest")
+public class ComputeServiceTimeoutsModuleTest {
+
+   private final AtomicNodeRunning statusRunning = new AtomicNodeRunning(new GetNodeMetadataStrategy() {
+      @Override
+      public NodeMetadata getNode(String id) {
+         throw new UnsupportedOperationException();
+      }
+   });
+
+   private final Predicate<AtomicReference<NodeMetadata>> runningIfRunning = new Predicate<AtomicReference<NodeMetadata>>() {
+      @Override
+      public boolean apply(AtomicReference<NodeMetadata> input) {
+         return input.get().getStatus() == Status.RUNNING;
+      }
+   };
+
+   private final ComputeServiceTimeoutsModule legacyModule = new ComputeServiceTimeoutsModule() {
+      @SuppressWarnings("deprecation")
+      @Override
+      protected Predicate<AtomicReference<NodeMetadata>> nodeRunning(AtomicNodeRunning statusRunning,
+            Timeouts timeouts, PollPeriod period) {
+         return runningIfRunning;
+      }
+   };
+
+   public void testNodeRunningUsesLegacyOverride() {
+      assertSame(legacyModule.provideNodeRunning(statusRunning, null, new Timeouts(), new PollPeriod()),
+            runningIfRunning);
+   }
+
+   public void testNodeRunningAsyncAppliesOverriddenPredicate() throws Exception {
+      AtomicReference<NodeMetadata> running = Atomics.newReference(new NodeMetadataBuilder().ids("a")
+            .status(Status.RUNNING).build());
+      AtomicReference<NodeMetadata> pending = Atomics.newReference(new NodeMetadataBuilder().ids("b")
+            .status(Status.PENDING).build());
+      assertTrue(legacyModule.provideNodeRunningAsync(null, new Timeouts(), runningIfRunning,
+            newDirectExecutorService()).apply(running).get());
+      assertFalse(legacyModule.provideNodeRunningAsync(null, new Timeouts(), runningIfRunning,
+            newDirectExecutorService()).apply(pending).get());
+   }
+}
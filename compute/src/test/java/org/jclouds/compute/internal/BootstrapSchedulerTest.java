@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.compute.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.compute.events.BootstrapProgress;
+import org.jclouds.domain.Location;
+import org.jclouds.domain.LocationBuilder;
+import org.jclouds.domain.LocationScope;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+@Test(groups = "unit", testName = "BootstrapSchedulerTest")
+public class BootstrapSchedulerTest {
+
+   private static final Location ZONE_A = zone("zone-a");
+   private static final Location ZONE_B = zone("zone-b");
+
+   public void testSubmitsDirectlyWithoutLimits() {
+      ManualExecutor executor = new ManualExecutor();
+      EventBus eventBus = new EventBus();
+      ProgressRecorder recorder = new ProgressRecorder();
+      eventBus.register(recorder);
+      List<String> ran = Lists.newArrayList();
+      BootstrapScheduler scheduler = new BootstrapScheduler(MoreExecutors.listeningDecorator(executor), eventBus,
+            0, 0, 0);
+
+      scheduler.submit(ZONE_A, "web", record(ran, "web-1"));
+      scheduler.submit(ZONE_A, "web", record(ran, "web-2"));
+      scheduler.submit(ZONE_B, "db", record(ran, "db-1"));
+      assertEquals(executor.pending.size(), 3);
+
+      executor.runAll();
+      assertEquals(ran, ImmutableList.of("web-1", "web-2", "db-1"));
+      assertTrue(recorder.events.isEmpty());
+   }
+
+   public void testStartsGroupsInTurnWithinGroupLimit() {
+      ManualExecutor executor = new ManualExecutor();
+      List<String> ran = Lists.newArrayList();
+      BootstrapScheduler scheduler = new BootstrapScheduler(MoreExecutors.listeningDecorator(executor),
+            new EventBus(), 0, 0, 1);
+
+      scheduler.submit(ZONE_A, "web", record(ran, "web-1"));
+      scheduler.submit(ZONE_A, "web", record(ran, "web-2"));
+      scheduler.submit(ZONE_A, "web", record(ran, "web-3"));
+      scheduler.submit(ZONE_A, "db", record(ran, "db-1"));
+      assertEquals(executor.pending.size(), 2);
+
+      executor.runAll();
+      assertEquals(ran, ImmutableList.of("web-1", "db-1", "web-2", "web-3"));
+   }
+
+   public void testLimitsPerLocation() {
+      ManualExecutor executor = new ManualExecutor();
+      List<String> ran = Lists.newArrayList();
+      BootstrapScheduler scheduler = new BootstrapScheduler(MoreExecutors.listeningDecorator(executor),
+            new EventBus(), 0, 1, 0);
+
+      scheduler.submit(ZONE_A, "web", record(ran, "a-1"));
+      scheduler.submit(ZONE_A, "web", record(ran, "a-2"));
+      scheduler.submit(ZONE_B, "web", record(ran, "b-1"));
+      assertEquals(executor.pending.size(), 2);
+
+      executor.runNext();
+      assertEquals(executor.pending.size(), 2);
+      executor.runAll();
+      assertEquals(ran, ImmutableList.of("a-1", "b-1", "a-2"));
+   }
+
+   public void testLimitsAcrossProvider() {
+      ManualExecutor executor = new ManualExecutor();
+      List<String> ran = Lists.newArrayList();
+      BootstrapScheduler scheduler = new BootstrapScheduler(MoreExecutors.listeningDecorator(executor),
+            new EventBus(), 1, 0, 0);
+
+      scheduler.submit(ZONE_A, "web", record(ran, "a-1"));
+      scheduler.submit(ZONE_B, "db", record(ran, "b-1"));
+      scheduler.submit(null, null, record(ran, "none"));
+      assertEquals(executor.pending.size(), 1);
+
+      executor.runAll();
+      assertEquals(ran, ImmutableList.of("a-1", "b-1", "none"));
+   }
+
+   public void testCancelledWhileQueuedDoesNotRun() {
+      ManualExecutor executor = new ManualExecutor();
+      List<String> ran = Lists.newArrayList();
+      BootstrapScheduler scheduler = new BootstrapScheduler(MoreExecutors.listeningDecorator(executor),
+            new EventBus(), 1, 0, 0);
+
+      scheduler.submit(ZONE_A, "web", record(ran, "web-1"));
+      ListenableFuture<String> second = scheduler.submit(ZONE_A, "web", record(ran, "web-2"));
+      ListenableFuture<String> third = scheduler.submit(ZONE_A, "web", record(ran, "web-3"));
+      assertTrue(second.cancel(false));
+
+      executor.runAll();
+      assertEquals(ran, ImmutableList.of("web-1", "web-3"));
+      assertTrue(third.isDone());
+   }
+
+   public void testPostsProgress() throws Exception {
+      ManualExecutor executor = new ManualExecutor();
+      EventBus eventBus = new EventBus();
+      ProgressRecorder recorder = new ProgressRecorder();
+      eventBus.register(recorder);
+      BootstrapScheduler scheduler = new BootstrapScheduler(MoreExecutors.listeningDecorator(executor), eventBus,
+            0, 0, 1);
+
+      ListenableFuture<String> ok = scheduler.submit(ZONE_A, "web", record(Lists.<String> newArrayList(), "ok"));
+      ListenableFuture<String> broken = scheduler.submit(ZONE_A, "web", new Callable<String>() {
+         @Override
+         public String call() {
+            throw new IllegalStateException("boom");
+         }
+      });
+      executor.runAll();
+
+      assertEquals(ok.get(), "ok");
+      assertTrue(broken.isDone());
+      assertEquals(recorder.events, ImmutableList.of(
+            new BootstrapProgress("web", 1, 0, 0, 0),
+            new BootstrapProgress("web", 0, 1, 0, 0),
+            new BootstrapProgress("web", 1, 1, 0, 0),
+            new BootstrapProgress("web", 1, 0, 1, 0),
+            new BootstrapProgress("web", 0, 1, 1, 0),
+            new BootstrapProgress("web", 0, 0, 1, 1)));
+      assertTrue(recorder.events.get(5).isDone());
+      assertFalse(recorder.events.get(4).isDone());
+
+      // counts start over once the group has nothing left to do
+      scheduler.submit(ZONE_A, "web", record(Lists.<String> newArrayList(), "again"));
+      assertEquals(recorder.events.get(6), new BootstrapProgress("web", 1, 0, 0, 0));
+   }
+
+   private static Location zone(String id) {
+      return new LocationBuilder().scope(LocationScope.ZONE).id(id).description(id).build();
+   }
+
+   private static Callable<String> record(final List<String> ran, final String name) {
+      return new Callable<String>() {
+         @Override
+         public String call() {
+            ran.add(name);
+            return name;
+         }
+      };
+   }
+
+   static class ProgressRecorder {
+      final List<BootstrapProgress> events = Lists.newArrayList();
+
+      @Subscribe
+      public void progress(BootstrapProgress event) {
+         events.add(event);
+      }
+   }
+
+   /**
+    * runs submitted tasks on the calling thread, one at a time, when asked.
+    */
+   static class ManualExecutor extends AbstractExecutorService {
+      final List<Runnable> pending = Lists.newArrayList();
+
+      void runNext() {
+         pending.remove(0).run();
+      }
+
+      void runAll() {
+         while (!pending.isEmpty())
+            runNext();
+      }
+
+      @Override
+      public void execute(Runnable command) {
+         pending.add(command);
+      }
+
+      @Override
+      public void shutdown() {
+      }
+
+      @Override
+      public List<Runnable> shutdownNow() {
+         return ImmutableList.of();
+      }
+
+      @Override
+      public boolean isShutdown() {
+         return false;
+      }
+
+      @Override
+      public boolean isTerminated() {
+         return false;
+      }
+
+      @Override
+      public boolean awaitTermination(long timeout, TimeUnit unit) {
+         return true;
+      }
+   }
+}
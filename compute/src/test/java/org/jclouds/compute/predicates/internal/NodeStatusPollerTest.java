@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.compute.predicates.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jclouds.compute.domain.ComputeMetadata;
+import org.jclouds.compute.domain.NodeMetadata;
+import org.jclouds.compute.domain.NodeMetadata.Status;
+import org.jclouds.compute.domain.NodeMetadataBuilder;
+import org.jclouds.compute.reference.ComputeServiceConstants.PollPeriod;
+import org.jclouds.compute.strategy.ListNodesStrategy;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Atomics;
+import com.google.common.util.concurrent.ListenableFuture;
+
+@Test(groups = "unit", testName = "NodeStatusPollerTest", singleThreaded = true)
+public class NodeStatusPollerTest {
+   private static final Set<Status> INVALIDS = ImmutableSet.of(Status.ERROR, Status.TERMINATED);
+
+   private ScheduledExecutorService scheduler;
+   private FakeListNodesStrategy nodes;
+   private NodeStatusPoller poller;
+
+   @BeforeMethod
+   protected void setUp() {
+      scheduler = Executors.newSingleThreadScheduledExecutor();
+      nodes = new FakeListNodesStrategy();
+      PollPeriod period = new PollPeriod();
+      period.pollInitialPeriod = 10;
+      period.pollMaxPeriod = 20;
+      poller = new NodeStatusPoller(nodes, scheduler, period);
+   }
+
+   @AfterMethod(alwaysRun = true)
+   protected void tearDown() {
+      scheduler.shutdownNow();
+   }
+
+   public void testNodesAreRefreshedTogether() throws Exception {
+      nodes.put(node("a", Status.PENDING));
+      nodes.put(node("b", Status.PENDING));
+      ListenableFuture<NodeMetadata> a = poller.await(node("a", Status.PENDING), Status.RUNNING, INVALIDS, 10,
+            TimeUnit.SECONDS);
+      ListenableFuture<NodeMetadata> b = poller.await(node("b", Status.PENDING), Status.RUNNING, INVALIDS, 10,
+            TimeUnit.SECONDS);
+      nodes.put(node("a", Status.RUNNING));
+      nodes.put(node("b", Status.RUNNING));
+
+      assertEquals(a.get(5, TimeUnit.SECONDS).getStatus(), Status.RUNNING);
+      assertEquals(b.get(5, TimeUnit.SECONDS).getStatus(), Status.RUNNING);
+      assertEquals(nodes.requests.get(0), ImmutableSet.of("a", "b"));
+   }
+
+   public void testNodeInIntendedStatusIsNotRefreshed() throws Exception {
+      NodeMetadata running = node("a", Status.RUNNING);
+      assertEquals(poller.await(running, Status.RUNNING, INVALIDS, 10, TimeUnit.SECONDS).get(), running);
+      assertTrue(nodes.requests.isEmpty());
+   }
+
+   public void testCompletesWhenNodeIsInInvalidStatus() throws Exception {
+      nodes.put(node("a", Status.TERMINATED));
+      NodeMetadata node = poller.await(node("a", Status.PENDING), Status.RUNNING, INVALIDS, 10, TimeUnit.SECONDS)
+            .get(5, TimeUnit.SECONDS);
+      assertEquals(node.getStatus(), Status.TERMINATED);
+   }
+
+   public void testCompletesWithLastRefreshedNodeOnTimeout() throws Exception {
+      nodes.put(node("a", Status.PENDING));
+      NodeMetadata node = poller.await(node("a", Status.PENDING), Status.RUNNING, INVALIDS, 100,
+            TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+      assertEquals(node.getStatus(), Status.PENDING);
+      assertTrue(nodes.requests.size() > 1);
+   }
+
+   public void testFailedRefreshIsRetried() throws Exception {
+      nodes.put(node("a", Status.RUNNING));
+      nodes.failures.set(2);
+      NodeMetadata node = poller.await(node("a", Status.PENDING), Status.RUNNING, INVALIDS, 10, TimeUnit.SECONDS)
+            .get(5, TimeUnit.SECONDS);
+      assertEquals(node.getStatus(), Status.RUNNING);
+      assertEquals(nodes.requests.size(), 3);
+   }
+
+   public void testFailsWhenRefreshStillFailsOnTimeout() throws Exception {
+      nodes.put(node("a", Status.RUNNING));
+      nodes.failures.set(Integer.MAX_VALUE);
+      ListenableFuture<NodeMetadata> future = poller.await(node("a", Status.PENDING), Status.RUNNING, INVALIDS, 100,
+            TimeUnit.MILLISECONDS);
+      try {
+         future.get(5, TimeUnit.SECONDS);
+         fail("expected the refresh failure");
+      } catch (ExecutionException e) {
+         assertTrue(e.getCause() instanceof IllegalStateException, e.getCause().toString());
+      }
+      assertTrue(nodes.requests.size() > 1);
+   }
+
+   public void testPredicateSetsReferenceToRefreshedNode() {
+      Predicate<AtomicReference<NodeMetadata>> nodeRunning = poller.until(Status.RUNNING, INVALIDS, 10000);
+
+      nodes.put(node("a", Status.RUNNING));
+      AtomicReference<NodeMetadata> running = Atomics.newReference(node("a", Status.PENDING));
+      assertTrue(nodeRunning.apply(running));
+      assertEquals(running.get().getStatus(), Status.RUNNING);
+
+      nodes.put(node("b", Status.ERROR));
+      AtomicReference<NodeMetadata> failed = Atomics.newReference(node("b", Status.PENDING));
+      assertFalse(nodeRunning.apply(failed));
+      assertEquals(failed.get().getStatus(), Status.ERROR);
+   }
+
+   private static NodeMetadata node(String id, Status status) {
+      return new NodeMetadataBuilder().ids(id).status(status).build();
+   }
+
+   private static class FakeListNodesStrategy implements ListNodesStrategy {
+      private final Map<String, NodeMetadata> nodes = new ConcurrentHashMap<String, NodeMetadata>();
+      private final List<Set<String>> requests = new CopyOnWriteArrayList<Set<String>>();
+      private final AtomicInteger failures = new AtomicInteger();
+
+      void put(NodeMetadata node) {
+         nodes.put(node.getId(), node);
+      }
+
+      @Override
+      public Iterable<? extends NodeMetadata> listNodesByIds(Iterable<String> ids) {
+         requests.add(ImmutableSet.copyOf(ids));
+         if (failures.getAndDecrement() > 0)
+            throw new IllegalStateException("list failed");
+         ImmutableSet.Builder<NodeMetadata> found = ImmutableSet.builder();
+         for (String id : ids) {
+            if (nodes.containsKey(id))
+               found.add(nodes.get(id));
+         }
+         return found.build();
+      }
+
+      @Override
+      public Iterable<? extends ComputeMetadata> listNodes() {
+         return nodes.values();
+      }
+
+      @Override
+      public Iterable<? extends NodeMetadata> listDetailsOnNodesMatching(Predicate<? super NodeMetadata> filter) {
+         return FluentIterable.from(nodes.values()).filter(filter);
+      }
+   }
+}
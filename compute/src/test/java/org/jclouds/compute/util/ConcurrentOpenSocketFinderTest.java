@@ -22,6 +22,8 @@ import static com.google.common.base.Throwables.propagate;
 import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
 import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
 import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.jclouds.compute.domain.NodeMetadata.Status.RUNNING;
 import static org.testng.Assert.assertEquals;
@@ -32,6 +34,8 @@ import static org.testng.Assert.fail;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -84,23 +88,27 @@ public class ConcurrentOpenSocketFinderTest {
    private final Predicate<AtomicReference<NodeMetadata>> nodeNotRunning = alwaysFalse();
 
    private ListeningExecutorService userExecutor;
+   private ScheduledExecutorService scheduler;
 
    @BeforeClass
    public void setUp() {
       userExecutor = listeningDecorator(newCachedThreadPool());
+      scheduler = newSingleThreadScheduledExecutor();
    }
 
    @AfterClass(alwaysRun = true)
    public void tearDown() {
       if (userExecutor != null)
          userExecutor.shutdownNow();
+      if (scheduler != null)
+         scheduler.shutdownNow();
    }
 
    @Test
    public void testRespectsTimeout() throws Exception {
       final long timeoutMs = 1000;
 
-      OpenSocketFinder finder = new ConcurrentOpenSocketFinder(socketAlwaysClosed, nodeRunning, userExecutor);
+      OpenSocketFinder finder = new ConcurrentOpenSocketFinder(socketAlwaysClosed, nodeRunning, userExecutor, scheduler);
 
       Stopwatch stopwatch = Stopwatch.createUnstarted();
       stopwatch.start();
@@ -125,7 +133,7 @@ public class ConcurrentOpenSocketFinderTest {
          }
       };
 
-      OpenSocketFinder finder = new ConcurrentOpenSocketFinder(secondSocketOpen, nodeRunning, userExecutor);
+      OpenSocketFinder finder = new ConcurrentOpenSocketFinder(secondSocketOpen, nodeRunning, userExecutor, scheduler);
 
       HostAndPort result = finder.findOpenSocketOnNode(node, 22, 2000, MILLISECONDS);
       assertEquals(result, HostAndPort.fromParts(PRIVATE_IP, 22));
@@ -138,16 +146,71 @@ public class ConcurrentOpenSocketFinderTest {
             HostAndPort.fromParts(PUBLIC_IP, 22), new SlowCallable<Boolean>(true, 1500),
             HostAndPort.fromParts(PRIVATE_IP, 22), new SlowCallable<Boolean>(true, 1000)));
 
-      OpenSocketFinder finder = new ConcurrentOpenSocketFinder(socketTester, nodeRunning, userExecutor);
+      OpenSocketFinder finder = new ConcurrentOpenSocketFinder(socketTester, nodeRunning, userExecutor, scheduler);
 
       HostAndPort result = finder.findOpenSocketOnNode(node, 22, 2000, MILLISECONDS);
       assertEquals(result, HostAndPort.fromParts(PRIVATE_IP, 22));
    }
 
+   @Test
+   public void testAsyncReturnsReachable() throws Exception {
+      SocketOpen secondSocketOpen = new SocketOpen() {
+         @Override
+         public boolean apply(HostAndPort input) {
+            return HostAndPort.fromParts(PRIVATE_IP, 22).equals(input);
+         }
+      };
+
+      ConcurrentOpenSocketFinder finder = new ConcurrentOpenSocketFinder(secondSocketOpen, nodeRunning, userExecutor,
+            scheduler);
+
+      HostAndPort result = finder.findOpenSocketOnNodeAsync(node, 22, 2000, MILLISECONDS).get();
+      assertEquals(result, HostAndPort.fromParts(PRIVATE_IP, 22));
+   }
+
+   @Test
+   public void testAsyncDoesNotBlockOnItsOwnExecutor() throws Exception {
+      SocketOpen secondSocketOpen = new SocketOpen() {
+         @Override
+         public boolean apply(HostAndPort input) {
+            return HostAndPort.fromParts(PRIVATE_IP, 22).equals(input);
+         }
+      };
+      ListeningExecutorService singleThread = listeningDecorator(newSingleThreadExecutor());
+      try {
+         ConcurrentOpenSocketFinder finder = new ConcurrentOpenSocketFinder(secondSocketOpen, nodeRunning,
+               singleThread, scheduler);
+
+         HostAndPort result = finder.findOpenSocketOnNodeAsync(node, 22, 2000, MILLISECONDS).get(5, TimeUnit.SECONDS);
+         assertEquals(result, HostAndPort.fromParts(PRIVATE_IP, 22));
+      } finally {
+         singleThread.shutdownNow();
+      }
+   }
+
+   @Test
+   public void testAsyncRespectsTimeout() throws Exception {
+      final long timeoutMs = 1000;
+
+      ConcurrentOpenSocketFinder finder = new ConcurrentOpenSocketFinder(socketAlwaysClosed, nodeRunning,
+            userExecutor, scheduler);
+
+      Stopwatch stopwatch = Stopwatch.createStarted();
+      try {
+         finder.findOpenSocketOnNodeAsync(node, 22, timeoutMs, MILLISECONDS).get();
+         fail();
+      } catch (ExecutionException e) {
+         assertTrue(e.getCause() instanceof NoSuchElementException, "cause=" + e.getCause());
+      }
+      long timetaken = stopwatch.elapsed(MILLISECONDS);
+
+      assertTrue(timetaken >= timeoutMs - EARLY_GRACE && timetaken <= timeoutMs + SLOW_GRACE, "timetaken=" + timetaken);
+   }
+
    @Test
    public void testAbortsWhenNodeNotRunning() throws Exception {
 
-      OpenSocketFinder finder = new ConcurrentOpenSocketFinder(socketAlwaysClosed, nodeNotRunning, userExecutor) {
+      OpenSocketFinder finder = new ConcurrentOpenSocketFinder(socketAlwaysClosed, nodeNotRunning, userExecutor, scheduler) {
          @Override
          protected <T> Predicate<T> retryPredicate(final Predicate<T> findOrBreak, long timeout, long period,
                TimeUnit timeUnits) {
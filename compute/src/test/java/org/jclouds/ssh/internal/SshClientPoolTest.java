@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.ssh.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.compute.domain.ExecChannel;
+import org.jclouds.compute.domain.ExecResponse;
+import org.jclouds.domain.LoginCredentials;
+import org.jclouds.io.Payload;
+import org.jclouds.ssh.SshClient;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Suppliers;
+import com.google.common.base.Ticker;
+import com.google.common.collect.Lists;
+import com.google.common.net.HostAndPort;
+
+@Test(groups = "unit", testName = "SshClientPoolTest")
+public class SshClientPoolTest {
+
+   private static final HostAndPort SOCKET = HostAndPort.fromParts("1.1.1.1", 22);
+   private static final LoginCredentials CREDENTIALS = LoginCredentials.builder().user("root").password("pw").build();
+
+   public void testReusesConnectionAcrossConnectAndDisconnect() {
+      FakeFactory factory = new FakeFactory();
+      SshClientPool pool = new SshClientPool(30000, 2, new FakeTicker());
+
+      SshClient ssh = pool.create(factory, SOCKET, CREDENTIALS);
+      assertEquals(ssh.getUsername(), "root");
+      assertEquals(ssh.getHostAddress(), "1.1.1.1");
+      for (int i = 0; i < 3; i++) {
+         ssh.connect();
+         assertEquals(ssh.exec("status").getOutput(), "status");
+         ssh.disconnect();
+      }
+      SshClient other = pool.create(factory, SOCKET, CREDENTIALS);
+      assertEquals(other.exec("status").getOutput(), "status");
+      other.disconnect();
+
+      assertEquals(factory.clients.size(), 1);
+      assertEquals(factory.clients.get(0).connects, 1);
+      assertEquals(factory.clients.get(0).disconnects, 0);
+      assertEquals(pool.getIdleCount(SOCKET, CREDENTIALS), 1);
+   }
+
+   public void testBrokenConnectionIsNotReused() {
+      FakeFactory factory = new FakeFactory();
+      SshClientPool pool = new SshClientPool(30000, 2, new FakeTicker());
+
+      SshClient ssh = pool.create(factory, SOCKET, CREDENTIALS);
+      ssh.connect();
+      ssh.disconnect();
+      factory.clients.get(0).connected = false;
+
+      ssh.connect();
+      assertEquals(factory.clients.size(), 2);
+      assertTrue(ssh.isConnected());
+      ssh.disconnect();
+      assertEquals(pool.getIdleCount(SOCKET, CREDENTIALS), 1);
+   }
+
+   public void testIdleConnectionsAreEvicted() {
+      FakeFactory factory = new FakeFactory();
+      FakeTicker ticker = new FakeTicker();
+      SshClientPool pool = new SshClientPool(30000, 2, ticker);
+
+      SshClient ssh = pool.create(factory, SOCKET, CREDENTIALS);
+      ssh.connect();
+      ssh.disconnect();
+
+      ticker.advance(29999);
+      pool.evictIdle();
+      assertEquals(pool.getIdleCount(SOCKET, CREDENTIALS), 1);
+
+      ticker.advance(1);
+      pool.evictIdle();
+      assertEquals(pool.getIdleCount(SOCKET, CREDENTIALS), 0);
+      assertFalse(factory.clients.get(0).connected);
+   }
+
+   public void testExcessIdleConnectionsAreClosed() {
+      FakeFactory factory = new FakeFactory();
+      SshClientPool pool = new SshClientPool(30000, 1, new FakeTicker());
+
+      SshClient first = pool.create(factory, SOCKET, CREDENTIALS);
+      SshClient second = pool.create(factory, SOCKET, CREDENTIALS);
+      first.connect();
+      second.connect();
+      first.disconnect();
+      second.disconnect();
+
+      assertEquals(factory.clients.size(), 2);
+      assertEquals(pool.getIdleCount(SOCKET, CREDENTIALS), 1);
+      assertFalse(factory.clients.get(0).connected);
+      assertTrue(factory.clients.get(1).connected);
+   }
+
+   public void testCloseDisconnectsIdleConnections() {
+      FakeFactory factory = new FakeFactory();
+      SshClientPool pool = new SshClientPool(30000, 2, new FakeTicker());
+
+      SshClient ssh = pool.create(factory, SOCKET, CREDENTIALS);
+      ssh.connect();
+      ssh.disconnect();
+      pool.close();
+
+      assertEquals(pool.getIdleCount(SOCKET, CREDENTIALS), 0);
+      assertFalse(factory.clients.get(0).connected);
+   }
+
+   public void testConnectionsReturnedAfterCloseAreDisconnected() {
+      FakeFactory factory = new FakeFactory();
+      SshClientPool pool = new SshClientPool(30000, 2, new FakeTicker());
+
+      SshClient ssh = pool.create(factory, SOCKET, CREDENTIALS);
+      ssh.connect();
+      pool.close();
+      ssh.disconnect();
+
+      assertEquals(pool.getIdleCount(SOCKET, CREDENTIALS), 0);
+      assertFalse(factory.clients.get(0).connected);
+   }
+
+   public void testPoolingIsOffByDefault() {
+      FakeFactory factory = new FakeFactory();
+      SshClient ssh = new SshClientPool().create(factory, SOCKET, CREDENTIALS);
+      assertSame(ssh, factory.clients.get(0));
+   }
+
+   public void testOpenChannelsAreClosedBeforeRelease() throws IOException {
+      FakeFactory factory = new FakeFactory();
+      SshClientPool pool = new SshClientPool(30000, 2, new FakeTicker());
+
+      SshClient ssh = pool.create(factory, SOCKET, CREDENTIALS);
+      ssh.connect();
+      ExecChannel closedByCaller = ssh.execChannel("tail -f log");
+      ssh.execChannel("sleep 60");
+      closedByCaller.close();
+      assertEquals(factory.clients.get(0).openChannels, 1);
+      ssh.disconnect();
+
+      assertEquals(factory.clients.get(0).openChannels, 0);
+      assertEquals(pool.getIdleCount(SOCKET, CREDENTIALS), 1);
+      closedByCaller.close();
+      assertEquals(factory.clients.get(0).openChannels, 0);
+   }
+
+   public void testDisabledPoolReturnsFactoryClient() {
+      FakeFactory factory = new FakeFactory();
+      SshClientPool pool = new SshClientPool(0, 2, new FakeTicker());
+
+      SshClient ssh = pool.create(factory, SOCKET, CREDENTIALS);
+      assertSame(ssh, factory.clients.get(0));
+   }
+
+   private static final class FakeFactory implements SshClient.Factory {
+      private final List<FakeSshClient> clients = Lists.newArrayList();
+
+      @Override
+      public SshClient create(HostAndPort socket, LoginCredentials credentials) {
+         FakeSshClient client = new FakeSshClient();
+         clients.add(client);
+         return client;
+      }
+
+      @Override
+      public boolean isAgentAvailable() {
+         return false;
+      }
+   }
+
+   private static final class FakeSshClient implements SshClient {
+      private boolean connected;
+      private int connects;
+      private int disconnects;
+      private int openChannels;
+
+      @Override
+      public String getUsername() {
+         return "root";
+      }
+
+      @Override
+      public String getHostAddress() {
+         return "1.1.1.1";
+      }
+
+      @Override
+      public void put(String path, Payload contents) {
+      }
+
+      @Override
+      public Payload get(String path) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public ExecResponse exec(String command) {
+         assertTrue(connected, "not connected");
+         return new ExecResponse(command, "", 0);
+      }
+
+      @Override
+      public ExecChannel execChannel(String command) {
+         assertTrue(connected, "not connected");
+         openChannels++;
+         return new ExecChannel(new ByteArrayOutputStream(), new ByteArrayInputStream(new byte[0]),
+               new ByteArrayInputStream(new byte[0]), Suppliers.ofInstance(0), new Closeable() {
+                  @Override
+                  public void close() {
+                     openChannels--;
+                  }
+               });
+      }
+
+      @Override
+      public void connect() {
+         connects++;
+         connected = true;
+      }
+
+      @Override
+      public void disconnect() {
+         disconnects++;
+         connected = false;
+      }
+
+      @Override
+      public boolean isConnected() {
+         return connected;
+      }
+
+      @Override
+      public void put(String path, String contents) {
+      }
+   }
+
+   private static final class FakeTicker extends Ticker {
+      private long nanos;
+
+      void advance(long millis) {
+         nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+      }
+
+      @Override
+      public long read() {
+         return nanos;
+      }
+   }
+}
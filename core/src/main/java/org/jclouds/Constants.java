@@ -360,6 +360,14 @@ public final class Constants {
     */
    public static final String PROPERTY_CONNECTION_CLOSE_HEADER = "jclouds.connection-close-header";
 
+   /**
+    * Boolean property. Default (true).
+    * <p/>
+    * When true, the annotations of each api method are read once and the resulting request template is reused for
+    * every subsequent invocation. Set to false to read them again on every invocation, e.g. while debugging.
+    */
+   public static final String PROPERTY_CACHE_REQUEST_TEMPLATES = "jclouds.cache-request-templates";
+
    /**
     * The maximum number of blob deletes happening in parallel at any point in time.
     */
@@ -376,6 +384,61 @@ public final class Constants {
     */
    public static final String PROPERTY_MAX_RATE_LIMIT_WAIT = "jclouds.max-ratelimit-wait";
    
+   /**
+    * Maximum number of requests per second sent to a single endpoint host.
+    * <p>
+    * The rate is lowered when the endpoint answers with 429 or 503 and raised back towards this value as
+    * requests succeed. Default value: 0, meaning requests are not rate limited.
+    */
+   public static final String PROPERTY_MAX_REQUESTS_PER_SECOND = "jclouds.max-requests-per-second";
+
+   /**
+    * Number of retries earned by every successful request, shared by the whole context.
+    * <p>
+    * When set, server errors and I/O errors are only retried while the budget has a retry left, so a degraded
+    * endpoint cannot multiply the load sent to it. Default value: 0, meaning retries are not budgeted.
+    */
+   public static final String PROPERTY_RETRY_BUDGET_RATIO = "jclouds.retry-budget.ratio";
+
+   /**
+    * Number of consecutive failures after which retries to an endpoint host are stopped.
+    * <p>
+    * Default value: 0, meaning the circuit breaker is disabled.
+    */
+   public static final String PROPERTY_CIRCUIT_BREAKER_FAILURES = "jclouds.circuit-breaker.failures";
+
+   /**
+    * Time (in milliseconds) an open circuit waits before letting a single retry probe the endpoint again.
+    * <p>
+    * Default value: 30 seconds.
+    */
+   public static final String PROPERTY_CIRCUIT_BREAKER_OPEN_PERIOD = "jclouds.circuit-breaker.open-period";
+
+   /**
+    * How the stack trace of the code submitting a task to the user and scheduler executors is
+    * captured, to be appended to the exceptions of failed tasks: {@code FULL}, {@code LIMITED} to
+    * {@link #PROPERTY_SUBMISSION_TRACE_FRAMES} frames, {@code SAMPLED} like {@code LIMITED} for one
+    * task in {@link #PROPERTY_SUBMISSION_TRACE_SAMPLE_RATE}, or {@code OFF}.
+    * <p>
+    * Default value: FULL.
+    */
+   public static final String PROPERTY_SUBMISSION_TRACE = "jclouds.submission-trace";
+
+   /**
+    * Number of frames captured in the {@code LIMITED} and {@code SAMPLED} submission trace modes.
+    * <p>
+    * Default value: 32.
+    */
+   public static final String PROPERTY_SUBMISSION_TRACE_FRAMES = "jclouds.submission-trace.frames";
+
+   /**
+    * In the {@code SAMPLED} submission trace mode, the submission trace is captured for one task in
+    * this many.
+    * <p>
+    * Default value: 100.
+    */
+   public static final String PROPERTY_SUBMISSION_TRACE_SAMPLE_RATE = "jclouds.submission-trace.sample-rate";
+
    /**
     * Boolean property.
     * <p/>
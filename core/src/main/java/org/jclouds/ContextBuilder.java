@@ -57,6 +57,7 @@ import org.jclouds.apis.Apis;
 import org.jclouds.concurrent.SingleThreaded;
 import org.jclouds.concurrent.config.ConfiguresExecutorService;
 import org.jclouds.concurrent.config.ExecutorServiceModule;
+import org.jclouds.concurrent.config.ScheduledExecutorServiceModule;
 import org.jclouds.config.BindApiContextWithWildcardExtendsExplicitAndRawType;
 import org.jclouds.config.BindNameToContext;
 import org.jclouds.domain.Credentials;
@@ -397,6 +398,7 @@ public class ContextBuilder {
       addLoggingModuleIfNotPresent(modules);
       addHttpModuleIfNeededAndNotPresent(modules);
       addExecutorServiceIfNotPresent(modules);
+      addScheduledExecutorServiceIfNotPresent(modules);
       addEventBusIfNotPresent(modules);
       addCredentialStoreIfNotPresent(modules);
       modules.add(new LifeCycleModule());
@@ -554,6 +556,13 @@ public class ContextBuilder {
       }
    }
 
+   @VisibleForTesting
+   static void addScheduledExecutorServiceIfNotPresent(List<Module> modules) {
+      if (!any(modules, instanceOf(ScheduledExecutorServiceModule.class))) {
+         modules.add(new ScheduledExecutorServiceModule());
+      }
+   }
+
    @VisibleForTesting
    static void addCredentialStoreIfNotPresent(List<Module> modules) {
       if (!any(modules, new Predicate<Module>() {
@@ -18,6 +18,7 @@ package org.jclouds.apis.internal;
 
 import static com.google.common.base.Objects.equal;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.jclouds.Constants.PROPERTY_CACHE_REQUEST_TEMPLATES;
 import static org.jclouds.Constants.PROPERTY_CONNECTION_CLOSE_HEADER;
 import static org.jclouds.Constants.PROPERTY_CONNECTION_TIMEOUT;
 import static org.jclouds.Constants.PROPERTY_IDEMPOTENT_METHODS;
@@ -84,6 +85,7 @@ public abstract class BaseApiMetadata implements ApiMetadata {
                                        JcloudsVersion.get(),
                                        System.getProperty("java.version")));
       props.setProperty(PROPERTY_CONNECTION_CLOSE_HEADER, "false");
+      props.setProperty(PROPERTY_CACHE_REQUEST_TEMPLATES, "true");
 
       // By default, we allow maximum parallel deletes to be equal to the number
       // of user threads since one thread is used to delete on blob.
@@ -39,7 +39,8 @@ import com.google.inject.Provides;
 /**
  * Provides an {@link ScheduledExecutorService} to run periodical tasks such as virtual machine monitoring, etc.
  * <p>
- * This module is not registered by default in the context because some providers do not allow to spawn threads.
+ * This module is registered by default in the context unless one is passed in explicitly. Its threads are only
+ * started once a task is first scheduled.
  * 
  * 
  * @see ExecutorServiceModule
@@ -49,9 +50,9 @@ public class ScheduledExecutorServiceModule extends AbstractModule {
    @Singleton
    @Named(PROPERTY_SCHEDULER_THREADS)
    final ListeningScheduledExecutorService provideListeningScheduledExecutorService(
-         @Named(PROPERTY_SCHEDULER_THREADS) int count, Closer closer) {
-      return shutdownOnClose(WithSubmissionTrace.wrap(newScheduledThreadPoolNamed("scheduler thread %d", count)),
-            closer);
+         @Named(PROPERTY_SCHEDULER_THREADS) int count, Closer closer, SubmissionTrace submissionTrace) {
+      return shutdownOnClose(WithSubmissionTrace.wrap(newScheduledThreadPoolNamed("scheduler thread %d", count),
+            submissionTrace), closer);
    }
 
    @Provides
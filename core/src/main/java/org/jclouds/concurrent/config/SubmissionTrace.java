@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.concurrent.config;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.jclouds.Constants.PROPERTY_SUBMISSION_TRACE;
+import static org.jclouds.Constants.PROPERTY_SUBMISSION_TRACE_FRAMES;
+import static org.jclouds.Constants.PROPERTY_SUBMISSION_TRACE_SAMPLE_RATE;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import org.jclouds.Constants;
+
+import com.google.common.annotations.Beta;
+import com.google.inject.Inject;
+
+/**
+ * Configures how {@link WithSubmissionTrace} captures the stack trace of the code submitting a task.
+ * 
+ * @see Constants#PROPERTY_SUBMISSION_TRACE
+ */
+@Beta
+@Singleton
+public class SubmissionTrace {
+
+   public enum Mode {
+      /** The whole stack of every submission. */
+      FULL,
+      /** The innermost frames of every submission. */
+      LIMITED,
+      /** The innermost frames of one submission in the sample rate. */
+      SAMPLED,
+      /** Nothing. */
+      OFF
+   }
+
+   /** Captures the whole stack of every submission. */
+   public static final SubmissionTrace FULL = new SubmissionTrace(Mode.FULL, 32, 100);
+
+   @Inject(optional = true)
+   @Named(PROPERTY_SUBMISSION_TRACE)
+   private Mode mode = Mode.FULL;
+
+   @Inject(optional = true)
+   @Named(PROPERTY_SUBMISSION_TRACE_FRAMES)
+   private int frames = 32;
+
+   @Inject(optional = true)
+   @Named(PROPERTY_SUBMISSION_TRACE_SAMPLE_RATE)
+   private int sampleRate = 100;
+
+   private final AtomicLong submissions = new AtomicLong();
+
+   public SubmissionTrace() {
+   }
+
+   public SubmissionTrace(Mode mode, int frames, int sampleRate) {
+      checkArgument(frames > 0, "frames must be positive");
+      checkArgument(sampleRate > 0, "sampleRate must be positive");
+      this.mode = checkNotNull(mode, "mode");
+      this.frames = frames;
+      this.sampleRate = sampleRate;
+   }
+
+   public Mode getMode() {
+      return mode;
+   }
+
+   public int getFrames() {
+      return frames;
+   }
+
+   public int getSampleRate() {
+      return sampleRate;
+   }
+
+   /**
+    * Returns true if the current submission should be captured in {@link Mode#SAMPLED} mode.
+    */
+   boolean sample() {
+      return submissions.getAndIncrement() % sampleRate == 0;
+   }
+}
@@ -21,7 +21,9 @@ import static com.google.common.collect.Iterables.filter;
 import static com.google.common.collect.Iterables.toArray;
 import static com.google.common.collect.ObjectArrays.concat;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Delayed;
@@ -42,15 +44,23 @@ public class WithSubmissionTrace {
    }
 
    public static ListeningExecutorService wrap(com.google.common.util.concurrent.ListeningExecutorService delegate) {
-      return new ListeningExecutorService(delegate);
+      return wrap(delegate, SubmissionTrace.FULL);
+   }
+
+   public static ListeningExecutorService wrap(com.google.common.util.concurrent.ListeningExecutorService delegate,
+         SubmissionTrace submissionTrace) {
+      return new ListeningExecutorService(delegate, submissionTrace);
    }
 
    private static class ListeningExecutorService extends ForwardingListeningExecutorService {
 
       private final com.google.common.util.concurrent.ListeningExecutorService delegate;
+      protected final SubmissionTrace submissionTrace;
 
-      private ListeningExecutorService(com.google.common.util.concurrent.ListeningExecutorService delegate) {
+      private ListeningExecutorService(com.google.common.util.concurrent.ListeningExecutorService delegate,
+            SubmissionTrace submissionTrace) {
          this.delegate = checkNotNull(delegate, "delegate");
+         this.submissionTrace = checkNotNull(submissionTrace, "submissionTrace");
       }
 
       @Override
@@ -60,18 +70,18 @@ public class WithSubmissionTrace {
 
       @Override
       public <T> com.google.common.util.concurrent.ListenableFuture<T> submit(Callable<T> task) {
-         return new ListenableFuture<T>(delegate().submit(task));
+         return new ListenableFuture<T>(delegate().submit(task), getStackTraceHere(submissionTrace));
       }
 
       @SuppressWarnings({ "unchecked", "rawtypes" })
       @Override
       public com.google.common.util.concurrent.ListenableFuture<?> submit(Runnable task) {
-         return new ListenableFuture(delegate().submit(task));
+         return new ListenableFuture(delegate().submit(task), getStackTraceHere(submissionTrace));
       }
 
       @Override
       public <T> com.google.common.util.concurrent.ListenableFuture<T> submit(Runnable task, T result) {
-         return new ListenableFuture<T>(delegate().submit(task, result));
+         return new ListenableFuture<T>(delegate().submit(task, result), getStackTraceHere(submissionTrace));
       }
    }
 
@@ -79,9 +89,10 @@ public class WithSubmissionTrace {
       private final com.google.common.util.concurrent.ListenableFuture<T> delegate;
       private final StackTraceElement[] submissionTrace;
 
-      ListenableFuture(com.google.common.util.concurrent.ListenableFuture<T> delegate) {
+      ListenableFuture(com.google.common.util.concurrent.ListenableFuture<T> delegate,
+            StackTraceElement[] submissionTrace) {
          this.delegate = checkNotNull(delegate, "delegate");
-         this.submissionTrace = getStackTraceHere();
+         this.submissionTrace = submissionTrace;
       }
 
       @Override
@@ -113,12 +124,38 @@ public class WithSubmissionTrace {
          ListeningScheduledExecutorService.class.getName(), ScheduledFuture.class.getName(),
          ListenableScheduledFuture.class.getName());
 
+   /** returns the stack trace at the caller as configured, or null if it should not be captured */
+   private static StackTraceElement[] getStackTraceHere(SubmissionTrace submissionTrace) {
+      switch (submissionTrace.getMode()) {
+         case FULL:
+            return getStackTraceHere();
+         case LIMITED:
+            return getStackTraceHere(submissionTrace.getFrames());
+         case SAMPLED:
+            return submissionTrace.sample() ? getStackTraceHere(submissionTrace.getFrames()) : null;
+         default:
+            return null;
+      }
+   }
+
    /** returns the stack trace at the caller */
    private static StackTraceElement[] getStackTraceHere() {
       StackTraceElement[] trace = Thread.currentThread().getStackTrace();
       return filterTrace(trace);
    }
 
+   /** returns the innermost {@code frames} of the stack trace at the caller */
+   private static StackTraceElement[] getStackTraceHere(int frames) {
+      StackTraceElement[] trace = Thread.currentThread().getStackTrace();
+      List<StackTraceElement> kept = new ArrayList<StackTraceElement>(frames);
+      // the first element is Thread.getStackTrace itself
+      for (int i = 1; i < trace.length && kept.size() < frames; i++) {
+         if (!stackTracesToTrim.contains(trace[i].getClassName()))
+            kept.add(trace[i]);
+      }
+      return kept.toArray(new StackTraceElement[kept.size()]);
+   }
+
    private static StackTraceElement[] filterTrace(StackTraceElement[] trace) {
       return toArray(filter(Arrays.asList(trace), new Predicate<StackTraceElement>() {
          public boolean apply(StackTraceElement input) {
@@ -129,7 +166,7 @@ public class WithSubmissionTrace {
    }
 
    private static ExecutionException addSubmissionTrace(StackTraceElement[] submissionTrace, ExecutionException e) {
-      if (e.getCause() == null) {
+      if (submissionTrace == null || e.getCause() == null) {
          return filterTrace(e);
       }
       Throwable cause = e.getCause();
@@ -146,15 +183,21 @@ public class WithSubmissionTrace {
 
    public static ListeningScheduledExecutorService wrap(
          com.google.common.util.concurrent.ListeningScheduledExecutorService delegate) {
-      return new ListeningScheduledExecutorService(delegate);
+      return wrap(delegate, SubmissionTrace.FULL);
+   }
+
+   public static ListeningScheduledExecutorService wrap(
+         com.google.common.util.concurrent.ListeningScheduledExecutorService delegate, SubmissionTrace submissionTrace) {
+      return new ListeningScheduledExecutorService(delegate, submissionTrace);
    }
 
    private static class ListeningScheduledExecutorService extends ListeningExecutorService implements
          com.google.common.util.concurrent.ListeningScheduledExecutorService {
 
       private ListeningScheduledExecutorService(
-            com.google.common.util.concurrent.ListeningScheduledExecutorService delegate) {
-         super(delegate);
+            com.google.common.util.concurrent.ListeningScheduledExecutorService delegate,
+            SubmissionTrace submissionTrace) {
+         super(delegate, submissionTrace);
       }
 
       @Override
@@ -164,41 +207,45 @@ public class WithSubmissionTrace {
 
       @Override
       public <T> ListenableFuture<T> submit(Callable<T> task) {
-         return new ListenableFuture<T>(delegate().submit(task));
+         return new ListenableFuture<T>(delegate().submit(task), getStackTraceHere(submissionTrace));
       }
 
       @SuppressWarnings({ "unchecked", "rawtypes" })
       @Override
       public ListenableFuture<?> submit(Runnable task) {
-         return new ListenableFuture(delegate().submit(task));
+         return new ListenableFuture(delegate().submit(task), getStackTraceHere(submissionTrace));
       }
 
       @Override
       public <T> ListenableFuture<T> submit(Runnable task, T result) {
-         return new ListenableFuture<T>(delegate().submit(task, result));
+         return new ListenableFuture<T>(delegate().submit(task, result), getStackTraceHere(submissionTrace));
       }
 
       @SuppressWarnings({ "rawtypes", "unchecked" })
       @Override
       public ListenableScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
-         return new ListenableScheduledFuture(delegate().schedule(command, delay, unit));
+         return new ListenableScheduledFuture(delegate().schedule(command, delay, unit),
+               getStackTraceHere(submissionTrace));
       }
 
       @Override
       public <V> ListenableScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
-         return new ListenableScheduledFuture(delegate().schedule(callable, delay, unit));
+         return new ListenableScheduledFuture(delegate().schedule(callable, delay, unit),
+               getStackTraceHere(submissionTrace));
       }
 
       @SuppressWarnings({ "rawtypes", "unchecked" })
       @Override
       public ListenableScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
-         return new ListenableScheduledFuture(delegate().scheduleAtFixedRate(command, initialDelay, period, unit));
+         return new ListenableScheduledFuture(delegate().scheduleAtFixedRate(command, initialDelay, period, unit),
+               getStackTraceHere(submissionTrace));
       }
 
       @SuppressWarnings({ "rawtypes", "unchecked" })
       @Override
       public ListenableScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
-         return new ListenableScheduledFuture(delegate().scheduleWithFixedDelay(command, initialDelay, delay, unit));
+         return new ListenableScheduledFuture(delegate().scheduleWithFixedDelay(command, initialDelay, delay, unit),
+               getStackTraceHere(submissionTrace));
       }
 
    }
@@ -209,9 +256,9 @@ public class WithSubmissionTrace {
       private final java.util.concurrent.ScheduledFuture<T> delegate;
       private final StackTraceElement[] submissionTrace;
 
-      private ScheduledFuture(java.util.concurrent.ScheduledFuture<T> delegate) {
+      private ScheduledFuture(java.util.concurrent.ScheduledFuture<T> delegate, StackTraceElement[] submissionTrace) {
          this.delegate = checkNotNull(delegate, "delegate");
-         this.submissionTrace = getStackTraceHere();
+         this.submissionTrace = submissionTrace;
       }
 
       @Override
@@ -250,8 +297,9 @@ public class WithSubmissionTrace {
 
    private static class ListenableScheduledFuture<T> extends ScheduledFuture<T>
          implements com.google.common.util.concurrent.ListenableScheduledFuture<T> {
-      private ListenableScheduledFuture(com.google.common.util.concurrent.ListenableScheduledFuture<T> delegate) {
-         super(delegate);
+      private ListenableScheduledFuture(com.google.common.util.concurrent.ListenableScheduledFuture<T> delegate,
+            StackTraceElement[] submissionTrace) {
+         super(delegate, submissionTrace);
       }
 
       @Override
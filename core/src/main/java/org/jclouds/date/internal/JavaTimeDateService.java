@@ -0,0 +1,377 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.date.internal;
+
+import static java.time.ZoneOffset.UTC;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import jakarta.inject.Singleton;
+
+import org.jclouds.date.DateService;
+
+/**
+ * Thread-safe {@link DateService}, which neither locks nor keeps per-thread state.
+ * <p/>
+ * The ISO-8601 and RFC-822 forms, which are used on every request and on every entry of a listing, are formatted and
+ * parsed by hand; the C and RFC-1123 forms with {@link DateTimeFormatter}s. The RFC-822 and ISO-8601 seconds forms
+ * of the last second formatted are cached, as requests signed in the same second format the same date.
+ * <p/>
+ * Text of any other shape, and dates before the Gregorian calendar, are left to {@link SimpleDateFormatDateService},
+ * so that both services accept and produce the same text.
+ */
+@Singleton
+public class JavaTimeDateService implements DateService {
+
+   private static final String[] DAYS = { "Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun" };
+   private static final String[] MONTHS = { "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct",
+         "Nov", "Dec" };
+
+   /** first year of the Gregorian calendar, which {@link java.time} applies to all dates */
+   private static final int MIN_YEAR = 1583;
+   private static final int MAX_YEAR = 9999;
+   private static final long MIN_MILLIS = LocalDate.of(MIN_YEAR, 1, 2).atStartOfDay(UTC).toInstant().toEpochMilli();
+   private static final long MAX_MILLIS = LocalDate.of(MAX_YEAR, 12, 31).atStartOfDay(UTC).toInstant().toEpochMilli();
+
+   private static final DateTimeFormatter C_FORMATTER = DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss Z yyyy",
+         Locale.US);
+   private static final DateTimeFormatter RFC1123_FORMATTER = DateTimeFormatter.ofPattern(
+         "EEE, dd MMM yyyy HH:mm:ss Z", Locale.US);
+
+   private static final DateService LEGACY = new SimpleDateFormatDateService();
+
+   private volatile FormattedSecond rfc822Second = new FormattedSecond(Long.MIN_VALUE, null);
+   private volatile FormattedSecond iso8601Second = new FormattedSecond(Long.MIN_VALUE, null);
+
+   @Override
+   public String cDateFormat(Date date) {
+      if (!isGregorian(date))
+         return LEGACY.cDateFormat(date);
+      return C_FORMATTER.format(date.toInstant().atOffset(UTC));
+   }
+
+   @Override
+   public String cDateFormat() {
+      return cDateFormat(new Date());
+   }
+
+   @Override
+   public Date cDateParse(String toParse) {
+      return parse(C_FORMATTER, toParse);
+   }
+
+   @Override
+   public String rfc822DateFormat(Date date) {
+      long second = Math.floorDiv(date.getTime(), 1000L);
+      FormattedSecond cached = rfc822Second;
+      if (cached.second == second)
+         return cached.text;
+      if (!isGregorian(date))
+         return LEGACY.rfc822DateFormat(date);
+      LocalDateTime time = LocalDateTime.ofEpochSecond(second, 0, UTC);
+      char[] buf = "EEE, dd MMM yyyy HH:mm:ss GMT".toCharArray();
+      DAYS[time.getDayOfWeek().ordinal()].getChars(0, 3, buf, 0);
+      write2(buf, 5, time.getDayOfMonth());
+      MONTHS[time.getMonthValue() - 1].getChars(0, 3, buf, 8);
+      write4(buf, 12, time.getYear());
+      writeTime(buf, 17, time);
+      String text = new String(buf);
+      rfc822Second = new FormattedSecond(second, text);
+      return text;
+   }
+
+   @Override
+   public String rfc822DateFormat() {
+      return rfc822DateFormat(new Date());
+   }
+
+   @Override
+   public Date rfc822DateParse(String toParse) {
+      if (toParse.length() == 29 && toParse.charAt(3) == ',' && toParse.charAt(4) == ' '
+            && toParse.charAt(7) == ' ' && toParse.charAt(11) == ' ' && toParse.charAt(16) == ' '
+            && toParse.startsWith(" GMT", 25) && indexOf(DAYS, toParse, 0) >= 0) {
+         int month = indexOf(MONTHS, toParse, 8) + 1;
+         int day = read2(toParse, 5);
+         int year = read4(toParse, 12);
+         if (month > 0 && day >= 0 && year >= 0) {
+            long millis = toEpochMillis(year, month, day, toParse, 17, 0, 0);
+            if (millis != Long.MIN_VALUE)
+               return new Date(millis);
+         }
+      }
+      return LEGACY.rfc822DateParse(toParse);
+   }
+
+   @Override
+   public String iso8601SecondsDateFormat(Date date) {
+      long second = Math.floorDiv(date.getTime(), 1000L);
+      FormattedSecond cached = iso8601Second;
+      if (cached.second == second)
+         return cached.text;
+      if (!isGregorian(date))
+         return LEGACY.iso8601SecondsDateFormat(date);
+      char[] buf = new char[20];
+      writeIso8601(buf, LocalDateTime.ofEpochSecond(second, 0, UTC));
+      buf[19] = 'Z';
+      String text = new String(buf);
+      iso8601Second = new FormattedSecond(second, text);
+      return text;
+   }
+
+   @Override
+   public String iso8601SecondsDateFormat() {
+      return iso8601SecondsDateFormat(new Date());
+   }
+
+   @Override
+   public String iso8601DateFormat(Date date) {
+      if (!isGregorian(date))
+         return LEGACY.iso8601DateFormat(date);
+      long time = date.getTime();
+      char[] buf = new char[24];
+      writeIso8601(buf, LocalDateTime.ofEpochSecond(Math.floorDiv(time, 1000L), 0, UTC));
+      long millis = Math.floorMod(time, 1000L);
+      buf[19] = '.';
+      buf[20] = (char) ('0' + millis / 100);
+      buf[21] = (char) ('0' + millis / 10 % 10);
+      buf[22] = (char) ('0' + millis % 10);
+      buf[23] = 'Z';
+      return new String(buf);
+   }
+
+   @Override
+   public String iso8601DateFormat() {
+      return iso8601DateFormat(new Date());
+   }
+
+   @Override
+   public Date iso8601DateParse(String toParse) {
+      long millis = parseIso8601(toParse, true, false);
+      return millis != Long.MIN_VALUE ? new Date(millis) : LEGACY.iso8601DateParse(toParse);
+   }
+
+   @Override
+   public Date iso8601SecondsDateParse(String toParse) {
+      long millis = parseIso8601(toParse, false, true);
+      return millis != Long.MIN_VALUE ? new Date(millis) : LEGACY.iso8601SecondsDateParse(toParse);
+   }
+
+   @Override
+   public Date iso8601DateOrSecondsDateParse(String toParse) {
+      long millis = parseIso8601(toParse, false, false);
+      return millis != Long.MIN_VALUE ? new Date(millis) : LEGACY.iso8601DateOrSecondsDateParse(toParse);
+   }
+
+   @Override
+   public String rfc1123DateFormat(Date date) {
+      if (!isGregorian(date))
+         return LEGACY.rfc1123DateFormat(date);
+      // like SimpleDateFormatDateService, in the default time zone, with its offsets rather than those of java.time
+      int offset = TimeZone.getDefault().getOffset(date.getTime());
+      return RFC1123_FORMATTER.format(date.toInstant().atOffset(ZoneOffset.ofTotalSeconds(offset / 1000)));
+   }
+
+   @Override
+   public String rfc1123DateFormat() {
+      return rfc1123DateFormat(new Date());
+   }
+
+   @Override
+   public Date rfc1123DateParse(String toParse) {
+      // the zone of HTTP dates is GMT, and then RFC-1123 and RFC-822 dates are the same
+      if (toParse.endsWith(" GMT"))
+         return rfc822DateParse(toParse);
+      return parse(RFC1123_FORMATTER, toParse);
+   }
+
+   private static Date parse(DateTimeFormatter formatter, String toParse) {
+      try {
+         OffsetDateTime parsed = OffsetDateTime.parse(toParse, formatter);
+         if (parsed.getYear() >= MIN_YEAR)
+            return Date.from(parsed.toInstant());
+      } catch (DateTimeParseException e) {
+         // not in the strict form, which SimpleDateFormat may still parse
+      }
+      return formatter == C_FORMATTER ? LEGACY.cDateParse(toParse) : LEGACY.rfc1123DateParse(toParse);
+   }
+
+   /**
+    * Parses {@code yyyy-MM-dd'T'HH:mm:ss[.SSS...][zone]}, where the {@code T} may be a space and the zone is absent,
+    * {@code Z}, or an offset in hours and minutes, optionally preceded by {@code UTC}.
+    * 
+    * @return the time in milliseconds, or {@link Long#MIN_VALUE} if the text is not of that form
+    * @throws IllegalArgumentException
+    *            if the text is of that form, but the fraction of a second is missing although required, or present
+    *            although forbidden
+    */
+   private static long parseIso8601(String s, boolean fractionRequired, boolean fractionForbidden) {
+      int length = s.length();
+      if (length < 19 || s.charAt(4) != '-' || s.charAt(7) != '-' || (s.charAt(10) != 'T' && s.charAt(10) != ' '))
+         return Long.MIN_VALUE;
+      int year = read4(s, 0);
+      int month = read2(s, 5);
+      int day = read2(s, 8);
+      if (year < 0 || month < 0 || day < 0)
+         return Long.MIN_VALUE;
+      int pos = 19;
+      int millis = 0;
+      boolean fraction = pos < length && s.charAt(pos) == '.';
+      if (fraction) {
+         int digits = 0;
+         while (++pos < length && isDigit(s.charAt(pos))) {
+            if (digits++ < 3)
+               millis = millis * 10 + s.charAt(pos) - '0';
+         }
+         // SimpleDateFormat reads fewer digits as milliseconds rather than as a fraction
+         if (digits < 3)
+            return Long.MIN_VALUE;
+      }
+      if (fraction ? fractionForbidden : fractionRequired)
+         throw new IllegalArgumentException("incorrect date format " + s);
+      int offsetMinutes = 0;
+      if (s.startsWith("UTC", pos) && pos + 3 < length)
+         pos += 3;
+      if (pos == length - 1 && s.charAt(pos) == 'Z') {
+         pos++;
+      } else if (pos < length) {
+         char sign = s.charAt(pos);
+         if ((sign != '+' && sign != '-') || length - pos < 5)
+            return Long.MIN_VALUE;
+         int minutesAt = s.charAt(pos + 3) == ':' ? pos + 4 : pos + 3;
+         int hours = read2(s, pos + 1);
+         int minutes = read2(s, minutesAt);
+         if (minutesAt + 2 != length || hours < 0 || minutes < 0 || minutes > 59)
+            return Long.MIN_VALUE;
+         offsetMinutes = (sign == '-' ? -1 : 1) * (hours * 60 + minutes);
+         pos = length;
+      }
+      if (s.charAt(13) != ':' || s.charAt(16) != ':')
+         return Long.MIN_VALUE;
+      return toEpochMillis(year, month, day, s, 11, millis, offsetMinutes);
+   }
+
+   /**
+    * @param time
+    *           position of {@code HH:mm:ss} in {@code s}
+    * @return the time in milliseconds, or {@link Long#MIN_VALUE} if a field is out of range
+    */
+   private static long toEpochMillis(int year, int month, int day, String s, int time, int millis,
+         int offsetMinutes) {
+      int hours = read2(s, time);
+      int minutes = read2(s, time + 3);
+      int seconds = read2(s, time + 6);
+      if (s.charAt(time + 2) != ':' || s.charAt(time + 5) != ':' || year < MIN_YEAR || hours < 0 || hours > 23
+            || minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59)
+         return Long.MIN_VALUE;
+      long epochDay;
+      try {
+         epochDay = LocalDate.of(year, month, day).toEpochDay();
+      } catch (DateTimeException e) {
+         // SimpleDateFormat is lenient, and rolls over to the next month
+         return Long.MIN_VALUE;
+      }
+      long epochSecond = epochDay * 86400 + hours * 3600 + minutes * 60 + seconds - offsetMinutes * 60L;
+      return epochSecond * 1000 + millis;
+   }
+
+   /**
+    * @return true if the date, in any time zone, is of a year between {@link #MIN_YEAR} and {@link #MAX_YEAR}
+    */
+   private static boolean isGregorian(Date date) {
+      return date.getTime() >= MIN_MILLIS && date.getTime() < MAX_MILLIS;
+   }
+
+   private static void writeIso8601(char[] buf, LocalDateTime time) {
+      write4(buf, 0, time.getYear());
+      buf[4] = '-';
+      write2(buf, 5, time.getMonthValue());
+      buf[7] = '-';
+      write2(buf, 8, time.getDayOfMonth());
+      buf[10] = 'T';
+      writeTime(buf, 11, time);
+   }
+
+   private static void writeTime(char[] buf, int pos, LocalDateTime time) {
+      write2(buf, pos, time.getHour());
+      buf[pos + 2] = ':';
+      write2(buf, pos + 3, time.getMinute());
+      buf[pos + 5] = ':';
+      write2(buf, pos + 6, time.getSecond());
+   }
+
+   private static void write2(char[] buf, int pos, int value) {
+      buf[pos] = (char) ('0' + value / 10);
+      buf[pos + 1] = (char) ('0' + value % 10);
+   }
+
+   private static void write4(char[] buf, int pos, int value) {
+      write2(buf, pos, value / 100);
+      write2(buf, pos + 2, value % 100);
+   }
+
+   /**
+    * @return the value of the two digits at {@code pos}, or -1
+    */
+   private static int read2(String s, int pos) {
+      if (pos + 2 > s.length() || !isDigit(s.charAt(pos)) || !isDigit(s.charAt(pos + 1)))
+         return -1;
+      return (s.charAt(pos) - '0') * 10 + s.charAt(pos + 1) - '0';
+   }
+
+   /**
+    * @return the value of the four digits at {@code pos}, or -1
+    */
+   private static int read4(String s, int pos) {
+      int high = read2(s, pos);
+      int low = read2(s, pos + 2);
+      return high < 0 || low < 0 ? -1 : high * 100 + low;
+   }
+
+   private static boolean isDigit(char c) {
+      return c >= '0' && c <= '9';
+   }
+
+   /**
+    * @return the index of the name at {@code pos} of {@code s}, or -1
+    */
+   private static int indexOf(String[] names, String s, int pos) {
+      for (int i = 0; i < names.length; i++) {
+         if (s.startsWith(names[i], pos))
+            return i;
+      }
+      return -1;
+   }
+
+   private static final class FormattedSecond {
+      private final long second;
+      private final String text;
+
+      FormattedSecond(long second, String text) {
+         this.second = second;
+         this.text = text;
+      }
+   }
+}
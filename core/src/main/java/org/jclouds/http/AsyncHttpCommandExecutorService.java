@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Capable of invoking http commands without blocking the calling thread.
+ */
+@Beta
+public interface AsyncHttpCommandExecutorService extends HttpCommandExecutorService {
+
+   /**
+    * Returns a future {@code HttpResponse} from the server which responded to the {@code command}. Retries and error
+    * handling are applied exactly as in {@link #invoke(HttpCommand)}; if the command fails, the future completes
+    * exceptionally with the exception {@link #invoke(HttpCommand)} would have thrown.
+    * <p/>
+    * Cancelling the future, or completing it exceptionally, aborts the request in flight, if any.
+    */
+   CompletableFuture<HttpResponse> invokeAsync(HttpCommand command);
+}
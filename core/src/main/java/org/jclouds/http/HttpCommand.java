@@ -18,6 +18,7 @@ package org.jclouds.http;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import org.jclouds.http.metrics.HttpCommandMetrics;
 import org.jclouds.rest.internal.GeneratedHttpRequest;
 
 import com.google.common.base.Objects;
@@ -32,6 +33,7 @@ public class HttpCommand {
    private volatile int failureCount;
    private volatile int redirectCount;
    private volatile Exception exception;
+   private final HttpCommandMetrics metrics = new HttpCommandMetrics();
 
    public HttpCommand(HttpRequest request) {
       this.request = checkNotNull(request, "request");
@@ -111,6 +113,13 @@ public class HttpCommand {
       this.request = request;
    }
 
+   /**
+    * Timings and sizes collected while this command is executed.
+    */
+   public HttpCommandMetrics getMetrics() {
+      return metrics;
+   }
+
    @Override
    public int hashCode() {
       return Objects.hashCode(request);
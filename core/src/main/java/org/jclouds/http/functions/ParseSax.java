@@ -55,6 +55,7 @@ public class ParseSax<T> implements Function<HttpResponse, T>, InvocationContext
    private Logger logger = Logger.NULL;
 
    private final XMLReader parser;
+   private final XMLReaderPool pool;
    private final HandlerWithResult<T> handler;
    private HttpRequest request;
 
@@ -64,9 +65,20 @@ public class ParseSax<T> implements Function<HttpResponse, T>, InvocationContext
 
    public ParseSax(XMLReader parser, HandlerWithResult<T> handler) {
       this.parser = checkNotNull(parser, "parser");
+      this.pool = null;
       this.handler = checkNotNull(handler, "handler");
    }
 
+   /**
+    * Parses with a reader borrowed from {@code pool} for the duration of each parse.
+    */
+   public ParseSax(XMLReaderPool pool, HandlerWithResult<T> handler, Logger logger) {
+      this.parser = null;
+      this.pool = checkNotNull(pool, "pool");
+      this.handler = checkNotNull(handler, "handler");
+      this.logger = checkNotNull(logger, "logger");
+   }
+
    public T apply(HttpResponse from) {
       try {
          checkNotNull(from, "http response");
@@ -136,9 +148,14 @@ public class ParseSax<T> implements Function<HttpResponse, T>, InvocationContext
    protected T doParse(InputSource from) throws IOException, SAXException {
       checkNotNull(from, "xml inputsource");
       from.setEncoding(StandardCharsets.UTF_8.name());
-      parser.setContentHandler(getHandler());
+      XMLReader reader = pool != null ? pool.borrow() : parser;
+      reader.setContentHandler(getHandler());
       // This method should accept documents with a BOM (Byte-order mark)
-      parser.parse(from);
+      reader.parse(from);
+      // a reader which failed part way through a document is dropped instead, as its state is unknown
+      if (pool != null) {
+         pool.release(reader);
+      }
       return getHandler().getResult();
    }
 
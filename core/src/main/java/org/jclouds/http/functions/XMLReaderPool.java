@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.functions;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Keeps the {@link XMLReader}s which finished parsing a document, so that the next documents are parsed without
+ * creating a new parser each time.
+ * <p/>
+ * A reader is lent to one parse at a time, so that it can be used by any thread, including from within the handler of
+ * another parse. At most {@code maxIdle} readers are kept when they are not in use.
+ */
+public final class XMLReaderPool {
+   private static final DefaultHandler NO_HANDLER = new DefaultHandler();
+
+   private final SAXParserFactory factory;
+   private final int maxIdle;
+   private final Queue<XMLReader> idle = new ConcurrentLinkedQueue<XMLReader>();
+   private final AtomicInteger idleCount = new AtomicInteger();
+
+   public XMLReaderPool(SAXParserFactory factory, int maxIdle) {
+      checkArgument(maxIdle >= 0, "maxIdle must not be negative");
+      this.factory = checkNotNull(factory, "factory");
+      this.maxIdle = maxIdle;
+   }
+
+   /**
+    * @return an idle reader, or a new one if none is idle
+    */
+   public XMLReader borrow() throws SAXException {
+      XMLReader reader = idle.poll();
+      if (reader != null) {
+         idleCount.decrementAndGet();
+         return reader;
+      }
+      try {
+         // SAXParserFactory is not guaranteed to be thread-safe
+         synchronized (factory) {
+            return factory.newSAXParser().getXMLReader();
+         }
+      } catch (ParserConfigurationException e) {
+         throw new SAXException(e);
+      }
+   }
+
+   /**
+    * Takes back a reader which finished parsing, and resets it unless there are enough idle readers already.
+    * <p/>
+    * Only readers which completed their document may be released: a reader which threw part way through may still hold
+    * the state of that document, so it should be left to the garbage collector instead.
+    */
+   public void release(XMLReader reader) {
+      // do not hold on to the handler of the last document
+      reader.setContentHandler(NO_HANDLER);
+      if (idleCount.incrementAndGet() <= maxIdle) {
+         idle.offer(reader);
+      } else {
+         idleCount.decrementAndGet();
+      }
+   }
+}
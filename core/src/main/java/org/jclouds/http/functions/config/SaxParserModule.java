@@ -16,18 +16,18 @@
  */
 package org.jclouds.http.functions.config;
 
+import jakarta.annotation.Resource;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
-import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
 import org.jclouds.http.functions.ParseSax;
 import org.jclouds.http.functions.ParseSax.HandlerWithResult;
-import org.xml.sax.XMLReader;
+import org.jclouds.http.functions.XMLReaderPool;
+import org.jclouds.logging.Logger;
 
-import com.google.common.base.Throwables;
 import com.google.inject.AbstractModule;
-import com.google.inject.Injector;
 import com.google.inject.Provides;
 import com.google.inject.Scopes;
 
@@ -41,28 +41,22 @@ public class SaxParserModule extends AbstractModule {
    }
 
    static class Factory implements ParseSax.Factory {
-      private final SAXParserFactory factory;
-      private final Injector i;
+      private static final int MAX_IDLE_READERS = 64;
+
+      // the category ParseSax logged to when its members were injected
+      @Resource
+      @Named("org.jclouds.http.functions.ParseSax")
+      private Logger logger = Logger.NULL;
+
+      private final XMLReaderPool readers;
 
       @Inject
-      Factory(SAXParserFactory factory, Injector i) {
-         this.factory = factory;
-         this.i = i;
+      Factory(SAXParserFactory factory) {
+         this.readers = new XMLReaderPool(factory, MAX_IDLE_READERS);
       }
 
       public <T> ParseSax<T> create(HandlerWithResult<T> handler) {
-         SAXParser saxParser;
-         try {
-            saxParser = factory.newSAXParser();
-            XMLReader parser = saxParser.getXMLReader();
-            // TODO: switch to @AssistedInject
-            ParseSax<T> returnVal = new ParseSax<T>(parser, handler);
-            i.injectMembers(returnVal);
-            return returnVal;
-         } catch (Exception e) {
-            throw Throwables.propagate(e);
-         }
-
+         return new ParseSax<T>(readers, handler, logger);
       }
    }
 
@@ -136,7 +136,7 @@ public class BackoffLimitedRetryHandler implements HttpRetryHandler, IOException
       delayMs = delayMs > maxPeriod ? maxPeriod : delayMs;
       logger.debug("Retry %d/%d: delaying for %d ms: %s", failureCount, max, delayMs, commandDescription);
       try {
-         Thread.sleep(delayMs);
+         RetryDelays.sleep(delayMs);
       } catch (InterruptedException e) {
          Throwables.propagate(e);
       }
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.handlers;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.jclouds.Constants.PROPERTY_CIRCUIT_BREAKER_FAILURES;
+import static org.jclouds.Constants.PROPERTY_CIRCUIT_BREAKER_OPEN_PERIOD;
+
+import java.net.URI;
+import java.util.Map;
+
+import jakarta.annotation.Resource;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import org.jclouds.logging.Logger;
+
+import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Inject;
+
+/**
+ * Stops sending requests to an endpoint host that keeps failing.
+ * <p>
+ * The circuit of a host opens after {@link org.jclouds.Constants#PROPERTY_CIRCUIT_BREAKER_FAILURES}
+ * consecutive failures; while open, requests to the host are neither sent nor retried. Once
+ * {@link org.jclouds.Constants#PROPERTY_CIRCUIT_BREAKER_OPEN_PERIOD} has elapsed the circuit is
+ * half-open and a single request or retry is let through to probe the host: it closes the circuit
+ * if it succeeds and opens it again otherwise. A probe which has neither succeeded nor failed after
+ * another open period is replaced by a new one. Any successful request closes the circuit.
+ */
+@Beta
+@Singleton
+public class CircuitBreaker {
+
+   public enum State {
+      CLOSED, OPEN, HALF_OPEN
+   }
+
+   @Resource
+   protected Logger logger = Logger.NULL;
+
+   @Inject(optional = true)
+   @Named(PROPERTY_CIRCUIT_BREAKER_FAILURES)
+   private int failureThreshold = 0;
+
+   @Inject(optional = true)
+   @Named(PROPERTY_CIRCUIT_BREAKER_OPEN_PERIOD)
+   private long openPeriod = 30 * 1000;
+
+   private final Ticker ticker;
+
+   private final LoadingCache<String, Circuit> circuits = CacheBuilder.newBuilder().build(
+         new CacheLoader<String, Circuit>() {
+            @Override
+            public Circuit load(String key) {
+               return new Circuit();
+            }
+         });
+
+   public CircuitBreaker() {
+      this.ticker = Ticker.systemTicker();
+   }
+
+   @VisibleForTesting
+   CircuitBreaker(int failureThreshold, long openPeriod, Ticker ticker) {
+      this.failureThreshold = failureThreshold;
+      this.openPeriod = openPeriod;
+      this.ticker = ticker;
+   }
+
+   /**
+    * Returns true if a new request may be sent to the endpoint.
+    */
+   public boolean allowRequest(URI endpoint) {
+      if (failureThreshold <= 0)
+         return true;
+      Circuit circuit = circuits.getUnchecked(key(endpoint));
+      synchronized (circuit) {
+         switch (circuit.state) {
+            case CLOSED:
+               return true;
+            case OPEN:
+               if (ticker.read() - circuit.openedAt < MILLISECONDS.toNanos(openPeriod))
+                  return false;
+               logger.debug("Probing endpoint %s after its circuit was open for %d ms", key(endpoint), openPeriod);
+               circuit.state = State.HALF_OPEN;
+               circuit.probedAt = ticker.read();
+               return true;
+            default:
+               // a probe is already in flight, unless it never completed
+               if (ticker.read() - circuit.probedAt < MILLISECONDS.toNanos(openPeriod))
+                  return false;
+               logger.debug("Probing endpoint %s again after its last probe did not complete", key(endpoint));
+               circuit.probedAt = ticker.read();
+               return true;
+         }
+      }
+   }
+
+   /**
+    * Returns true if a failed request to the endpoint may be retried.
+    */
+   public boolean allowRetry(URI endpoint) {
+      return allowRequest(endpoint);
+   }
+
+   /**
+    * Records a successful request to the endpoint, closing its circuit.
+    */
+   public void onSuccess(URI endpoint) {
+      if (failureThreshold <= 0)
+         return;
+      Circuit circuit = circuits.getUnchecked(key(endpoint));
+      synchronized (circuit) {
+         circuit.failures = 0;
+         circuit.state = State.CLOSED;
+      }
+   }
+
+   /**
+    * Records a failed request to the endpoint, opening its circuit once the threshold is reached.
+    */
+   public void onFailure(URI endpoint) {
+      if (failureThreshold <= 0)
+         return;
+      Circuit circuit = circuits.getUnchecked(key(endpoint));
+      synchronized (circuit) {
+         circuit.failures++;
+         if (circuit.state == State.HALF_OPEN
+               || (circuit.state == State.CLOSED && circuit.failures >= failureThreshold)) {
+            logger.warn("Opening the circuit of endpoint %s after %d consecutive failures", key(endpoint),
+                  circuit.failures);
+            circuit.state = State.OPEN;
+            circuit.openedAt = ticker.read();
+         }
+      }
+   }
+
+   /**
+    * The state of the circuit of the endpoint.
+    */
+   public State getState(URI endpoint) {
+      Circuit circuit = circuits.getIfPresent(key(endpoint));
+      if (circuit == null)
+         return State.CLOSED;
+      synchronized (circuit) {
+         return circuit.state;
+      }
+   }
+
+   /**
+    * The state of the circuit of every endpoint host seen so far, keyed by {@code host:port}.
+    */
+   public Map<String, State> getStates() {
+      ImmutableMap.Builder<String, State> states = ImmutableMap.builder();
+      for (Map.Entry<String, Circuit> entry : circuits.asMap().entrySet()) {
+         synchronized (entry.getValue()) {
+            states.put(entry.getKey(), entry.getValue().state);
+         }
+      }
+      return states.build();
+   }
+
+   private static String key(URI endpoint) {
+      return endpoint.getHost() + ":" + endpoint.getPort();
+   }
+
+   private static final class Circuit {
+      private State state = State.CLOSED;
+      private int failures;
+      private long openedAt;
+      private long probedAt;
+   }
+}
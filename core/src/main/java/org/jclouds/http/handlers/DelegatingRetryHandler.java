@@ -16,11 +16,15 @@
  */
 package org.jclouds.http.handlers;
 
+import java.io.IOException;
+import java.net.URI;
+
 import jakarta.inject.Singleton;
 
 import org.jclouds.http.HttpCommand;
 import org.jclouds.http.HttpResponse;
 import org.jclouds.http.HttpRetryHandler;
+import org.jclouds.http.IOExceptionRetryHandler;
 import org.jclouds.http.annotation.ClientError;
 import org.jclouds.http.annotation.Redirection;
 import org.jclouds.http.annotation.ServerError;
@@ -50,6 +54,12 @@ public class DelegatingRetryHandler implements HttpRetryHandler {
    @ServerError
    HttpRetryHandler serverErrorRetryHandler;
 
+   @Inject(optional = true)
+   RetryBudget retryBudget = new RetryBudget();
+
+   @Inject(optional = true)
+   CircuitBreaker circuitBreaker = new CircuitBreaker();
+
    @Inject
    public DelegatingRetryHandler(BackoffLimitedRetryHandler backOff,
             RedirectionRetryHandler redirectionRetryHandler) {
@@ -61,16 +71,75 @@ public class DelegatingRetryHandler implements HttpRetryHandler {
    public boolean shouldRetryRequest(HttpCommand command, HttpResponse response) {
       int statusCode = response.getStatusCode();
       boolean retryRequest = false;
+      if (statusCode < 500 && statusCode != 429) {
+         // the endpoint answered, so a probe of a half-open circuit closes it even if the request is not retried
+         circuitBreaker.onSuccess(command.getCurrentRequest().getEndpoint());
+      }
       if (statusCode >= 300 && statusCode < 400) {
          retryRequest = redirectionRetryHandler.shouldRetryRequest(command, response);
       } else if (statusCode >= 400 && statusCode < 500) {
+         if (statusCode == 429 && !allowRetry(command))
+            return false;
          retryRequest = clientErrorRetryHandler.shouldRetryRequest(command, response);
+         if (statusCode == 429 && !retryRequest)
+            retryBudget.cancelRetry();
       } else if (statusCode >= 500) {
+         if (!allowRetry(command))
+            return false;
          retryRequest = serverErrorRetryHandler.shouldRetryRequest(command, response);
+         if (!retryRequest)
+            retryBudget.cancelRetry();
       }
       return retryRequest;
    }
 
+   /**
+    * Retries an I/O error with the given handler, as long as the retry budget and the circuit of
+    * the endpoint allow it.
+    */
+   public boolean shouldRetryRequest(HttpCommand command, IOException error, IOExceptionRetryHandler ioRetryHandler) {
+      if (!allowRetry(command))
+         return false;
+      boolean retryRequest = ioRetryHandler.shouldRetryRequest(command, error);
+      if (!retryRequest)
+         retryBudget.cancelRetry();
+      return retryRequest;
+   }
+
+   /**
+    * Returns true unless the circuit of the endpoint of the command is open, in which case its first
+    * attempt should not be sent.
+    */
+   public boolean allowRequest(HttpCommand command) {
+      return circuitBreaker.allowRequest(command.getCurrentRequest().getEndpoint());
+   }
+
+   /**
+    * Records a successful response, which closes the circuit of its endpoint and earns retries.
+    */
+   public void onSuccess(HttpCommand command) {
+      circuitBreaker.onSuccess(command.getCurrentRequest().getEndpoint());
+      retryBudget.onSuccess();
+   }
+
+   /**
+    * Records the failure and, if the circuit allows a retry, withdraws it from the budget. The
+    * caller pays it back with {@link RetryBudget#cancelRetry()} if the retry is not sent.
+    */
+   private boolean allowRetry(HttpCommand command) {
+      URI endpoint = command.getCurrentRequest().getEndpoint();
+      circuitBreaker.onFailure(endpoint);
+      return circuitBreaker.allowRetry(endpoint) && retryBudget.tryRetry();
+   }
+
+   public RetryBudget getRetryBudget() {
+      return retryBudget;
+   }
+
+   public CircuitBreaker getCircuitBreaker() {
+      return circuitBreaker;
+   }
+
    public HttpRetryHandler getRedirectionRetryHandler() {
       return redirectionRetryHandler;
    }
@@ -106,7 +106,7 @@ public abstract class RateLimitRetryHandler implements HttpRetryHandler {
             logger.debug("Waiting %sms before retrying, as defined by the rate limit", waitPeriod);
             // Do not use Uninterrumpibles or similar, to let the jclouds
             // tiemout configuration interrupt this thread
-            Thread.sleep(waitPeriod);
+            RetryDelays.sleep(waitPeriod);
          } catch (InterruptedException ex) {
             // If the request is being executed and has a timeout configured,
             // the thread may be interrupted when the timeout is reached.
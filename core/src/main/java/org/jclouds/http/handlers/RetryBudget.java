@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.handlers;
+
+import static java.lang.Math.min;
+import static org.jclouds.Constants.PROPERTY_RETRY_BUDGET_RATIO;
+
+import jakarta.annotation.Resource;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import org.jclouds.logging.Logger;
+
+import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
+
+/**
+ * Limits the retries of a context to a fraction of its recent successful requests.
+ * <p>
+ * Every successful request deposits {@link org.jclouds.Constants#PROPERTY_RETRY_BUDGET_RATIO} into
+ * the budget and every retry withdraws one. The budget starts with a small reserve so that isolated
+ * failures are always retried, and it is capped so that a long healthy period cannot pay for a retry
+ * storm.
+ */
+@Beta
+@Singleton
+public class RetryBudget {
+
+   /** Retries available before any request has succeeded. */
+   private static final double RESERVE = 10;
+   /** Retries that can be banked during healthy periods. */
+   private static final double MAX_BALANCE = 100;
+
+   @Resource
+   protected Logger logger = Logger.NULL;
+
+   @Inject(optional = true)
+   @Named(PROPERTY_RETRY_BUDGET_RATIO)
+   private double ratio = 0;
+
+   private double balance = RESERVE;
+   private long retries;
+   private long rejectedRetries;
+
+   public RetryBudget() {
+   }
+
+   @VisibleForTesting
+   RetryBudget(double ratio) {
+      this.ratio = ratio;
+   }
+
+   /**
+    * Records a successful request.
+    */
+   public synchronized void onSuccess() {
+      if (ratio > 0)
+         balance = min(balance + ratio, MAX_BALANCE);
+   }
+
+   /**
+    * Withdraws a retry from the budget if it allows one, and counts a rejection otherwise.
+    *
+    * @return true if the retry was withdrawn
+    */
+   public synchronized boolean tryRetry() {
+      if (ratio > 0 && balance < 1) {
+         rejectedRetries++;
+         logger.debug("Retry budget exhausted after %d retries, %d rejected", retries, rejectedRetries);
+         return false;
+      }
+      retries++;
+      if (ratio > 0)
+         balance -= 1;
+      return true;
+   }
+
+   /**
+    * Pays back a retry withdrawn by {@link #tryRetry()} which was not sent after all.
+    */
+   public synchronized void cancelRetry() {
+      retries--;
+      if (ratio > 0)
+         balance = min(balance + 1, MAX_BALANCE);
+   }
+
+   /**
+    * The number of retries the budget currently allows.
+    */
+   public synchronized double getBalance() {
+      return ratio > 0 ? balance : Double.POSITIVE_INFINITY;
+   }
+
+   public synchronized long getRetries() {
+      return retries;
+   }
+
+   public synchronized long getRejectedRetries() {
+      return rejectedRetries;
+   }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.handlers;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Waits imposed by retry handlers before a request is retried.
+ * <p/>
+ * Handlers call {@link #sleep(long)} instead of {@link Thread#sleep(long)}. Executors which must not block the thread
+ * deciding on a retry, such as the transport threads completing asynchronous sends, decide within
+ * {@link #beginDeferring()} and {@link #endDeferring()} and schedule the retry after the returned delay instead.
+ */
+@Beta
+public final class RetryDelays {
+
+   private static final ThreadLocal<long[]> DEFERRED = new ThreadLocal<long[]>();
+
+   /**
+    * Sleeps for the delay, or adds it to the deferred delay if the calling thread is deferring.
+    */
+   public static void sleep(long delayMillis) throws InterruptedException {
+      long[] deferred = DEFERRED.get();
+      if (deferred != null) {
+         deferred[0] += delayMillis;
+      } else {
+         Thread.sleep(delayMillis);
+      }
+   }
+
+   /**
+    * Makes {@link #sleep(long)} on the calling thread record delays rather than wait, until {@link #endDeferring()}.
+    */
+   public static void beginDeferring() {
+      DEFERRED.set(new long[1]);
+   }
+
+   /**
+    * @return milliseconds recorded since {@link #beginDeferring()}, which the caller must wait before retrying
+    */
+   public static long endDeferring() {
+      long[] deferred = DEFERRED.get();
+      DEFERRED.remove();
+      return deferred != null ? deferred[0] : 0;
+   }
+
+   private RetryDelays() {
+      throw new AssertionError("intentionally unimplemented");
+   }
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.internal;
+
+import static org.jclouds.Constants.PROPERTY_IDEMPOTENT_METHODS;
+import static org.jclouds.http.HttpUtils.checkRequestHasContentLengthOrChunkedEncoding;
+import static org.jclouds.http.HttpUtils.releasePayload;
+import static org.jclouds.http.HttpUtils.wirePayloadIfEnabled;
+import static org.jclouds.util.Throwables2.getFirstThrowableOfType;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import jakarta.inject.Named;
+
+import org.jclouds.Constants;
+import org.jclouds.http.AsyncHttpCommandExecutorService;
+import org.jclouds.http.HttpCommand;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpRequestFilter;
+import org.jclouds.http.HttpResponse;
+import org.jclouds.http.HttpResponseException;
+import org.jclouds.http.HttpUtils;
+import org.jclouds.http.IOExceptionRetryHandler;
+import org.jclouds.http.handlers.DelegatingErrorHandler;
+import org.jclouds.http.handlers.DelegatingRetryHandler;
+import org.jclouds.http.handlers.RetryDelays;
+import org.jclouds.http.metrics.HttpCommandMetrics;
+import org.jclouds.io.ContentMetadataCodec;
+
+import com.google.common.annotations.Beta;
+import com.google.inject.Inject;
+
+/**
+ * Base class for drivers whose transport can send a request without blocking the calling thread. Each attempt of a
+ * command is filtered, logged and retried exactly as in {@link BaseHttpCommandExecutorService#invoke(HttpCommand)},
+ * but the decisions are taken by the thread that completes the attempt rather than by a thread waiting for it.
+ * <p/>
+ * Back-off delays imposed by retry handlers through {@link RetryDelays} are not slept on the thread completing the
+ * attempt, and neither are waits for the {@link EndpointRateLimiter}: the attempt is scheduled on the scheduler
+ * instead.
+ */
+@Beta
+public abstract class BaseAsyncHttpCommandExecutorService<Q> extends BaseHttpCommandExecutorService<Q> implements
+      AsyncHttpCommandExecutorService {
+
+   @Inject(optional = true)
+   @Named(Constants.PROPERTY_SCHEDULER_THREADS)
+   protected ScheduledExecutorService scheduler;
+
+   protected BaseAsyncHttpCommandExecutorService(HttpUtils utils, ContentMetadataCodec contentMetadataCodec,
+         DelegatingRetryHandler retryHandler, IOExceptionRetryHandler ioRetryHandler,
+         DelegatingErrorHandler errorHandler, HttpWire wire,
+         @Named(PROPERTY_IDEMPOTENT_METHODS) String idempotentMethods) {
+      super(utils, contentMetadataCodec, retryHandler, ioRetryHandler, errorHandler, wire, idempotentMethods);
+   }
+
+   @Override
+   public CompletableFuture<HttpResponse> invokeAsync(HttpCommand command) {
+      CompletableFuture<HttpResponse> result = new CompletableFuture<HttpResponse>();
+      command.getMetrics().markStarted();
+      if (!retryHandler.allowRequest(command)) {
+         result.completeExceptionally(circuitOpen(command));
+         return result;
+      }
+      send(command, result);
+      return result;
+   }
+
+   private void send(final HttpCommand command, final CompletableFuture<HttpResponse> result) {
+      if (result.isDone())
+         return; // cancelled while waiting to be retried
+      HttpRequest request = command.getCurrentRequest();
+      final HttpCommandMetrics metrics = command.getMetrics();
+      Q nativeRequest = null;
+      CompletableFuture<HttpResponse> attempt;
+      final long start;
+      try {
+         if (scheduler == null) {
+            rateLimiter.acquire(request);
+         } else if (!rateLimiter.tryAcquire(request)) {
+            sendLater(command, result, rateLimiter.getRetryDelayMillis(request));
+            return;
+         }
+         metrics.incrementAttempts();
+         long filterStart = System.nanoTime();
+         for (HttpRequestFilter filter : request.getFilters()) {
+            request = filter.filter(request);
+         }
+         metrics.addFilterNanos(System.nanoTime() - filterStart);
+         checkRequestHasContentLengthOrChunkedEncoding(request,
+               "After filtering, the request has neither chunked encoding nor content length: " + request);
+         logger.debug("Sending request %s: %s", request.hashCode(), request.getRequestLine());
+         wirePayloadIfEnabled(wire, request);
+         utils.logRequest(headerLog, request, ">>");
+         nativeRequest = convert(request);
+         start = System.nanoTime();
+         attempt = invokeAsync(nativeRequest);
+      } catch (Exception e) {
+         complete(command, nativeRequest, null, e, result);
+         return;
+      }
+      final HttpRequest sent = request;
+      final Q nativeSent = nativeRequest;
+      final CompletableFuture<HttpResponse> inFlight = attempt;
+      result.whenComplete(new BiConsumer<HttpResponse, Throwable>() {
+         @Override
+         public void accept(HttpResponse response, Throwable failure) {
+            if (failure != null)
+               inFlight.cancel(true);
+         }
+      });
+      inFlight.whenComplete(new BiConsumer<HttpResponse, Throwable>() {
+         @Override
+         public void accept(HttpResponse response, Throwable failure) {
+            if (result.isDone()) {
+               // cancelled or timed out while in flight
+               if (response != null)
+                  releasePayload(response);
+               cleanup(nativeSent);
+               return;
+            }
+            if (failure == null) {
+               metrics.addResponseNanos(System.nanoTime() - start);
+               metrics.setStatusCode(response.getStatusCode());
+               metrics.addBytesOut(contentLength(sent.getPayload()));
+               metrics.addBytesIn(contentLength(response.getPayload()));
+               logger.debug("Receiving response %s: %s", sent.hashCode(), response.getStatusLine());
+               rateLimiter.onResponse(sent, response);
+            }
+            complete(command, failure == null ? null : nativeSent, response, failure, result);
+         }
+      });
+   }
+
+   /**
+    * Either completes the {@code result} of the command or sends it again, depending on the retry handlers.
+    */
+   private void complete(final HttpCommand command, Q nativeRequest, HttpResponse response, Throwable failure,
+         final CompletableFuture<HttpResponse> result) {
+      boolean retry;
+      long delay;
+      if (scheduler != null)
+         RetryDelays.beginDeferring();
+      try {
+         if (failure == null) {
+            utils.logResponse(headerLog, response, "<<");
+            if (response.getPayload() != null && wire.enabled())
+               wire.input(response);
+            if (response.getStatusCode() < 300)
+               retryHandler.onSuccess(command);
+            retry = response.getStatusCode() >= 300 && shouldContinue(command, response);
+         } else {
+            retry = shouldContinue(command, failure);
+         }
+      } catch (Exception e) {
+         failure = e;
+         retry = shouldContinue(command, e);
+      } finally {
+         delay = scheduler != null ? RetryDelays.endDeferring() : 0;
+         cleanup(nativeRequest);
+      }
+      if (retry) {
+         if (delay > 0) {
+            sendLater(command, result, delay);
+         } else {
+            send(command, result);
+         }
+         return;
+      }
+      if (failure != null) {
+         command.setException(new HttpResponseException(failure.getMessage() + " connecting to "
+               + command.getCurrentRequest().getRequestLine(), command, null, failure));
+      }
+      if (command.getException() != null)
+         result.completeExceptionally(command.getException());
+      else
+         result.complete(response);
+   }
+
+   /**
+    * Sends the command again once the delay has elapsed, or fails it if the scheduler no longer accepts tasks.
+    */
+   private void sendLater(final HttpCommand command, final CompletableFuture<HttpResponse> result, long delayMillis) {
+      try {
+         scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+               send(command, result);
+            }
+         }, delayMillis, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+         result.completeExceptionally(new HttpResponseException("Could not schedule "
+               + command.getCurrentRequest().getRequestLine() + " to be sent again", command, null, e));
+      }
+   }
+
+   private boolean shouldContinue(HttpCommand command, Throwable failure) {
+      IOException ioe = getFirstThrowableOfType(failure, IOException.class);
+      return ioe != null && shouldContinue(command, ioe);
+   }
+
+   /**
+    * Sends the request without blocking. The returned future must complete with the response, or exceptionally with
+    * the exception the transport failed with. Cancelling it should abort the request.
+    */
+   protected abstract CompletableFuture<HttpResponse> invokeAsync(Q nativeRequest);
+
+}
@@ -42,11 +42,14 @@ import org.jclouds.http.HttpUtils;
 import org.jclouds.http.IOExceptionRetryHandler;
 import org.jclouds.http.handlers.DelegatingErrorHandler;
 import org.jclouds.http.handlers.DelegatingRetryHandler;
+import org.jclouds.http.metrics.HttpCommandMetrics;
 import org.jclouds.io.ContentMetadataCodec;
+import org.jclouds.io.Payload;
 import org.jclouds.logging.Logger;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
+import com.google.inject.Inject;
 
 public abstract class BaseHttpCommandExecutorService<Q> implements HttpCommandExecutorService {
    protected final HttpUtils utils;
@@ -64,6 +67,9 @@ public abstract class BaseHttpCommandExecutorService<Q> implements HttpCommandEx
 
    protected final HttpWire wire;
 
+   @Inject(optional = true)
+   protected EndpointRateLimiter rateLimiter = new EndpointRateLimiter();
+
    private final Set<String> idempotentMethods;
 
    protected BaseHttpCommandExecutorService(HttpUtils utils, ContentMetadataCodec contentMetadataCodec,
@@ -82,23 +88,37 @@ public abstract class BaseHttpCommandExecutorService<Q> implements HttpCommandEx
    @Override
    public HttpResponse invoke(HttpCommand command) {
       HttpResponse response = null;
+      HttpCommandMetrics metrics = command.getMetrics();
+      metrics.markStarted();
+      if (!retryHandler.allowRequest(command))
+         throw propagate(circuitOpen(command));
       for (;;) {
          HttpRequest request = command.getCurrentRequest();
          Q nativeRequest = null;
          try {
+            rateLimiter.acquire(request);
+            metrics.incrementAttempts();
+            long start = System.nanoTime();
             for (HttpRequestFilter filter : request.getFilters()) {
                request = filter.filter(request);
             }
+            metrics.addFilterNanos(System.nanoTime() - start);
             checkRequestHasContentLengthOrChunkedEncoding(request,
                   "After filtering, the request has neither chunked encoding nor content length: " + request);
             logger.debug("Sending request %s: %s", request.hashCode(), request.getRequestLine());
             wirePayloadIfEnabled(wire, request);
             utils.logRequest(headerLog, request, ">>");
             nativeRequest = convert(request);
+            start = System.nanoTime();
             response = invoke(nativeRequest);
+            metrics.addResponseNanos(System.nanoTime() - start);
+            metrics.setStatusCode(response.getStatusCode());
+            metrics.addBytesOut(contentLength(request.getPayload()));
+            metrics.addBytesIn(contentLength(response.getPayload()));
 
             logger.debug("Receiving response %s: %s", request.hashCode(), response.getStatusLine());
             utils.logResponse(headerLog, response, "<<");
+            rateLimiter.onResponse(request, response);
             if (response.getPayload() != null && wire.enabled())
                wire.input(response);
             nativeRequest = null; // response took ownership of streams
@@ -109,6 +129,7 @@ public abstract class BaseHttpCommandExecutorService<Q> implements HttpCommandEx
                else
                   break;
             } else {
+               retryHandler.onSuccess(command);
                break;
             }
          } catch (Exception e) {
@@ -129,6 +150,23 @@ public abstract class BaseHttpCommandExecutorService<Q> implements HttpCommandEx
       return response;
    }
 
+   /**
+    * Fails a command which is not sent because the circuit of its endpoint is open.
+    */
+   static HttpResponseException circuitOpen(HttpCommand command) {
+      HttpResponseException exception = new HttpResponseException("Not sending "
+            + command.getCurrentRequest().getRequestLine() + ": the circuit of its endpoint is open", command, null);
+      command.setException(exception);
+      return exception;
+   }
+
+   static long contentLength(Payload payload) {
+      if (payload == null)
+         return 0;
+      Long length = payload.getContentMetadata().getContentLength();
+      return length == null ? 0 : length;
+   }
+
    @VisibleForTesting
    boolean shouldContinue(HttpCommand command, HttpResponse response) {
       boolean shouldContinue = false;
@@ -154,7 +192,7 @@ public abstract class BaseHttpCommandExecutorService<Q> implements HttpCommandEx
          logger.debug("Caught a protocol exception on a 100-continue PUT request. Attempting to retry.");
          return isIdempotent(command) && retryHandler.shouldRetryRequest(command, HttpResponse.builder().statusCode(401).message("Unauthorized").build());
       }
-      return isIdempotent(command) && ioRetryHandler.shouldRetryRequest(command, response);
+      return isIdempotent(command) && retryHandler.shouldRetryRequest(command, response, ioRetryHandler);
    }
 
    private boolean isIdempotent(HttpCommand command) {
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.internal;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.jclouds.Constants.PROPERTY_MAX_REQUESTS_PER_SECOND;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.Resource;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpResponse;
+import org.jclouds.logging.Logger;
+
+import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.inject.Inject;
+
+/**
+ * Paces the requests sent to each endpoint host so that the context stays just under the provider
+ * limits, instead of finding them through 429 and 503 "SlowDown" responses and retrying.
+ * <p>
+ * Each host starts at {@link org.jclouds.Constants#PROPERTY_MAX_REQUESTS_PER_SECOND}. The rate is
+ * halved when the host throttles a request, at most once per second so that a burst of throttled
+ * responses to requests already in flight counts as a single signal, and grows back additively with
+ * every successful response. Limiting is disabled when the property is not set.
+ */
+@Beta
+@Singleton
+public class EndpointRateLimiter {
+
+   /** The rate is multiplied by this factor on every throttled response. */
+   private static final double DECREASE_FACTOR = 0.5;
+   /** Fraction of the configured rate regained on every successful response. */
+   private static final double INCREASE_FRACTION = 0.01;
+   /** The rate never drops below this fraction of the configured rate. */
+   private static final double MIN_FRACTION = 1.0 / 64;
+   /** Throttled responses received within this time of the last decrease leave the rate alone. */
+   private static final long DECREASE_WINDOW_NANOS = SECONDS.toNanos(1);
+
+   @Resource
+   protected Logger logger = Logger.NULL;
+
+   @Inject(optional = true)
+   @Named(PROPERTY_MAX_REQUESTS_PER_SECOND)
+   private double maxRate = 0;
+
+   private final Ticker ticker;
+
+   private final LoadingCache<String, Endpoint> endpoints = CacheBuilder.newBuilder().build(
+         new CacheLoader<String, Endpoint>() {
+            @Override
+            public Endpoint load(String key) {
+               return new Endpoint(maxRate, ticker);
+            }
+         });
+
+   public EndpointRateLimiter() {
+      this.ticker = Ticker.systemTicker();
+   }
+
+   @VisibleForTesting
+   EndpointRateLimiter(double maxRate) {
+      this(maxRate, Ticker.systemTicker());
+   }
+
+   @VisibleForTesting
+   EndpointRateLimiter(double maxRate, Ticker ticker) {
+      this.maxRate = maxRate;
+      this.ticker = ticker;
+   }
+
+   /**
+    * Blocks until the endpoint of the request can accept another request.
+    */
+   public void acquire(HttpRequest request) {
+      if (maxRate <= 0)
+         return;
+      endpoints.getUnchecked(key(request)).limiter.acquire();
+   }
+
+   /**
+    * Takes a permit for the endpoint of the request if one is available now, without waiting.
+    *
+    * @return true if the request can be sent; otherwise it should be tried again after
+    *         {@link #getRetryDelayMillis(HttpRequest)}
+    */
+   public boolean tryAcquire(HttpRequest request) {
+      if (maxRate <= 0)
+         return true;
+      return endpoints.getUnchecked(key(request)).limiter.tryAcquire();
+   }
+
+   /**
+    * The time, in milliseconds, after which the endpoint of a request refused by {@link #tryAcquire(HttpRequest)}
+    * is expected to accept it: the interval between two requests at its current rate.
+    */
+   public long getRetryDelayMillis(HttpRequest request) {
+      if (maxRate <= 0)
+         return 0;
+      return max(1, (long) Math.ceil(1000 / getRate(request.getEndpoint())));
+   }
+
+   /**
+    * Adapts the rate of the endpoint of the request to the response it sent back.
+    */
+   public void onResponse(HttpRequest request, HttpResponse response) {
+      if (maxRate <= 0)
+         return;
+      int statusCode = response.getStatusCode();
+      Endpoint endpoint = endpoints.getUnchecked(key(request));
+      if (statusCode == 429 || statusCode == 503) {
+         if (endpoint.decrease())
+            logger.debug("Endpoint %s throttled a request with %s; lowered the rate to %.2f requests per second",
+                  key(request), statusCode, endpoint.getRate());
+      } else if (statusCode < 300) {
+         endpoint.increase();
+      }
+   }
+
+   /**
+    * The current rate, in requests per second, at which requests are sent to the given endpoint.
+    */
+   public double getRate(URI endpoint) {
+      if (maxRate <= 0)
+         return Double.POSITIVE_INFINITY;
+      return endpoints.getUnchecked(key(endpoint)).getRate();
+   }
+
+   private static String key(HttpRequest request) {
+      return key(request.getEndpoint());
+   }
+
+   private static String key(URI endpoint) {
+      return endpoint.getHost() + ":" + endpoint.getPort();
+   }
+
+   private static final class Endpoint {
+      private final double maxRate;
+      private final Ticker ticker;
+      private final RateLimiter limiter;
+      /** The bits of the current rate; the limiter is only updated by the thread that changed them. */
+      private final AtomicLong rate;
+      private final AtomicLong lastDecrease;
+
+      Endpoint(double maxRate, Ticker ticker) {
+         this.maxRate = maxRate;
+         this.ticker = ticker;
+         this.limiter = RateLimiter.create(maxRate);
+         this.rate = new AtomicLong(Double.doubleToLongBits(maxRate));
+         this.lastDecrease = new AtomicLong(ticker.read() - DECREASE_WINDOW_NANOS);
+      }
+
+      double getRate() {
+         return Double.longBitsToDouble(rate.get());
+      }
+
+      /**
+       * @return false if the rate was already decreased within the last window
+       */
+      boolean decrease() {
+         long now = ticker.read();
+         long last = lastDecrease.get();
+         if (now - last < DECREASE_WINDOW_NANOS || !lastDecrease.compareAndSet(last, now))
+            return false;
+         double current;
+         do {
+            current = getRate();
+         } while (!setRate(current, max(current * DECREASE_FACTOR, maxRate * MIN_FRACTION)));
+         return true;
+      }
+
+      void increase() {
+         double current;
+         do {
+            current = getRate();
+            if (current >= maxRate)
+               return;
+         } while (!setRate(current, min(current + maxRate * INCREASE_FRACTION, maxRate)));
+      }
+
+      private boolean setRate(double expected, double update) {
+         if (!rate.compareAndSet(Double.doubleToLongBits(expected), Double.doubleToLongBits(update)))
+            return false;
+         limiter.setRate(update);
+         return true;
+      }
+   }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.metrics;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Timings and sizes collected while an {@link org.jclouds.http.HttpCommand} is executed. All
+ * durations are in nanoseconds and add up over every attempt of the command.
+ */
+@Beta
+public final class HttpCommandMetrics {
+
+   private final long createdNanos = System.nanoTime();
+   private final AtomicLong startedNanos = new AtomicLong();
+   private final LongAdder filterNanos = new LongAdder();
+   private final LongAdder responseNanos = new LongAdder();
+   private final LongAdder parseNanos = new LongAdder();
+   private final LongAdder attempts = new LongAdder();
+   private volatile int statusCode;
+   private final LongAdder bytesOut = new LongAdder();
+   private final LongAdder bytesIn = new LongAdder();
+
+   /**
+    * Marks the moment the executor started working on the command, the first time it is called.
+    */
+   public void markStarted() {
+      startedNanos.compareAndSet(0, System.nanoTime());
+   }
+
+   public void addFilterNanos(long nanos) {
+      filterNanos.add(nanos);
+   }
+
+   public void addResponseNanos(long nanos) {
+      responseNanos.add(nanos);
+   }
+
+   public void addParseNanos(long nanos) {
+      parseNanos.add(nanos);
+   }
+
+   public void incrementAttempts() {
+      attempts.increment();
+   }
+
+   public void setStatusCode(int statusCode) {
+      this.statusCode = statusCode;
+   }
+
+   public void addBytesOut(long bytes) {
+      bytesOut.add(bytes);
+   }
+
+   public void addBytesIn(long bytes) {
+      bytesIn.add(bytes);
+   }
+
+   /**
+    * Time the command waited between its creation and the executor starting to work on it.
+    */
+   public long getQueueNanos() {
+      long started = startedNanos.get();
+      return started == 0 ? 0 : started - createdNanos;
+   }
+
+   /**
+    * Time spent in request filters, which includes signing.
+    */
+   public long getFilterNanos() {
+      return filterNanos.sum();
+   }
+
+   /**
+    * Time from handing the request to the driver until the response headers were received. This
+    * includes connecting and sending the request payload.
+    */
+   public long getResponseNanos() {
+      return responseNanos.sum();
+   }
+
+   /**
+    * Time spent transforming the response, which includes reading a streamed response payload.
+    */
+   public long getParseNanos() {
+      return parseNanos.sum();
+   }
+
+   /**
+    * Number of requests sent, including retries and redirects.
+    */
+   public int getAttempts() {
+      return attempts.intValue();
+   }
+
+   /**
+    * Number of requests sent after the first one.
+    */
+   public int getRetries() {
+      return Math.max(0, getAttempts() - 1);
+   }
+
+   /**
+    * Status code of the last response, or 0 if no response was received.
+    */
+   public int getStatusCode() {
+      return statusCode;
+   }
+
+   /**
+    * Payload bytes sent, when the content length of the request payloads is known.
+    */
+   public long getBytesOut() {
+      return bytesOut.sum();
+   }
+
+   /**
+    * Payload bytes received, when the content length of the responses is known.
+    */
+   public long getBytesIn() {
+      return bytesIn.sum();
+   }
+
+   @Override
+   public String toString() {
+      return toStringHelper(this).add("queueNanos", getQueueNanos()).add("filterNanos", getFilterNanos())
+            .add("responseNanos", getResponseNanos()).add("parseNanos", getParseNanos())
+            .add("attempts", getAttempts()).add("statusCode", statusCode).add("bytesOut", getBytesOut())
+            .add("bytesIn", getBytesIn()).toString();
+   }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.metrics;
+
+import org.jclouds.http.metrics.internal.InMemoryHttpMetrics;
+
+import com.google.common.annotations.Beta;
+import com.google.inject.ImplementedBy;
+
+/**
+ * Receives the timings of every api call, keyed by its command name.
+ * <p>
+ * The default implementation keeps aggregates in memory. Bind another implementation in a module
+ * passed to the {@link org.jclouds.ContextBuilder} to forward them to a metrics backend instead.
+ * Implementations are called on the thread completing the call and must not block.
+ * 
+ * @see org.jclouds.rest.config.InvocationConfig#getCommandName
+ */
+@Beta
+@ImplementedBy(InMemoryHttpMetrics.class)
+public interface HttpMetrics {
+
+   HttpMetrics NONE = new HttpMetrics() {
+      @Override
+      public void record(String commandName, HttpCommandMetrics metrics) {
+      }
+
+      @Override
+      public String toString() {
+         return "NONE";
+      }
+   };
+
+   /**
+    * Records a completed call, whether it succeeded or not.
+    */
+   void record(String commandName, HttpCommandMetrics metrics);
+}
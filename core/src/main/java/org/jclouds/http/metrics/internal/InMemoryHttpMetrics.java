@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.metrics.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+import jakarta.inject.Singleton;
+
+import org.jclouds.http.metrics.HttpCommandMetrics;
+import org.jclouds.http.metrics.HttpMetrics;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+
+/**
+ * Keeps counters, totals and maximums per command name in memory. Recording only updates striped
+ * counters, so it does not contend between threads calling the same api.
+ */
+@Beta
+@Singleton
+public class InMemoryHttpMetrics implements HttpMetrics {
+
+   private final ConcurrentMap<String, CommandStats> commands = new ConcurrentHashMap<String, CommandStats>();
+
+   @Override
+   public void record(String commandName, HttpCommandMetrics metrics) {
+      CommandStats stats = commands.get(commandName);
+      if (stats == null) {
+         CommandStats created = new CommandStats();
+         stats = commands.putIfAbsent(commandName, created);
+         if (stats == null)
+            stats = created;
+      }
+      stats.record(metrics);
+   }
+
+   /**
+    * The statistics of the given command, or null if it was never called.
+    */
+   public CommandStats get(String commandName) {
+      return commands.get(commandName);
+   }
+
+   /**
+    * The statistics of every command called so far, keyed by command name.
+    */
+   public Map<String, CommandStats> getCommands() {
+      return ImmutableMap.copyOf(commands);
+   }
+
+   /**
+    * Forgets all the statistics recorded so far.
+    */
+   public void reset() {
+      commands.clear();
+   }
+
+   public static final class CommandStats {
+      private final LongAdder calls = new LongAdder();
+      private final LongAdder retries = new LongAdder();
+      private final Timer queue = new Timer();
+      private final Timer filter = new Timer();
+      private final Timer response = new Timer();
+      private final Timer parse = new Timer();
+      private final LongAdder bytesOut = new LongAdder();
+      private final LongAdder bytesIn = new LongAdder();
+      private final ConcurrentMap<Integer, LongAdder> statusCodes = new ConcurrentHashMap<Integer, LongAdder>();
+
+      private void record(HttpCommandMetrics metrics) {
+         calls.increment();
+         retries.add(metrics.getRetries());
+         queue.record(metrics.getQueueNanos());
+         filter.record(metrics.getFilterNanos());
+         response.record(metrics.getResponseNanos());
+         parse.record(metrics.getParseNanos());
+         bytesOut.add(metrics.getBytesOut());
+         bytesIn.add(metrics.getBytesIn());
+         LongAdder count = statusCodes.get(metrics.getStatusCode());
+         if (count == null) {
+            LongAdder created = new LongAdder();
+            count = statusCodes.putIfAbsent(metrics.getStatusCode(), created);
+            if (count == null)
+               count = created;
+         }
+         count.increment();
+      }
+
+      public long getCalls() {
+         return calls.sum();
+      }
+
+      public long getRetries() {
+         return retries.sum();
+      }
+
+      /** @see HttpCommandMetrics#getQueueNanos() */
+      public Timer getQueue() {
+         return queue;
+      }
+
+      /** @see HttpCommandMetrics#getFilterNanos() */
+      public Timer getFilter() {
+         return filter;
+      }
+
+      /** @see HttpCommandMetrics#getResponseNanos() */
+      public Timer getResponse() {
+         return response;
+      }
+
+      /** @see HttpCommandMetrics#getParseNanos() */
+      public Timer getParse() {
+         return parse;
+      }
+
+      public long getBytesOut() {
+         return bytesOut.sum();
+      }
+
+      public long getBytesIn() {
+         return bytesIn.sum();
+      }
+
+      /**
+       * Number of calls per status code of their last response. Calls that received no response are
+       * counted under 0.
+       */
+      public SortedMap<Integer, Long> getStatusCodes() {
+         ImmutableSortedMap.Builder<Integer, Long> builder = ImmutableSortedMap.naturalOrder();
+         for (Map.Entry<Integer, LongAdder> entry : statusCodes.entrySet()) {
+            builder.put(entry.getKey(), entry.getValue().sum());
+         }
+         return builder.build();
+      }
+
+      @Override
+      public String toString() {
+         return toStringHelper(this).add("calls", getCalls()).add("retries", getRetries()).add("queue", queue)
+               .add("filter", filter).add("response", response).add("parse", parse).add("bytesOut", getBytesOut())
+               .add("bytesIn", getBytesIn()).add("statusCodes", getStatusCodes()).toString();
+      }
+   }
+
+   /**
+    * Count, total and maximum of a duration, in nanoseconds.
+    */
+   public static final class Timer {
+      private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+         @Override
+         public long applyAsLong(long left, long right) {
+            return Math.max(left, right);
+         }
+      };
+
+      private final LongAdder count = new LongAdder();
+      private final LongAdder totalNanos = new LongAdder();
+      private final LongAccumulator maxNanos = new LongAccumulator(MAX, 0);
+
+      private void record(long nanos) {
+         count.increment();
+         totalNanos.add(nanos);
+         maxNanos.accumulate(nanos);
+      }
+
+      public long getCount() {
+         return count.sum();
+      }
+
+      public long getTotalNanos() {
+         return totalNanos.sum();
+      }
+
+      public long getMaxNanos() {
+         return maxNanos.get();
+      }
+
+      public long getMeanNanos() {
+         long count = getCount();
+         return count == 0 ? 0 : getTotalNanos() / count;
+      }
+
+      @Override
+      public String toString() {
+         return toStringHelper(this).add("count", getCount()).add("meanNanos", getMeanNanos())
+               .add("maxNanos", getMaxNanos()).toString();
+      }
+   }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.jclouds.io.payloads.ByteSourcePayload;
+import org.jclouds.io.payloads.FilePayload;
+import org.jclouds.javax.annotation.Nullable;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Optional;
+import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
+
+/**
+ * A {@link ByteSource} over a region of a file. Unlike
+ * {@link com.google.common.io.Files#asByteSource}, slices of this source remain
+ * file regions, so HTTP drivers can send them with {@link FileChannel}
+ * positional transfers instead of copying through an {@link InputStream}.
+ */
+@Beta
+public final class FileRegionByteSource extends ByteSource {
+
+   private final File file;
+   private final long offset;
+   private final long length;
+
+   public static FileRegionByteSource of(File file) {
+      return new FileRegionByteSource(file, 0, Long.MAX_VALUE);
+   }
+
+   /**
+    * Returns the file region backing the payload, or null if the payload is not
+    * itself a file or a file region. Wrapping payloads, such as
+    * {@link org.jclouds.io.payloads.BaseCipherPayload}, transform the bytes of
+    * their delegate and are never sent as a file region.
+    */
+   @Nullable
+   public static FileRegionByteSource fromPayload(Payload payload) {
+      Object rawContent = payload.getRawContent();
+      if (payload instanceof FilePayload) {
+         return of((File) rawContent);
+      } else if (payload instanceof ByteSourcePayload && rawContent instanceof FileRegionByteSource) {
+         return (FileRegionByteSource) rawContent;
+      }
+      return null;
+   }
+
+   private FileRegionByteSource(File file, long offset, long length) {
+      this.file = checkNotNull(file, "file");
+      this.offset = offset;
+      this.length = length;
+   }
+
+   public File getFile() {
+      return file;
+   }
+
+   public long getOffset() {
+      return offset;
+   }
+
+   @Override
+   public FileRegionByteSource slice(long offset, long length) {
+      checkArgument(offset >= 0, "offset (%s) may not be negative", offset);
+      checkArgument(length >= 0, "length (%s) may not be negative", length);
+      long maxLength = this.length - offset;
+      return new FileRegionByteSource(file, this.offset + offset, maxLength <= 0 ? 0 : Math.min(length, maxLength));
+   }
+
+   @Override
+   public long size() throws IOException {
+      return Math.max(0, Math.min(length, file.length() - offset));
+   }
+
+   @Override
+   public Optional<Long> sizeIfKnown() {
+      if (!file.isFile()) {
+         return Optional.absent();
+      }
+      return Optional.of(Math.max(0, Math.min(length, file.length() - offset)));
+   }
+
+   @Override
+   public InputStream openStream() throws IOException {
+      FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+      try {
+         channel.position(offset);
+      } catch (IOException e) {
+         channel.close();
+         throw e;
+      }
+      return ByteStreams.limit(Channels.newInputStream(channel), length);
+   }
+
+   /**
+    * Writes the region to the target with {@link FileChannel#transferTo}, which
+    * lets the operating system move the bytes when the target is a socket or a
+    * file.
+    *
+    * @return the number of bytes written
+    */
+   public long transferTo(WritableByteChannel target) throws IOException {
+      FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+      try {
+         long size = Math.max(0, Math.min(length, channel.size() - offset));
+         long written = 0;
+         while (written < size) {
+            long count = channel.transferTo(offset + written, size - written, target);
+            if (count <= 0) {
+               // the file was truncated underneath us
+               break;
+            }
+            written += count;
+         }
+         return written;
+      } finally {
+         channel.close();
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "FileRegionByteSource(" + file + ", " + offset + ", " + length + ")";
+   }
+}
@@ -20,16 +20,29 @@ import static com.google.common.base.Objects.equal;
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Throwables.propagate;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.jclouds.Constants.PROPERTY_SCHEDULER_THREADS;
+import static org.jclouds.Constants.PROPERTY_USER_THREADS;
+import static org.jclouds.util.Futures2.isReturnTypeFuture;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 import jakarta.annotation.Resource;
-import jakarta.inject.Inject;
+import jakarta.inject.Named;
 
+import org.jclouds.http.AsyncHttpCommandExecutorService;
 import org.jclouds.http.HttpCommand;
 import org.jclouds.http.HttpCommandExecutorService;
 import org.jclouds.http.HttpRequest;
 import org.jclouds.http.HttpResponse;
+import org.jclouds.http.metrics.HttpMetrics;
 import org.jclouds.logging.Logger;
 import org.jclouds.reflect.Invocation;
 import org.jclouds.rest.InvocationContext;
@@ -40,7 +53,10 @@ import com.google.common.base.Function;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.TimeLimiter;
+import com.google.common.util.concurrent.UncheckedTimeoutException;
+import com.google.inject.Inject;
 
 public class InvokeHttpMethod implements Function<Invocation, Object> {
 
@@ -52,21 +68,33 @@ public class InvokeHttpMethod implements Function<Invocation, Object> {
    private final TimeLimiter timeLimiter;
    private final Function<HttpRequest, Function<HttpResponse, ?>> transformerForRequest;
    private final InvocationConfig config;
+   private final ListeningExecutorService userExecutor;
+   private final ScheduledExecutorService scheduler;
+
+   @Inject(optional = true)
+   private HttpMetrics metrics = HttpMetrics.NONE;
 
    @Inject
    @VisibleForTesting
    InvokeHttpMethod(Function<Invocation, HttpRequest> annotationProcessor,
          HttpCommandExecutorService http, Function<HttpRequest, Function<HttpResponse, ?>> transformerForRequest,
-         TimeLimiter timeLimiter, InvocationConfig config) {
+         TimeLimiter timeLimiter, InvocationConfig config,
+         @Named(PROPERTY_USER_THREADS) ListeningExecutorService userExecutor,
+         @Named(PROPERTY_SCHEDULER_THREADS) ScheduledExecutorService scheduler) {
       this.annotationProcessor = annotationProcessor;
       this.http = http;
       this.timeLimiter = timeLimiter;
       this.transformerForRequest = transformerForRequest;
       this.config = config;
+      this.userExecutor = userExecutor;
+      this.scheduler = scheduler;
    }
 
    @Override
    public Object apply(Invocation in) {
+      if (isReturnTypeFuture(in.getInvokable())) {
+         return invokeAsync(in);
+      }
       Optional<Long> timeoutNanos = config.getTimeoutNanos(in);
       if (timeoutNanos.isPresent()) {
          return invokeWithTimeout(in, timeoutNanos.get());
@@ -88,13 +116,15 @@ public class InvokeHttpMethod implements Function<Invocation, Object> {
 
       logger.debug(">> invoking %s", commandName);
       try {
-         return transformer.apply(http.invoke(command));
+         return transform(command, transformer, http.invoke(command));
       } catch (Throwable t) {
          try {
             return fallback.createOrPropagate(t);
          } catch (Exception e) {
             throw propagate(e);
          }
+      } finally {
+         metrics.record(commandName, command.getMetrics());
       }
    }
 
@@ -132,6 +162,95 @@ public class InvokeHttpMethod implements Function<Invocation, Object> {
          } catch (Exception e) {
             throw propagate(e);
          }
+      } finally {
+         metrics.record(commandName, command.getMetrics());
+      }
+   }
+
+   /**
+    * invokes the {@linkplain HttpCommand} associated with {@code invocation}
+    * without blocking the caller. The response is parsed and the fallback
+    * applied on the thread completing the command. When the
+    * {@link HttpCommandExecutorService} cannot send commands asynchronously,
+    * the command is invoked on the user executor instead.
+    * <p/>
+    * If a timeout is configured for the invocation, the future fails with an
+    * {@link UncheckedTimeoutException} once it elapses, and the command is
+    * aborted.
+    */
+   public CompletableFuture<Object> invokeAsync(final Invocation invocation) {
+      final String commandName = config.getCommandName(invocation);
+      final HttpCommand command = toCommand(commandName, invocation);
+      final Function<HttpResponse, ?> transformer = getTransformer(commandName, command);
+      final org.jclouds.Fallback<?> fallback = getFallback(commandName, invocation, command);
+
+      logger.debug(">> invoking %s asynchronously", commandName);
+      CompletableFuture<HttpResponse> response;
+      if (http instanceof AsyncHttpCommandExecutorService) {
+         response = AsyncHttpCommandExecutorService.class.cast(http).invokeAsync(command);
+      } else {
+         response = CompletableFuture.supplyAsync(new Supplier<HttpResponse>() {
+            @Override
+            public HttpResponse get() {
+               return http.invoke(command);
+            }
+         }, userExecutor);
+      }
+      Optional<Long> timeoutNanos = config.getTimeoutNanos(invocation);
+      if (timeoutNanos.isPresent()) {
+         failOnTimeout(response, timeoutNanos.get());
+      }
+      return response.handle(new BiFunction<HttpResponse, Throwable, Object>() {
+         @Override
+         public Object apply(HttpResponse from, Throwable failure) {
+            try {
+               try {
+                  if (failure == null)
+                     return transform(command, transformer, from);
+               } catch (Throwable t) {
+                  failure = t;
+               }
+               if (failure instanceof CompletionException && failure.getCause() != null)
+                  failure = failure.getCause();
+               if (failure instanceof TimeoutException)
+                  failure = new UncheckedTimeoutException(failure);
+               try {
+                  return fallback.createOrPropagate(failure);
+               } catch (Exception e) {
+                  throw new CompletionException(e);
+               }
+            } finally {
+               metrics.record(commandName, command.getMetrics());
+            }
+         }
+      });
+   }
+
+   /**
+    * fails {@code response} with a {@link TimeoutException} unless it completes within {@code timeoutNanos}.
+    */
+   private void failOnTimeout(final CompletableFuture<HttpResponse> response, long timeoutNanos) {
+      final ScheduledFuture<?> timeout = scheduler.schedule(new Runnable() {
+         @Override
+         public void run() {
+            response.completeExceptionally(new TimeoutException());
+         }
+      }, timeoutNanos, NANOSECONDS);
+      response.whenComplete(new BiConsumer<HttpResponse, Throwable>() {
+         @Override
+         public void accept(HttpResponse from, Throwable failure) {
+            timeout.cancel(false);
+         }
+      });
+   }
+
+   private static Object transform(HttpCommand command, Function<HttpResponse, ?> transformer,
+         HttpResponse response) {
+      long start = System.nanoTime();
+      try {
+         return transformer.apply(response);
+      } finally {
+         command.getMetrics().addParseNanos(System.nanoTime() - start);
       }
    }
 
@@ -158,7 +277,7 @@ public class InvokeHttpMethod implements Function<Invocation, Object> {
 
       @Override
       public Object call() throws Exception {
-         return transformer.apply(http.invoke(command));
+         return transform(command, transformer, http.invoke(command));
       }
 
       @Override
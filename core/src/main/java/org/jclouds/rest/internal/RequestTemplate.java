@@ -0,0 +1,371 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.rest.internal;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Iterables.getOnlyElement;
+import static java.util.Arrays.asList;
+import static org.jclouds.reflect.Reflection2.getInvokableParameters;
+import static org.jclouds.util.Strings2.urlEncode;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Map.Entry;
+
+import jakarta.ws.rs.Encoded;
+import jakarta.ws.rs.FormParam;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+
+import org.jclouds.http.HttpRequestFilter;
+import org.jclouds.http.options.HttpRequestOptions;
+import org.jclouds.javax.annotation.Nullable;
+import org.jclouds.rest.Binder;
+import org.jclouds.rest.annotations.BinderParam;
+import org.jclouds.rest.annotations.Endpoint;
+import org.jclouds.rest.annotations.EndpointParam;
+import org.jclouds.rest.annotations.FormParams;
+import org.jclouds.rest.annotations.Headers;
+import org.jclouds.rest.annotations.MapBinder;
+import org.jclouds.rest.annotations.OverrideRequestFilters;
+import org.jclouds.rest.annotations.ParamParser;
+import org.jclouds.rest.annotations.ParamValidators;
+import org.jclouds.rest.annotations.PartParam;
+import org.jclouds.rest.annotations.PayloadParam;
+import org.jclouds.rest.annotations.PayloadParams;
+import org.jclouds.rest.annotations.QueryParams;
+import org.jclouds.rest.annotations.RequestFilters;
+import org.jclouds.rest.annotations.SkipEncoding;
+import org.jclouds.rest.annotations.VirtualHost;
+import org.jclouds.rest.annotations.WrapWith;
+
+import com.google.common.base.Function;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Chars;
+import com.google.common.reflect.Invokable;
+import com.google.common.reflect.Parameter;
+
+/**
+ * Everything {@link RestAnnotationProcessor} needs to know about an {@link Invokable} that can be derived from its
+ * annotations alone. A template is compiled once per invokable, so that building a request only has to bind the
+ * invocation arguments and the injector-scoped values into it.
+ * <p/>
+ * Annotation misuse that only affects some invocations, such as several {@link HttpMethod} or {@link EndpointParam}
+ * annotations, is reported when the affected part of the template is used rather than when it is compiled.
+ */
+final class RequestTemplate {
+
+   private static final LoadingCache<Invokable<?, ?>, RequestTemplate> templates = CacheBuilder.newBuilder().build(
+         new CacheLoader<Invokable<?, ?>, RequestTemplate>() {
+            @Override
+            public RequestTemplate load(Invokable<?, ?> invokable) {
+               return compile(invokable);
+            }
+         });
+
+   /**
+    * @return the template for the invokable, compiling it on first use
+    */
+   static RequestTemplate get(Invokable<?, ?> invokable) {
+      return templates.getUnchecked(invokable);
+   }
+
+   /**
+    * @return a new template, reading the annotations of the invokable again
+    */
+   static RequestTemplate compile(Invokable<?, ?> invokable) {
+      return new RequestTemplate(invokable);
+   }
+
+   /**
+    * An argument bound to a request by one of the {@code *Param} annotations.
+    */
+   static final class ParamTemplate {
+      final int position;
+      final String key;
+      @Nullable
+      final Class<? extends Function<Object, String>> parser;
+      final boolean encoded;
+      final boolean nullable;
+
+      private ParamTemplate(Parameter param, String key) {
+         this.position = param.hashCode(); // guava issue 1243
+         this.key = key;
+         ParamParser parser = param.getAnnotation(ParamParser.class);
+         this.parser = parser != null ? parser.value() : null;
+         this.encoded = param.isAnnotationPresent(Encoded.class);
+         this.nullable = param.isAnnotationPresent(Nullable.class);
+      }
+   }
+
+   /**
+    * An argument bound to a request by {@link BinderParam} or {@link WrapWith}.
+    */
+   static final class BinderTemplate {
+      final int position;
+      @Nullable
+      final Class<? extends Binder> binder;
+      @Nullable
+      final String wrapWith;
+      final boolean array;
+      final boolean nullable;
+
+      private BinderTemplate(Parameter param) {
+         this.position = param.hashCode(); // guava issue 1243
+         BinderParam binderParam = param.getAnnotation(BinderParam.class);
+         this.binder = binderParam != null ? binderParam.value() : null;
+         this.wrapWith = binderParam != null ? null : param.getAnnotation(WrapWith.class).value();
+         this.array = param.getType().isArray();
+         this.nullable = param.isAnnotationPresent(Nullable.class);
+      }
+   }
+
+   /**
+    * A header declared by {@link Headers}.
+    */
+   static final class HeaderTemplate {
+      final String key;
+      final String value;
+      final boolean urlEncode;
+
+      private HeaderTemplate(String key, String value, boolean urlEncode) {
+         this.key = key;
+         this.value = value;
+         this.urlEncode = urlEncode;
+      }
+   }
+
+   final Invokable<?, ?> invokable;
+   final int parameterCount;
+   final boolean validated;
+   private final ImmutableSet<String> httpMethods;
+   @Nullable
+   final ImmutableList<Character> skipPathEncoding;
+   final ImmutableList<String> paths;
+   final boolean encodeFullPath;
+   final boolean virtualHost;
+   final ImmutableList<Class<? extends HttpRequestFilter>> filters;
+   @Nullable
+   final Class<? extends Annotation> endpoint;
+   private final ImmutableList<Parameter> endpointParams;
+   final ImmutableList<Entry<String, String>> formParams;
+   final ImmutableList<Entry<String, String>> queryParams;
+   final ImmutableList<HeaderTemplate> headers;
+   @Nullable
+   final ImmutableList<String> produces;
+   final ImmutableList<Entry<String, String>> payloadParams;
+   final ImmutableList<ParamTemplate> pathParamArgs;
+   final ImmutableList<ParamTemplate> formParamArgs;
+   final ImmutableList<ParamTemplate> queryParamArgs;
+   final ImmutableList<ParamTemplate> headerParamArgs;
+   final ImmutableList<ParamTemplate> payloadParamArgs;
+   final ImmutableList<Parameter> partParamArgs;
+   final ImmutableList<BinderTemplate> binderArgs;
+   final ImmutableSet<Integer> optionsPositions;
+   @Nullable
+   final Class<? extends org.jclouds.rest.MapBinder> mapBinder;
+   final boolean mapPayload;
+   @Nullable
+   final String mapWrapWith;
+
+   private RequestTemplate(Invokable<?, ?> invokable) {
+      this.invokable = invokable;
+      Class<?> owner = invokable.getOwnerType().getRawType();
+      List<Parameter> parameters = getInvokableParameters(invokable);
+      this.parameterCount = parameters.size();
+
+      boolean validated = invokable.isAnnotationPresent(ParamValidators.class);
+      for (Parameter param : parameters) {
+         validated |= param.isAnnotationPresent(ParamValidators.class);
+      }
+      this.validated = validated;
+
+      ImmutableSet.Builder<String> httpMethods = ImmutableSet.builder();
+      for (Annotation annotation : invokable.getAnnotations()) {
+         HttpMethod http = annotation.annotationType().getAnnotation(HttpMethod.class);
+         if (http != null)
+            httpMethods.add(http.value());
+      }
+      this.httpMethods = httpMethods.build();
+
+      // the method level annotation replaces the type level one
+      SkipEncoding skipEncoding = invokable.isAnnotationPresent(SkipEncoding.class) ? invokable
+            .getAnnotation(SkipEncoding.class) : owner.getAnnotation(SkipEncoding.class);
+      this.skipPathEncoding = skipEncoding != null ? ImmutableList.copyOf(Chars.asList(skipEncoding.value())) : null;
+
+      ImmutableList.Builder<String> paths = ImmutableList.builder();
+      if (owner.isAnnotationPresent(Path.class))
+         paths.add(owner.getAnnotation(Path.class).value());
+      if (invokable.isAnnotationPresent(Path.class))
+         paths.add(invokable.getAnnotation(Path.class).value());
+      this.paths = paths.build();
+
+      boolean encodedUsed = false;
+      for (Parameter param : parameters) {
+         encodedUsed |= param.isAnnotationPresent(Encoded.class);
+      }
+      this.encodeFullPath = !encodedUsed;
+      this.virtualHost = owner.isAnnotationPresent(VirtualHost.class)
+            || invokable.isAnnotationPresent(VirtualHost.class);
+
+      ImmutableList.Builder<Class<? extends HttpRequestFilter>> filters = ImmutableList.builder();
+      if (owner.isAnnotationPresent(RequestFilters.class)
+            && !(invokable.isAnnotationPresent(RequestFilters.class)
+                  && invokable.isAnnotationPresent(OverrideRequestFilters.class)))
+         filters.addAll(asList(owner.getAnnotation(RequestFilters.class).value()));
+      if (invokable.isAnnotationPresent(RequestFilters.class))
+         filters.addAll(asList(invokable.getAnnotation(RequestFilters.class).value()));
+      this.filters = filters.build();
+
+      if (invokable.isAnnotationPresent(Endpoint.class))
+         this.endpoint = invokable.getAnnotation(Endpoint.class).value();
+      else if (owner.isAnnotationPresent(Endpoint.class))
+         this.endpoint = owner.getAnnotation(Endpoint.class).value();
+      else
+         this.endpoint = null;
+
+      ImmutableList.Builder<Entry<String, String>> formParams = ImmutableList.builder();
+      for (FormParams form : annotations(owner, invokable, FormParams.class)) {
+         for (int i = 0; i < form.keys().length; i++)
+            formParams.add(Maps.immutableEntry(form.keys()[i], form.values()[i]));
+      }
+      this.formParams = formParams.build();
+
+      ImmutableList.Builder<Entry<String, String>> queryParams = ImmutableList.builder();
+      for (QueryParams query : annotations(owner, invokable, QueryParams.class)) {
+         for (int i = 0; i < query.keys().length; i++)
+            queryParams.add(Maps.immutableEntry(urlEncode(query.keys()[i], '/', ','), query.values()[i]));
+      }
+      this.queryParams = queryParams.build();
+
+      ImmutableList.Builder<HeaderTemplate> headers = ImmutableList.builder();
+      for (Headers header : annotations(owner, invokable, Headers.class)) {
+         // urlEncode may have less entries than keys e.g. default value of {}
+         boolean[] urlEncode = header.urlEncode();
+         for (int i = 0; i < header.keys().length; i++)
+            headers.add(new HeaderTemplate(header.keys()[i], header.values()[i], i < urlEncode.length && urlEncode[i]));
+      }
+      this.headers = headers.build();
+
+      Produces produces = invokable.isAnnotationPresent(Produces.class) ? invokable.getAnnotation(Produces.class)
+            : owner.getAnnotation(Produces.class);
+      this.produces = produces != null ? ImmutableList.copyOf(produces.value()) : null;
+
+      ImmutableList.Builder<Entry<String, String>> payloadParams = ImmutableList.builder();
+      if (invokable.isAnnotationPresent(PayloadParams.class)) {
+         PayloadParams params = invokable.getAnnotation(PayloadParams.class);
+         for (int i = 0; i < params.keys().length; i++)
+            payloadParams.add(Maps.immutableEntry(params.keys()[i], params.values()[i]));
+      }
+      this.payloadParams = payloadParams.build();
+
+      ImmutableList.Builder<ParamTemplate> pathParamArgs = ImmutableList.builder();
+      ImmutableList.Builder<ParamTemplate> formParamArgs = ImmutableList.builder();
+      ImmutableList.Builder<ParamTemplate> queryParamArgs = ImmutableList.builder();
+      ImmutableList.Builder<ParamTemplate> headerParamArgs = ImmutableList.builder();
+      ImmutableList.Builder<ParamTemplate> payloadParamArgs = ImmutableList.builder();
+      ImmutableList.Builder<Parameter> partParamArgs = ImmutableList.builder();
+      ImmutableList.Builder<Parameter> endpointParams = ImmutableList.builder();
+      ImmutableSet.Builder<Integer> optionsPositions = ImmutableSet.builder();
+      for (Parameter param : parameters) {
+         if (param.isAnnotationPresent(PathParam.class))
+            pathParamArgs.add(new ParamTemplate(param, param.getAnnotation(PathParam.class).value()));
+         if (param.isAnnotationPresent(FormParam.class))
+            formParamArgs.add(new ParamTemplate(param, param.getAnnotation(FormParam.class).value()));
+         if (param.isAnnotationPresent(QueryParam.class))
+            queryParamArgs.add(new ParamTemplate(param, urlEncode(param.getAnnotation(QueryParam.class).value(), '/',
+                  ',')));
+         if (param.isAnnotationPresent(HeaderParam.class))
+            headerParamArgs.add(new ParamTemplate(param, param.getAnnotation(HeaderParam.class).value()));
+         if (param.isAnnotationPresent(PayloadParam.class))
+            payloadParamArgs.add(new ParamTemplate(param, param.getAnnotation(PayloadParam.class).value()));
+         if (param.isAnnotationPresent(PartParam.class))
+            partParamArgs.add(param);
+         if (param.isAnnotationPresent(EndpointParam.class))
+            endpointParams.add(param);
+         Class<?> type = param.getType().getRawType();
+         if (HttpRequestOptions.class.isAssignableFrom(type) || HttpRequestOptions[].class.isAssignableFrom(type))
+            optionsPositions.add(param.hashCode());
+      }
+      this.pathParamArgs = pathParamArgs.build();
+      this.formParamArgs = formParamArgs.build();
+      this.queryParamArgs = queryParamArgs.build();
+      this.headerParamArgs = headerParamArgs.build();
+      this.payloadParamArgs = payloadParamArgs.build();
+      this.partParamArgs = partParamArgs.build();
+      this.endpointParams = endpointParams.build();
+      this.optionsPositions = optionsPositions.build();
+
+      // parameters annotated with BinderParam are bound before those only annotated with WrapWith
+      ImmutableList.Builder<BinderTemplate> binderArgs = ImmutableList.builder();
+      for (Parameter param : parameters) {
+         if (param.isAnnotationPresent(BinderParam.class))
+            binderArgs.add(new BinderTemplate(param));
+      }
+      for (Parameter param : parameters) {
+         if (param.isAnnotationPresent(WrapWith.class) && !param.isAnnotationPresent(BinderParam.class))
+            binderArgs.add(new BinderTemplate(param));
+      }
+      this.binderArgs = binderArgs.build();
+
+      this.mapBinder = invokable.isAnnotationPresent(MapBinder.class) ? invokable.getAnnotation(MapBinder.class)
+            .value() : null;
+      this.mapPayload = invokable.isAnnotationPresent(org.jclouds.rest.annotations.Payload.class);
+      this.mapWrapWith = invokable.isAnnotationPresent(WrapWith.class) ? invokable.getAnnotation(WrapWith.class)
+            .value() : null;
+   }
+
+   /**
+    * @return the value of the only {@link HttpMethod} annotation on the invokable
+    */
+   String httpMethod() {
+      checkState(httpMethods.size() <= 1, "You must specify at most one HttpMethod annotation on: %s", invokable);
+      checkState(!httpMethods.isEmpty(), "no HttpMethod annotation on: %s", invokable);
+      return getOnlyElement(httpMethods);
+   }
+
+   /**
+    * @return the only parameter annotated with {@link EndpointParam}, or null if there is none
+    */
+   @Nullable
+   Parameter endpointParam() {
+      if (endpointParams.isEmpty())
+         return null;
+      checkState(endpointParams.size() == 1, "invocation.getInvoked() %s has too many EndpointParam annotations",
+            invokable);
+      return endpointParams.get(0);
+   }
+
+   private static <A extends Annotation> List<A> annotations(Class<?> owner, Invokable<?, ?> invokable,
+         Class<A> annotationType) {
+      ImmutableList.Builder<A> annotations = ImmutableList.builder();
+      if (owner.isAnnotationPresent(annotationType))
+         annotations.add(owner.getAnnotation(annotationType));
+      if (invokable.isAnnotationPresent(annotationType))
+         annotations.add(invokable.getAnnotation(annotationType));
+      return annotations.build();
+   }
+}
@@ -19,34 +19,28 @@ package org.jclouds.rest.internal;
 import static com.google.common.base.Functions.toStringFunction;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Predicates.instanceOf;
-import static com.google.common.collect.Collections2.filter;
 import static com.google.common.collect.Iterables.concat;
 import static com.google.common.collect.Iterables.get;
 import static com.google.common.collect.Iterables.transform;
 import static com.google.common.collect.Iterables.tryFind;
-import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Lists.newLinkedList;
 import static com.google.common.collect.Multimaps.transformValues;
 import static com.google.common.net.HttpHeaders.ACCEPT;
 import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
 import static com.google.common.net.HttpHeaders.HOST;
 import static java.lang.String.format;
-import static java.util.Arrays.asList;
 import static org.jclouds.http.HttpUtils.filterOutContentHeaders;
-import static org.jclouds.http.HttpUtils.tryFindHttpMethod;
 import static org.jclouds.http.Uris.uriBuilder;
 import static org.jclouds.io.Payloads.newPayload;
 import static org.jclouds.reflect.Reflection2.getInvokableParameters;
 import static org.jclouds.util.Strings2.replaceTokens;
 import static org.jclouds.util.Strings2.urlEncode;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -56,13 +50,6 @@ import java.util.Set;
 
 import jakarta.annotation.Resource;
 import jakarta.inject.Named;
-import jakarta.ws.rs.Encoded;
-import jakarta.ws.rs.FormParam;
-import jakarta.ws.rs.HeaderParam;
-import jakarta.ws.rs.Path;
-import jakarta.ws.rs.PathParam;
-import jakarta.ws.rs.Produces;
-import jakarta.ws.rs.QueryParam;
 
 import org.jclouds.Constants;
 import org.jclouds.domain.Credentials;
@@ -88,23 +75,13 @@ import org.jclouds.reflect.Invocation;
 import org.jclouds.rest.Binder;
 import org.jclouds.rest.InputParamValidator;
 import org.jclouds.rest.annotations.ApiVersion;
-import org.jclouds.rest.annotations.BinderParam;
 import org.jclouds.rest.annotations.BuildVersion;
-import org.jclouds.rest.annotations.Endpoint;
 import org.jclouds.rest.annotations.EndpointParam;
 import org.jclouds.rest.annotations.FormParams;
-import org.jclouds.rest.annotations.Headers;
 import org.jclouds.rest.annotations.MapBinder;
-import org.jclouds.rest.annotations.OverrideRequestFilters;
-import org.jclouds.rest.annotations.ParamParser;
 import org.jclouds.rest.annotations.PartParam;
-import org.jclouds.rest.annotations.PayloadParam;
 import org.jclouds.rest.annotations.PayloadParams;
 import org.jclouds.rest.annotations.QueryParams;
-import org.jclouds.rest.annotations.RequestFilters;
-import org.jclouds.rest.annotations.SkipEncoding;
-import org.jclouds.rest.annotations.VirtualHost;
-import org.jclouds.rest.annotations.WrapWith;
 import org.jclouds.rest.binders.BindMapToStringPayload;
 import org.jclouds.rest.binders.BindToJsonPayloadWrappedWith;
 
@@ -112,21 +89,15 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Optional;
-import com.google.common.base.Predicate;
 import com.google.common.base.Supplier;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.ImmutableSet.Builder;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
-import com.google.common.primitives.Chars;
 import com.google.common.reflect.Invokable;
 import com.google.common.reflect.Parameter;
 import com.google.inject.Inject;
@@ -157,6 +128,7 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
    private final Invocation caller;
    private final boolean stripExpectHeader;
    private final boolean connectionCloseHeader;
+   private final boolean cacheRequestTemplates;
 
    @Inject
    private RestAnnotationProcessor(Injector injector,
@@ -164,7 +136,8 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
          HttpUtils utils, ContentMetadataCodec contentMetadataCodec, InputParamValidator inputParamValidator,
          GetAcceptHeaders getAcceptHeaders, @Nullable @Named("caller") Invocation caller,
          @Named(Constants.PROPERTY_STRIP_EXPECT_HEADER) boolean stripExpectHeader,
-         @Named(Constants.PROPERTY_CONNECTION_CLOSE_HEADER) boolean connectionCloseHeader) {
+         @Named(Constants.PROPERTY_CONNECTION_CLOSE_HEADER) boolean connectionCloseHeader,
+         @Named(Constants.PROPERTY_CACHE_REQUEST_TEMPLATES) boolean cacheRequestTemplates) {
       this.injector = injector;
       this.utils = utils;
       this.contentMetadataCodec = contentMetadataCodec;
@@ -176,6 +149,7 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       this.caller = caller;
       this.stripExpectHeader = stripExpectHeader;
       this.connectionCloseHeader = connectionCloseHeader;
+      this.cacheRequestTemplates = cacheRequestTemplates;
    }
 
    /**
@@ -190,7 +164,11 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
    @Override
    public GeneratedHttpRequest apply(Invocation invocation) {
       checkNotNull(invocation, "invocation");
-      inputParamValidator.validateMethodParametersOrThrow(invocation, getInvokableParameters(invocation.getInvokable()));
+      RequestTemplate template = templateFor(invocation);
+      RequestTemplate callerTemplate = caller != null ? templateFor(caller) : null;
+      if (template.validated)
+         inputParamValidator.validateMethodParametersOrThrow(invocation,
+               getInvokableParameters(invocation.getInvokable()));
 
       Optional<URI> endpoint = Optional.absent();
       HttpRequest r = findOrNull(invocation.getArgs(), HttpRequest.class);
@@ -201,16 +179,16 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       } else {
          // If there is no explicit HttpRequest parameter, try to find the endpoint. When using
          // delegate apis, the endpoint defined in the callee takes precedence
-         endpoint = getEndpointFor(invocation);
+         endpoint = getEndpointFor(invocation, template);
          if (!endpoint.isPresent()) {
             if (caller != null) {
-               endpoint = getEndpointFor(caller);
+               endpoint = getEndpointFor(caller, callerTemplate);
                if (endpoint.isPresent())
                   logger.trace("using endpoint %s from caller %s for %s", endpoint, caller, invocation);
                else
-                  endpoint = findEndpoint(invocation);
+                  endpoint = findEndpoint(invocation, template);
             } else {
-               endpoint = findEndpoint(invocation);
+               endpoint = findEndpoint(invocation, template);
             }
          }
       }
@@ -224,11 +202,11 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
          requestMethod = r.getMethod();
          requestBuilder.fromHttpRequest(r);
       } else {
-         requestMethod = tryFindHttpMethod(invocation.getInvokable()).get();
+         requestMethod = template.httpMethod();
          requestBuilder.method(requestMethod);
       }
 
-      requestBuilder.filters(getFiltersIfAnnotated(invocation));
+      requestBuilder.filters(getFiltersIfAnnotated(template));
       if (stripExpectHeader) {
          requestBuilder.filter(new StripExpectHeader());
       }
@@ -244,34 +222,35 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       // URI template in rfc6570 form
       UriBuilder uriBuilder = uriBuilder(endpoint.get().toString());
 
-      overridePathEncoding(uriBuilder, invocation);
+      if (template.skipPathEncoding != null)
+         uriBuilder.skipPathEncoding(template.skipPathEncoding);
 
-      boolean encodeFullPath = !isEncodedUsed(invocation);
+      boolean encodeFullPath = template.encodeFullPath;
       if (caller != null)
-         tokenValues.putAll(addPathAndGetTokens(caller, uriBuilder, encodeFullPath));
-      tokenValues.putAll(addPathAndGetTokens(invocation, uriBuilder, encodeFullPath));
+         tokenValues.putAll(addPathAndGetTokens(caller, callerTemplate, uriBuilder, encodeFullPath));
+      tokenValues.putAll(addPathAndGetTokens(invocation, template, uriBuilder, encodeFullPath));
       Multimap<String, Object> formParams;
       if (caller != null) {
-         formParams = addFormParams(tokenValues, caller);
-         formParams.putAll(addFormParams(tokenValues, invocation));
+         formParams = addFormParams(tokenValues, caller, callerTemplate);
+         formParams.putAll(addFormParams(tokenValues, invocation, template));
       } else {
-         formParams = addFormParams(tokenValues, invocation);
+         formParams = addFormParams(tokenValues, invocation, template);
       }
 
-      Multimap<String, Object> queryParams = addQueryParams(tokenValues, invocation);
+      Multimap<String, Object> queryParams = addQueryParams(tokenValues, invocation, template);
 
       Multimap<String, String> headers;
       if (caller != null) {
-         headers = buildHeaders(tokenValues, caller);
-         headers.putAll(buildHeaders(tokenValues, invocation));
+         headers = buildHeaders(tokenValues, caller, callerTemplate);
+         headers.putAll(buildHeaders(tokenValues, invocation, template));
       } else {
-         headers = buildHeaders(tokenValues, invocation);
+         headers = buildHeaders(tokenValues, invocation, template);
       }
 
       if (r != null)
          headers.putAll(r.getHeaders());
 
-      if (shouldAddHostHeader(invocation)) {
+      if (template.virtualHost) {
          StringBuilder hostHeader = new StringBuilder(endpoint.get().getHost());
          if (endpoint.get().getPort() != -1)
             hostHeader.append(":").append(endpoint.get().getPort());
@@ -279,17 +258,17 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       }
 
       Payload payload = null;
-      for (HttpRequestOptions options : findOptionsIn(invocation)) {
+      for (HttpRequestOptions options : findOptionsIn(invocation, template)) {
          injector.injectMembers(options);  // TODO test case
          for (Entry<String, String> header : options.buildRequestHeaders().entries()) {
-            headers.put(header.getKey(), replaceTokens(header.getValue(), tokenValues));
+            headers.put(header.getKey(), replaceTokensIfPresent(header.getValue(), tokenValues));
          }
          for (Entry<String, String> query : options.buildQueryParameters().entries()) {
             queryParams.put(urlEncode(query.getKey(), '/', ','),
-                  new QueryValue(replaceTokens(query.getValue(), tokenValues), false));
+                  new QueryValue(replaceTokensIfPresent(query.getValue(), tokenValues), false));
          }
          for (Entry<String, String> form : options.buildFormParameters().entries()) {
-            formParams.put(form.getKey(), replaceTokens(form.getValue(), tokenValues));
+            formParams.put(form.getKey(), replaceTokensIfPresent(form.getValue(), tokenValues));
          }
 
          String pathSuffix = options.buildPathSuffix();
@@ -316,8 +295,8 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
                Payload.class);
       }
 
-      List<? extends Part> parts = getParts(invocation, ImmutableMultimap.<String, Object> builder()
-            .putAll(tokenValues).putAll(formParams).build());
+      List<? extends Part> parts = template.partParamArgs.isEmpty() ? ImmutableList.<Part> of() : getParts(invocation,
+            template, ImmutableMultimap.<String, Object> builder().putAll(tokenValues).putAll(formParams).build());
 
       if (!parts.isEmpty()) {
          if (!formParams.isEmpty()) {
@@ -336,22 +315,19 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       }
       GeneratedHttpRequest request = requestBuilder.build();
 
-      org.jclouds.rest.MapBinder mapBinder = getMapPayloadBinderOrNull(invocation);
+      org.jclouds.rest.MapBinder mapBinder = getMapPayloadBinderOrNull(invocation, template);
       if (mapBinder != null) {
          Map<String, Object> mapParams;
          if (caller != null) {
-            mapParams = buildPayloadParams(caller);
-            mapParams.putAll(buildPayloadParams(invocation));
+            mapParams = buildPayloadParams(caller, callerTemplate);
+            mapParams.putAll(buildPayloadParams(invocation, template));
          } else {
-            mapParams = buildPayloadParams(invocation);
-         }
-         if (invocation.getInvokable().isAnnotationPresent(PayloadParams.class)) {
-            PayloadParams params = invocation.getInvokable().getAnnotation(PayloadParams.class);
-            addMapPayload(mapParams, params, headers, tokenValues);
+            mapParams = buildPayloadParams(invocation, template);
          }
+         addMapPayload(mapParams, template, headers, tokenValues);
          request = mapBinder.bindToRequest(request, mapParams);
       } else {
-         request = decorateRequest(request);
+         request = decorateRequest(request, template);
       }
 
       if (request.getPayload() != null) {
@@ -364,6 +340,15 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       return request;
    }
 
+   /**
+    * Unless {@link Constants#PROPERTY_CACHE_REQUEST_TEMPLATES} is disabled, the annotations of each invokable are only
+    * read the first time it is invoked.
+    */
+   private RequestTemplate templateFor(Invocation invocation) {
+      return cacheRequestTemplates ? RequestTemplate.get(invocation.getInvokable()) : RequestTemplate
+            .compile(invocation.getInvokable());
+   }
+
    private static <T> T findOrNull(Iterable<Object> args, Class<T> clazz) {
       return clazz.cast(tryFind(args, instanceOf(clazz)).orNull());
    }
@@ -376,14 +361,9 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       return ImmutableMap.copyOf(out);
    }
 
-   private void overridePathEncoding(UriBuilder uriBuilder, Invocation invocation) {
-      if (invocation.getInvokable().getOwnerType().getRawType().isAnnotationPresent(SkipEncoding.class)) {
-         uriBuilder.skipPathEncoding(Chars.asList(invocation.getInvokable().getOwnerType().getRawType()
-               .getAnnotation(SkipEncoding.class).value()));
-      }
-      if (invocation.getInvokable().isAnnotationPresent(SkipEncoding.class)) {
-         uriBuilder.skipPathEncoding(Chars.asList(invocation.getInvokable().getAnnotation(SkipEncoding.class).value()));
-      }
+   // most annotation values are constants, which need not be scanned for every token
+   private static String replaceTokensIfPresent(String input, Multimap<String, ?> tokenValues) {
+      return input.indexOf('{') == -1 ? input : replaceTokens(input, tokenValues);
    }
 
    // different than guava as accepts null
@@ -398,7 +378,11 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
    }
 
    protected Optional<URI> findEndpoint(Invocation invocation) {
-      Optional<URI> endpoint = getEndpointFor(invocation);
+      return findEndpoint(invocation, templateFor(invocation));
+   }
+
+   private Optional<URI> findEndpoint(Invocation invocation, RequestTemplate template) {
+      Optional<URI> endpoint = getEndpointFor(invocation, template);
       if (endpoint.isPresent())
          logger.trace("using endpoint %s for %s", endpoint, invocation);
       if (!endpoint.isPresent()) {
@@ -411,117 +395,81 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       return endpoint;
    }
 
-   private Multimap<String, Object> addPathAndGetTokens(Invocation invocation, UriBuilder uriBuilder,
-                                                        boolean encodeFullPath) {
-      if (invocation.getInvokable().getOwnerType().getRawType().isAnnotationPresent(Path.class))
-         uriBuilder.appendPath(invocation.getInvokable().getOwnerType().getRawType().getAnnotation(Path.class).value());
-      if (invocation.getInvokable().isAnnotationPresent(Path.class))
-         uriBuilder.appendPath(invocation.getInvokable().getAnnotation(Path.class).value());
-      return getPathParamKeyValues(invocation, encodeFullPath);
+   private Multimap<String, Object> addPathAndGetTokens(Invocation invocation, RequestTemplate template,
+         UriBuilder uriBuilder, boolean encodeFullPath) {
+      for (String path : template.paths)
+         uriBuilder.appendPath(path);
+      return getPathParamKeyValues(invocation, template, encodeFullPath);
    }
 
-   private Multimap<String, Object> addFormParams(Multimap<String, ?> tokenValues, Invocation invocation) {
+   private Multimap<String, Object> addFormParams(Multimap<String, ?> tokenValues, Invocation invocation,
+         RequestTemplate template) {
       Multimap<String, Object> formMap = LinkedListMultimap.create();
-      if (invocation.getInvokable().getOwnerType().getRawType().isAnnotationPresent(FormParams.class)) {
-         FormParams form = invocation.getInvokable().getOwnerType().getRawType().getAnnotation(FormParams.class);
-         addForm(formMap, form, tokenValues);
-      }
-
-      if (invocation.getInvokable().isAnnotationPresent(FormParams.class)) {
-         FormParams form = invocation.getInvokable().getAnnotation(FormParams.class);
-         addForm(formMap, form, tokenValues);
+      for (Entry<String, String> form : template.formParams) {
+         if (form.getValue().equals(FormParams.NULL)) {
+            formMap.removeAll(form.getKey());
+            formMap.put(form.getKey(), null);
+         } else {
+            formMap.put(form.getKey(), replaceTokensIfPresent(form.getValue(), tokenValues));
+         }
       }
 
-      for (Entry<String, Object> form : getFormParamKeyValues(invocation).entries()) {
-         formMap.put(form.getKey(), replaceTokens(form.getValue().toString(), tokenValues));
+      for (Entry<String, Object> form : getFormParamKeyValues(invocation, template).entries()) {
+         formMap.put(form.getKey(), replaceTokensIfPresent(form.getValue().toString(), tokenValues));
       }
       return formMap;
    }
 
-   private Multimap<String, Object> addQueryParams(Multimap<String, ?> tokenValues, Invocation invocation) {
+   private Multimap<String, Object> addQueryParams(Multimap<String, ?> tokenValues, Invocation invocation,
+         RequestTemplate template) {
       Multimap<String, Object> queryMap = LinkedListMultimap.create();
-      if (invocation.getInvokable().getOwnerType().getRawType().isAnnotationPresent(QueryParams.class)) {
-         QueryParams query = invocation.getInvokable().getOwnerType().getRawType().getAnnotation(QueryParams.class);
-         addQuery(queryMap, query, tokenValues);
-      }
-
-      if (invocation.getInvokable().isAnnotationPresent(QueryParams.class)) {
-         QueryParams query = invocation.getInvokable().getAnnotation(QueryParams.class);
-         addQuery(queryMap, query, tokenValues);
-      }
-
-      for (Entry<String, Object> query : getQueryParamKeyValues(invocation, tokenValues).entries()) {
-         queryMap.put(query.getKey(), query.getValue());
-      }
-      return queryMap;
-   }
-
-   private void addForm(Multimap<String, Object> formParams, FormParams form, Multimap<String, ?> tokenValues) {
-      for (int i = 0; i < form.keys().length; i++) {
-         if (form.values()[i].equals(FormParams.NULL)) {
-            formParams.removeAll(form.keys()[i]);
-            formParams.put(form.keys()[i], null);
+      for (Entry<String, String> query : template.queryParams) {
+         if (query.getValue().equals(QueryParams.NULL)) {
+            queryMap.removeAll(query.getKey());
+            queryMap.put(query.getKey(), null);
          } else {
-            formParams.put(form.keys()[i], replaceTokens(form.values()[i], tokenValues));
+            queryMap.put(query.getKey(), new QueryValue(replaceTokensIfPresent(query.getValue(), tokenValues), false));
          }
       }
-   }
 
-   private void addQuery(Multimap<String, Object> queryParams, QueryParams query, Multimap<String, ?> tokenValues) {
-      for (int i = 0; i < query.keys().length; i++) {
-         String key = urlEncode(query.keys()[i], '/', ',');
-         if (query.values()[i].equals(QueryParams.NULL)) {
-            queryParams.removeAll(key);
-            queryParams.put(key, null);
-         } else {
-            queryParams.put(key, new QueryValue(replaceTokens(query.values()[i], tokenValues), false));
-         }
+      for (Entry<String, Object> query : getQueryParamKeyValues(invocation, template, tokenValues).entries()) {
+         queryMap.put(query.getKey(), query.getValue());
       }
+      return queryMap;
    }
 
-   private void addMapPayload(Map<String, Object> postParams, PayloadParams mapDefaults,
+   private static void addMapPayload(Map<String, Object> postParams, RequestTemplate template,
          Multimap<String, String> headers, Multimap<String, Object> tokenValues) {
-      for (int i = 0; i < mapDefaults.keys().length; i++) {
-         if (mapDefaults.values()[i].equals(PayloadParams.NULL)) {
-            postParams.put(mapDefaults.keys()[i], null);
+      for (Entry<String, String> mapDefault : template.payloadParams) {
+         if (mapDefault.getValue().equals(PayloadParams.NULL)) {
+            postParams.put(mapDefault.getKey(), null);
          } else {
-            postParams.put(mapDefaults.keys()[i], replaceTokens(replaceTokens(mapDefaults.values()[i], headers), tokenValues));
+            postParams.put(mapDefault.getKey(), replaceTokensIfPresent(replaceTokensIfPresent(mapDefault.getValue(),
+                  headers), tokenValues));
          }
       }
    }
 
-   private List<HttpRequestFilter> getFiltersIfAnnotated(Invocation invocation) {
-      List<HttpRequestFilter> filters = newArrayList();
-      if (invocation.getInvokable().getOwnerType().getRawType().isAnnotationPresent(RequestFilters.class)) {
-         for (Class<? extends HttpRequestFilter> clazz : invocation.getInvokable().getOwnerType().getRawType()
-               .getAnnotation(RequestFilters.class).value()) {
-            HttpRequestFilter instance = injector.getInstance(clazz);
-            filters.add(instance);
-            logger.trace("adding filter %s from annotation on %s", instance, invocation.getInvokable().getOwnerType()
-                  .getRawType().getName());
-         }
-      }
-      if (invocation.getInvokable().isAnnotationPresent(RequestFilters.class)) {
-         if (invocation.getInvokable().isAnnotationPresent(OverrideRequestFilters.class))
-            filters.clear();
-         for (Class<? extends HttpRequestFilter> clazz : invocation.getInvokable().getAnnotation(RequestFilters.class)
-               .value()) {
-            HttpRequestFilter instance = injector.getInstance(clazz);
-            filters.add(instance);
-            logger.trace("adding filter %s from annotation on %s", instance, invocation.getInvokable().getName());
-         }
+   private List<HttpRequestFilter> getFiltersIfAnnotated(RequestTemplate template) {
+      List<HttpRequestFilter> filters = newArrayListWithCapacity(template.filters.size());
+      for (Class<? extends HttpRequestFilter> clazz : template.filters) {
+         HttpRequestFilter instance = injector.getInstance(clazz);
+         filters.add(instance);
+         logger.trace("adding filter %s from annotation on %s", instance, template.invokable);
       }
       return filters;
    }
 
    @VisibleForTesting
    static URI getEndpointInParametersOrNull(Invocation invocation, Injector injector) {
-      Collection<Parameter> endpointParams = parametersWithAnnotation(invocation.getInvokable(), EndpointParam.class);
-      if (endpointParams.isEmpty())
+      return getEndpointInParametersOrNull(invocation, RequestTemplate.get(invocation.getInvokable()), injector);
+   }
+
+   private static URI getEndpointInParametersOrNull(Invocation invocation, RequestTemplate template,
+         Injector injector) {
+      Parameter endpointParam = template.endpointParam();
+      if (endpointParam == null)
          return null;
-      checkState(endpointParams.size() == 1, "invocation.getInvoked() %s has too many EndpointParam annotations",
-            invocation.getInvokable());
-      Parameter endpointParam = get(endpointParams, 0);
       Function<Object, URI> parser = injector.getInstance(endpointParam.getAnnotation(EndpointParam.class).parser());
       int position = endpointParam.hashCode();  // guava issue 1243
       try {
@@ -535,31 +483,21 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       }
    }
 
-   private static Collection<Parameter> parametersWithAnnotation(Invokable<?, ?> invokable,
-         final Class<? extends Annotation> annotationType) {
-      return filter(getInvokableParameters(invokable), new Predicate<Parameter>() {
-         public boolean apply(Parameter in) {
-            return in.isAnnotationPresent(annotationType);
-         }
-      });
-   }
-
    private static final TypeLiteral<Supplier<URI>> uriSupplierLiteral = new TypeLiteral<Supplier<URI>>() {
    };
 
    protected Optional<URI> getEndpointFor(Invocation invocation) {
-      URI endpoint = getEndpointInParametersOrNull(invocation, injector);
+      return getEndpointFor(invocation, templateFor(invocation));
+   }
+
+   private Optional<URI> getEndpointFor(Invocation invocation, RequestTemplate template) {
+      URI endpoint = getEndpointInParametersOrNull(invocation, template, injector);
       if (endpoint == null) {
-         Endpoint annotation;
-         if (invocation.getInvokable().isAnnotationPresent(Endpoint.class)) {
-            annotation = invocation.getInvokable().getAnnotation(Endpoint.class);
-         } else if (invocation.getInvokable().getOwnerType().getRawType().isAnnotationPresent(Endpoint.class)) {
-            annotation = invocation.getInvokable().getOwnerType().getRawType().getAnnotation(Endpoint.class);
-         } else {
+         if (template.endpoint == null) {
             logger.trace("no annotations on class or invocation.getInvoked(): %s", invocation.getInvokable());
             return Optional.absent();
          }
-         endpoint = injector.getInstance(Key.get(uriSupplierLiteral, annotation.value())).get();
+         endpoint = injector.getInstance(Key.get(uriSupplierLiteral, template.endpoint)).get();
       }
       URI provider = injector.getInstance(Key.get(uriSupplierLiteral, org.jclouds.location.Provider.class)).get();
       return Optional.fromNullable(addHostIfMissing(endpoint, provider));
@@ -578,7 +516,7 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       return baseURI.resolve(original);
    }
 
-   private org.jclouds.rest.MapBinder getMapPayloadBinderOrNull(Invocation invocation) {
+   private org.jclouds.rest.MapBinder getMapPayloadBinderOrNull(Invocation invocation, RequestTemplate template) {
       if (invocation.getArgs() != null) {
          for (Object arg : invocation.getArgs()) {
             if (arg instanceof Object[]) {
@@ -604,54 +542,44 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
             }
          }
       }
-      if (invocation.getInvokable().isAnnotationPresent(MapBinder.class)) {
-         return injector.getInstance(invocation.getInvokable().getAnnotation(MapBinder.class).value());
-      } else if (invocation.getInvokable().isAnnotationPresent(org.jclouds.rest.annotations.Payload.class)) {
+      if (template.mapBinder != null) {
+         return injector.getInstance(template.mapBinder);
+      } else if (template.mapPayload) {
          return injector.getInstance(BindMapToStringPayload.class);
-      } else if (invocation.getInvokable().isAnnotationPresent(WrapWith.class)) {
-         return injector.getInstance(BindToJsonPayloadWrappedWith.Factory.class).create(
-               invocation.getInvokable().getAnnotation(WrapWith.class).value());
+      } else if (template.mapWrapWith != null) {
+         return injector.getInstance(BindToJsonPayloadWrappedWith.Factory.class).create(template.mapWrapWith);
       }
       return null;
    }
 
-   private boolean shouldAddHostHeader(Invocation invocation) {
-      return invocation.getInvokable().getOwnerType().getRawType().isAnnotationPresent(VirtualHost.class) || invocation
-            .getInvokable().isAnnotationPresent(VirtualHost.class);
-   }
-
-   private GeneratedHttpRequest decorateRequest(GeneratedHttpRequest request) throws NegativeArraySizeException {
+   private GeneratedHttpRequest decorateRequest(GeneratedHttpRequest request, RequestTemplate template)
+         throws NegativeArraySizeException {
       Invocation invocation = request.getInvocation();
       List<Object> args = request.getInvocation().getArgs();
-      Set<Parameter> binderOrWrapWith = ImmutableSet.copyOf(concat(
-            parametersWithAnnotation(invocation.getInvokable(), BinderParam.class),
-            parametersWithAnnotation(invocation.getInvokable(), WrapWith.class)));
-      OUTER: for (Parameter entry : binderOrWrapWith) {
-         int position = entry.hashCode();
+      OUTER: for (RequestTemplate.BinderTemplate entry : template.binderArgs) {
+         int position = entry.position;
          boolean shouldBreak = false;
          Binder binder;
-         if (entry.isAnnotationPresent(BinderParam.class))
-            binder = injector.getInstance(entry.getAnnotation(BinderParam.class).value());
+         if (entry.binder != null)
+            binder = injector.getInstance(entry.binder);
          else
-            binder = injector.getInstance(BindToJsonPayloadWrappedWith.Factory.class).create(
-                  entry.getAnnotation(WrapWith.class).value());
+            binder = injector.getInstance(BindToJsonPayloadWrappedWith.Factory.class).create(entry.wrapWith);
          Object arg = args.size() >= position + 1 ? args.get(position) : null;
          if (args.size() >= position + 1 && arg != null) {
-            Class<?> parameterType = entry.getType().getRawType();
             Class<? extends Object> argType = arg.getClass();
-            if (!argType.isArray() && parameterType.isArray()) {// TODO: &&
-                                                                // invocation.getInvokable().isVarArgs())
-                                                                // {
-               int arrayLength = args.size() - getInvokableParameters(invocation.getInvokable()).size() + 1;
+            if (!argType.isArray() && entry.array) {// TODO: &&
+                                                    // invocation.getInvokable().isVarArgs())
+                                                    // {
+               int arrayLength = args.size() - template.parameterCount + 1;
                if (arrayLength == 0)
                   break OUTER;
                arg = (Object[]) Array.newInstance(arg.getClass(), arrayLength);
                System.arraycopy(args.toArray(), position, arg, 0, arrayLength);
                shouldBreak = true;
-            } else if (argType.isArray() && parameterType.isArray()) {// TODO:
-                                                                      // &&
-                                                                      // invocation.getInvokable().isVarArgs())
-                                                                      // {
+            } else if (argType.isArray() && entry.array) {// TODO:
+                                                          // &&
+                                                          // invocation.getInvokable().isVarArgs())
+                                                          // {
             } else {
                if (arg.getClass().isArray()) {
                   Object[] payloadArray = (Object[]) arg;
@@ -664,12 +592,12 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
             if (shouldBreak)
                break OUTER;
          } else {
-            if (position + 1 == getInvokableParameters(invocation.getInvokable()).size() && entry.getType().isArray())// TODO:
-                                                                                                              // &&
-                                                                                                              // invocation.getInvokable().isVarArgs())
+            if (position + 1 == template.parameterCount && entry.array)// TODO:
+                                                                       // &&
+                                                                       // invocation.getInvokable().isVarArgs())
                continue OUTER;
 
-            if (entry.isAnnotationPresent(Nullable.class)) {
+            if (entry.nullable) {
                continue OUTER;
             }
             checkNotNull(arg, invocation.getInvokable().getName() + " parameter " + (position + 1));
@@ -678,24 +606,11 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       return request;
    }
 
-   private static final LoadingCache<Invokable<?, ?>, Set<Integer>> invokableToIndexesOfOptions = CacheBuilder
-         .newBuilder().build(new CacheLoader<Invokable<?, ?>, Set<Integer>>() {
-            @Override
-            public Set<Integer> load(Invokable<?, ?> invokable) {
-               Builder<Integer> toReturn = ImmutableSet.builder();
-               for (Parameter param : getInvokableParameters(invokable)) {
-                  Class<?> type = param.getType().getRawType();
-                  if (HttpRequestOptions.class.isAssignableFrom(type)
-                        || HttpRequestOptions[].class.isAssignableFrom(type))
-                     toReturn.add(param.hashCode());
-               }
-               return toReturn.build();
-            }
-         });
-
-   private Set<HttpRequestOptions> findOptionsIn(Invocation invocation) {
+   private Set<HttpRequestOptions> findOptionsIn(Invocation invocation, RequestTemplate template) {
+      if (template.optionsPositions.isEmpty())
+         return ImmutableSet.of();
       ImmutableSet.Builder<HttpRequestOptions> result = ImmutableSet.builder();
-      for (int index : invokableToIndexesOfOptions.getUnchecked(invocation.getInvokable())) {
+      for (int index : template.optionsPositions) {
          if (invocation.getArgs().size() >= index + 1) {// accommodate
                                                         // varinvocation.getArgs()
             if (invocation.getArgs().get(index) instanceof Object[]) {
@@ -716,63 +631,32 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       return result.build();
    }
 
-   private Multimap<String, String> buildHeaders(Multimap<String, ?> tokenValues, Invocation invocation) {
+   private Multimap<String, String> buildHeaders(Multimap<String, ?> tokenValues, Invocation invocation,
+         RequestTemplate template) {
       Multimap<String, String> headers = LinkedHashMultimap.create();
-      addHeaderIfAnnotationPresentOnMethod(headers, invocation, tokenValues);
-      for (Parameter headerParam : parametersWithAnnotation(invocation.getInvokable(), HeaderParam.class)) {
-         Annotation key = headerParam.getAnnotation(HeaderParam.class);
-         String value = invocation.getArgs().get(headerParam.hashCode()).toString();
-         value = replaceTokens(value, tokenValues);
-         headers.put(((HeaderParam) key).value(), value);
-      }
-      addProducesIfPresentOnTypeOrMethod(headers, invocation);
-      addConsumesIfPresentOnTypeOrMethod(headers, invocation);
-      return headers;
-   }
-
-   private void addConsumesIfPresentOnTypeOrMethod(Multimap<String, String> headers, Invocation invocation) {
+      for (RequestTemplate.HeaderTemplate header : template.headers) {
+         String value = replaceTokensIfPresent(header.value, tokenValues);
+         if (header.urlEncode)
+            value = urlEncode(value, '/');
+         headers.put(header.key, value);
+      }
+      for (RequestTemplate.ParamTemplate headerParam : template.headerParamArgs) {
+         String value = invocation.getArgs().get(headerParam.position).toString();
+         value = replaceTokensIfPresent(value, tokenValues);
+         headers.put(headerParam.key, value);
+      }
+      if (template.produces != null)
+         headers.replaceValues(CONTENT_TYPE, template.produces);
       Set<String> accept = getAcceptHeaders.apply(invocation);
       if (!accept.isEmpty())
          headers.replaceValues(ACCEPT, accept);
+      return headers;
    }
 
-   private void addProducesIfPresentOnTypeOrMethod(Multimap<String, String> headers, Invocation invocation) {
-      if (invocation.getInvokable().getOwnerType().getRawType().isAnnotationPresent(Produces.class)) {
-         Produces header = invocation.getInvokable().getOwnerType().getRawType().getAnnotation(Produces.class);
-         headers.replaceValues(CONTENT_TYPE, asList(header.value()));
-      }
-      if (invocation.getInvokable().isAnnotationPresent(Produces.class)) {
-         Produces header = invocation.getInvokable().getAnnotation(Produces.class);
-         headers.replaceValues(CONTENT_TYPE, asList(header.value()));
-      }
-   }
-
-   private void addHeaderIfAnnotationPresentOnMethod(Multimap<String, String> headers, Invocation invocation,
+   private static List<Part> getParts(Invocation invocation, RequestTemplate template,
          Multimap<String, ?> tokenValues) {
-      if (invocation.getInvokable().getOwnerType().getRawType().isAnnotationPresent(Headers.class)) {
-         Headers header = invocation.getInvokable().getOwnerType().getRawType().getAnnotation(Headers.class);
-         addHeader(headers, header, tokenValues);
-      }
-      if (invocation.getInvokable().isAnnotationPresent(Headers.class)) {
-         Headers header = invocation.getInvokable().getAnnotation(Headers.class);
-         addHeader(headers, header, tokenValues);
-      }
-   }
-
-   private static void addHeader(Multimap<String, String> headers, Headers header, Multimap<String, ?> tokenValues) {
-      for (int i = 0; i < header.keys().length; i++) {
-         String value = header.values()[i];
-         value = replaceTokens(value, tokenValues);
-         // urlEncode may have less entries than keys e.g. default value of {}
-         if (i < header.urlEncode().length && header.urlEncode()[i])
-            value = urlEncode(value, '/');
-         headers.put(header.keys()[i], value);
-      }
-   }
-
-   private static List<Part> getParts(Invocation invocation, Multimap<String, ?> tokenValues) {
       ImmutableList.Builder<Part> parts = ImmutableList.<Part> builder();
-      for (Parameter param : parametersWithAnnotation(invocation.getInvokable(), PartParam.class)) {
+      for (Parameter param : template.partParamArgs) {
          PartParam partParam = param.getAnnotation(PartParam.class);
          PartOptions options = new PartOptions();
          if (!PartParam.NO_CONTENT_TYPE.equals(partParam.contentType()))
@@ -799,93 +683,79 @@ public class RestAnnotationProcessor implements Function<Invocation, HttpRequest
       return request;
    }
 
-   private boolean isEncodedUsed(Invocation invocation) {
-      return !parametersWithAnnotation(invocation.getInvokable(), Encoded.class).isEmpty();
-   }
-
-   private Multimap<String, Object> getPathParamKeyValues(Invocation invocation, boolean encodeFullPath) {
+   private Multimap<String, Object> getPathParamKeyValues(Invocation invocation, RequestTemplate template,
+         boolean encodeFullPath) {
       Multimap<String, Object> pathParamValues = LinkedHashMultimap.create();
-      for (Parameter param : parametersWithAnnotation(invocation.getInvokable(), PathParam.class)) {
-         PathParam pathParam = param.getAnnotation(PathParam.class);
-         String paramKey = pathParam.value();
-         Optional<?> paramValue = getParamValue(invocation, param.getAnnotation(ParamParser.class), param.hashCode(),
-               paramKey);
+      for (RequestTemplate.ParamTemplate param : template.pathParamArgs) {
+         Optional<?> paramValue = getParamValue(invocation, param);
          if (paramValue.isPresent()) {
-            if (!encodeFullPath && !param.isAnnotationPresent(Encoded.class)) {
-               pathParamValues.put(paramKey, urlEncode(paramValue.get().toString()));
+            if (!encodeFullPath && !param.encoded) {
+               pathParamValues.put(param.key, urlEncode(paramValue.get().toString()));
             } else {
-               pathParamValues.put(paramKey, paramValue.get().toString());
+               pathParamValues.put(param.key, paramValue.get().toString());
             }
          }
       }
       return pathParamValues;
    }
 
-   private Optional<?> getParamValue(Invocation invocation, @Nullable ParamParser extractor, int argIndex,
-         String paramKey) {
-      Object arg = invocation.getArgs().get(argIndex);
-      if (extractor != null && checkPresentOrNullable(invocation, paramKey, argIndex, arg)) {
+   private Optional<?> getParamValue(Invocation invocation, RequestTemplate.ParamTemplate param) {
+      Object arg = invocation.getArgs().get(param.position);
+      if (param.parser != null && checkPresentOrNullable(invocation, param, arg)) {
          // ParamParsers can deal with nullable parameters
-         arg = injector.getInstance(extractor.value()).apply(arg);
+         arg = injector.getInstance(param.parser).apply(arg);
       }
-      checkPresentOrNullable(invocation, paramKey, argIndex, arg);
+      checkPresentOrNullable(invocation, param, arg);
       return Optional.fromNullable(arg);
    }
 
-   private boolean checkPresentOrNullable(Invocation invocation, String paramKey, int argIndex, Object arg) {
-      if (arg == null && !getInvokableParameters(invocation.getInvokable()).get(argIndex).isAnnotationPresent(Nullable.class))
-         throw new NullPointerException(format("param{%s} for invocation %s.%s", paramKey, invocation.getInvokable()
+   private static boolean checkPresentOrNullable(Invocation invocation, RequestTemplate.ParamTemplate param,
+         Object arg) {
+      if (arg == null && !param.nullable)
+         throw new NullPointerException(format("param{%s} for invocation %s.%s", param.key, invocation.getInvokable()
                .getOwnerType().getRawType().getSimpleName(), invocation.getInvokable().getName()));
       return true;
    }
 
-   private Multimap<String, Object> getFormParamKeyValues(Invocation invocation) {
+   private Multimap<String, Object> getFormParamKeyValues(Invocation invocation, RequestTemplate template) {
       Multimap<String, Object> formParamValues = LinkedHashMultimap.create();
-      for (Parameter param : parametersWithAnnotation(invocation.getInvokable(), FormParam.class)) {
-         FormParam formParam = param.getAnnotation(FormParam.class);
-         String paramKey = formParam.value();
-         Optional<?> paramValue = getParamValue(invocation, param.getAnnotation(ParamParser.class), param.hashCode(),
-               paramKey);
+      for (RequestTemplate.ParamTemplate param : template.formParamArgs) {
+         Optional<?> paramValue = getParamValue(invocation, param);
          if (paramValue.isPresent())
-            formParamValues.put(paramKey, paramValue.get().toString());
+            formParamValues.put(param.key, paramValue.get().toString());
       }
       return formParamValues;
    }
 
-   private Multimap<String, Object> getQueryParamKeyValues(Invocation invocation, Multimap<String, ?> tokenValues) {
+   private Multimap<String, Object> getQueryParamKeyValues(Invocation invocation, RequestTemplate template,
+         Multimap<String, ?> tokenValues) {
       Multimap<String, Object> queryParamValues = LinkedHashMultimap.create();
-      for (Parameter param : parametersWithAnnotation(invocation.getInvokable(), QueryParam.class)) {
-         QueryParam queryParam = param.getAnnotation(QueryParam.class);
-         String paramKey = urlEncode(queryParam.value(), '/', ',');
-         Optional<?> paramValue = getParamValue(invocation, param.getAnnotation(ParamParser.class), param.hashCode(),
-               paramKey);
-         boolean encoded = param.isAnnotationPresent(Encoded.class);
+      for (RequestTemplate.ParamTemplate param : template.queryParamArgs) {
+         Optional<?> paramValue = getParamValue(invocation, param);
          if (paramValue.isPresent())
             if (paramValue.get() instanceof Iterable) {
                @SuppressWarnings("unchecked")
                Iterable<String> iterableStrings = transform(Iterable.class.cast(paramValue.get()), toStringFunction());
                List<QueryValue> values = new ArrayList<QueryValue>();
                for (String stringValue : iterableStrings) {
-                  values.add(new QueryValue(replaceTokens(stringValue, tokenValues), encoded));
+                  values.add(new QueryValue(replaceTokensIfPresent(stringValue, tokenValues), param.encoded));
                }
-               queryParamValues.putAll(paramKey, values);
+               queryParamValues.putAll(param.key, values);
             } else {
                String value = paramValue.get().toString();
-               queryParamValues.put(paramKey, new QueryValue(replaceTokens(value, tokenValues), encoded));
+               queryParamValues.put(param.key, new QueryValue(replaceTokensIfPresent(value, tokenValues),
+                     param.encoded));
             }
       }
       return queryParamValues;
    }
 
-   private Map<String, Object> buildPayloadParams(Invocation invocation) {
+   private Map<String, Object> buildPayloadParams(Invocation invocation, RequestTemplate template) {
       Map<String, Object> payloadParamValues = Maps.newLinkedHashMap();
-      for (Parameter param : parametersWithAnnotation(invocation.getInvokable(), PayloadParam.class)) {
-         PayloadParam payloadParam = param.getAnnotation(PayloadParam.class);
-         String paramKey = payloadParam.value();
-         Optional<?> paramValue = getParamValue(invocation, param.getAnnotation(ParamParser.class), param.hashCode(),
-               paramKey);
+      for (RequestTemplate.ParamTemplate param : template.payloadParamArgs) {
+         Optional<?> paramValue = getParamValue(invocation, param);
          if (paramValue.isPresent())
-            payloadParamValues.put(paramKey, paramValue.get());
+            payloadParamValues.put(param.key, paramValue.get());
       }
       return payloadParamValues;
    }
@@ -19,6 +19,7 @@ package org.jclouds.rest.internal;
 import static com.google.inject.util.Types.newParameterizedType;
 import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
 import static jakarta.ws.rs.core.MediaType.APPLICATION_XML;
+import static org.jclouds.util.Futures2.unwrapIfFuture;
 
 import java.io.InputStream;
 import java.lang.reflect.ParameterizedType;
@@ -110,9 +111,9 @@ public class TransformerForRequest implements Function<HttpRequest, Function<Htt
       Invokable<?, ?> invoked = invocation.getInvokable();
       Set<String> acceptHeaders = getAcceptHeaders.apply(invocation);
       ResponseParser annotation = invoked.getAnnotation(ResponseParser.class);
-      Class<?> rawReturnType = invoked.getReturnType().getRawType();
+      Class<?> rawReturnType = unwrapIfFuture(invoked.getReturnType()).getRawType();
       if (annotation == null) {
-         if (rawReturnType.equals(void.class)) {
+         if (rawReturnType.equals(void.class) || rawReturnType.equals(Void.class)) {
             return Key.get(ReleasePayloadAndReturn.class);
          } else if (rawReturnType.equals(boolean.class) || rawReturnType.equals(Boolean.class)) {
             return Key.get(ReturnTrueIf2xx.class);
@@ -144,7 +145,7 @@ public class TransformerForRequest implements Function<HttpRequest, Function<Htt
                ? Optional.<Type>absent()
                : Optional.<Type>of(configuredClass);
       }
-      Type returnVal = configuredReturnVal.or(getReturnTypeFor(invoked.getReturnType()));
+      Type returnVal = configuredReturnVal.or(getReturnTypeFor(unwrapIfFuture(invoked.getReturnType())));
       Type parserType = newParameterizedType(ParseXMLWithJAXB.class, returnVal);
       return (Key<? extends Function<HttpResponse, ?>>) Key.get(parserType);
    }
@@ -153,14 +154,15 @@ public class TransformerForRequest implements Function<HttpRequest, Function<Htt
    private static Key<? extends Function<HttpResponse, ?>> getJsonParserKeyForMethod(Invokable<?, ?> invoked) {
       ParameterizedType parserType;
       if (invoked.isAnnotationPresent(Unwrap.class)) {
-         parserType = newParameterizedType(UnwrapOnlyJsonValue.class, getReturnTypeFor(invoked.getReturnType()));
+         parserType = newParameterizedType(UnwrapOnlyJsonValue.class,
+               getReturnTypeFor(unwrapIfFuture(invoked.getReturnType())));
       } else if (invoked.isAnnotationPresent(Transform.class)) {
          // At this point, there's no user-configured response parser. Make a default one from Transform's input.
          TypeToken<? extends Function> fn = TypeToken.of(invoked.getAnnotation(Transform.class).value());
          Type fnInput = ((ParameterizedType) fn.getSupertype(Function.class).getType()).getActualTypeArguments()[0];
          parserType = newParameterizedType(ParseJson.class, fnInput);
       } else {
-         parserType = newParameterizedType(ParseJson.class, getReturnTypeFor(invoked.getReturnType()));
+         parserType = newParameterizedType(ParseJson.class, getReturnTypeFor(unwrapIfFuture(invoked.getReturnType())));
       }
       return (Key<? extends Function<HttpResponse, ?>>) Key.get(parserType);
    }
@@ -180,7 +182,7 @@ public class TransformerForRequest implements Function<HttpRequest, Function<Htt
       Invokable<?, ?> invoked = invocation.getInvokable();
       Function<HttpResponse, ?> transformer;
       if (invoked.isAnnotationPresent(SelectJson.class)) {
-         Type returnVal = getReturnTypeFor(invoked.getReturnType());
+         Type returnVal = getReturnTypeFor(unwrapIfFuture(invoked.getReturnType()));
          if (invoked.isAnnotationPresent(OnlyElement.class))
             returnVal = newParameterizedType(Set.class, returnVal);
          transformer = new ParseFirstJsonValueNamed(injector.getInstance(GsonWrapper.class),
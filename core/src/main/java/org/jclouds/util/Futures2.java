@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+
+import com.google.common.reflect.Invokable;
+import com.google.common.reflect.TypeToken;
+
+public class Futures2 {
+
+   /**
+    * @return true if the method returns a type that a {@link CompletableFuture} can be assigned to, such as
+    *         {@link CompletionStage} or {@link Future}.
+    */
+   public static boolean isReturnTypeFuture(Invokable<?, ?> method) {
+      return isFuture(method.getReturnType());
+   }
+
+   /**
+    * @return the type of the value held by a future type, or {@code type} itself if it is not a future.
+    */
+   public static TypeToken<?> unwrapIfFuture(TypeToken<?> type) {
+      if (!isFuture(type))
+         return type;
+      if (type.isSubtypeOf(CompletionStage.class))
+         return type.resolveType(CompletionStage.class.getTypeParameters()[0]);
+      return type.resolveType(Future.class.getTypeParameters()[0]);
+   }
+
+   private static boolean isFuture(TypeToken<?> type) {
+      Class<?> rawType = type.getRawType();
+      return !rawType.equals(Object.class) && rawType.isAssignableFrom(CompletableFuture.class);
+   }
+}
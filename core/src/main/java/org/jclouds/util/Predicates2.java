@@ -20,8 +20,11 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.jclouds.util.Throwables2.getFirstThrowableOfType;
 
 import java.util.Date;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -29,7 +32,15 @@ import jakarta.annotation.Resource;
 
 import org.jclouds.logging.Logger;
 
+import com.google.common.base.Function;
 import com.google.common.base.Predicate;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 
 public class Predicates2 {
    /** Returns a predicate that evaluates to true if the String being tested starts with a prefix. */
@@ -86,6 +97,96 @@ public class Predicates2 {
       return retry(findOrBreak, timeout, DEFAULT_PERIOD, DEFAULT_MAX_PERIOD, MILLISECONDS);
    }
 
+   /**
+    * Retries a predicate like {@link #retry(Predicate, long, long, long, TimeUnit)}, but without blocking: each attempt
+    * is scheduled on {@code scheduler} after the same backoff, and the returned future completes with the result of
+    * the retry. Exceptions which make the blocking retry return false complete the future with false; others fail it.
+    * Cancelling the future stops the attempts.
+    * <p/>
+    * Attempts run on the scheduler, so {@code findOrBreak} should not block for long; see
+    * {@link #retryAsync(Predicate, long, long, long, TimeUnit, ScheduledExecutorService, Executor)} otherwise.
+    */
+   public static <T> Function<T, ListenableFuture<Boolean>> retryAsync(Predicate<T> findOrBreak, long timeout,
+         long period, long maxPeriod, TimeUnit unit, ScheduledExecutorService scheduler) {
+      return retryAsync(findOrBreak, timeout, period, maxPeriod, unit, scheduler, MoreExecutors.directExecutor());
+   }
+
+   /**
+    * like {@link #retryAsync(Predicate, long, long, long, TimeUnit, ScheduledExecutorService)}, where attempts run on
+    * {@code executor} once due.
+    */
+   public static <T> Function<T, ListenableFuture<Boolean>> retryAsync(final Predicate<T> findOrBreak, long timeout,
+         long period, long maxPeriod, TimeUnit unit, ScheduledExecutorService scheduler, final Executor executor) {
+      return retryAsyncFunction(new AsyncFunction<T, Boolean>() {
+         @Override
+         public ListenableFuture<Boolean> apply(final T input) {
+            ListenableFutureTask<Boolean> attempt = ListenableFutureTask.create(new Callable<Boolean>() {
+               @Override
+               public Boolean call() {
+                  return findOrBreak.apply(input);
+               }
+            });
+            executor.execute(attempt);
+            return attempt;
+         }
+
+         @Override
+         public String toString() {
+            return findOrBreak.toString();
+         }
+      }, timeout, period, maxPeriod, unit, scheduler);
+   }
+
+   /**
+    * like {@link #retryAsync(Predicate, long, long, long, TimeUnit, ScheduledExecutorService)}, where each attempt is
+    * the future returned by {@code findOrBreak}, so that an attempt does not hold a thread while it waits.
+    */
+   public static <T> Function<T, ListenableFuture<Boolean>> retryAsyncFunction(
+         AsyncFunction<T, Boolean> findOrBreak, long timeout, long period, long maxPeriod, TimeUnit unit,
+         ScheduledExecutorService scheduler) {
+      return new AsyncRetryablePredicate<T>(findOrBreak, timeout, period, maxPeriod, unit, scheduler);
+   }
+
+   /**
+    * like {@link #retryAsync(Predicate, long, long, long, TimeUnit, ScheduledExecutorService)} where {@code unit} is
+    * in milliseconds, {@code period} is 50ms, and {@code maxPeriod} 1s.
+    */
+   public static <T> Function<T, ListenableFuture<Boolean>> retryAsync(Predicate<T> findOrBreak, long timeout,
+         ScheduledExecutorService scheduler) {
+      return retryAsync(findOrBreak, timeout, DEFAULT_PERIOD, DEFAULT_MAX_PERIOD, MILLISECONDS, scheduler);
+   }
+
+   /**
+    * The interval increases exponentially with each attempt, at a rate of nextInterval *= 1.5, to {@code maxPeriod}
+    * or the time left until {@code endTime}.
+    */
+   private static long nextMaxInterval(long period, long maxPeriod, long attempt, long endTime) {
+      long interval = (long) (period * Math.pow(1.5, attempt - 1));
+      interval = interval > maxPeriod ? maxPeriod : interval;
+      long max = endTime - System.currentTimeMillis();
+      return (interval > max) ? max : interval;
+   }
+
+   /**
+    * @return true if the exception means the predicate is not met, rather than to be propagated
+    */
+   private static boolean isFalse(Logger logger, RuntimeException e, Object findOrBreak, Object input) {
+      if (getFirstThrowableOfType(e, ExecutionException.class) != null) {
+         logger.warn(e, "predicate %s on %s errored [%s], returning false", input, findOrBreak, e.getMessage());
+         return true;
+      } else if (getFirstThrowableOfType(e, IllegalStateException.class) != null) {
+         logger.warn(e, "predicate %s on %s illegal state [%s], returning false", input, findOrBreak, e.getMessage());
+         return true;
+      } else if (getFirstThrowableOfType(e, CancellationException.class) != null) {
+         logger.warn(e, "predicate %s on %s cancelled [%s], returning false", input, findOrBreak, e.getMessage());
+         return true;
+      } else if (getFirstThrowableOfType(e, TimeoutException.class) != null) {
+         logger.warn(e, "predicate %s on %s timed out [%s], returning false", input, findOrBreak, e.getMessage());
+         return true;
+      }
+      return false;
+   }
+
    private static class RetryablePredicate<T> implements Predicate<T> {
       private final long timeout;
       private final long period;
@@ -129,20 +230,9 @@ public class Predicates2 {
             Thread.currentThread().interrupt();
             return false;
          } catch (RuntimeException e) {
-            if (getFirstThrowableOfType(e, ExecutionException.class) != null) {
-               logger.warn(e, "predicate %s on %s errored [%s], returning false", input, findOrBreak, e.getMessage());
+            if (isFalse(logger, e, findOrBreak, input))
                return false;
-            } else if (getFirstThrowableOfType(e, IllegalStateException.class) != null) {
-               logger.warn(e, "predicate %s on %s illegal state [%s], returning false", input, findOrBreak, e.getMessage());
-               return false;
-            } else if (getFirstThrowableOfType(e, CancellationException.class) != null) {
-               logger.warn(e, "predicate %s on %s cancelled [%s], returning false", input, findOrBreak, e.getMessage());
-               return false;
-            } else if (getFirstThrowableOfType(e, TimeoutException.class) != null) {
-               logger.warn(e, "predicate %s on %s timed out [%s], returning false", input, findOrBreak, e.getMessage());
-               return false;
-            } else
-               throw e;
+            throw e;
          }
       }
 
@@ -165,10 +255,7 @@ public class Predicates2 {
        * since the specified timeout
        */
       protected long nextMaxInterval(long attempt, long endTime) {
-         long interval = (long) (period * Math.pow(1.5, attempt - 1));
-         interval = interval > maxPeriod ? maxPeriod : interval;
-         long max = endTime - System.currentTimeMillis();
-         return (interval > max) ? max : interval;
+         return Predicates2.nextMaxInterval(period, maxPeriod, attempt, endTime);
       }
 
       /**
@@ -186,5 +273,87 @@ public class Predicates2 {
       protected boolean atOrAfter(Date end) {
          return new Date().compareTo(end) >= 0;
       }
-   }   
+   }
+
+   private static class AsyncRetryablePredicate<T> implements Function<T, ListenableFuture<Boolean>> {
+      private final long timeout;
+      private final long period;
+      private final long maxPeriod;
+      private final AsyncFunction<T, Boolean> findOrBreak;
+      private final ScheduledExecutorService scheduler;
+
+      @Resource
+      protected Logger logger = Logger.NULL;
+
+      AsyncRetryablePredicate(AsyncFunction<T, Boolean> findOrBreak, long timeout, long period, long maxPeriod,
+            TimeUnit unit, ScheduledExecutorService scheduler) {
+         this.findOrBreak = findOrBreak;
+         this.timeout = unit.toMillis(timeout);
+         this.period = unit.toMillis(period);
+         this.maxPeriod = unit.toMillis(maxPeriod);
+         this.scheduler = scheduler;
+      }
+
+      @Override
+      public ListenableFuture<Boolean> apply(T input) {
+         SettableFuture<Boolean> result = SettableFuture.create();
+         schedule(input, 1L, System.currentTimeMillis() + timeout, 0L, result);
+         return result;
+      }
+
+      private void schedule(final T input, final long attempt, final long end, long delay,
+            final SettableFuture<Boolean> result) {
+         try {
+            scheduler.schedule(new Runnable() {
+               @Override
+               public void run() {
+                  attempt(input, attempt, end, result);
+               }
+            }, delay, MILLISECONDS);
+         } catch (RuntimeException e) {
+            result.setException(e);
+         }
+      }
+
+      /**
+       * Like an iteration of {@link RetryablePredicate#apply}: the attempt due at or after the timeout is the last.
+       */
+      private void attempt(final T input, final long attempt, final long end, final SettableFuture<Boolean> result) {
+         if (result.isDone())
+            return;
+         final boolean last = System.currentTimeMillis() >= end;
+         ListenableFuture<Boolean> found;
+         try {
+            found = findOrBreak.apply(input);
+         } catch (Exception e) {
+            found = Futures.immediateFailedFuture(e);
+         }
+         Futures.addCallback(found, new FutureCallback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean found) {
+               if (found) {
+                  result.set(true);
+               } else if (last) {
+                  result.set(false);
+               } else {
+                  schedule(input, attempt + 1, end, Math.max(0, nextMaxInterval(period, maxPeriod, attempt, end)),
+                        result);
+               }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+               if (t instanceof RuntimeException && isFalse(logger, (RuntimeException) t, findOrBreak, input))
+                  result.set(false);
+               else
+                  result.setException(t);
+            }
+         }, MoreExecutors.directExecutor());
+      }
+
+      @Override
+      public String toString() {
+         return "retryAsync(" + findOrBreak + ")";
+      }
+   }
 }
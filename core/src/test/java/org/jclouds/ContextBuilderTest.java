@@ -27,6 +27,7 @@ import java.util.Properties;
 import java.util.Set;
 
 import org.jclouds.concurrent.config.ExecutorServiceModule;
+import org.jclouds.concurrent.config.ScheduledExecutorServiceModule;
 import org.jclouds.domain.Credentials;
 import org.jclouds.events.config.EventBusModule;
 import org.jclouds.http.IntegrationTestClient;
@@ -191,6 +192,19 @@ public class ContextBuilderTest {
       assertEquals(modules.remove(0), module);
    }
 
+   @Test
+   public void testAddScheduledExecutorServiceModuleIfNotPresent() {
+      List<Module> modules = Lists.newArrayList();
+      ScheduledExecutorServiceModule module = new ScheduledExecutorServiceModule();
+      modules.add(module);
+      ContextBuilder.addScheduledExecutorServiceIfNotPresent(modules);
+      assertEquals(modules.size(), 1);
+      assertEquals(modules.remove(0), module);
+      ContextBuilder.addScheduledExecutorServiceIfNotPresent(modules);
+      assertEquals(modules.size(), 1);
+      assert modules.remove(0) instanceof ScheduledExecutorServiceModule;
+   }
+
    @Test
    public void testAddCredentialStoreModuleIfNotPresent() {
       List<Module> modules = Lists.newArrayList();
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.concurrent.config;
+
+import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+import org.jclouds.concurrent.config.SubmissionTrace.Mode;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+@Test(groups = "unit", testName = "WithSubmissionTraceTest", singleThreaded = true)
+public class WithSubmissionTraceTest {
+
+   private ListeningExecutorService delegate;
+
+   @BeforeMethod
+   public void setUp() {
+      delegate = listeningDecorator(Executors.newSingleThreadExecutor());
+   }
+
+   @AfterMethod
+   public void tearDown() {
+      delegate.shutdownNow();
+   }
+
+   public void testLimitedCapturesTheInnermostFrames() throws Exception {
+      ListeningExecutorService executor = WithSubmissionTrace.wrap(delegate, new SubmissionTrace(Mode.LIMITED, 2, 1));
+      StackTraceElement[] trace = causeOfFailedTask(executor).getStackTrace();
+      StackTraceElement[] worker = causeOfFailedTask(delegate).getStackTrace();
+
+      assertEquals(trace.length, worker.length + 2);
+      assertEquals(trace[worker.length].getClassName(), getClass().getName());
+      assertEquals(trace[worker.length].getMethodName(), "causeOfFailedTask");
+      assertFalse(contains(trace, WithSubmissionTrace.class.getName()));
+   }
+
+   public void testOffDoesNotAddFrames() throws Exception {
+      ListeningExecutorService executor = WithSubmissionTrace.wrap(delegate, new SubmissionTrace(Mode.OFF, 2, 1));
+      assertEquals(causeOfFailedTask(executor).getStackTrace().length,
+            causeOfFailedTask(delegate).getStackTrace().length);
+   }
+
+   public void testSampledCapturesOneSubmissionInSampleRate() throws Exception {
+      ListeningExecutorService executor = WithSubmissionTrace.wrap(delegate, new SubmissionTrace(Mode.SAMPLED, 2, 3));
+      int workerFrames = causeOfFailedTask(delegate).getStackTrace().length;
+      assertEquals(causeOfFailedTask(executor).getStackTrace().length, workerFrames + 2);
+      assertEquals(causeOfFailedTask(executor).getStackTrace().length, workerFrames);
+      assertEquals(causeOfFailedTask(executor).getStackTrace().length, workerFrames);
+      assertEquals(causeOfFailedTask(executor).getStackTrace().length, workerFrames + 2);
+   }
+
+   public void testFullCapturesTheWholeStack() throws Exception {
+      ListeningExecutorService executor = WithSubmissionTrace.wrap(delegate);
+      StackTraceElement[] trace = causeOfFailedTask(executor).getStackTrace();
+      assertTrue(contains(trace, getClass().getName()));
+      assertTrue(trace.length > causeOfFailedTask(delegate).getStackTrace().length + 2);
+   }
+
+   private static Throwable causeOfFailedTask(ListeningExecutorService executor) throws InterruptedException {
+      try {
+         executor.submit(ExecutorServiceModuleTest.runnableThrowsRTE()).get();
+         fail("expected the task to fail");
+         return null;
+      } catch (ExecutionException e) {
+         return e.getCause();
+      }
+   }
+
+   private static boolean contains(StackTraceElement[] trace, String className) {
+      for (StackTraceElement element : trace) {
+         if (element.getClassName().equals(className))
+            return true;
+      }
+      return false;
+   }
+}
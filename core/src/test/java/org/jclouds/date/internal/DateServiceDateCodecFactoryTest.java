@@ -22,6 +22,7 @@ import static org.testng.Assert.fail;
 import java.util.Date;
 
 import org.jclouds.date.DateCodec;
+import org.jclouds.date.DateService;
 import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 
@@ -35,9 +36,13 @@ public class DateServiceDateCodecFactoryTest {
    private DateCodec iso8601SecondsCodec;
    private DateCodec asctimeCodec;
 
+   protected DateService dateService() {
+      return new SimpleDateFormatDateService();
+   }
+
    @BeforeTest
    public void setUp() {
-      simpleDateCodecFactory = new DateServiceDateCodecFactory(new SimpleDateFormatDateService());
+      simpleDateCodecFactory = new DateServiceDateCodecFactory(dateService());
       rfc822Codec = simpleDateCodecFactory.rfc822();
       rfc1123Codec = simpleDateCodecFactory.rfc1123();
       iso8601Codec = simpleDateCodecFactory.iso8601();
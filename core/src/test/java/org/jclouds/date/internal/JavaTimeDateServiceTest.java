@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.date.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.Date;
+import java.util.Random;
+
+import org.jclouds.date.DateService;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "JavaTimeDateServiceTest")
+public class JavaTimeDateServiceTest {
+   private final DateService dateService = new JavaTimeDateService();
+   private final DateService simpleDateService = new SimpleDateFormatDateService();
+
+   public void testFormatsLikeSimpleDateFormatDateService() {
+      Random random = new Random(42);
+      for (int i = 0; i < 10000; i++) {
+         // from the 17th to the 22nd century
+         Date date = new Date((long) ((random.nextDouble() - 0.5) * 2e13));
+         assertEquals(dateService.iso8601DateFormat(date), simpleDateService.iso8601DateFormat(date));
+         assertEquals(dateService.iso8601SecondsDateFormat(date), simpleDateService.iso8601SecondsDateFormat(date));
+         assertEquals(dateService.rfc822DateFormat(date), simpleDateService.rfc822DateFormat(date));
+         assertEquals(dateService.rfc1123DateFormat(date), simpleDateService.rfc1123DateFormat(date));
+         assertEquals(dateService.cDateFormat(date), simpleDateService.cDateFormat(date));
+      }
+   }
+
+   public void testParsesWhatItFormats() {
+      Random random = new Random(42);
+      for (int i = 0; i < 10000; i++) {
+         Date date = new Date((long) ((random.nextDouble() - 0.5) * 2e13));
+         Date seconds = new Date(date.getTime() - Math.floorMod(date.getTime(), 1000));
+         assertEquals(dateService.iso8601DateParse(dateService.iso8601DateFormat(date)), date);
+         assertEquals(dateService.iso8601DateOrSecondsDateParse(dateService.iso8601DateFormat(date)), date);
+         assertEquals(dateService.iso8601SecondsDateParse(dateService.iso8601SecondsDateFormat(date)), seconds);
+         assertEquals(dateService.rfc822DateParse(dateService.rfc822DateFormat(date)), seconds);
+         assertEquals(dateService.rfc1123DateParse(dateService.rfc1123DateFormat(date)), seconds);
+         assertEquals(dateService.cDateParse(dateService.cDateFormat(date)), seconds);
+      }
+   }
+
+   public void testParsesLikeSimpleDateFormatDateService() {
+      String[] iso8601 = { "2009-03-12T02:00:07.000Z", "2011-05-25 16:12:21.656+0000", "2011-11-07T11:19:13.38225Z",
+            "2009-02-03T05:26:32.612278", "2009-03-12T02:00:07.123+05:30", "2009-03-12T02:00:07.5Z",
+            "2009-02-30T02:00:07.000Z" };
+      for (String toParse : iso8601) {
+         assertEquals(dateService.iso8601DateParse(toParse), simpleDateService.iso8601DateParse(toParse), toParse);
+      }
+      String[] iso8601Seconds = { "2009-03-12T02:00:07Z", "2009-03-12T06:00:07+0400", "2011-05-26T02:14:13-04:00",
+            "2012-11-26T17:32:31UTC+0000", "2009-03-12T02:00:07" };
+      for (String toParse : iso8601Seconds) {
+         assertEquals(dateService.iso8601SecondsDateParse(toParse), simpleDateService.iso8601SecondsDateParse(toParse),
+               toParse);
+         assertEquals(dateService.iso8601DateOrSecondsDateParse(toParse),
+               simpleDateService.iso8601DateOrSecondsDateParse(toParse), toParse);
+      }
+      assertEquals(dateService.rfc822DateParse("Thu, 12 Mar 2009 02:00:07 GMT"), new Date(1236823207000L));
+      assertEquals(dateService.rfc1123DateParse("Thu, 12 Mar 2009 02:00:07 GMT"), new Date(1236823207000L));
+      assertEquals(dateService.rfc1123DateParse("Thu, 12 Mar 2009 06:00:07 +0400"), new Date(1236823207000L));
+      assertEquals(dateService.cDateParse("Thu Mar 12 02:00:07 +0000 2009"), new Date(1236823207000L));
+      // day of the week which does not match the date
+      assertEquals(dateService.cDateParse("Thu Mar 14 04:00:07 +0000 2009"),
+            simpleDateService.cDateParse("Thu Mar 14 04:00:07 +0000 2009"));
+   }
+
+   @Test(expectedExceptions = IllegalArgumentException.class)
+   public void testIso8601DateParseRequiresMillis() {
+      dateService.iso8601DateParse("2009-03-12T02:00:07Z");
+   }
+
+   @Test(expectedExceptions = IllegalArgumentException.class)
+   public void testIso8601SecondsDateParseRejectsMillis() {
+      dateService.iso8601SecondsDateParse("2009-03-12T02:00:07.000Z");
+   }
+
+   @Test(expectedExceptions = IllegalArgumentException.class)
+   public void testRfc822DateParseIllegal() {
+      dateService.rfc822DateParse("Thu, 12 Mar 2009 02:00:07 XYZ");
+   }
+
+   public void testReusesTextOfSameSecond() {
+      String formatted = dateService.rfc822DateFormat(new Date(1236823207000L));
+      assertSame(dateService.rfc822DateFormat(new Date(1236823207999L)), formatted);
+      assertEquals(dateService.rfc822DateFormat(new Date(1236823208000L)), "Thu, 12 Mar 2009 02:00:08 GMT");
+   }
+}
@@ -21,13 +21,20 @@ import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.fail;
+
+import javax.xml.parsers.SAXParserFactory;
 
 import org.jclouds.http.HttpRequest;
 import org.jclouds.http.HttpResponse;
+import org.jclouds.logging.Logger;
 import org.jclouds.utils.TestUtils;
 import org.testng.annotations.Test;
 import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
 
 /**
  * Tests behavior of {@code ParseSax}
@@ -131,4 +138,60 @@ public class ParseSaxTest extends BaseHandlerTest {
          assertEquals(e.getCause(), input);
       }
    }
+
+   public static class TextHandler extends ParseSax.HandlerWithResult<String> {
+      private final StringBuilder text = new StringBuilder();
+
+      @Override
+      public void characters(char[] ch, int start, int length) {
+         text.append(ch, start, length);
+      }
+
+      @Override
+      public String getResult() {
+         return text.toString();
+      }
+   }
+
+   @Test
+   public void testReadersAreReusedAcrossParses() {
+      assertEquals(factory.create(new TextHandler()).parse("<a>foo</a>"), "foo");
+      assertEquals(factory.create(new TextHandler()).parse("<a>bar</a>"), "bar");
+   }
+
+   @Test
+   public void testReaderIsReusableAfterFailedParse() {
+      try {
+         factory.create(new TextHandler()).parse("<a>foo</b>");
+         fail("expected a parse failure");
+      } catch (RuntimeException expected) {
+      }
+      assertEquals(factory.create(new TextHandler()).parse("<a>bar</a>"), "bar");
+   }
+
+   @Test
+   public void testReaderIsDiscardedAfterFailedParse() throws SAXException {
+      XMLReaderPool pool = new XMLReaderPool(SAXParserFactory.newInstance(), 1);
+      assertEquals(new ParseSax<String>(pool, new TextHandler(), Logger.NULL).parse("<a>foo</a>"), "foo");
+      XMLReader used = pool.borrow();
+      pool.release(used);
+      try {
+         new ParseSax<String>(pool, new TextHandler(), Logger.NULL).parse("<a>foo</b>");
+         fail("expected a parse failure");
+      } catch (RuntimeException expected) {
+      }
+      assertNotSame(pool.borrow(), used);
+   }
+
+   @Test
+   public void testNestedParsesUseDistinctReaders() {
+      ParseSax<String> outer = factory.create(new TextHandler() {
+         @Override
+         public void characters(char[] ch, int start, int length) {
+            super.characters(ch, start, length);
+            assertEquals(factory.create(new TextHandler()).parse("<b>inner</b>"), "inner");
+         }
+      });
+      assertEquals(outer.parse("<a>outer</a>"), "outer");
+   }
 }
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.handlers;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.http.handlers.CircuitBreaker.State;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+
+@Test(groups = "unit", testName = "CircuitBreakerTest")
+public class CircuitBreakerTest {
+
+   private static final URI ENDPOINT = URI.create("https://storage.example.com/container");
+
+   public void testDisabledByDefault() {
+      CircuitBreaker breaker = new CircuitBreaker();
+      for (int i = 0; i < 100; i++)
+         breaker.onFailure(ENDPOINT);
+      assertTrue(breaker.allowRetry(ENDPOINT));
+      assertEquals(breaker.getState(ENDPOINT), State.CLOSED);
+   }
+
+   public void testOpensAfterConsecutiveFailures() {
+      CircuitBreaker breaker = new CircuitBreaker(3, 1000, new FakeTicker());
+      breaker.onFailure(ENDPOINT);
+      breaker.onFailure(ENDPOINT);
+      assertTrue(breaker.allowRetry(ENDPOINT));
+      breaker.onFailure(ENDPOINT);
+      assertFalse(breaker.allowRetry(ENDPOINT));
+      assertEquals(breaker.getState(ENDPOINT), State.OPEN);
+   }
+
+   public void testSuccessResetsTheFailureCount() {
+      CircuitBreaker breaker = new CircuitBreaker(3, 1000, new FakeTicker());
+      breaker.onFailure(ENDPOINT);
+      breaker.onFailure(ENDPOINT);
+      breaker.onSuccess(ENDPOINT);
+      breaker.onFailure(ENDPOINT);
+      breaker.onFailure(ENDPOINT);
+      assertEquals(breaker.getState(ENDPOINT), State.CLOSED);
+   }
+
+   public void testHalfOpenLetsASingleProbeThrough() {
+      FakeTicker ticker = new FakeTicker();
+      CircuitBreaker breaker = new CircuitBreaker(1, 1000, ticker);
+      breaker.onFailure(ENDPOINT);
+      assertFalse(breaker.allowRetry(ENDPOINT));
+
+      ticker.advance(1000);
+      assertTrue(breaker.allowRetry(ENDPOINT));
+      assertEquals(breaker.getState(ENDPOINT), State.HALF_OPEN);
+      assertFalse(breaker.allowRetry(ENDPOINT));
+
+      breaker.onSuccess(ENDPOINT);
+      assertEquals(breaker.getState(ENDPOINT), State.CLOSED);
+      assertTrue(breaker.allowRetry(ENDPOINT));
+   }
+
+   public void testFailedProbeReopensTheCircuit() {
+      FakeTicker ticker = new FakeTicker();
+      CircuitBreaker breaker = new CircuitBreaker(1, 1000, ticker);
+      breaker.onFailure(ENDPOINT);
+      ticker.advance(1000);
+      assertTrue(breaker.allowRetry(ENDPOINT));
+      breaker.onFailure(ENDPOINT);
+      assertEquals(breaker.getState(ENDPOINT), State.OPEN);
+
+      ticker.advance(999);
+      assertFalse(breaker.allowRetry(ENDPOINT));
+      ticker.advance(1);
+      assertTrue(breaker.allowRetry(ENDPOINT));
+   }
+
+   public void testOpenCircuitRejectsNewRequests() {
+      FakeTicker ticker = new FakeTicker();
+      CircuitBreaker breaker = new CircuitBreaker(1, 1000, ticker);
+      assertTrue(breaker.allowRequest(ENDPOINT));
+      breaker.onFailure(ENDPOINT);
+      assertFalse(breaker.allowRequest(ENDPOINT));
+
+      ticker.advance(1000);
+      assertTrue(breaker.allowRequest(ENDPOINT));
+      assertFalse(breaker.allowRequest(ENDPOINT));
+      assertFalse(breaker.allowRetry(ENDPOINT));
+   }
+
+   public void testProbeWhichNeverCompletesIsReplaced() {
+      FakeTicker ticker = new FakeTicker();
+      CircuitBreaker breaker = new CircuitBreaker(1, 1000, ticker);
+      breaker.onFailure(ENDPOINT);
+      ticker.advance(1000);
+      assertTrue(breaker.allowRequest(ENDPOINT));
+
+      ticker.advance(999);
+      assertFalse(breaker.allowRequest(ENDPOINT));
+      ticker.advance(1);
+      assertTrue(breaker.allowRequest(ENDPOINT));
+      assertEquals(breaker.getState(ENDPOINT), State.HALF_OPEN);
+   }
+
+   public void testEndpointsHaveIndependentCircuits() {
+      CircuitBreaker breaker = new CircuitBreaker(1, 1000, new FakeTicker());
+      URI other = URI.create("https://compute.example.com/servers");
+      breaker.onFailure(ENDPOINT);
+      breaker.onSuccess(other);
+      assertEquals(breaker.getStates(),
+            ImmutableMap.of("storage.example.com:-1", State.OPEN, "compute.example.com:-1", State.CLOSED));
+   }
+
+   private static final class FakeTicker extends Ticker {
+      private long nanos;
+
+      void advance(long millis) {
+         nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+      }
+
+      @Override
+      public long read() {
+         return nanos;
+      }
+   }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.handlers;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.http.HttpCommand;
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpResponse;
+import org.jclouds.http.handlers.CircuitBreaker.State;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Ticker;
+
+@Test(groups = "unit", testName = "DelegatingRetryHandlerTest")
+public class DelegatingRetryHandlerTest {
+
+   private static final HttpRequest REQUEST = HttpRequest.builder().method("GET")
+         .endpoint("https://storage.example.com/container/blob").build();
+
+   public void testClientErrorAnsweringAProbeClosesTheCircuit() {
+      FakeTicker ticker = new FakeTicker();
+      DelegatingRetryHandler handler = handler(ticker);
+      HttpCommand command = new HttpCommand(REQUEST);
+      handler.circuitBreaker.onFailure(REQUEST.getEndpoint());
+      ticker.advance(1000);
+      assertTrue(handler.allowRequest(command));
+      assertEquals(handler.circuitBreaker.getState(REQUEST.getEndpoint()), State.HALF_OPEN);
+
+      assertFalse(handler.shouldRetryRequest(command, HttpResponse.builder().statusCode(404).build()));
+      assertEquals(handler.circuitBreaker.getState(REQUEST.getEndpoint()), State.CLOSED);
+   }
+
+   public void testTooManyRequestsAnsweringAProbeReopensTheCircuit() {
+      FakeTicker ticker = new FakeTicker();
+      DelegatingRetryHandler handler = handler(ticker);
+      HttpCommand command = new HttpCommand(REQUEST);
+      handler.circuitBreaker.onFailure(REQUEST.getEndpoint());
+      ticker.advance(1000);
+      assertTrue(handler.allowRequest(command));
+
+      assertFalse(handler.shouldRetryRequest(command, HttpResponse.builder().statusCode(429).build()));
+      assertEquals(handler.circuitBreaker.getState(REQUEST.getEndpoint()), State.OPEN);
+   }
+
+   private static DelegatingRetryHandler handler(Ticker ticker) {
+      DelegatingRetryHandler handler = new DelegatingRetryHandler(BackoffLimitedRetryHandler.INSTANCE,
+            new RedirectionRetryHandler(BackoffLimitedRetryHandler.INSTANCE));
+      handler.circuitBreaker = new CircuitBreaker(1, 1000, ticker);
+      return handler;
+   }
+
+   private static final class FakeTicker extends Ticker {
+      private long nanos;
+
+      void advance(long millis) {
+         nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+      }
+
+      @Override
+      public long read() {
+         return nanos;
+      }
+   }
+}
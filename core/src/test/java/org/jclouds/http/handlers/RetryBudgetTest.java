@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.handlers;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "RetryBudgetTest")
+public class RetryBudgetTest {
+
+   public void testDisabledByDefault() {
+      RetryBudget budget = new RetryBudget();
+      for (int i = 0; i < 1000; i++)
+         assertTrue(budget.tryRetry());
+      assertEquals(budget.getRetries(), 1000);
+      assertEquals(budget.getRejectedRetries(), 0);
+   }
+
+   public void testReserveIsSpentWithoutSuccesses() {
+      RetryBudget budget = new RetryBudget(0.1);
+      for (int i = 0; i < 10; i++)
+         assertTrue(budget.tryRetry());
+      assertFalse(budget.tryRetry());
+      assertEquals(budget.getRetries(), 10);
+      assertEquals(budget.getRejectedRetries(), 1);
+   }
+
+   public void testSuccessesEarnRetries() {
+      RetryBudget budget = new RetryBudget(0.5);
+      for (int i = 0; i < 10; i++)
+         budget.tryRetry();
+      assertFalse(budget.tryRetry());
+      budget.onSuccess();
+      assertFalse(budget.tryRetry());
+      budget.onSuccess();
+      assertTrue(budget.tryRetry());
+      assertFalse(budget.tryRetry());
+   }
+
+   public void testCancelledRetryIsPaidBack() {
+      RetryBudget budget = new RetryBudget(0.1);
+      for (int i = 0; i < 10; i++)
+         budget.tryRetry();
+      budget.cancelRetry();
+      assertEquals(budget.getRetries(), 9);
+      assertTrue(budget.tryRetry());
+      assertFalse(budget.tryRetry());
+   }
+
+   public void testConcurrentRetriesDoNotOverdrawTheBudget() throws Exception {
+      final RetryBudget budget = new RetryBudget(0.1);
+      final AtomicInteger granted = new AtomicInteger();
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      try {
+         List<Future<?>> futures = new ArrayList<Future<?>>();
+         for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(new Runnable() {
+               @Override
+               public void run() {
+                  for (int j = 0; j < 100; j++) {
+                     if (budget.tryRetry())
+                        granted.incrementAndGet();
+                  }
+               }
+            }));
+         }
+         for (Future<?> future : futures)
+            future.get();
+      } finally {
+         executor.shutdownNow();
+      }
+      assertEquals(granted.get(), 10);
+      assertEquals(budget.getBalance(), 0.0, 0.001);
+   }
+
+   public void testBalanceIsCapped() {
+      RetryBudget budget = new RetryBudget(1);
+      for (int i = 0; i < 1000; i++)
+         budget.onSuccess();
+      assertEquals(budget.getBalance(), 100.0, 0.001);
+   }
+}
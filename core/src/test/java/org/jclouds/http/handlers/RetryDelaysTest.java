@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.handlers;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "RetryDelaysTest")
+public class RetryDelaysTest {
+
+   public void testDeferredBackoffIsRecordedNotSlept() {
+      long start = System.currentTimeMillis();
+      RetryDelays.beginDeferring();
+      long delay;
+      try {
+         BackoffLimitedRetryHandler.INSTANCE.imposeBackoffExponentialDelay(1000, 2, 3, 5, "deferred");
+      } finally {
+         delay = RetryDelays.endDeferring();
+      }
+      assertTrue(System.currentTimeMillis() - start < 1000, "slept instead of deferring");
+      assertTrue(delay >= 9000 && delay <= 10000, "unexpected delay " + delay);
+   }
+
+   public void testNothingDeferredOutsideOfDeferring() throws InterruptedException {
+      RetryDelays.sleep(1);
+      assertEquals(RetryDelays.endDeferring(), 0);
+   }
+}
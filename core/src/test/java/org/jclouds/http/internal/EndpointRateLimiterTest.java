@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.jclouds.http.HttpRequest;
+import org.jclouds.http.HttpResponse;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Ticker;
+
+@Test(groups = "unit", testName = "EndpointRateLimiterTest")
+public class EndpointRateLimiterTest {
+
+   private static final URI ENDPOINT = URI.create("https://storage.example.com/container");
+   private static final HttpRequest REQUEST = HttpRequest.builder().method("GET").endpoint(ENDPOINT).build();
+
+   public void testDisabledByDefault() {
+      EndpointRateLimiter limiter = new EndpointRateLimiter();
+      limiter.acquire(REQUEST);
+      limiter.onResponse(REQUEST, response(503));
+      assertEquals(limiter.getRate(ENDPOINT), Double.POSITIVE_INFINITY);
+   }
+
+   public void testTryAcquireDoesNotWait() {
+      EndpointRateLimiter limiter = new EndpointRateLimiter(1);
+      assertTrue(limiter.tryAcquire(REQUEST));
+      assertFalse(limiter.tryAcquire(REQUEST));
+      assertEquals(limiter.getRetryDelayMillis(REQUEST), 1000);
+   }
+
+   public void testThrottledResponsesHalveTheRate() {
+      FakeTicker ticker = new FakeTicker();
+      EndpointRateLimiter limiter = new EndpointRateLimiter(100, ticker);
+      limiter.onResponse(REQUEST, response(503));
+      assertEquals(limiter.getRate(ENDPOINT), 50.0, 0.001);
+      ticker.advance(1, TimeUnit.SECONDS);
+      limiter.onResponse(REQUEST, response(429));
+      assertEquals(limiter.getRate(ENDPOINT), 25.0, 0.001);
+   }
+
+   public void testThrottledResponsesWithinOneWindowHalveTheRateOnce() {
+      FakeTicker ticker = new FakeTicker();
+      EndpointRateLimiter limiter = new EndpointRateLimiter(100, ticker);
+      limiter.onResponse(REQUEST, response(503));
+      ticker.advance(500, TimeUnit.MILLISECONDS);
+      limiter.onResponse(REQUEST, response(503));
+      limiter.onResponse(REQUEST, response(429));
+      assertEquals(limiter.getRate(ENDPOINT), 50.0, 0.001);
+      ticker.advance(500, TimeUnit.MILLISECONDS);
+      limiter.onResponse(REQUEST, response(503));
+      assertEquals(limiter.getRate(ENDPOINT), 25.0, 0.001);
+   }
+
+   public void testRateDoesNotDropBelowTheFloor() {
+      FakeTicker ticker = new FakeTicker();
+      EndpointRateLimiter limiter = new EndpointRateLimiter(64, ticker);
+      for (int i = 0; i < 20; i++) {
+         limiter.onResponse(REQUEST, response(429));
+         ticker.advance(1, TimeUnit.SECONDS);
+      }
+      assertEquals(limiter.getRate(ENDPOINT), 1.0, 0.001);
+   }
+
+   public void testSuccessfulResponsesRecoverTheConfiguredRate() {
+      EndpointRateLimiter limiter = new EndpointRateLimiter(100);
+      limiter.onResponse(REQUEST, response(503));
+      limiter.onResponse(REQUEST, response(200));
+      assertEquals(limiter.getRate(ENDPOINT), 51.0, 0.001);
+      for (int i = 0; i < 100; i++)
+         limiter.onResponse(REQUEST, response(200));
+      assertEquals(limiter.getRate(ENDPOINT), 100.0, 0.001);
+   }
+
+   public void testOtherErrorsDoNotChangeTheRate() {
+      EndpointRateLimiter limiter = new EndpointRateLimiter(100);
+      limiter.onResponse(REQUEST, response(500));
+      limiter.onResponse(REQUEST, response(404));
+      assertEquals(limiter.getRate(ENDPOINT), 100.0, 0.001);
+   }
+
+   public void testEndpointsAreLimitedIndependently() {
+      EndpointRateLimiter limiter = new EndpointRateLimiter(100);
+      URI other = URI.create("https://compute.example.com/servers");
+      limiter.onResponse(REQUEST, response(503));
+      assertEquals(limiter.getRate(ENDPOINT), 50.0, 0.001);
+      assertEquals(limiter.getRate(other), 100.0, 0.001);
+   }
+
+   private static final class FakeTicker extends Ticker {
+      private long nanos;
+
+      void advance(long duration, TimeUnit unit) {
+         nanos += unit.toNanos(duration);
+      }
+
+      @Override
+      public long read() {
+         return nanos;
+      }
+   }
+
+   private static HttpResponse response(int statusCode) {
+      return HttpResponse.builder().statusCode(statusCode).build();
+   }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.http.metrics.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import org.jclouds.http.metrics.HttpCommandMetrics;
+import org.jclouds.http.metrics.internal.InMemoryHttpMetrics.CommandStats;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+@Test(groups = "unit", testName = "InMemoryHttpMetricsTest")
+public class InMemoryHttpMetricsTest {
+
+   public void testAggregatesPerCommandName() {
+      InMemoryHttpMetrics registry = new InMemoryHttpMetrics();
+      registry.record("BlobApi.get", metrics(200, 1, 100, 2048));
+      registry.record("BlobApi.get", metrics(503, 3, 300, 0));
+      registry.record("BlobApi.put", metrics(201, 1, 50, 0));
+
+      CommandStats get = registry.get("BlobApi.get");
+      assertEquals(get.getCalls(), 2);
+      assertEquals(get.getRetries(), 2);
+      assertEquals(get.getFilter().getTotalNanos(), 400);
+      assertEquals(get.getFilter().getMaxNanos(), 300);
+      assertEquals(get.getFilter().getMeanNanos(), 200);
+      assertEquals(get.getBytesIn(), 2048);
+      assertEquals(get.getStatusCodes(), ImmutableMap.of(200, 1L, 503, 1L));
+
+      assertEquals(registry.get("BlobApi.put").getCalls(), 1);
+      assertEquals(registry.getCommands().keySet().size(), 2);
+   }
+
+   public void testCallsWithoutResponseAreCountedUnderZero() {
+      InMemoryHttpMetrics registry = new InMemoryHttpMetrics();
+      registry.record("BlobApi.get", new HttpCommandMetrics());
+      assertEquals(registry.get("BlobApi.get").getStatusCodes(), ImmutableMap.of(0, 1L));
+      assertEquals(registry.get("BlobApi.get").getRetries(), 0);
+   }
+
+   public void testReset() {
+      InMemoryHttpMetrics registry = new InMemoryHttpMetrics();
+      registry.record("BlobApi.get", metrics(200, 1, 100, 0));
+      registry.reset();
+      assertNull(registry.get("BlobApi.get"));
+   }
+
+   private static HttpCommandMetrics metrics(int statusCode, int attempts, long filterNanos, long bytesIn) {
+      HttpCommandMetrics metrics = new HttpCommandMetrics();
+      metrics.markStarted();
+      for (int i = 0; i < attempts; i++)
+         metrics.incrementAttempts();
+      metrics.addFilterNanos(filterNanos);
+      metrics.setStatusCode(statusCode);
+      metrics.addBytesIn(bytesIn);
+      return metrics;
+   }
+}
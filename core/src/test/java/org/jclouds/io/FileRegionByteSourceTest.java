@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jclouds.io;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Iterator;
+
+import org.jclouds.crypto.Crypto;
+import org.jclouds.encryption.internal.JCECrypto;
+import org.jclouds.io.internal.BasePayloadSlicer;
+import org.jclouds.io.payloads.RSAEncryptingPayload;
+import org.jclouds.util.Strings2;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+@Test(groups = "unit", testName = "FileRegionByteSourceTest")
+public class FileRegionByteSourceTest {
+
+   private File file;
+
+   @BeforeClass
+   public void createFile() throws IOException {
+      file = File.createTempFile("FileRegionByteSourceTest", ".txt");
+      Files.write("aaaaaaaaaabbbbbbbbbbccccc".getBytes(Charsets.US_ASCII), file);
+   }
+
+   @AfterClass(alwaysRun = true)
+   public void deleteFile() {
+      file.delete();
+   }
+
+   public void testSliceReadsRegion() throws IOException {
+      FileRegionByteSource region = FileRegionByteSource.of(file).slice(10, 10);
+      assertEquals(region.getOffset(), 10);
+      assertEquals(region.size(), 10);
+      assertEquals(Strings2.toStringAndClose(region.openStream()), "bbbbbbbbbb");
+   }
+
+   public void testSliceOfSliceIsClampedToParent() throws IOException {
+      FileRegionByteSource region = FileRegionByteSource.of(file).slice(5, 10).slice(8, 10);
+      assertEquals(region.getOffset(), 13);
+      assertEquals(region.size(), 2);
+      assertEquals(Strings2.toStringAndClose(region.openStream()), "bb");
+   }
+
+   public void testSliceBeyondEndOfFileIsEmpty() throws IOException {
+      FileRegionByteSource region = FileRegionByteSource.of(file).slice(30, 10);
+      assertEquals(region.size(), 0);
+      assertEquals(region.read().length, 0);
+   }
+
+   public void testTransferToWritesRegion() throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      long written = FileRegionByteSource.of(file).slice(20, 10).transferTo(Channels.newChannel(out));
+      assertEquals(written, 5);
+      assertEquals(new String(out.toByteArray(), Charsets.US_ASCII), "ccccc");
+   }
+
+   public void testFromPayload() {
+      FileRegionByteSource region = FileRegionByteSource.fromPayload(Payloads.newFilePayload(file));
+      assertSame(region.getFile(), file);
+      assertEquals(region.getOffset(), 0);
+      assertNull(FileRegionByteSource.fromPayload(Payloads.newStringPayload("foo")));
+   }
+
+   public void testFromPayloadIgnoresEncryptingPayloads() throws Exception {
+      KeyPair keyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+      Crypto crypto = new JCECrypto();
+      assertNull(FileRegionByteSource.fromPayload(new RSAEncryptingPayload(crypto, Payloads.newFilePayload(file),
+            keyPair.getPublic())));
+      Payload region = Payloads.newByteSourcePayload(FileRegionByteSource.of(file).slice(0, 10));
+      assertEquals(FileRegionByteSource.fromPayload(region).getOffset(), 0);
+      assertNull(FileRegionByteSource.fromPayload(new RSAEncryptingPayload(crypto, region, keyPair.getPublic())));
+   }
+
+   public void testSlicerKeepsFileRegions() throws IOException {
+      Iterator<Payload> parts = new BasePayloadSlicer().slice(Payloads.newFilePayload(file), 10).iterator();
+      Payload last = null;
+      while (parts.hasNext()) {
+         last = parts.next();
+         assertTrue(last.getRawContent() instanceof FileRegionByteSource, last.getRawContent().toString());
+      }
+      assertEquals(FileRegionByteSource.fromPayload(last).getOffset(), 20);
+      assertEquals(Strings2.toStringAndClose(last.openStream()), "ccccc");
+
+      Payload slice = new BasePayloadSlicer().slice(Payloads.newFilePayload(file), 3, 4);
+      assertEquals(FileRegionByteSource.fromPayload(slice).getOffset(), 3);
+      assertEquals(Strings2.toStringAndClose(slice.openStream()), "aaaa");
+   }
+}
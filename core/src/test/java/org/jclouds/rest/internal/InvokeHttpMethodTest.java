@@ -18,15 +18,22 @@ package org.jclouds.rest.internal;
 
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.isA;
 import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.reset;
 import static org.easymock.EasyMock.verify;
 import static org.jclouds.reflect.Reflection2.method;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import jakarta.inject.Named;
 
+import org.jclouds.http.AsyncHttpCommandExecutorService;
 import org.jclouds.http.HttpCommand;
 import org.jclouds.http.HttpCommandExecutorService;
 import org.jclouds.http.HttpRequest;
@@ -34,6 +41,7 @@ import org.jclouds.http.HttpResponse;
 import org.jclouds.reflect.Invocation;
 import org.jclouds.rest.config.InvocationConfig;
 import org.jclouds.rest.internal.InvokeHttpMethod.InvokeAndTransform;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
@@ -44,7 +52,9 @@ import com.google.common.base.Functions;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.TimeLimiter;
+import com.google.common.util.concurrent.UncheckedTimeoutException;
 
 @Test(groups = "unit", singleThreaded = true)
 public class InvokeHttpMethodTest {
@@ -52,17 +62,29 @@ public class InvokeHttpMethodTest {
    public interface ThingApi {
       @Named("ns:get")
       HttpResponse get();
+
+      @Named("ns:futureGet")
+      CompletableFuture<HttpResponse> futureGet();
    }
 
    private Invocation get;
+   private Invocation futureGet;
    private HttpRequest getRequest = HttpRequest.builder().method("GET").endpoint("http://get").build();
    private HttpCommand getCommand = new HttpCommand(getRequest);
    private Function<Invocation, HttpRequest> toRequest;
+   private ScheduledExecutorService scheduler;
 
    @BeforeClass
    void setupInvocations() throws SecurityException, NoSuchMethodException {
       get = Invocation.create(method(ThingApi.class, "get"), ImmutableList.of());
-      toRequest = Functions.forMap(ImmutableMap.of(get, getRequest));
+      futureGet = Invocation.create(method(ThingApi.class, "futureGet"), ImmutableList.of());
+      toRequest = Functions.forMap(ImmutableMap.of(get, getRequest, futureGet, getRequest));
+      scheduler = Executors.newSingleThreadScheduledExecutor();
+   }
+
+   @AfterClass(alwaysRun = true)
+   void shutdownScheduler() {
+      scheduler.shutdownNow();
    }
 
    @SuppressWarnings("unchecked")
@@ -85,7 +107,8 @@ public class InvokeHttpMethodTest {
       timeLimiter = createMock(TimeLimiter.class);
       fallback = createMock(org.jclouds.Fallback.class);
       config = createMock(InvocationConfig.class);
-      invokeHttpMethod = new InvokeHttpMethod(toRequest, http, transformerForRequest, timeLimiter, config);
+      invokeHttpMethod = new InvokeHttpMethod(toRequest, http, transformerForRequest, timeLimiter, config,
+            MoreExecutors.newDirectExecutorService(), scheduler);
       expect(config.getCommandName(get)).andReturn("ns:get");
       expect(config.getFallback(get)).andReturn(fallback);
    }
@@ -130,4 +153,44 @@ public class InvokeHttpMethodTest {
       replay(http, timeLimiter, fallback, config);
       assertEquals(invokeHttpMethod.apply(get), fallbackResponse);
    }
+
+   public void testFutureReturnTypeInvokesWithoutTimeLimiter() throws Exception {
+      reset(config);
+      expect(config.getCommandName(futureGet)).andReturn("ns:futureGet");
+      expect(config.getFallback(futureGet)).andReturn(fallback);
+      expect(config.getTimeoutNanos(futureGet)).andReturn(Optional.of(250000000L));
+      expect(http.invoke(new HttpCommand(getRequest))).andReturn(response);
+      replay(http, timeLimiter, fallback, config);
+      assertEquals(CompletableFuture.class.cast(invokeHttpMethod.apply(futureGet)).get(), response);
+   }
+
+   public void testFutureReturnTypeRunsFallbackCreateOrPropagate() throws Exception {
+      IllegalStateException exception = new IllegalStateException();
+      reset(config);
+      expect(config.getCommandName(futureGet)).andReturn("ns:futureGet");
+      expect(config.getFallback(futureGet)).andReturn(fallback);
+      expect(config.getTimeoutNanos(futureGet)).andReturn(Optional.<Long> absent());
+      expect(http.invoke(new HttpCommand(getRequest))).andThrow(exception);
+      expect(fallback.createOrPropagate(exception)).andReturn(fallbackResponse);
+      replay(http, timeLimiter, fallback, config);
+      assertEquals(CompletableFuture.class.cast(invokeHttpMethod.apply(futureGet)).get(), fallbackResponse);
+   }
+
+   @SuppressWarnings("unchecked")
+   public void testFutureReturnTypeFailsOnTimeout() throws Exception {
+      AsyncHttpCommandExecutorService asyncHttp = createMock(AsyncHttpCommandExecutorService.class);
+      CompletableFuture<HttpResponse> neverResponds = new CompletableFuture<HttpResponse>();
+      reset(config);
+      expect(config.getCommandName(futureGet)).andReturn("ns:futureGet");
+      expect(config.getFallback(futureGet)).andReturn(fallback);
+      expect(config.getTimeoutNanos(futureGet)).andReturn(Optional.of(1000000L));
+      expect(asyncHttp.invokeAsync(new HttpCommand(getRequest))).andReturn(neverResponds);
+      expect(fallback.createOrPropagate(isA(UncheckedTimeoutException.class))).andReturn(fallbackResponse);
+      replay(asyncHttp, http, timeLimiter, fallback, config);
+      InvokeHttpMethod invokeAsyncHttp = new InvokeHttpMethod(toRequest, asyncHttp, transformerForRequest,
+            timeLimiter, config, MoreExecutors.newDirectExecutorService(), scheduler);
+      assertEquals(CompletableFuture.class.cast(invokeAsyncHttp.apply(futureGet)).get(), fallbackResponse);
+      assertTrue(neverResponds.isCompletedExceptionally());
+      verify(asyncHttp);
+   }
 }
@@ -1560,6 +1560,27 @@ public class RestAnnotationProcessorTest extends BaseRestApiTest {
       assertEquals(request.getFilters().get(1).getClass(), ConnectionCloseHeader.class);
    }
 
+   @Test
+   public void testRequestTemplatesNotCached() {
+      Invocation invocation = Invocation.create(method(TestQuery.class, "foo3", String.class),
+            ImmutableList.<Object> of("wonder"));
+
+      // Create a new injector with the property set. Use that to create the annotation processor.
+      Properties overrides = new Properties();
+      overrides.setProperty(Constants.PROPERTY_CACHE_REQUEST_TEMPLATES, "false");
+      Injector injector = ContextBuilder.newBuilder(forApiOnEndpoint(Callee.class, "http://localhost:9999"))
+         .modules(ImmutableSet.<Module> of(new MockModule(), new NullLoggingModule()))
+         .overrides(overrides).buildInjector();
+      RestAnnotationProcessor newProcessor = injector.getInstance(RestAnnotationProcessor.class);
+      // Verify that reading the annotations on every invocation builds the same request each time.
+      for (int i = 0; i < 2; i++) {
+         GeneratedHttpRequest request = newProcessor.apply(invocation);
+         assertEquals(request.getEndpoint().getPath(), "/");
+         assertEquals(request.getEndpoint().getQuery(), "x-ms-version=2009-07-17&foo=bar&fooble=baz&robbie=wonder");
+         assertEquals(request.getMethod(), "FOO");
+      }
+   }
+
    @Test
    public void testZeroContentStripExpectHeader() {
       Invokable<?, ?> method = method(TestRequestFilter.class, "post");
@@ -19,6 +19,7 @@ package org.jclouds.util;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.jclouds.util.Predicates2.retry;
+import static org.jclouds.util.Predicates2.retryAsync;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
@@ -26,16 +27,21 @@ import static org.testng.Assert.fail;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeoutException;
 
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.base.Stopwatch;
 import com.google.common.base.Supplier;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
 
 @Test(groups = "unit", singleThreaded = true)
 public class Predicates2Test {
@@ -46,10 +52,17 @@ public class Predicates2Test {
    public static final int EARLY_RETURN_GRACE = 10;
 
    private Stopwatch stopwatch;
+   private ScheduledExecutorService scheduler;
 
    @BeforeMethod
    public void setUp() {
       stopwatch = Stopwatch.createUnstarted();
+      scheduler = Executors.newSingleThreadScheduledExecutor();
+   }
+
+   @AfterMethod(alwaysRun = true)
+   public void tearDown() {
+      scheduler.shutdownNow();
    }
    
    @Test
@@ -162,6 +175,68 @@ public class Predicates2Test {
       assertCallTimes(rawPredicate.callTimes, 0, 1000, 2000);
    }
    
+   @Test
+   void testRetryAsyncAlwaysFalseMillis() throws Exception {
+      // same schedule as testRetryAlwaysFalseMillis, without a sleeping thread
+      RepeatedAttemptsPredicate rawPredicate = new RepeatedAttemptsPredicate(Integer.MAX_VALUE);
+      Function<String, ListenableFuture<Boolean>> predicate = retryAsync(rawPredicate, 3, 1, 10, SECONDS, scheduler);
+      stopwatch.start();
+      assertFalse(predicate.apply("").get());
+      long duration = stopwatch.elapsed(MILLISECONDS);
+      assertOrdered(3000 - EARLY_RETURN_GRACE, duration, 3000 + SLOW_BUILD_SERVER_GRACE);
+      assertCallTimes(rawPredicate.callTimes, 0, 1000, 1000 + 1500, 3000);
+   }
+
+   @Test
+   void testRetryAsyncThirdTimeTrue() throws Exception {
+      RepeatedAttemptsPredicate rawPredicate = new RepeatedAttemptsPredicate(3);
+      Function<String, ListenableFuture<Boolean>> predicate = retryAsync(rawPredicate, 4, 1, 10, SECONDS, scheduler);
+
+      stopwatch.start();
+      assertTrue(predicate.apply("").get());
+      long duration = stopwatch.elapsed(MILLISECONDS);
+
+      assertOrdered(2500 - EARLY_RETURN_GRACE, duration, 2500 + SLOW_BUILD_SERVER_GRACE);
+      assertCallTimes(rawPredicate.callTimes, 0, 1000, 1000 + 1500);
+   }
+
+   @Test
+   void testRetryAsyncWillRunOnceOnNegativeTimeout() throws Exception {
+      RepeatedAttemptsPredicate rawPredicate = new RepeatedAttemptsPredicate(2);
+      Function<String, ListenableFuture<Boolean>> predicate = retryAsync(rawPredicate, -1, 1, 10, SECONDS, scheduler);
+
+      assertFalse(predicate.apply("").get());
+      assertCallTimes(rawPredicate.callTimes, 0);
+   }
+
+   @Test
+   void testRetryAsyncReturnsFalseOnIllegalStateExeception() throws Exception {
+      Function<String, ListenableFuture<Boolean>> predicate = retryAsync(new Predicate<String>() {
+         public boolean apply(String input) {
+            throw new IllegalStateException();
+         }
+      }, 3, 1, 10, SECONDS, scheduler);
+
+      stopwatch.start();
+      assertFalse(predicate.apply("").get());
+      assertOrdered(stopwatch.elapsed(MILLISECONDS), SLOW_BUILD_SERVER_GRACE);
+   }
+
+   @Test(expectedExceptions = UnsupportedOperationException.class)
+   void testRetryAsyncPropagatesOnException() throws Throwable {
+      Function<String, ListenableFuture<Boolean>> predicate = retryAsync(new Predicate<String>() {
+         public boolean apply(String input) {
+            throw new UnsupportedOperationException();
+         }
+      }, 3, 1, 10, SECONDS, scheduler);
+
+      try {
+         predicate.apply("").get();
+      } catch (ExecutionException e) {
+         throw e.getCause();
+      }
+   }
+
    public static class RepeatedAttemptsPredicate implements Predicate<String> {
       final List<Long> callTimes = Lists.newArrayList();
       private final int succeedOnAttempt;
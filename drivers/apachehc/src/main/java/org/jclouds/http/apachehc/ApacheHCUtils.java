@@ -16,9 +16,12 @@
  */
 package org.jclouds.http.apachehc;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.Map;
 import java.util.Set;
@@ -36,6 +39,7 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.FileEntity;
 import org.apache.http.entity.InputStreamEntity;
@@ -45,6 +49,7 @@ import org.apache.http.util.EntityUtils;
 import org.jclouds.JcloudsVersion;
 import org.jclouds.http.HttpRequest;
 import org.jclouds.io.ContentMetadataCodec;
+import org.jclouds.io.FileRegionByteSource;
 import org.jclouds.io.MutableContentMetadata;
 import org.jclouds.io.Payload;
 import org.jclouds.io.payloads.BasePayload;
@@ -126,6 +131,7 @@ public class ApacheHCUtils {
    }
 
    public void addEntityForContent(HttpEntityEnclosingRequest apacheRequest, Payload payload) {
+      FileRegionByteSource region = FileRegionByteSource.fromPayload(payload);
       payload = payload instanceof DelegatingPayload ? DelegatingPayload.class.cast(payload).getDelegate() : payload;
       if (payload instanceof StringPayload) {
          StringEntity nStringEntity = null;
@@ -139,6 +145,10 @@ public class ApacheHCUtils {
       } else if (payload instanceof FilePayload) {
          apacheRequest.setEntity(new FileEntity((File) payload.getRawContent(), payload.getContentMetadata()
                .getContentType()));
+      } else if (region != null) {
+         FileRegionEntity entity = new FileRegionEntity(region, payload.getContentMetadata().getContentLength());
+         entity.setContentType(payload.getContentMetadata().getContentType());
+         apacheRequest.setEntity(entity);
       } else if (payload instanceof ByteArrayPayload) {
          ByteArrayEntity Entity = new ByteArrayEntity((byte[]) payload.getRawContent());
          Entity.setContentType(payload.getContentMetadata().getContentType());
@@ -164,6 +174,47 @@ public class ApacheHCUtils {
       assert apacheRequest.getEntity() != null;
    }
 
+   /**
+    * A repeatable entity over a file region, such as a multipart upload part
+    * sliced from a file. Unlike an {@link InputStreamEntity} over the slice, it
+    * can be resent when the request is retried or redirected.
+    */
+   public static class FileRegionEntity extends AbstractHttpEntity {
+      private final FileRegionByteSource region;
+      private final long length;
+
+      public FileRegionEntity(FileRegionByteSource region, Long length) {
+         this.region = checkNotNull(region, "region");
+         this.length = checkNotNull(length, "you must specify size when content is a file region");
+      }
+
+      @Override
+      public boolean isRepeatable() {
+         return true;
+      }
+
+      @Override
+      public long getContentLength() {
+         return length;
+      }
+
+      @Override
+      public InputStream getContent() throws IOException {
+         return region.openStream();
+      }
+
+      @Override
+      public void writeTo(OutputStream outstream) throws IOException {
+         checkNotNull(outstream, "outstream");
+         region.copyTo(outstream);
+      }
+
+      @Override
+      public boolean isStreaming() {
+         return false;
+      }
+   }
+
    public static class HttpEntityPayload extends BasePayload<HttpEntity> {
 
       HttpEntityPayload(HttpEntity content) {
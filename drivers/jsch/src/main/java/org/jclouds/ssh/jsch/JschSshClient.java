@@ -125,6 +125,11 @@ public class JschSshClient implements SshClient {
 
    public JschSshClient(ProxyConfig proxyConfig, BackoffLimitedRetryHandler backoffLimitedRetryHandler, HostAndPort socket,
             LoginCredentials loginCredentials, int timeout, Optional<Connector> agentConnector) {
+      this(proxyConfig, backoffLimitedRetryHandler, socket, loginCredentials, timeout, 0, agentConnector);
+   }
+
+   public JschSshClient(ProxyConfig proxyConfig, BackoffLimitedRetryHandler backoffLimitedRetryHandler, HostAndPort socket,
+            LoginCredentials loginCredentials, int timeout, int keepAliveInterval, Optional<Connector> agentConnector) {
       this.user = checkNotNull(loginCredentials, "loginCredentials").getUser();
       this.host = checkNotNull(socket, "socket").getHost();
       checkArgument(socket.getPort() > 0, "ssh port must be greater then zero" + socket.getPort());
@@ -145,7 +150,7 @@ public class JschSshClient implements SshClient {
       }
       sessionConnection = SessionConnection.builder().hostAndPort(HostAndPort.fromParts(host, socket.getPort())).loginCredentials(
                loginCredentials).proxy(checkNotNull(proxyConfig, "proxyConfig")).connectTimeout(timeout).sessionTimeout(timeout)
-               .agentConnector(agentConnector).build();
+               .keepAliveInterval(keepAliveInterval).agentConnector(agentConnector).build();
    }
 
    @Override
@@ -52,6 +52,7 @@ public final class SessionConnection implements Connection<Session> {
       private Optional<Proxy> proxy = Optional.absent();
       private int connectTimeout;
       private int sessionTimeout;
+      private int keepAliveInterval;
       private Optional<Connector> agentConnector;
 
       /**
@@ -119,13 +120,23 @@ public final class SessionConnection implements Connection<Session> {
          return this;
       }
 
+      /**
+       * @see SessionConnection#getKeepAliveInterval()
+       */
+      public Builder keepAliveInterval(int keepAliveInterval) {
+         this.keepAliveInterval = keepAliveInterval;
+         return this;
+      }
+
       public SessionConnection build() {
-         return new SessionConnection(hostAndPort, loginCredentials, proxy, connectTimeout, sessionTimeout, agentConnector);
+         return new SessionConnection(hostAndPort, loginCredentials, proxy, connectTimeout, sessionTimeout,
+               keepAliveInterval, agentConnector);
       }
 
       public Builder from(SessionConnection in) {
          return hostAndPort(in.hostAndPort).loginCredentials(in.loginCredentials).proxy(in.proxy.orNull())
-               .connectTimeout(in.connectTimeout).sessionTimeout(in.sessionTimeout).agentConnector(in.agentConnector);
+               .connectTimeout(in.connectTimeout).sessionTimeout(in.sessionTimeout)
+               .keepAliveInterval(in.keepAliveInterval).agentConnector(in.agentConnector);
       }
 
       public Builder agentConnector(Optional<Connector> agentConnector) {
@@ -136,11 +147,12 @@ public final class SessionConnection implements Connection<Session> {
    }
 
    private SessionConnection(HostAndPort hostAndPort, LoginCredentials loginCredentials, Optional<Proxy> proxy,
-         int connectTimeout, int sessionTimeout, Optional<Connector> agentConnector) {
+         int connectTimeout, int sessionTimeout, int keepAliveInterval, Optional<Connector> agentConnector) {
       this.hostAndPort = checkNotNull(hostAndPort, "hostAndPort");
       this.loginCredentials = checkNotNull(loginCredentials, "loginCredentials for %", hostAndPort);
       this.connectTimeout = connectTimeout;
       this.sessionTimeout = sessionTimeout;
+      this.keepAliveInterval = keepAliveInterval;
       this.proxy = checkNotNull(proxy, "proxy for %", hostAndPort);
       this.agentConnector = checkNotNull(agentConnector, "agentConnector for %", hostAndPort);
    }
@@ -152,6 +164,7 @@ public final class SessionConnection implements Connection<Session> {
    private final Optional<Proxy> proxy;
    private final int connectTimeout;
    private final int sessionTimeout;
+   private final int keepAliveInterval;
 
    private transient Session session;
 
@@ -170,6 +183,8 @@ public final class SessionConnection implements Connection<Session> {
             .getSession(loginCredentials.getUser(), hostAndPort.getHost(), hostAndPort.getPortOrDefault(22));
       if (sessionTimeout != 0)
          session.setTimeout(sessionTimeout);
+      if (keepAliveInterval != 0)
+         session.setServerAliveInterval(keepAliveInterval);
       if (loginCredentials.hasUnencryptedPrivateKey()) {
          byte[] privateKey = loginCredentials.getOptionalPrivateKey().get().getBytes();
          jsch.addIdentity(loginCredentials.getUser(), privateKey, null, emptyPassPhrase);
@@ -227,6 +242,15 @@ public final class SessionConnection implements Connection<Session> {
       return sessionTimeout;
    }
 
+   /**
+    * 
+    * @return milliseconds between keepalive messages sent while the session is open, or {@code 0}
+    *         to send none
+    */
+   public int getKeepAliveInterval() {
+      return keepAliveInterval;
+   }
+
    /**
     * 
     * @return the current session or {@code null} if not connected
@@ -259,7 +283,8 @@ public final class SessionConnection implements Connection<Session> {
             .add("session", session != null ? session.hashCode() : null)
             .add("connectTimeout", connectTimeout)
             .add("proxy", proxy.orNull())
-            .add("sessionTimeout", sessionTimeout).toString();
+            .add("sessionTimeout", sessionTimeout)
+            .add("keepAliveInterval", keepAliveInterval).toString();
    }
 
 }
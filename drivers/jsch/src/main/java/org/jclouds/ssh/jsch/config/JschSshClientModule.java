@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import jakarta.inject.Named;
 
 import org.jclouds.Constants;
+import org.jclouds.compute.config.ComputeServiceProperties;
 import org.jclouds.domain.LoginCredentials;
 import org.jclouds.http.handlers.BackoffLimitedRetryHandler;
 import org.jclouds.proxy.ProxyConfig;
@@ -50,6 +51,21 @@ public class JschSshClientModule extends AbstractModule {
       @Inject(optional = true)
       int timeout = 60000;
 
+      @Named(ComputeServiceProperties.SSH_KEEPALIVE_INTERVAL)
+      @Inject(optional = true)
+      int keepAliveInterval = -1;
+
+      @Named(ComputeServiceProperties.SSH_POOL_IDLE_TIMEOUT)
+      @Inject(optional = true)
+      long poolIdleTimeout = 0;
+
+      // keepalives only pay off on connections kept open between uses
+      int keepAliveInterval() {
+         if (keepAliveInterval >= 0)
+            return keepAliveInterval;
+         return poolIdleTimeout > 0 ? 15000 : 0;
+      }
+
       Optional<Connector> agentConnector = getAgentConnector();
 
       Optional<Connector> getAgentConnector() {
@@ -79,7 +95,8 @@ public class JschSshClientModule extends AbstractModule {
 
       @Override
       public SshClient create(HostAndPort socket, LoginCredentials credentials) {
-         SshClient client = new JschSshClient(proxyConfig, backoffLimitedRetryHandler, socket, credentials, timeout, getAgentConnector());
+         SshClient client = new JschSshClient(proxyConfig, backoffLimitedRetryHandler, socket, credentials, timeout,
+               keepAliveInterval(), getAgentConnector());
          injector.injectMembers(client);  // add logger
          return client;
       }
@@ -28,11 +28,15 @@ import java.io.IOException;
 import java.net.Proxy;
 import java.net.URI;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 import jakarta.inject.Named;
 import javax.net.ssl.SSLSocketFactory;
 
 import okhttp3.Authenticator;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.Credentials;
 import okhttp3.internal.http.HttpMethod;
 import okhttp3.Headers;
@@ -53,9 +57,10 @@ import org.jclouds.http.HttpUtils;
 import org.jclouds.http.IOExceptionRetryHandler;
 import org.jclouds.http.handlers.DelegatingErrorHandler;
 import org.jclouds.http.handlers.DelegatingRetryHandler;
-import org.jclouds.http.internal.BaseHttpCommandExecutorService;
+import org.jclouds.http.internal.BaseAsyncHttpCommandExecutorService;
 import org.jclouds.http.internal.HttpWire;
 import org.jclouds.io.ContentMetadataCodec;
+import org.jclouds.io.FileRegionByteSource;
 import org.jclouds.io.MutableContentMetadata;
 import org.jclouds.io.Payload;
 import org.jclouds.javax.annotation.Nullable;
@@ -67,7 +72,7 @@ import com.google.common.collect.ImmutableMultimap.Builder;
 import com.google.inject.Inject;
 
 
-public final class OkHttpCommandExecutorService extends BaseHttpCommandExecutorService<Request> {
+public final class OkHttpCommandExecutorService extends BaseAsyncHttpCommandExecutorService<Request> {
    private final Function<URI, Proxy> proxyForURI;
    private final OkHttpClient globalClient;
    private final String userAgent;
@@ -151,6 +156,10 @@ public final class OkHttpCommandExecutorService extends BaseHttpCommandExecutorS
 
    protected RequestBody generateRequestBody(final HttpRequest request, final Payload payload) {
       checkNotNull(payload.getContentMetadata().getContentType(), "payload.getContentType");
+      final FileRegionByteSource region = FileRegionByteSource.fromPayload(payload);
+      if (region != null) {
+         return generateFileRegionRequestBody(request, payload, region);
+      }
       return new RequestBody() {
          @Override
          public void writeTo(BufferedSink sink) throws IOException {
@@ -177,35 +186,104 @@ public final class OkHttpCommandExecutorService extends BaseHttpCommandExecutorS
       };
    }
 
+   /**
+    * Writes file-backed payloads, including slices, with positional
+    * {@link java.nio.channels.FileChannel} reads, without opening a stream per
+    * part. The body is repeatable, so OkHttp can resend it on retries.
+    */
+   private RequestBody generateFileRegionRequestBody(final HttpRequest request, final Payload payload,
+         final FileRegionByteSource region) {
+      return new RequestBody() {
+         @Override
+         public void writeTo(BufferedSink sink) throws IOException {
+            try {
+               region.transferTo(sink);
+            } catch (IOException ex) {
+               logger.error(ex, "error writing bytes to %s", request.getEndpoint());
+               throw ex;
+            }
+         }
+
+         @Override
+         public long contentLength() throws IOException {
+            return payload.getContentMetadata().getContentLength();
+         }
+
+         @Override
+         public MediaType contentType() {
+            return MediaType.parse(payload.getContentMetadata().getContentType());
+         }
+      };
+   }
+
    @Override
    protected HttpResponse invoke(Request nativeRequest) throws IOException, InterruptedException {
-	   
-	  OkHttpClient.Builder okHttpClientBuilder = globalClient.newBuilder()
-				.proxy(proxyForURI.apply(nativeRequest.url().uri()));
-		
-		if (proxyConfig.getCredentials().isPresent()) {
-			Authenticator proxyAuthenticator = new Authenticator() {
-				@Override
-				public Request authenticate(Route route, Response response) throws IOException {
-					if (response != null && response.code() == 407
-							&& !response.message().toLowerCase().contains("preemptive authenticate")) {
-						return null;
-					}
-					String credential = Credentials.basic(proxyConfig.getCredentials().get().identity,
-							proxyConfig.getCredentials().get().credential);
-					return response.request().newBuilder().header("Proxy-Authorization", credential).build();
-				}
-			};
-			okHttpClientBuilder.proxyAuthenticator(proxyAuthenticator);
-		}
-		
-		if (proxyConfig.isSslProxyEnabled()) {
-			okHttpClientBuilder.socketFactory(new DelegatingSocketFactory(SSLSocketFactory.getDefault()));
-		}
-	  OkHttpClient requestScopedClient = okHttpClientBuilder.build();
-	  
-      Response response = requestScopedClient.newCall(nativeRequest).execute();
+      Response response = requestScopedClient(nativeRequest).newCall(nativeRequest).execute();
+      return toHttpResponse(response);
+   }
+
+   /**
+    * Enqueues the call on the dispatcher of the OkHttp client, so no thread is held while waiting for the response.
+    * Cancelling the returned future cancels the call.
+    */
+   @Override
+   protected CompletableFuture<HttpResponse> invokeAsync(Request nativeRequest) {
+      final CompletableFuture<HttpResponse> future = new CompletableFuture<HttpResponse>();
+      final Call call = requestScopedClient(nativeRequest).newCall(nativeRequest);
+      future.whenComplete(new BiConsumer<HttpResponse, Throwable>() {
+         @Override
+         public void accept(HttpResponse response, Throwable failure) {
+            if (future.isCancelled())
+               call.cancel();
+         }
+      });
+      call.enqueue(new Callback() {
+         @Override
+         public void onFailure(Call call, IOException e) {
+            future.completeExceptionally(e);
+         }
+
+         @Override
+         public void onResponse(Call call, Response response) {
+            try {
+               if (!future.complete(toHttpResponse(response)))
+                  response.close(); // cancelled while in flight, so nobody will read the body
+            } catch (RuntimeException e) {
+               response.close();
+               future.completeExceptionally(e);
+            }
+         }
+      });
+      return future;
+   }
+
+   private OkHttpClient requestScopedClient(Request nativeRequest) {
+      OkHttpClient.Builder okHttpClientBuilder = globalClient.newBuilder()
+            .proxy(proxyForURI.apply(nativeRequest.url().uri()));
+
+      if (proxyConfig.getCredentials().isPresent()) {
+         Authenticator proxyAuthenticator = new Authenticator() {
+            @Override
+            public Request authenticate(Route route, Response response) throws IOException {
+               if (response != null && response.code() == 407
+                     && !response.message().toLowerCase().contains("preemptive authenticate")) {
+                  return null;
+               }
+               String credential = Credentials.basic(proxyConfig.getCredentials().get().identity,
+                     proxyConfig.getCredentials().get().credential);
+               return response.request().newBuilder().header("Proxy-Authorization", credential).build();
+            }
+         };
+         okHttpClientBuilder.proxyAuthenticator(proxyAuthenticator);
+      }
+
+      if (proxyConfig.isSslProxyEnabled()) {
+         okHttpClientBuilder.socketFactory(new DelegatingSocketFactory(SSLSocketFactory.getDefault()));
+      }
+      return okHttpClientBuilder.build();
+   }
 
+   private HttpResponse toHttpResponse(Response response) {
       HttpResponse.Builder<?> builder = HttpResponse.builder();
       builder.statusCode(response.code());
       builder.message(response.message());
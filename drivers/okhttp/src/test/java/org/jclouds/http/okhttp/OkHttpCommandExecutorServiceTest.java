@@ -27,6 +27,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
@@ -80,6 +81,12 @@ public class OkHttpCommandExecutorServiceTest extends BaseHttpCommandExecutorSer
       @PATCH
       @Path("/objects/{id}")
       String patchNothing(@PathParam("id") String id);
+
+      @PATCH
+      @Path("/objects/{id}")
+      @Produces("text/plain")
+      CompletableFuture<String> patchAsync(@PathParam("id") String id,
+            @BinderParam(BindToStringPayload.class) String body);
    }
 
    @Test
@@ -126,6 +133,41 @@ public class OkHttpCommandExecutorServiceTest extends BaseHttpCommandExecutorSer
       }
    }
 
+   @Test
+   public void testAsyncPatch() throws Exception {
+      MockWebServer server = mockWebServer(new MockResponse().setBody("fooPATCH"));
+      PatchApi api = api(PatchApi.class, server.url("/").toString());
+      try {
+         String result = api.patchAsync("", "foo").get();
+         RecordedRequest request = server.takeRequest();
+         assertEquals(request.getMethod(), "PATCH");
+         assertEquals(request.getBody().readUtf8(), "foo");
+         assertEquals(result, "fooPATCH");
+      } finally {
+         closeQuietly(api);
+         server.shutdown();
+      }
+   }
+
+   @Test
+   public void testAsyncPatchIsRetriedOnFailure() throws Exception {
+      MockWebServer server = mockWebServer(new MockResponse().setResponseCode(500),
+            new MockResponse().setBody("fooPATCH"));
+      PatchApi api = api(PatchApi.class, server.url("/").toString());
+      try {
+         String result = api.patchAsync("", "foo").get();
+         assertEquals(server.getRequestCount(), 2);
+         assertEquals(result, "fooPATCH");
+         RecordedRequest request = server.takeRequest();
+         assertEquals(request.getBody().readUtf8(), "foo");
+         request = server.takeRequest();
+         assertEquals(request.getBody().readUtf8(), "foo");
+      } finally {
+         closeQuietly(api);
+         server.shutdown();
+      }
+   }
+
    @Test
    public void testPatchRedirect() throws Exception {
       MockWebServer redirectTarget = mockWebServer(new MockResponse().setBody("fooPATCHREDIRECT"));
@@ -60,6 +60,7 @@ public class SSHClientConnection implements Connection<SSHClient> {
       protected LoginCredentials loginCredentials;
       protected int connectTimeout;
       protected int sessionTimeout;
+      protected int keepAliveInterval;
       protected Optional<Connector> agentConnector;
 
       /**
@@ -94,6 +95,14 @@ public class SSHClientConnection implements Connection<SSHClient> {
          return this;
       }
 
+      /**
+       * @see SSHClientConnection#getKeepAliveInterval()
+       */
+      public Builder keepAliveInterval(int keepAliveInterval) {
+         this.keepAliveInterval = keepAliveInterval;
+         return this;
+      }
+
       /**
        * @see SSHClientConnection#getAgentConnector()
        */
@@ -103,21 +112,24 @@ public class SSHClientConnection implements Connection<SSHClient> {
       }
 
       public SSHClientConnection build() {
-         return new SSHClientConnection(hostAndPort, loginCredentials, connectTimeout, sessionTimeout, agentConnector);
+         return new SSHClientConnection(hostAndPort, loginCredentials, connectTimeout, sessionTimeout,
+               keepAliveInterval, agentConnector);
       }
 
       protected Builder fromSSHClientConnection(SSHClientConnection in) {
          return hostAndPort(in.getHostAndPort()).connectTimeout(in.getConnectTimeout()).loginCredentials(
-                  in.getLoginCredentials()).sessionTimeout(in.getSessionTimeout()).agentConnector(in.getAgentConnector());
+                  in.getLoginCredentials()).sessionTimeout(in.getSessionTimeout())
+                  .keepAliveInterval(in.getKeepAliveInterval()).agentConnector(in.getAgentConnector());
       }
    }
 
    private SSHClientConnection(HostAndPort hostAndPort, LoginCredentials loginCredentials, int connectTimeout,
-            int sessionTimeout, Optional<Connector> agentConnector) {
+            int sessionTimeout, int keepAliveInterval, Optional<Connector> agentConnector) {
       this.hostAndPort = checkNotNull(hostAndPort, "hostAndPort");
       this.loginCredentials = checkNotNull(loginCredentials, "loginCredentials for %", hostAndPort);
       this.connectTimeout = connectTimeout;
       this.sessionTimeout = sessionTimeout;
+      this.keepAliveInterval = keepAliveInterval;
       this.agentConnector = checkNotNull(agentConnector, "agentConnector for %", hostAndPort);
    }
    
@@ -129,6 +141,7 @@ public class SSHClientConnection implements Connection<SSHClient> {
    private final LoginCredentials loginCredentials;
    private final int connectTimeout;
    private final int sessionTimeout;
+   private final int keepAliveInterval;
 
    @VisibleForTesting
    transient SSHClient ssh;
@@ -157,6 +170,10 @@ public class SSHClientConnection implements Connection<SSHClient> {
       if (sessionTimeout != 0) {
          ssh.setTimeout(sessionTimeout);
       }
+      if (keepAliveInterval != 0) {
+         // sshj counts in seconds, and starts the keepalive thread on connect
+         ssh.getConnection().getKeepAlive().setKeepAliveInterval(Math.max(1, keepAliveInterval / 1000));
+      }
       ssh.connect(hostAndPort.getHost(), hostAndPort.getPortOrDefault(22));
       if (loginCredentials.hasUnencryptedPrivateKey()) {
          OpenSSHKeyFile key = new OpenSSHKeyFile();
@@ -202,6 +219,15 @@ public class SSHClientConnection implements Connection<SSHClient> {
       return sessionTimeout;
    }
 
+   /**
+    * 
+    * @return milliseconds between keepalive messages, or {@code 0} to
+    *         send none
+    */
+   public int getKeepAliveInterval() {
+      return keepAliveInterval;
+   }
+
    /**
     *
     * @return Ssh agent connector
@@ -238,7 +264,7 @@ public class SSHClientConnection implements Connection<SSHClient> {
    public String toString() {
       return MoreObjects.toStringHelper("").add("hostAndPort", hostAndPort).add("loginUser", loginCredentials.getUser())
                .add("ssh", ssh != null ? ssh.hashCode() : null).add("connectTimeout", connectTimeout).add(
-                        "sessionTimeout", sessionTimeout).toString();
+                        "sessionTimeout", sessionTimeout).add("keepAliveInterval", keepAliveInterval).toString();
    }
 
    private static List<AuthMethod> getAuthMethods(AgentProxy agent) throws BufferException  {
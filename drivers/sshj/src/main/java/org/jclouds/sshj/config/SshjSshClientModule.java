@@ -19,6 +19,7 @@ package org.jclouds.sshj.config;
 import jakarta.inject.Named;
 
 import org.jclouds.Constants;
+import org.jclouds.compute.config.ComputeServiceProperties;
 import org.jclouds.domain.LoginCredentials;
 import org.jclouds.http.handlers.BackoffLimitedRetryHandler;
 import org.jclouds.ssh.SshClient;
@@ -47,6 +48,21 @@ public class SshjSshClientModule extends AbstractModule {
       @Inject(optional = true)
       int timeout = 60000;
 
+      @Named(ComputeServiceProperties.SSH_KEEPALIVE_INTERVAL)
+      @Inject(optional = true)
+      int keepAliveInterval = -1;
+
+      @Named(ComputeServiceProperties.SSH_POOL_IDLE_TIMEOUT)
+      @Inject(optional = true)
+      long poolIdleTimeout = 0;
+
+      // keepalives only pay off on connections kept open between uses
+      int keepAliveInterval() {
+         if (keepAliveInterval >= 0)
+            return keepAliveInterval;
+         return poolIdleTimeout > 0 ? 15000 : 0;
+      }
+
       Optional<Connector> agentConnector = getAgentConnector();
 
       Optional<Connector> getAgentConnector() {
@@ -74,7 +90,8 @@ public class SshjSshClientModule extends AbstractModule {
 
       @Override
       public SshClient create(HostAndPort socket, LoginCredentials credentials) {
-         SshClient client = new SshjSshClient(backoffLimitedRetryHandler, socket, credentials, timeout, getAgentConnector());
+         SshClient client = new SshjSshClient(backoffLimitedRetryHandler, socket, credentials, timeout, keepAliveInterval(),
+               getAgentConnector());
          injector.injectMembers(client);  // add logger
          return client;
       }